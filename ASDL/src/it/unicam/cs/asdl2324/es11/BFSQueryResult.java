@@ -0,0 +1,137 @@
+package it.unicam.cs.asdl2324.es11;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Risultato di una interrogazione in ampiezza eseguita con
+ * {@code BFSVisitor.BFSQuery}: contiene la distanza intera e il predecessore
+ * dei soli nodi raggiunti dall'interrogazione, cioè le sorgenti e i nodi
+ * scoperti prima dell'arresto, e il primo nodo destinazione raggiunto. I nodi
+ * del grafo non vengono modificati.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <L> le etichette dei nodi del grafo
+ */
+public class BFSQueryResult<L> {
+
+    // Distanza e predecessore dei nodi raggiunti, protected per permettere
+    // l'accesso diretto alla visita e il test JUnit
+    protected final Map<GraphNode<L>, Integer> distance;
+
+    protected final Map<GraphNode<L>, GraphNode<L>> previous;
+
+    // Primo nodo destinazione raggiunto, null se nessuno
+    protected GraphNode<L> reachedTarget;
+
+    /**
+     * Crea un risultato vuoto.
+     */
+    public BFSQueryResult() {
+        this.distance = new HashMap<>();
+        this.previous = new HashMap<>();
+        this.reachedTarget = null;
+    }
+
+    /**
+     * Restituisce il primo nodo destinazione raggiunto dall'interrogazione.
+     * Poiché la visita procede per livelli, è una destinazione a distanza
+     * minima dall'insieme delle sorgenti.
+     *
+     * @return il nodo destinazione raggiunto, null se l'interrogazione è
+     *         terminata senza raggiungerne nessuno
+     */
+    public GraphNode<L> getReachedTarget() {
+        return this.reachedTarget;
+    }
+
+    /**
+     * Controlla se un nodo è stato raggiunto dall'interrogazione.
+     *
+     * @param node
+     *                 il nodo da controllare
+     * @return true se il nodo è stato raggiunto, false altrimenti
+     * @throws NullPointerException
+     *                                  se il nodo passato è null
+     */
+    public boolean isReached(GraphNode<L> node) {
+        if(node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        return this.distance.containsKey(node);
+    }
+
+    /**
+     * Restituisce la distanza di un nodo dalla sorgente più vicina.
+     *
+     * @param node
+     *                 il nodo
+     * @return il numero minimo di archi tra una sorgente e il nodo,
+     *         {@code Integer.MAX_VALUE} se il nodo non è stato raggiunto
+     * @throws NullPointerException
+     *                                  se il nodo passato è null
+     */
+    public int getDistance(GraphNode<L> node) {
+        if(node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        Integer d = this.distance.get(node);
+        return d == null ? Integer.MAX_VALUE : d;
+    }
+
+    /**
+     * Restituisce il predecessore di un nodo nella foresta di copertura
+     * costruita dall'interrogazione.
+     *
+     * @param node
+     *                 il nodo
+     * @return il predecessore, null se il nodo è una sorgente o non è stato
+     *         raggiunto
+     * @throws NullPointerException
+     *                                  se il nodo passato è null
+     */
+    public GraphNode<L> getPrevious(GraphNode<L> node) {
+        if(node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        return this.previous.get(node);
+    }
+
+    /**
+     * Restituisce il cammino minimo dalla sorgente più vicina a un nodo
+     * raggiunto, seguendo i predecessori.
+     *
+     * @param node
+     *                 il nodo di arrivo
+     * @return la lista dei nodi del cammino, dalla sorgente al nodo passato
+     *         compresi; la lista è vuota se il nodo non è stato raggiunto
+     * @throws NullPointerException
+     *                                  se il nodo passato è null
+     */
+    public List<GraphNode<L>> getPathTo(GraphNode<L> node) {
+        LinkedList<GraphNode<L>> path = new LinkedList<>();
+        if(!(this.isReached(node)))
+            return path;
+        for(GraphNode<L> current = node; current != null; current = this.previous.get(current))
+            path.addFirst(current);
+        return path;
+    }
+
+    /**
+     * Restituisce l'insieme dei nodi raggiunti dall'interrogazione.
+     *
+     * @return una vista non modificabile dei nodi raggiunti
+     */
+    public Set<GraphNode<L>> getReachedNodes() {
+        return Collections.unmodifiableSet(this.distance.keySet());
+    }
+
+    /**
+     * @return il numero di nodi raggiunti dall'interrogazione
+     */
+    public int size() {
+        return this.distance.size();
+    }
+}
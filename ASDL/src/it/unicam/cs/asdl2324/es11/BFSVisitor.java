@@ -1,7 +1,13 @@
 package it.unicam.cs.asdl2324.es11;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 
 /**
  * Classe singoletto che fornisce lo schema generico di visita Breadth-First di
@@ -86,6 +92,263 @@ public class BFSVisitor<L> {
 
     }
 
+    /**
+     * Esegue la visita in ampiezza di un certo grafo a partire da un nodo
+     * sorgente come {@code BFSVisit(g, source)}, ma scrive colore, distanza
+     * intera e predecessore nello stato passato invece che nei nodi, che non
+     * vengono modificati. Lo stato viene azzerato all'inizio della visita.
+     * Poiché questa classe non ha variabili istanza, più visite con stati
+     * diversi possono essere eseguite in parallelo con lo stesso visitatore,
+     * se visitNode non è stato ridefinito in modo da impedirlo.
+     *
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @param state
+     *                   lo stato in cui scrivere i risultati, creato per il
+     *                   grafo g
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato o allo stato
+     */
+    public void BFSVisit(Graph<L> g, GraphNode<L> source, TraversalState<L> state) {
+        if(g == null || source == null || state == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        if(!(g.containsNode(source)))
+            throw new IllegalArgumentException("Nodo non appartenente al grafo");
+
+        state.reset();
+        int s = state.indexOf(source);
+        state.color[s] = GraphNode.COLOR_GREY;
+        state.integerDistance[s] = 0;
+        //ogni nodo entra in coda una sola volta: basta un array di indici
+        int[] queue = new int[state.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = s;
+        while(head < tail){
+            int u = queue[head++];
+            for(GraphNode<L> current : g.getAdjacentNodesOf(state.nodes.get(u))){
+                int v = state.indexOf(current);
+                if(state.color[v] == GraphNode.COLOR_WHITE){
+                    state.color[v] = GraphNode.COLOR_GREY;
+                    state.integerDistance[v] = state.integerDistance[u] + 1;
+                    state.previous[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+            this.visitNode(state.nodes.get(u));
+            state.color[u] = GraphNode.COLOR_BLACK;
+        }
+    }
+
+    /**
+     * Esegue una interrogazione in ampiezza a partire da un insieme di nodi
+     * sorgente, che formano tutti insieme il primo livello della visita. La
+     * visita si ferma appena viene scoperto un nodo dell'insieme delle
+     * destinazioni, la cui distanza è già minima, oppure dopo aver scoperto
+     * tutti i nodi a distanza maxDepth. Il risultato contiene distanza e
+     * predecessore dei soli nodi raggiunti, quindi il costo dipende dalla
+     * parte di grafo esplorata e non dalla dimensione del grafo.
+     *
+     * I nodi del grafo non vengono modificati e il metodo visitNode non viene
+     * chiamato. I nodi adiacenti vengono presi da {@code getAdjacentNodesOf},
+     * come in {@code BFSVisit}, quindi le distanze coincidono con quelle della
+     * visita completa.
+     *
+     * @param g
+     *                     il grafo da visitare.
+     * @param sources
+     *                     i nodi sorgente, almeno uno.
+     * @param targets
+     *                     i nodi destinazione; se l'insieme è vuoto la visita
+     *                     prosegue fino a maxDepth.
+     * @param maxDepth
+     *                     la distanza massima dei nodi da scoprire,
+     *                     {@code Integer.MAX_VALUE} per nessun limite.
+     * @return distanze e predecessori dei nodi raggiunti e la prima
+     *         destinazione raggiunta
+     * @throws NullPointerException
+     *                                      se almeno un valore passato o un
+     *                                      nodo sorgente è null
+     * @throws IllegalArgumentException
+     *                                      se l'insieme delle sorgenti è
+     *                                      vuoto, se una sorgente non
+     *                                      appartiene al grafo o se maxDepth
+     *                                      è negativo
+     */
+    public BFSQueryResult<L> BFSQuery(Graph<L> g, Set<GraphNode<L>> sources,
+            Set<GraphNode<L>> targets, int maxDepth) {
+        if(g == null || sources == null || targets == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        if(sources.isEmpty() || maxDepth < 0)
+            throw new IllegalArgumentException("Argomento passato non valido");
+
+        BFSQueryResult<L> result = new BFSQueryResult<>();
+        Queue<GraphNode<L>> queue = new ArrayDeque<>();
+        //tutte le sorgenti sono a distanza 0
+        for(GraphNode<L> source : sources){
+            if(source == null)
+                throw new NullPointerException("Parametri nulli non validi");
+            if(!(g.containsNode(source)))
+                throw new IllegalArgumentException("Nodo non appartenente al grafo");
+            if(result.distance.putIfAbsent(source, 0) == null)
+                queue.add(source);
+            if(result.reachedTarget == null && targets.contains(source))
+                result.reachedTarget = source;
+        }
+        if(result.reachedTarget != null)
+            return result;
+
+        while(!(queue.isEmpty())){
+            GraphNode<L> u = queue.poll();
+            int d = result.distance.get(u);
+            //i nodi in coda sono in ordine di distanza: oltre non si scende
+            if(d >= maxDepth)
+                break;
+            for(GraphNode<L> v : g.getAdjacentNodesOf(u)){
+                //un nodo già raggiunto ha già la sua distanza minima
+                if(result.distance.putIfAbsent(v, d + 1) != null)
+                    continue;
+                result.previous.put(v, u);
+                if(targets.contains(v)){
+                    result.reachedTarget = v;
+                    return result;
+                }
+                queue.add(v);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calcola un cammino minimo, in numero di archi, tra due nodi con una
+     * visita in ampiezza bidirezionale: una visita parte dalla sorgente
+     * seguendo gli archi e una parte dalla destinazione seguendoli al
+     * contrario, cioè gli archi entranti nel caso di grafo orientato. A ogni
+     * passo viene espanso di un intero livello il lato con la frontiera più
+     * piccola e la ricerca si ferma appena un nodo viene scoperto da entrambi
+     * i lati. Se il numero medio di nodi adiacenti è b e la distanza è d,
+     * vengono toccati circa 2 b^(d/2) nodi invece di b^d, cioè circa la
+     * radice quadrata dei nodi toccati da una visita dalla sola sorgente.
+     *
+     * I nodi del grafo non vengono modificati e il metodo visitNode non viene
+     * chiamato. Come in {@code BFSVisit} i nodi adiacenti vengono presi da
+     * {@code getAdjacentNodesOf}, e dalla destinazione di un grafo orientato
+     * da {@code getPredecessorNodesOf}.
+     *
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @param target
+     *                   il nodo destinazione.
+     * @return la lista dei nodi di un cammino minimo dalla sorgente alla
+     *         destinazione, entrambe comprese; la lista è vuota se la
+     *         destinazione non è raggiungibile
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se la sorgente o la destinazione
+     *                                      non appartengono al grafo dato
+     */
+    public List<GraphNode<L>> shortestPath(Graph<L> g, GraphNode<L> source,
+            GraphNode<L> target) {
+        if(g == null || source == null || target == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        if(!(g.containsNode(source) && g.containsNode(target)))
+            throw new IllegalArgumentException("Nodo non appartenente al grafo");
+
+        Map<GraphNode<L>, GraphNode<L>> forward = new HashMap<>();
+        Map<GraphNode<L>, GraphNode<L>> backward = new HashMap<>();
+        GraphNode<L> meeting = this.bidirectionalSearch(g, source, target, forward, backward);
+        LinkedList<GraphNode<L>> path = new LinkedList<>();
+        if(meeting == null)
+            return path;
+        //dal nodo d'incontro si risale verso la sorgente e si scende verso la destinazione
+        for(GraphNode<L> current = meeting; current != null; current = forward.get(current))
+            path.addFirst(current);
+        for(GraphNode<L> current = backward.get(meeting); current != null; current = backward.get(current))
+            path.addLast(current);
+        return path;
+    }
+
+    /**
+     * Esegue la ricerca bidirezionale di {@code shortestPath} riempiendo le
+     * mappe passate, che alla fine contengono i nodi toccati da ciascun lato
+     * associati al loro predecessore sul lato stesso (null per la sorgente e
+     * per la destinazione). È protected per permettere alle sottoclassi e al
+     * benchmark di contare i nodi toccati.
+     *
+     * @param g
+     *                     il grafo da visitare.
+     * @param source
+     *                     il nodo sorgente.
+     * @param target
+     *                     il nodo destinazione.
+     * @param forward
+     *                     mappa vuota per i nodi toccati dalla sorgente
+     * @param backward
+     *                     mappa vuota per i nodi toccati dalla destinazione
+     * @return il nodo in cui le due visite si incontrano, null se la
+     *         destinazione non è raggiungibile
+     */
+    protected GraphNode<L> bidirectionalSearch(Graph<L> g, GraphNode<L> source,
+            GraphNode<L> target, Map<GraphNode<L>, GraphNode<L>> forward,
+            Map<GraphNode<L>, GraphNode<L>> backward) {
+        forward.put(source, null);
+        backward.put(target, null);
+        if(source.equals(target))
+            return source;
+        List<GraphNode<L>> sourceFrontier = new ArrayList<>();
+        List<GraphNode<L>> targetFrontier = new ArrayList<>();
+        sourceFrontier.add(source);
+        targetFrontier.add(target);
+        //se una frontiera si svuota la destinazione non è raggiungibile
+        while(!(sourceFrontier.isEmpty() || targetFrontier.isEmpty())){
+            List<GraphNode<L>> next = new ArrayList<>();
+            GraphNode<L> meeting;
+            if(sourceFrontier.size() <= targetFrontier.size()){
+                meeting = expandLevel(g, sourceFrontier, forward, backward, false, next);
+                sourceFrontier = next;
+            } else {
+                meeting = expandLevel(g, targetFrontier, backward, forward, true, next);
+                targetFrontier = next;
+            }
+            if(meeting != null)
+                return meeting;
+        }
+        return null;
+    }
+
+    /*
+     * Espande un livello di una delle due visite mettendo in next i nodi
+     * scoperti. Restituisce il primo nodo scoperto già toccato dall'altra
+     * visita: tutti i nodi dell'altra visita a distanza minore dell'ultimo
+     * livello sono già stati espansi, quindi ogni nodo d'incontro di questo
+     * livello dà un cammino della stessa lunghezza minima
+     */
+    private static <L> GraphNode<L> expandLevel(Graph<L> g, List<GraphNode<L>> frontier,
+            Map<GraphNode<L>, GraphNode<L>> visited, Map<GraphNode<L>, GraphNode<L>> other,
+            boolean reversed, List<GraphNode<L>> next) {
+        for(GraphNode<L> u : frontier){
+            //la visita dalla destinazione segue gli archi al contrario
+            Set<GraphNode<L>> neighbours = reversed && g.isDirected() ? g.getPredecessorNodesOf(u) : g.getAdjacentNodesOf(u);
+            for(GraphNode<L> v : neighbours){
+                if(visited.containsKey(v))
+                    continue;
+                visited.put(v, u);
+                if(other.containsKey(v))
+                    return v;
+                next.add(v);
+            }
+        }
+        return null;
+    }
+
     /**
      * Questo metodo, che di default non fa niente, viene chiamato su tutti i
      * nodi visitati durante la BFS quando i nodi passano da grigio a nero.
@@ -0,0 +1,221 @@
+package it.unicam.cs.asdl2324.es11;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BFSVisitorTest {
+
+    /*
+     * Griglia rows x cols con i nodi numerati per righe
+     */
+    private Graph<Integer> grid(int rows, int cols,
+            List<GraphNode<Integer>> nodes) {
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < rows * cols; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++) {
+                int i = r * cols + c;
+                if (c + 1 < cols)
+                    g.addEdge(new GraphEdge<Integer>(nodes.get(i),
+                            nodes.get(i + 1), false));
+                if (r + 1 < rows)
+                    g.addEdge(new GraphEdge<Integer>(nodes.get(i + cols),
+                            nodes.get(i), false));
+            }
+        return g;
+    }
+
+    private Set<GraphNode<Integer>> set(List<GraphNode<Integer>> nodes,
+            int... indices) {
+        Set<GraphNode<Integer>> set = new HashSet<>();
+        for (int i : indices)
+            set.add(nodes.get(i));
+        return set;
+    }
+
+    @Test
+    final void testBFSQueryExceptions() {
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = this.grid(2, 2, nodes);
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        Set<GraphNode<Integer>> none = Collections.emptySet();
+        assertThrows(NullPointerException.class,
+                () -> visitor.BFSQuery(null, this.set(nodes, 0), none, 1));
+        assertThrows(NullPointerException.class,
+                () -> visitor.BFSQuery(g, null, none, 1));
+        assertThrows(NullPointerException.class,
+                () -> visitor.BFSQuery(g, this.set(nodes, 0), null, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> visitor.BFSQuery(g, none, none, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> visitor.BFSQuery(g, this.set(nodes, 0), none, -1));
+        Set<GraphNode<Integer>> outside = new HashSet<>();
+        outside.add(new GraphNode<Integer>(99));
+        assertThrows(IllegalArgumentException.class,
+                () -> visitor.BFSQuery(g, outside, none, 1));
+    }
+
+    @Test
+    final void testBFSQueryEarlyExit() {
+        // griglia 20 x 20: dall'angolo 0 l'angolo opposto è a distanza 38
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = this.grid(20, 20, nodes);
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        BFSQueryResult<Integer> result = visitor.BFSQuery(g,
+                this.set(nodes, 0), this.set(nodes, 21), Integer.MAX_VALUE);
+        assertEquals(nodes.get(21), result.getReachedTarget());
+        assertEquals(2, result.getDistance(nodes.get(21)));
+        // solo i nodi fino alla distanza 2 sono stati raggiunti
+        assertTrue(result.size() <= 6);
+        assertFalse(result.isReached(nodes.get(399)));
+        assertEquals(Integer.MAX_VALUE, result.getDistance(nodes.get(399)));
+        assertNull(result.getPrevious(nodes.get(399)));
+        assertTrue(result.getPathTo(nodes.get(399)).isEmpty());
+        List<GraphNode<Integer>> path = result.getPathTo(nodes.get(21));
+        assertEquals(3, path.size());
+        assertEquals(nodes.get(0), path.get(0));
+        assertEquals(nodes.get(21), path.get(2));
+        // i nodi del grafo non vengono modificati
+        for (GraphNode<Integer> node : nodes)
+            assertEquals(GraphNode.COLOR_WHITE, node.getColor());
+        // una sorgente che è anche destinazione
+        result = visitor.BFSQuery(g, this.set(nodes, 5, 7),
+                this.set(nodes, 7), 3);
+        assertEquals(nodes.get(7), result.getReachedTarget());
+        assertEquals(0, result.getDistance(nodes.get(7)));
+    }
+
+    @Test
+    final void testBFSQueryMultiSource() {
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = this.grid(20, 20, nodes);
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        Set<GraphNode<Integer>> none = Collections.emptySet();
+        // senza destinazioni la visita raggiunge tutti i nodi
+        BFSQueryResult<Integer> result = visitor.BFSQuery(g,
+                this.set(nodes, 0, 399), none, Integer.MAX_VALUE);
+        assertNull(result.getReachedTarget());
+        assertEquals(400, result.size());
+        for (int r = 0; r < 20; r++)
+            for (int c = 0; c < 20; c++) {
+                GraphNode<Integer> node = nodes.get(r * 20 + c);
+                int expected = Math.min(r + c, 38 - r - c);
+                assertEquals(expected, result.getDistance(node));
+                assertEquals(expected + 1, result.getPathTo(node).size());
+            }
+        // la destinazione più vicina alle sorgenti viene raggiunta per prima
+        result = visitor.BFSQuery(g, this.set(nodes, 0, 399),
+                this.set(nodes, 210, 398), Integer.MAX_VALUE);
+        assertEquals(nodes.get(398), result.getReachedTarget());
+        assertEquals(1, result.getDistance(nodes.get(398)));
+        // profondità massima: nodi a distanza al più 3 da una delle due
+        // sorgenti, 10 per ogni angolo
+        result = visitor.BFSQuery(g, this.set(nodes, 0, 399), none, 3);
+        assertEquals(20, result.size());
+        for (GraphNode<Integer> node : result.getReachedNodes())
+            assertTrue(result.getDistance(node) <= 3);
+        assertThrows(UnsupportedOperationException.class,
+                () -> visitor.BFSQuery(g, this.set(nodes, 0), none, 0)
+                        .getReachedNodes().clear());
+    }
+
+    @Test
+    final void testBFSQueryMatchesBFSVisit() {
+        Random random = new Random(23);
+        int n = 500;
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int k = 0; k < n; k++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), false));
+        // le due visite usano gli stessi nodi adiacenti e raggiungono gli
+        // stessi nodi alle stesse distanze
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        for (int q = 0; q < 10; q++) {
+            GraphNode<Integer> s = nodes.get(random.nextInt(n));
+            visitor.BFSVisit(g, s);
+            BFSQueryResult<Integer> result = visitor.BFSQuery(g,
+                    Collections.singleton(s),
+                    Collections.<GraphNode<Integer>>emptySet(),
+                    Integer.MAX_VALUE);
+            for (GraphNode<Integer> node : nodes)
+                assertEquals(node.getIntegerDistance(),
+                        result.getDistance(node));
+        }
+    }
+
+    @Test
+    final void testShortestPath() {
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = this.grid(20, 20, nodes);
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        assertThrows(NullPointerException.class,
+                () -> visitor.shortestPath(g, null, nodes.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> visitor
+                .shortestPath(g, nodes.get(0), new GraphNode<Integer>(999)));
+        assertEquals(Collections.singletonList(nodes.get(3)),
+                visitor.shortestPath(g, nodes.get(3), nodes.get(3)));
+        List<GraphNode<Integer>> path = visitor.shortestPath(g, nodes.get(0),
+                nodes.get(399));
+        assertEquals(39, path.size());
+        assertEquals(nodes.get(0), path.get(0));
+        assertEquals(nodes.get(399), path.get(38));
+        // nodi consecutivi del cammino sono adiacenti
+        for (int i = 0; i + 1 < path.size(); i++)
+            assertTrue(g.containsEdge(new GraphEdge<Integer>(path.get(i),
+                    path.get(i + 1), false)));
+        // destinazione non raggiungibile
+        GraphNode<Integer> isolated = new GraphNode<Integer>(400);
+        g.addNode(isolated);
+        assertTrue(visitor.shortestPath(g, nodes.get(0), isolated).isEmpty());
+    }
+
+    @Test
+    final void testShortestPathRandom() {
+        Random random = new Random(17);
+        int n = 600;
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int k = 0; k < n; k++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), false));
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        Set<GraphNode<Integer>> none = Collections.emptySet();
+        for (int q = 0; q < 50; q++) {
+            GraphNode<Integer> s = nodes.get(random.nextInt(n));
+            GraphNode<Integer> t = nodes.get(random.nextInt(n));
+            // la lunghezza deve coincidere con la distanza della visita
+            // dalla sola sorgente
+            BFSQueryResult<Integer> expected = visitor.BFSQuery(g,
+                    Collections.singleton(s), none, Integer.MAX_VALUE);
+            List<GraphNode<Integer>> path = visitor.shortestPath(g, s, t);
+            if (!expected.isReached(t)) {
+                assertTrue(path.isEmpty());
+                continue;
+            }
+            assertEquals(expected.getDistance(t) + 1, path.size());
+            for (int i = 0; i + 1 < path.size(); i++)
+                assertTrue(g.containsEdge(new GraphEdge<Integer>(path.get(i),
+                        path.get(i + 1), false)));
+        }
+    }
+}
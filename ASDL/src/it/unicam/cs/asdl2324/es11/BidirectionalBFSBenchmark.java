@@ -0,0 +1,115 @@
+package it.unicam.cs.asdl2324.es11;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Confronta la ricerca di un cammino minimo con la visita in ampiezza dalla
+ * sola sorgente, {@code BFSVisitor.BFSQuery} con una sola destinazione, e con
+ * la visita bidirezionale di {@code BFSVisitor.shortestPath} su grafi casuali
+ * con lo stesso numero di nodi e grado medio crescente. Per ogni grafo vengono
+ * eseguite le stesse interrogazioni tra coppie di nodi casuali, prima un certo
+ * numero di ripetizioni di riscaldamento, non misurate, e poi le ripetizioni
+ * misurate; su standard output viene stampata una riga in formato CSV con il
+ * numero medio di nodi toccati per interrogazione e il tempo medio in
+ * nanosecondi.
+ *
+ * La creazione dei grafi è lenta perché {@code containsEdge} di
+ * {@code MapAdjacentListUndirectedGraph} scorre le liste di tutti i nodi, per
+ * questo il numero di nodi predefinito è contenuto.
+ *
+ * Il main può essere chiamato con il numero di nodi, il numero di
+ * interrogazioni, il numero di ripetizioni di riscaldamento e il numero di
+ * ripetizioni misurate come parametri di linea di comando.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class BidirectionalBFSBenchmark {
+
+    private static final int[] AVERAGE_DEGREES = { 4, 8, 16 };
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int measured = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        BFSVisitor<Integer> visitor = new BFSVisitor<Integer>();
+        System.out.println("Nodi,Archi,GradoMedio,Ricerca,NodiToccatiMedi,MediaTns");
+        for (int degree : AVERAGE_DEGREES) {
+            Random random = new Random(degree);
+            List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+            Graph<Integer> g = randomGraph(n, degree, random, nodes);
+            int[] sources = new int[queries];
+            int[] targets = new int[queries];
+            for (int q = 0; q < queries; q++) {
+                sources[q] = random.nextInt(n);
+                targets[q] = random.nextInt(n);
+            }
+            for (int mode = 0; mode < 2; mode++) {
+                long touched = 0;
+                long total = 0;
+                for (int r = 0; r < warmup + measured; r++) {
+                    long count = 0;
+                    long start = System.nanoTime();
+                    for (int q = 0; q < queries; q++) {
+                        GraphNode<Integer> s = nodes.get(sources[q]);
+                        GraphNode<Integer> t = nodes.get(targets[q]);
+                        if (mode == 0) {
+                            Set<GraphNode<Integer>> target = Collections
+                                    .singleton(t);
+                            count += visitor.BFSQuery(g,
+                                    Collections.singleton(s), target,
+                                    Integer.MAX_VALUE).size();
+                        } else {
+                            Map<GraphNode<Integer>, GraphNode<Integer>> forward = new HashMap<>();
+                            Map<GraphNode<Integer>, GraphNode<Integer>> backward = new HashMap<>();
+                            visitor.bidirectionalSearch(g, s, t, forward,
+                                    backward);
+                            count += forward.size() + backward.size();
+                        }
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    if (r < warmup)
+                        continue;
+                    touched += count;
+                    total += elapsed;
+                }
+                System.out.println(n + "," + g.edgeCount() + "," + degree + ","
+                        + (mode == 0 ? "unidirezionale" : "bidirezionale")
+                        + "," + (touched / ((long) measured * queries)) + ","
+                        + (total / ((long) measured * queries)));
+            }
+        }
+    }
+
+    /*
+     * Crea un grafo connesso con n nodi e circa n * degree / 2 archi: un
+     * albero casuale più archi tra coppie di nodi casuali
+     */
+    private static Graph<Integer> randomGraph(int n, int degree,
+            Random random, List<GraphNode<Integer>> nodes) {
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int i = 1; i < n; i++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(i)),
+                    nodes.get(i), false));
+        long extra = (long) n * degree / 2 - (n - 1);
+        for (long k = 0; k < extra; k++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v)
+                g.addEdge(new GraphEdge<Integer>(nodes.get(u), nodes.get(v),
+                        false));
+        }
+        return g;
+    }
+}
@@ -1,8 +1,19 @@
 package it.unicam.cs.asdl2324.es11;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * Classe singoletto che fornisce lo schema generico di visita Depth-First di
  * un grafo rappresentato da un oggetto di tipo Graph<L>.
  * 
+ * Per default la visita è iterativa e usa una pila esplicita, quindi la sua
+ * profondità non è limitata dalla dimensione dello stack del thread; la
+ * versione ricorsiva può essere scelta alla creazione. Le due versioni
+ * producono gli stessi tempi di scoperta e di fine visita, gli stessi
+ * predecessori e la stessa sequenza di chiamate a visitNode.
+ * 
  * @author Template: Luca Tesei, Implementazione: collettiva
  *
  * @param <L> le etichette dei nodi del grafo
@@ -14,6 +25,30 @@ public class DFSVisitor<L> {
     // E' protected per permettere il test JUnit
     protected int time;
 
+    // Indica se usare la versione ricorsiva della visita
+    // E' protected per permettere il test JUnit
+    protected final boolean recursive;
+
+    /**
+     * Crea una visita in profondità iterativa.
+     */
+    public DFSVisitor() {
+        this(false);
+    }
+
+    /**
+     * Crea una visita in profondità iterativa o ricorsiva.
+     * 
+     * @param recursive
+     *                      true per usare la versione ricorsiva, che solleva
+     *                      StackOverflowError se il grafo contiene cammini
+     *                      più lunghi di quanto permette lo stack del thread;
+     *                      false per usare la versione iterativa
+     */
+    public DFSVisitor(boolean recursive) {
+        this.recursive = recursive;
+    }
+
     /**
      * Esegue la visita in profondità di un certo grafo. Setta i valori seguenti
      * valori associati ai nodi: tempo di scoperta, tempo di fine visita,
@@ -44,7 +79,73 @@ public class DFSVisitor<L> {
             //se il nodo attuale è bianco
             if(current.getColor() == GraphNode.COLOR_WHITE)
                 //chiama il metodo interno (DFS-visit(u) sulle slide)
-                this.recDFS(g, current);
+                if(this.recursive)
+                    this.recDFS(g, current);
+                else
+                    this.iterDFS(g, current);
+        }
+    }
+
+    /**
+     * Esegue la visita in profondità di un certo grafo come
+     * {@code DFSVisit(g)}, sempre con la versione iterativa, ma scrive tempi
+     * di scoperta e di fine visita, predecessori e colori nello stato passato
+     * invece che nei nodi, che non vengono modificati. Lo stato viene azzerato
+     * all'inizio della visita. Il tempo della visita è una variabile locale e
+     * la variabile istanza time non viene modificata, quindi più visite con
+     * stati diversi possono essere eseguite in parallelo con lo stesso
+     * visitatore, se visitNode non è stato ridefinito in modo da impedirlo.
+     * 
+     * @param g
+     *                  il grafo da visitare.
+     * @param state
+     *                  lo stato in cui scrivere i risultati, creato per il
+     *                  grafo g
+     * @throws NullPointerException
+     *                                  se almeno un valore passato è null
+     */
+    public void DFSVisit(Graph<L> g, TraversalState<L> state) {
+        if(g == null || state == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        state.reset();
+        int n = state.size();
+        //pila degli indici dei nodi grigi e cursori sui loro adiacenti
+        int[] stack = new int[n];
+        List<Iterator<GraphNode<L>>> cursors = new ArrayList<>();
+        int top = -1;
+        int localTime = 0;
+        //i nodi dello stato sono nell'ordine di getNodes(), come in DFSVisit(g)
+        for(int root = 0; root < n; root++){
+            if(state.color[root] != GraphNode.COLOR_WHITE)
+                continue;
+            localTime++;
+            state.enteringTime[root] = localTime;
+            state.color[root] = GraphNode.COLOR_GREY;
+            stack[++top] = root;
+            cursors.add(g.getAdjacentNodesOf(state.nodes.get(root)).iterator());
+            while(top >= 0){
+                int u = stack[top];
+                Iterator<GraphNode<L>> cursor = cursors.get(top);
+                if(cursor.hasNext()){
+                    int v = state.indexOf(cursor.next());
+                    if(state.color[v] == GraphNode.COLOR_WHITE){
+                        state.previous[v] = u;
+                        localTime++;
+                        state.enteringTime[v] = localTime;
+                        state.color[v] = GraphNode.COLOR_GREY;
+                        stack[++top] = v;
+                        cursors.add(g.getAdjacentNodesOf(state.nodes.get(v)).iterator());
+                    }
+                }
+                else{
+                    cursors.remove(top);
+                    top--;
+                    this.visitNode(state.nodes.get(u));
+                    state.color[u] = GraphNode.COLOR_BLACK;
+                    localTime++;
+                    state.exitingTime[u] = localTime;
+                }
+            }
         }
     }
 
@@ -76,6 +177,58 @@ public class DFSVisitor<L> {
         u.setExitingTime(this.time); //imposta il tempo di uscita appena visitato
     }
 
+    /*
+     * Esegue la DFS sul nodo passato con una pila esplicita, nello stesso
+     * ordine di recDFS: ogni elemento della pila contiene un nodo grigio e il
+     * cursore sui suoi adiacenti da cui riprendere, come il ciclo for di
+     * un'attivazione di recDFS sospesa dalla chiamata ricorsiva. La pila
+     * contiene gli stessi oggetti nodo che recDFS riceverebbe come parametro.
+     * 
+     * @param g il grafo
+     * 
+     * @param u il nodo su cui parte la DFS
+     */
+    protected void iterDFS(Graph<L> g, GraphNode<L> u) {
+        List<GraphNode<L>> stack = new ArrayList<>();
+        List<Iterator<GraphNode<L>>> cursors = new ArrayList<>();
+        this.discover(g, u, stack, cursors);
+        while(!(stack.isEmpty())){
+            int top = stack.size() - 1;
+            GraphNode<L> current = stack.get(top);
+            Iterator<GraphNode<L>> cursor = cursors.get(top);
+            if(cursor.hasNext()){
+                GraphNode<L> next = cursor.next();
+                //se il prossimo adiacente è bianco lo scopre, come la chiamata ricorsiva
+                if(next.getColor() == GraphNode.COLOR_WHITE){
+                    next.setPrevious(current);
+                    this.discover(g, next, stack, cursors);
+                }
+            }
+            else{
+                //adiacenti finiti: il nodo esce dalla pila come al ritorno di recDFS
+                stack.remove(top);
+                cursors.remove(top);
+                this.visitNode(current);
+                current.setColor(GraphNode.COLOR_BLACK);
+                this.time++;
+                current.setExitingTime(this.time);
+            }
+        }
+    }
+
+    /*
+     * Scopre un nodo e lo mette in cima alla pila insieme al cursore sui suoi
+     * adiacenti
+     */
+    private void discover(Graph<L> g, GraphNode<L> u, List<GraphNode<L>> stack,
+            List<Iterator<GraphNode<L>>> cursors) {
+        this.time++;
+        u.setEnteringTime(this.time);
+        u.setColor(GraphNode.COLOR_GREY);
+        stack.add(u);
+        cursors.add(g.getAdjacentNodesOf(u).iterator());
+    }
+
     /**
      * Questo metodo, che di default non fa niente, viene chiamato su tutti i
      * nodi visitati durante la DFS nel momento in cui il colore passa da grigio
@@ -0,0 +1,153 @@
+package it.unicam.cs.asdl2324.es11;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DFSVisitorTest {
+
+    /*
+     * Visita che registra la sequenza delle chiamate a visitNode
+     */
+    private static class RecordingVisitor extends DFSVisitor<Integer> {
+
+        private final List<GraphNode<Integer>> visits = new ArrayList<>();
+
+        RecordingVisitor(boolean recursive) {
+            super(recursive);
+        }
+
+        @Override
+        public void visitNode(GraphNode<Integer> n) {
+            this.visits.add(n);
+        }
+    }
+
+    private Graph<Integer> chain(int n, List<GraphNode<Integer>> nodes) {
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int i = 0; i + 1 < n; i++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(i), nodes.get(i + 1),
+                    false));
+        return g;
+    }
+
+    @Test
+    final void testDFSVisitor() {
+        assertFalse(new DFSVisitor<Integer>().recursive);
+        assertTrue(new DFSVisitor<Integer>(true).recursive);
+        assertThrows(NullPointerException.class,
+                () -> new DFSVisitor<Integer>().DFSVisit(null));
+    }
+
+    @Test
+    final void testSameTimesAsRecursive() {
+        Random random = new Random(13);
+        for (int round = 0; round < 10; round++) {
+            int n = 50 + random.nextInt(300);
+            List<GraphNode<Integer>> nodes = new ArrayList<>();
+            Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+            for (int i = 0; i < n; i++) {
+                nodes.add(new GraphNode<Integer>(i));
+                g.addNode(nodes.get(i));
+            }
+            for (int k = 0; k < 2 * n; k++)
+                g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                        nodes.get(random.nextInt(n)), false));
+            RecordingVisitor recursive = new RecordingVisitor(true);
+            recursive.DFSVisit(g);
+            int[] entering = new int[n];
+            int[] exiting = new int[n];
+            List<GraphNode<Integer>> previous = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                entering[i] = nodes.get(i).getEnteringTime();
+                exiting[i] = nodes.get(i).getExitingTime();
+                previous.add(nodes.get(i).getPrevious());
+            }
+            RecordingVisitor iterative = new RecordingVisitor(false);
+            iterative.DFSVisit(g);
+            assertEquals(recursive.time, iterative.time);
+            assertEquals(2 * n, iterative.time);
+            assertEquals(recursive.visits, iterative.visits);
+            for (int i = 0; i < n; i++) {
+                assertEquals(entering[i], nodes.get(i).getEnteringTime());
+                assertEquals(exiting[i], nodes.get(i).getExitingTime());
+                assertEquals(previous.get(i), nodes.get(i).getPrevious());
+                assertEquals(GraphNode.COLOR_BLACK, nodes.get(i).getColor());
+            }
+        }
+    }
+
+    @Test
+    final void testLongChain() throws InterruptedException {
+        int n = 5000;
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = this.chain(n, nodes);
+        // la visita iterativa non usa lo stack per scendere lungo la catena,
+        // quindi termina anche su un thread con uno stack piccolo. La JVM può
+        // ignorare la dimensione richiesta, per questo la visita ricorsiva non
+        // viene messa a confronto
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                new DFSVisitor<Integer>(false).DFSVisit(g);
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "dfs", 1 << 16);
+        thread.start();
+        thread.join();
+        assertNull(failure[0]);
+        // rieseguita sul thread del test per controllare i tempi
+        new DFSVisitor<Integer>().DFSVisit(g);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i + 1, nodes.get(i).getEnteringTime());
+            assertEquals(2 * n - i, nodes.get(i).getExitingTime());
+            assertEquals(i == 0 ? null : nodes.get(i - 1),
+                    nodes.get(i).getPrevious());
+        }
+    }
+
+    @Test
+    final void testDFSVisitWithState() {
+        Random random = new Random(29);
+        int n = 200;
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int k = 0; k < 2 * n; k++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), false));
+        RecordingVisitor withNodes = new RecordingVisitor(false);
+        withNodes.DFSVisit(g);
+        for (GraphNode<Integer> node : nodes)
+            node.setEnteringTime(-1);
+        TraversalState<Integer> state = new TraversalState<Integer>(g);
+        RecordingVisitor withState = new RecordingVisitor(false);
+        assertThrows(NullPointerException.class,
+                () -> withState.DFSVisit(g, null));
+        withState.DFSVisit(g, state);
+        // i nodi non vengono modificati, né il tempo del visitatore
+        assertEquals(0, withState.time);
+        assertEquals(withNodes.visits, withState.visits);
+        for (GraphNode<Integer> node : nodes) {
+            assertEquals(-1, node.getEnteringTime());
+            assertEquals(GraphNode.COLOR_BLACK, state.getColor(node));
+            assertEquals(node.getExitingTime(), state.getExitingTime(node));
+            assertEquals(node.getPrevious(), state.getPrevious(node));
+        }
+        state.writeToNodes();
+        assertEquals(state.getEnteringTime(nodes.get(7)),
+                nodes.get(7).getEnteringTime());
+    }
+}
@@ -4,6 +4,7 @@
 package it.unicam.cs.asdl2324.es11;
 
 import java.util.Set;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Classe astratta per un generico grafo i cui nodi sono etichettati con
@@ -314,6 +315,40 @@ public abstract class Graph<L> {
      */
     public abstract Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node);
 
+    /**
+     * Esegue un'operazione su tutti i nodi adiacenti a un certo nodo, passando
+     * il nodo adiacente e il peso dell'arco che li collega. Nel caso di grafo
+     * orientato vengono considerati solo gli archi uscenti. A differenza di
+     * {@code getAdjacentNodesOf} questo metodo non crea nessun insieme.
+     * 
+     * In questa classe il metodo è realizzato tramite {@code getEdgesOf}, le
+     * sottoclassi possono ridefinirlo per scorrere direttamente la propria
+     * rappresentazione.
+     * 
+     * @param node
+     *                   il nodo di cui scorrere i nodi adiacenti
+     * @param action
+     *                   l'operazione da eseguire su ogni nodo adiacente
+     * 
+     * @throws IllegalArgumentException
+     *                                      se il nodo passato non esiste
+     * @throws NullPointerException
+     *                                      se il nodo o l'operazione passati
+     *                                      sono nulli
+     */
+    public void forEachNeighbor(GraphNode<L> node,
+            ObjDoubleConsumer<GraphNode<L>> action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di scorrere i nodi adiacenti con un'operazione null");
+        for (GraphEdge<L> e : this.getEdgesOf(node)) {
+            // nel caso non orientato il nodo può essere uno qualsiasi dei due
+            GraphNode<L> other = e.getNode1().equals(node) ? e.getNode2()
+                    : e.getNode1();
+            action.accept(other, e.getWeight());
+        }
+    }
+
     /**
      * Restituisce l'insieme di tutti gli archi entranti in un certo nodo in un
      * grafo orientato.
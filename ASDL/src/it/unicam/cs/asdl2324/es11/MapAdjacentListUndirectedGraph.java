@@ -4,6 +4,7 @@
 package it.unicam.cs.asdl2324.es11;
 
 import java.util.*;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Implementazione della classe astratta {@code Graph<L>} che realizza un grafo
@@ -178,8 +179,8 @@ public class MapAdjacentListUndirectedGraph<L> extends Graph<L> {
         //scorre nel set di archi del nodo passato
         while(iterator.hasNext()){
             currentEdge = iterator.next();
-            //prende il secondo riferimento dell'arco supponendo che come primo ci sia il nodo passato
-            currentNode = currentEdge.getNode2();
+            //il nodo adiacente è l'estremo dell'arco diverso dal nodo passato, che può essere il primo o il secondo
+            currentNode = currentEdge.getNode1().equals(node) ? currentEdge.getNode2() : currentEdge.getNode1();
             adjacentNodesSet.add(currentNode); //aggiunge il nodo al set
         }
         return adjacentNodesSet; //ritorna il set di nodi adiacenti
@@ -279,6 +280,26 @@ public class MapAdjacentListUndirectedGraph<L> extends Graph<L> {
         return edgeSet; //altrimenti ritorna il set di archi che ha quel nodo
     }
 
+    @Override
+    public void forEachNeighbor(GraphNode<L> node,
+            ObjDoubleConsumer<GraphNode<L>> action) {
+        //controllo parametri
+        if(node == null || action == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        if(!(this.containsNode(node)))
+            throw new IllegalArgumentException("Parametro passato non valido");
+        Set<GraphEdge<L>> edgeSet = this.adjacentLists.get(node);
+        //se non è ancora stato inizializzato il set di archi non ci sono nodi adiacenti
+        if(edgeSet == null)
+            return;
+        //scorre direttamente il set di archi del nodo, senza crearne uno nuovo
+        for(GraphEdge<L> edge : edgeSet){
+            //il nodo adiacente è l'estremo dell'arco diverso dal nodo passato
+            GraphNode<L> other = edge.getNode1().equals(node) ? edge.getNode2() : edge.getNode1();
+            action.accept(other, edge.getWeight());
+        }
+    }
+
     @Override
     public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
         throw new UnsupportedOperationException(
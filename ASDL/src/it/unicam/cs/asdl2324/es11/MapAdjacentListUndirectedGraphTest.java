@@ -152,6 +152,17 @@ class MapAdjacentListUndirectedGraphTest {
         adjNodes.add(nxTest);
         adjNodes.add(nuTest);
         assertTrue(g.getAdjacentNodesOf(nsTest).equals(adjNodes));
+        // il nodo può essere il secondo estremo dell'arco
+        assertEquals(Set.of(nsTest), g.getAdjacentNodesOf(nuTest));
+        GraphNode<String> ny = new GraphNode<String>("y");
+        g.addNode(ny);
+        g.addEdge(new GraphEdge<String>(ny, nx, false));
+        assertEquals(Set.of(nsTest, new GraphNode<String>("y")),
+                g.getAdjacentNodesOf(nxTest));
+        // un cappio rende il nodo adiacente a se stesso
+        g.addEdge(new GraphEdge<String>(ny, ny, false));
+        assertEquals(Set.of(nxTest, new GraphNode<String>("y")),
+                g.getAdjacentNodesOf(ny));
     }
 
     
@@ -372,4 +383,42 @@ class MapAdjacentListUndirectedGraphTest {
         assertTrue(g.getDegreeOf(nw)==1);
     }
 
+    @Test
+    final void testForEachNeighbor() {
+        Graph<String> g = new MapAdjacentListUndirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        assertThrows(NullPointerException.class,
+                () -> g.forEachNeighbor(null, (n, w) -> {
+                }));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.forEachNeighbor(ns, (n, w) -> {
+                }));
+        g.addNode(ns);
+        assertThrows(NullPointerException.class,
+                () -> g.forEachNeighbor(ns, null));
+        Set<GraphNode<String>> adjNodes = new HashSet<GraphNode<String>>();
+        g.forEachNeighbor(ns, (n, w) -> adjNodes.add(n));
+        assertTrue(adjNodes.isEmpty());
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nu);
+        g.addNode(nx);
+        g.addEdge(new GraphEdge<String>(ns, nu, false, 10.1));
+        g.addEdge(new GraphEdge<String>(nx, ns, false, 5.12));
+        double[] sum = new double[1];
+        g.forEachNeighbor(ns, (n, w) -> {
+            adjNodes.add(n);
+            sum[0] += w;
+        });
+        Set<GraphNode<String>> expected = new HashSet<GraphNode<String>>();
+        expected.add(nu);
+        expected.add(nx);
+        assertTrue(adjNodes.equals(expected));
+        assertTrue(Math.abs(sum[0] - 15.22) < 1e-9);
+        // l'arco è visto anche dal nodo che compare come secondo estremo
+        adjNodes.clear();
+        g.forEachNeighbor(nu, (n, w) -> adjNodes.add(n));
+        assertTrue(adjNodes.size() == 1 && adjNodes.contains(ns));
+    }
+
 }
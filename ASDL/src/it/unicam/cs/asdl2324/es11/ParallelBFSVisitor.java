@@ -0,0 +1,537 @@
+package it.unicam.cs.asdl2324.es11;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Visita Breadth-First parallela di un grafo, che procede per livelli: tutti
+ * i nodi a distanza d dalla sorgente (la frontiera) vengono espansi insieme,
+ * dividendo il lavoro tra i thread di un {@code ForkJoinPool}, e producono la
+ * frontiera del livello d + 1. I nodi già scoperti sono registrati in un
+ * insieme di bit atomico, così che ogni nodo venga reclamato da un solo
+ * thread, e distanza e predecessore vengono registrati in array indicizzati
+ * con un indice locale dei nodi, perché il grafo non deve necessariamente
+ * supportare gli indici. Prima della visita le liste di adiacenza vengono
+ * copiate in array di interi.
+ *
+ * Con l'ottimizzazione della direzione attiva, sui livelli con una frontiera
+ * grande (tipici dei grafi con diametro piccolo) invece di espandere la
+ * frontiera si scorrono i nodi non ancora scoperti cercando tra i loro
+ * adiacenti un nodo della frontiera (visita bottom-up), e ci si ferma al primo
+ * trovato; quando la frontiera torna piccola si riprende la visita top-down.
+ * Nei grafi orientati la visita bottom-up deve cercare la frontiera tra i
+ * predecessori di un nodo, non tra i suoi successori: per questo, se il grafo
+ * è orientato, le liste di adiacenza copiate vengono anche trasposte e la
+ * visita bottom-up scorre gli archi entranti. Nei grafi non orientati le due
+ * liste coincidono e non viene fatta nessuna copia in più.
+ *
+ * Al termine i valori dei nodi sono gli stessi di {@code BFSVisitor}:
+ * distanza intera, predecessore e colore. Le distanze coincidono con quelle
+ * della visita sequenziale, mentre il predecessore di un nodo può essere uno
+ * qualsiasi dei suoi adiacenti al livello precedente.
+ *
+ * Il metodo visitNode viene chiamato una sola volta su ogni nodo raggiunto,
+ * anche dai thread del pool e in modo concorrente, quindi le sue
+ * ridefinizioni devono essere thread-safe. L'ordine delle chiamate è
+ * garantito solo tra livelli diversi: tutte le chiamate sui nodi a distanza d
+ * terminano prima che inizi una chiamata su un nodo a distanza d + 1, e tutte
+ * terminano prima che BFSVisit ritorni; tra i nodi dello stesso livello
+ * l'ordine non è specificato. Come nella visita sequenziale, quando visitNode
+ * viene chiamato su un nodo questo ha già distanza e predecessore definitivi
+ * e colore grigio, e tutti i nodi del livello successivo sono già grigi con
+ * i loro valori; il nodo diventa nero dopo la chiamata.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <L> le etichette dei nodi del grafo
+ */
+public class ParallelBFSVisitor<L> extends BFSVisitor<L> {
+
+    /*
+     * Si passa alla visita bottom-up quando gli archi uscenti dalla frontiera
+     * superano quelli entranti nei nodi non scoperti, che la visita bottom-up
+     * dovrebbe scorrere, diviso ALPHA, e si torna alla
+     * visita top-down quando la frontiera ha meno di n / BETA nodi
+     */
+    private static final int ALPHA = 14;
+
+    private static final int BETA = 24;
+
+    /*
+     * Numero di posizioni al di sotto del quale un task fork/join non viene
+     * più diviso
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 10;
+
+    private final int parallelism;
+
+    private final boolean directionOptimizing;
+
+    // Array della visita indicizzati con l'indice locale dei nodi: liste di
+    // adiacenza (offset e adiacenti), distanza e predecessore (-1 se assente)
+    // Sono protected per permettere il test JUnit
+    protected int[] offsets;
+
+    protected int[] adjacent;
+
+    // Liste dei predecessori usate dalla visita bottom-up, gli stessi array
+    // di offsets e adjacent se il grafo non è orientato
+    protected int[] inOffsets;
+
+    protected int[] inAdjacent;
+
+    protected int[] distance;
+
+    protected int[] parent;
+
+    // Numero di livelli dell'ultima visita espansi con la visita bottom-up
+    // E' protected per permettere il test JUnit
+    protected int bottomUpLevels;
+
+    private int adjacentCount;
+
+    private List<GraphNode<L>> nodes;
+
+    // Stato in cui scrivere i risultati, null per scriverli nei nodi
+    private TraversalState<L> state;
+
+    private AtomicLongArray visited;
+
+    /**
+     * Crea una visita parallela con un thread per ogni processore disponibile
+     * e l'ottimizzazione della direzione attiva.
+     */
+    public ParallelBFSVisitor() {
+        this(Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Crea una visita parallela con un certo numero di thread.
+     *
+     * @param parallelism
+     *                                il numero di thread da usare
+     * @param directionOptimizing
+     *                                true per alternare visita top-down e
+     *                                bottom-up a seconda della dimensione della
+     *                                frontiera, false per usare solo la visita
+     *                                top-down
+     * @throws IllegalArgumentException
+     *                                      se il numero di thread è minore di
+     *                                      1
+     */
+    public ParallelBFSVisitor(int parallelism, boolean directionOptimizing) {
+        if(parallelism < 1)
+            throw new IllegalArgumentException(
+                    "Numero di thread non valido: " + parallelism);
+        this.parallelism = parallelism;
+        this.directionOptimizing = directionOptimizing;
+    }
+
+    /**
+     * @return true se l'ottimizzazione della direzione è attiva
+     */
+    public boolean isDirectionOptimizing() {
+        return this.directionOptimizing;
+    }
+
+    /**
+     * Esegue la visita in ampiezza parallela di un certo grafo a partire da un
+     * nodo sorgente, con le stesse regole di {@code BFSVisitor.BFSVisit}.
+     * L'ordine e la concorrenza delle chiamate a visitNode sono descritti
+     * nella documentazione della classe.
+     *
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato
+     */
+    @Override
+    public void BFSVisit(Graph<L> g, GraphNode<L> source) {
+        if(g == null || source == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        if(!(g.containsNode(source)))
+            throw new IllegalArgumentException("Nodo non appartenente al grafo");
+        this.run(g, source, null);
+    }
+
+    /**
+     * Esegue la visita in ampiezza parallela di un certo grafo a partire da un
+     * nodo sorgente come {@code BFSVisit(g, source)}, ma scrive colore,
+     * distanza intera e predecessore nello stato passato invece che nei nodi,
+     * che non vengono modificati. La numerazione dei nodi dello stato viene
+     * usata anche per gli array della visita. Poiché questa classe usa delle
+     * variabili istanza durante la visita, più visite parallele dello stesso
+     * grafo devono usare istanze diverse del visitatore.
+     *
+     * @param g
+     *                   il grafo da visitare.
+     * @param source
+     *                   il nodo sorgente.
+     * @param state
+     *                   lo stato in cui scrivere i risultati, creato per il
+     *                   grafo g
+     * @throws NullPointerException
+     *                                      se almeno un valore passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo sorgente non appartiene
+     *                                      al grafo dato o allo stato
+     */
+    @Override
+    public void BFSVisit(Graph<L> g, GraphNode<L> source, TraversalState<L> state) {
+        if(g == null || source == null || state == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        if(!(g.containsNode(source)))
+            throw new IllegalArgumentException("Nodo non appartenente al grafo");
+        state.indexOf(source);
+        this.run(g, source, state);
+    }
+
+    /*
+     * Esegue la visita scrivendo i risultati nello stato passato o, se è
+     * null, nei nodi del grafo
+     */
+    private void run(Graph<L> g, GraphNode<L> source, TraversalState<L> state) {
+        this.state = state;
+        if(state == null){
+            this.nodes = new ArrayList<>(g.getNodes());
+            Map<GraphNode<L>, Integer> index = new HashMap<>();
+            for(int i = 0; i < this.nodes.size(); i++)
+                index.put(this.nodes.get(i), i);
+            this.buildAdjacency(g, index);
+            //inizializza i nodi
+            for(GraphNode<L> current : this.nodes){
+                current.setColor(GraphNode.COLOR_WHITE);
+                current.setIntegerDistance(Integer.MAX_VALUE);
+                current.setPrevious(null);
+            }
+        }
+        else{
+            this.nodes = state.nodes;
+            this.buildAdjacency(g, state.index);
+            state.reset();
+        }
+        int n = this.nodes.size();
+        //inizializza gli array della visita
+        this.distance = new int[n];
+        this.parent = new int[n];
+        Arrays.fill(this.distance, Integer.MAX_VALUE);
+        Arrays.fill(this.parent, -1);
+        this.visited = new AtomicLongArray((n + 63) >>> 6);
+        this.bottomUpLevels = 0;
+
+        //il nodo del grafo uguale alla sorgente, su cui vanno scritti i valori
+        int s = state == null ? this.nodes.indexOf(source) : state.indexOf(source);
+        this.claim(s);
+        this.distance[s] = 0;
+        if(state == null){
+            this.nodes.get(s).setColor(GraphNode.COLOR_GREY);
+            this.nodes.get(s).setIntegerDistance(0);
+        }
+        else{
+            state.color[s] = GraphNode.COLOR_GREY;
+            state.integerDistance[s] = 0;
+        }
+
+        //archi uscenti dalla frontiera e entranti nei nodi non ancora scoperti
+        long frontierEdges = this.degree(s);
+        long unexploredEdges = this.inAdjacent.length - this.inDegree(s);
+        boolean bottomUp = false;
+        int[] frontier = { s };
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try{
+            for(int level = 0; frontier.length > 0; level++){
+                //sceglie la direzione di questo livello
+                if(this.directionOptimizing){
+                    if(!bottomUp && frontierEdges > unexploredEdges / ALPHA)
+                        bottomUp = true;
+                    else if(bottomUp && frontier.length < n / BETA)
+                        bottomUp = false;
+                }
+                int[] next;
+                if(bottomUp){
+                    this.bottomUpLevels++;
+                    long[] inFrontier = new long[(n + 63) >>> 6];
+                    for(int u : frontier)
+                        inFrontier[u >>> 6] |= 1L << u;
+                    next = pool.invoke(new BottomUpTask(inFrontier, level + 1, 0, n));
+                }
+                else
+                    next = pool.invoke(new TopDownTask(frontier, level + 1, 0, frontier.length));
+                //prima scopre i nodi del livello successivo, poi visita la frontiera
+                pool.invoke(new NodesTask(next, false, 0, next.length));
+                pool.invoke(new NodesTask(frontier, true, 0, frontier.length));
+                frontierEdges = 0;
+                for(int v : next){
+                    frontierEdges += this.degree(v);
+                    unexploredEdges -= this.inDegree(v);
+                }
+                frontier = next;
+            }
+        }
+        finally{
+            pool.shutdown();
+            this.state = null;
+        }
+    }
+
+    /*
+     * Copia le liste di adiacenza dei nodi, numerati secondo index, negli
+     * array offsets e adjacent, e se il grafo è orientato le traspone negli
+     * array inOffsets e inAdjacent
+     */
+    private void buildAdjacency(Graph<L> g, Map<GraphNode<L>, Integer> index) {
+        this.offsets = new int[this.nodes.size() + 1];
+        this.adjacent = new int[16];
+        this.adjacentCount = 0;
+        for(int i = 0; i < this.nodes.size(); i++){
+            this.offsets[i] = this.adjacentCount;
+            g.forEachNeighbor(this.nodes.get(i), (other, weight) -> this.append(index.get(other)));
+        }
+        this.offsets[this.nodes.size()] = this.adjacentCount;
+        this.adjacent = Arrays.copyOf(this.adjacent, this.adjacentCount);
+        if(!(g.isDirected())){
+            this.inOffsets = this.offsets;
+            this.inAdjacent = this.adjacent;
+            return;
+        }
+        //conta gli archi entranti in ogni nodo e li raggruppa per nodo di arrivo
+        int n = this.nodes.size();
+        this.inOffsets = new int[n + 1];
+        for(int v : this.adjacent)
+            this.inOffsets[v + 1]++;
+        for(int v = 0; v < n; v++)
+            this.inOffsets[v + 1] += this.inOffsets[v];
+        this.inAdjacent = new int[this.adjacentCount];
+        int[] fill = Arrays.copyOf(this.inOffsets, n);
+        for(int u = 0; u < n; u++)
+            for(int e = this.offsets[u]; e < this.offsets[u + 1]; e++)
+                this.inAdjacent[fill[this.adjacent[e]]++] = u;
+    }
+
+    /*
+     * Aggiunge un adiacente in fondo all'array adjacent, raddoppiandolo se è
+     * pieno
+     */
+    private void append(int v) {
+        if(this.adjacentCount == this.adjacent.length)
+            this.adjacent = Arrays.copyOf(this.adjacent, 2 * this.adjacentCount);
+        this.adjacent[this.adjacentCount++] = v;
+    }
+
+    private int degree(int u) {
+        return this.offsets[u + 1] - this.offsets[u];
+    }
+
+    private int inDegree(int v) {
+        return this.inOffsets[v + 1] - this.inOffsets[v];
+    }
+
+    /*
+     * Marca un nodo come scoperto; restituisce false se lo era già
+     */
+    private boolean claim(int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        long old;
+        do{
+            old = this.visited.get(word);
+            if((old & bit) != 0)
+                return false;
+        }while(!(this.visited.compareAndSet(word, old, old | bit)));
+        return true;
+    }
+
+    private boolean isClaimed(int v) {
+        return (this.visited.get(v >>> 6) & (1L << v)) != 0;
+    }
+
+    /*
+     * Concatena le frontiere trovate da due task
+     */
+    private static int[] concat(int[] left, int[] right) {
+        int[] result = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, result, left.length, right.length);
+        return result;
+    }
+
+    /*
+     * Espande i nodi della frontiera nelle posizioni da from a to (escluso) e
+     * restituisce i nodi scoperti
+     */
+    private class TopDownTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frontier;
+
+        private final int nextLevel;
+
+        private final int from;
+
+        private final int to;
+
+        TopDownTask(int[] frontier, int nextLevel, int from, int to) {
+            this.frontier = frontier;
+            this.nextLevel = nextLevel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if(this.to - this.from > SEQUENTIAL_THRESHOLD){
+                int mid = (this.from + this.to) >>> 1;
+                TopDownTask left = new TopDownTask(this.frontier, this.nextLevel, this.from, mid);
+                left.fork();
+                int[] right = new TopDownTask(this.frontier, this.nextLevel, mid, this.to).compute();
+                return concat(left.join(), right);
+            }
+            int[] found = new int[16];
+            int count = 0;
+            for(int k = this.from; k < this.to; k++){
+                int u = this.frontier[k];
+                for(int e = offsets[u]; e < offsets[u + 1]; e++){
+                    int v = adjacent[e];
+                    //solo il thread che reclama il nodo ne scrive i valori
+                    if(!(isClaimed(v)) && claim(v)){
+                        distance[v] = this.nextLevel;
+                        parent[v] = u;
+                        if(count == found.length)
+                            found = Arrays.copyOf(found, 2 * count);
+                        found[count++] = v;
+                    }
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+    }
+
+    /*
+     * Cerca tra i nodi non scoperti con indice da from a to (escluso) quelli
+     * raggiunti da un arco uscente da un nodo della frontiera, scorrendo i
+     * loro predecessori, e restituisce i nodi scoperti
+     */
+    private class BottomUpTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] inFrontier;
+
+        private final int nextLevel;
+
+        private final int from;
+
+        private final int to;
+
+        BottomUpTask(long[] inFrontier, int nextLevel, int from, int to) {
+            this.inFrontier = inFrontier;
+            this.nextLevel = nextLevel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if(this.to - this.from > SEQUENTIAL_THRESHOLD){
+                int mid = (this.from + this.to) >>> 1;
+                BottomUpTask left = new BottomUpTask(this.inFrontier, this.nextLevel, this.from, mid);
+                left.fork();
+                int[] right = new BottomUpTask(this.inFrontier, this.nextLevel, mid, this.to).compute();
+                return concat(left.join(), right);
+            }
+            int[] found = new int[16];
+            int count = 0;
+            for(int v = this.from; v < this.to; v++){
+                if(isClaimed(v))
+                    continue;
+                for(int e = inOffsets[v]; e < inOffsets[v + 1]; e++){
+                    int u = inAdjacent[e];
+                    //basta un predecessore nella frontiera: gli altri non servono
+                    if((this.inFrontier[u >>> 6] & (1L << u)) != 0){
+                        //ogni nodo è esaminato da un solo task: claim riesce sempre
+                        claim(v);
+                        distance[v] = this.nextLevel;
+                        parent[v] = u;
+                        if(count == found.length)
+                            found = Arrays.copyOf(found, 2 * count);
+                        found[count++] = v;
+                        break;
+                    }
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+    }
+
+    /*
+     * Aggiorna i nodi del grafo nelle posizioni da from a to (escluso): se
+     * visit è false li marca come scoperti copiando distanza e predecessore,
+     * altrimenti chiama visitNode e li colora di nero
+     */
+    private class NodesTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] indices;
+
+        private final boolean visit;
+
+        private final int from;
+
+        private final int to;
+
+        NodesTask(int[] indices, boolean visit, int from, int to) {
+            this.indices = indices;
+            this.visit = visit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.to - this.from > SEQUENTIAL_THRESHOLD){
+                int mid = (this.from + this.to) >>> 1;
+                invokeAll(new NodesTask(this.indices, this.visit, this.from, mid),
+                        new NodesTask(this.indices, this.visit, mid, this.to));
+                return;
+            }
+            for(int k = this.from; k < this.to; k++){
+                int v = this.indices[k];
+                GraphNode<L> node = nodes.get(v);
+                if(state != null){
+                    //ogni indice è scritto da un solo task
+                    if(this.visit){
+                        visitNode(node);
+                        state.color[v] = GraphNode.COLOR_BLACK;
+                    }
+                    else{
+                        state.color[v] = GraphNode.COLOR_GREY;
+                        state.integerDistance[v] = distance[v];
+                        state.previous[v] = parent[v];
+                    }
+                }
+                else if(this.visit){
+                    visitNode(node);
+                    node.setColor(GraphNode.COLOR_BLACK);
+                }
+                else{
+                    node.setColor(GraphNode.COLOR_GREY);
+                    node.setIntegerDistance(distance[v]);
+                    node.setPrevious(nodes.get(parent[v]));
+                }
+            }
+        }
+    }
+}
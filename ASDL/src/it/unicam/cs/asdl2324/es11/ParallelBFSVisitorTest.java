@@ -0,0 +1,262 @@
+package it.unicam.cs.asdl2324.es11;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.ObjDoubleConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBFSVisitorTest {
+
+    /*
+     * Visita parallela che registra l'ordine delle chiamate a visitNode
+     */
+    private static class RecordingVisitor extends ParallelBFSVisitor<Integer> {
+
+        private final List<GraphNode<Integer>> visits = Collections
+                .synchronizedList(new ArrayList<GraphNode<Integer>>());
+
+        RecordingVisitor(int parallelism, boolean directionOptimizing) {
+            super(parallelism, directionOptimizing);
+        }
+
+        @Override
+        public void visitNode(GraphNode<Integer> n) {
+            assertEquals(GraphNode.COLOR_GREY, n.getColor());
+            this.visits.add(n);
+        }
+    }
+
+    /*
+     * Grafo orientato per i test, costruito sulle liste del grafo non
+     * orientato: ogni arco è registrato in entrambi gli estremi e viene
+     * filtrato in base alla direzione
+     */
+    private static class DirectedGraph
+            extends MapAdjacentListUndirectedGraph<Integer> {
+
+        @Override
+        public boolean isDirected() {
+            return true;
+        }
+
+        @Override
+        public Set<GraphEdge<Integer>> getEdgesOf(GraphNode<Integer> node) {
+            Set<GraphEdge<Integer>> out = new HashSet<>();
+            for (GraphEdge<Integer> e : super.getEdgesOf(node))
+                if (e.getNode1().equals(node))
+                    out.add(e);
+            return out;
+        }
+
+        @Override
+        public Set<GraphEdge<Integer>> getIngoingEdgesOf(
+                GraphNode<Integer> node) {
+            Set<GraphEdge<Integer>> in = new HashSet<>();
+            for (GraphEdge<Integer> e : super.getEdgesOf(node))
+                if (e.getNode2().equals(node))
+                    in.add(e);
+            return in;
+        }
+
+        @Override
+        public void forEachNeighbor(GraphNode<Integer> node,
+                ObjDoubleConsumer<GraphNode<Integer>> action) {
+            for (GraphEdge<Integer> e : this.getEdgesOf(node))
+                action.accept(e.getNode2(), e.getWeight());
+        }
+    }
+
+    private Graph<Integer> randomGraph(Random random, int n, int m,
+            List<GraphNode<Integer>> nodes) {
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int k = 0; k < m; k++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), false));
+        return g;
+    }
+
+    /*
+     * Distanze dal primo nodo calcolate con una visita sequenziale di
+     * riferimento che scorre gli archi con forEachNeighbor
+     */
+    private Map<GraphNode<Integer>, Integer> expectedDistances(
+            Graph<Integer> g, List<GraphNode<Integer>> nodes) {
+        Map<GraphNode<Integer>, Integer> expected = new HashMap<>();
+        ArrayDeque<GraphNode<Integer>> queue = new ArrayDeque<>();
+        expected.put(nodes.get(0), 0);
+        queue.add(nodes.get(0));
+        while (!queue.isEmpty()) {
+            GraphNode<Integer> u = queue.poll();
+            g.forEachNeighbor(u, (v, w) -> {
+                if (!expected.containsKey(v)) {
+                    expected.put(v, expected.get(u) + 1);
+                    queue.add(v);
+                }
+            });
+        }
+        return expected;
+    }
+
+    /*
+     * Confronta la visita parallela con la visita di riferimento
+     */
+    private void checkAgainstSequential(Graph<Integer> g,
+            List<GraphNode<Integer>> nodes, RecordingVisitor visitor) {
+        Map<GraphNode<Integer>, Integer> expected = this
+                .expectedDistances(g, nodes);
+        int reached = expected.size();
+        for (GraphNode<Integer> node : nodes)
+            expected.putIfAbsent(node, Integer.MAX_VALUE);
+        visitor.BFSVisit(g, nodes.get(0));
+        for (GraphNode<Integer> node : nodes) {
+            assertEquals(expected.get(node), node.getIntegerDistance());
+            if (node.getIntegerDistance() == Integer.MAX_VALUE) {
+                assertEquals(GraphNode.COLOR_WHITE, node.getColor());
+                assertNull(node.getPrevious());
+                continue;
+            }
+            assertEquals(GraphNode.COLOR_BLACK, node.getColor());
+            if (node.getIntegerDistance() == 0) {
+                assertNull(node.getPrevious());
+                continue;
+            }
+            // il predecessore è un adiacente al livello precedente
+            assertTrue(g.containsEdge(new GraphEdge<Integer>(
+                    node.getPrevious(), node, g.isDirected())));
+            assertEquals(node.getIntegerDistance() - 1,
+                    node.getPrevious().getIntegerDistance());
+        }
+        // una chiamata per nodo raggiunto, in ordine di livello
+        assertEquals(reached, visitor.visits.size());
+        assertEquals(reached, new HashSet<>(visitor.visits).size());
+        for (int k = 1; k < visitor.visits.size(); k++)
+            assertTrue(visitor.visits.get(k - 1)
+                    .getIntegerDistance() <= visitor.visits.get(k)
+                            .getIntegerDistance());
+    }
+
+    @Test
+    final void testExceptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelBFSVisitor<Integer>(0, true));
+        ParallelBFSVisitor<Integer> visitor = new ParallelBFSVisitor<Integer>();
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        GraphNode<Integer> a = new GraphNode<Integer>(1);
+        assertThrows(NullPointerException.class,
+                () -> visitor.BFSVisit(null, a));
+        assertThrows(NullPointerException.class,
+                () -> visitor.BFSVisit(g, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> visitor.BFSVisit(g, a));
+    }
+
+    @Test
+    final void testSparseTopDown() {
+        Random random = new Random(5);
+        for (int round = 0; round < 3; round++) {
+            List<GraphNode<Integer>> nodes = new ArrayList<>();
+            Graph<Integer> g = this.randomGraph(random, 3000, 3500, nodes);
+            RecordingVisitor visitor = new RecordingVisitor(4, false);
+            this.checkAgainstSequential(g, nodes, visitor);
+            assertEquals(0, visitor.bottomUpLevels);
+        }
+    }
+
+    @Test
+    final void testDenseDirectionOptimizing() {
+        Random random = new Random(9);
+        for (int round = 0; round < 3; round++) {
+            List<GraphNode<Integer>> nodes = new ArrayList<>();
+            Graph<Integer> g = this.randomGraph(random, 1500, 12000, nodes);
+            RecordingVisitor visitor = new RecordingVisitor(4, true);
+            this.checkAgainstSequential(g, nodes, visitor);
+            // con un diametro piccolo almeno un livello è bottom-up
+            assertTrue(visitor.bottomUpLevels > 0);
+        }
+    }
+
+    @Test
+    final void testDirectedGraph() {
+        Random random = new Random(13);
+        int n = 1500;
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = new DirectedGraph();
+        for (int i = 0; i < n + 300; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int k = 0; k < 12000; k++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(n)),
+                    nodes.get(random.nextInt(n)), true));
+        // nodi con soli archi uscenti verso il resto del grafo: non sono
+        // raggiungibili, ma hanno tra i successori molti nodi della frontiera
+        for (int i = n; i < n + 300; i++)
+            for (int k = 0; k < 20; k++)
+                g.addEdge(new GraphEdge<Integer>(nodes.get(i),
+                        nodes.get(random.nextInt(n)), true));
+        RecordingVisitor visitor = new RecordingVisitor(4, true);
+        this.checkAgainstSequential(g, nodes, visitor);
+        assertTrue(visitor.bottomUpLevels > 0);
+        for (int i = n; i < n + 300; i++)
+            assertEquals(Integer.MAX_VALUE, nodes.get(i).getIntegerDistance());
+    }
+
+    @Test
+    final void testBFSVisitWithState() throws InterruptedException {
+        Random random = new Random(41);
+        List<GraphNode<Integer>> nodes = new ArrayList<>();
+        Graph<Integer> g = this.randomGraph(random, 1000, 3000, nodes);
+        Map<GraphNode<Integer>, Integer> expected = this
+                .expectedDistances(g, nodes);
+        for (GraphNode<Integer> node : nodes)
+            node.setColor(GraphNode.COLOR_WHITE);
+        // visite parallele sullo stesso grafo, ognuna con il proprio stato
+        List<TraversalState<Integer>> states = new ArrayList<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            TraversalState<Integer> state = new TraversalState<Integer>(g);
+            states.add(state);
+            BFSVisitor<Integer> visitor = new ParallelBFSVisitor<Integer>(2,
+                    t % 2 == 0);
+            threads[t] = new Thread(
+                    () -> visitor.BFSVisit(g, nodes.get(0), state));
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        for (TraversalState<Integer> state : states)
+            for (GraphNode<Integer> node : nodes) {
+                assertEquals(GraphNode.COLOR_WHITE, node.getColor());
+                assertEquals(
+                        (int) expected.getOrDefault(node, Integer.MAX_VALUE),
+                        state.getIntegerDistance(node));
+                if (state.getPrevious(node) != null)
+                    assertEquals(state.getIntegerDistance(node) - 1, state
+                            .getIntegerDistance(state.getPrevious(node)));
+            }
+        // la visita sequenziale con stato coincide con quella sui nodi
+        TraversalState<Integer> state = new TraversalState<Integer>(g);
+        new BFSVisitor<Integer>().BFSVisit(g, nodes.get(0), state);
+        new BFSVisitor<Integer>().BFSVisit(g, nodes.get(0));
+        for (GraphNode<Integer> node : nodes) {
+            assertEquals(node.getIntegerDistance(),
+                    state.getIntegerDistance(node));
+            assertEquals(node.getPrevious(), state.getPrevious(node));
+            assertEquals(node.getColor(), state.getColor(node));
+        }
+    }
+}
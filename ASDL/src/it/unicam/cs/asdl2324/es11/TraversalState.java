@@ -0,0 +1,264 @@
+package it.unicam.cs.asdl2324.es11;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stato di una visita di un grafo: per ogni nodo colore, distanza intera e in
+ * virgola mobile, predecessore, tempo di scoperta e tempo di fine visita,
+ * cioè gli stessi valori dei campi di {@code GraphNode}. I valori sono tenuti
+ * in array di tipi primitivi indicizzati con una numerazione locale dei nodi,
+ * fissata alla creazione, perché il grafo non deve necessariamente supportare
+ * gli indici; il predecessore è memorizzato come indice.
+ *
+ * Le visite che ricevono uno stato scrivono in esso i loro risultati senza
+ * modificare i nodi del grafo, quindi più visite, ognuna con il proprio stato
+ * e la propria istanza del visitatore, possono essere eseguite in parallelo
+ * sullo stesso grafo, purché il grafo non venga modificato. Uno stato può
+ * essere riusato per più visite sequenziali dello stesso grafo ma non da più
+ * thread contemporaneamente.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <L> le etichette dei nodi del grafo
+ */
+public class TraversalState<L> {
+
+    // Numerazione locale dei nodi e array dei valori, indicizzati con essa
+    // Sono protected per permettere l'accesso diretto alle visite e il test
+    // JUnit
+    protected final List<GraphNode<L>> nodes;
+
+    protected final Map<GraphNode<L>, Integer> index;
+
+    protected final int[] color;
+
+    protected final int[] integerDistance;
+
+    protected final double[] floatingPointDistance;
+
+    protected final int[] previous;
+
+    protected final int[] enteringTime;
+
+    protected final int[] exitingTime;
+
+    /**
+     * Crea lo stato per le visite di un grafo, numerando i nodi nell'ordine
+     * in cui li restituisce {@code getNodes()}. I valori iniziali sono quelli
+     * di {@code reset()}.
+     *
+     * @param g
+     *              il grafo
+     * @throws NullPointerException
+     *                                  se il grafo è null
+     */
+    public TraversalState(Graph<L> g) {
+        if(g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        this.nodes = new ArrayList<>(g.getNodes());
+        int n = this.nodes.size();
+        this.index = new HashMap<>();
+        for(int i = 0; i < n; i++)
+            this.index.put(this.nodes.get(i), i);
+        this.color = new int[n];
+        this.integerDistance = new int[n];
+        this.floatingPointDistance = new double[n];
+        this.previous = new int[n];
+        this.enteringTime = new int[n];
+        this.exitingTime = new int[n];
+        this.reset();
+    }
+
+    /**
+     * Riporta tutti i nodi al colore bianco, con distanza infinita
+     * ({@code Integer.MAX_VALUE} e {@code Double.POSITIVE_INFINITY}), nessun
+     * predecessore e tempi nulli.
+     */
+    public void reset() {
+        Arrays.fill(this.color, GraphNode.COLOR_WHITE);
+        Arrays.fill(this.integerDistance, Integer.MAX_VALUE);
+        Arrays.fill(this.floatingPointDistance, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.previous, -1);
+        Arrays.fill(this.enteringTime, 0);
+        Arrays.fill(this.exitingTime, 0);
+    }
+
+    /**
+     * @return il numero di nodi dello stato
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Restituisce l'indice locale di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'indice del nodo, tra 0 e size() - 1
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non fa parte del grafo
+     *                                      dello stato
+     */
+    public int indexOf(GraphNode<L> node) {
+        if(node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        Integer i = this.index.get(node);
+        if(i == null)
+            throw new IllegalArgumentException("Nodo non appartenente al grafo");
+        return i;
+    }
+
+    /**
+     * Restituisce il nodo con un certo indice locale.
+     *
+     * @param i
+     *              l'indice
+     * @return il nodo del grafo con indice i
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public GraphNode<L> getNode(int i) {
+        if(i < 0 || i >= this.nodes.size())
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+        return this.nodes.get(i);
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @return il colore del nodo
+     */
+    public int getColor(GraphNode<L> node) {
+        return this.color[this.indexOf(node)];
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @param color
+     *                 il nuovo colore del nodo
+     */
+    public void setColor(GraphNode<L> node, int color) {
+        this.color[this.indexOf(node)] = color;
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @return la distanza intera del nodo
+     */
+    public int getIntegerDistance(GraphNode<L> node) {
+        return this.integerDistance[this.indexOf(node)];
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @param distance
+     *                 la nuova distanza intera del nodo
+     */
+    public void setIntegerDistance(GraphNode<L> node, int distance) {
+        this.integerDistance[this.indexOf(node)] = distance;
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @return la distanza in virgola mobile del nodo
+     */
+    public double getFloatingPointDistance(GraphNode<L> node) {
+        return this.floatingPointDistance[this.indexOf(node)];
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @param distance
+     *                 la nuova distanza in virgola mobile del nodo
+     */
+    public void setFloatingPointDistance(GraphNode<L> node, double distance) {
+        this.floatingPointDistance[this.indexOf(node)] = distance;
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @return il predecessore del nodo, null se non ne ha
+     */
+    public GraphNode<L> getPrevious(GraphNode<L> node) {
+        int p = this.previous[this.indexOf(node)];
+        return p == -1 ? null : this.nodes.get(p);
+    }
+
+    /**
+     * @param node
+     *                     il nodo
+     * @param previous
+     *                     il nuovo predecessore del nodo, null per nessuno
+     */
+    public void setPrevious(GraphNode<L> node, GraphNode<L> previous) {
+        this.previous[this.indexOf(node)] = previous == null ? -1
+                : this.indexOf(previous);
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @return il tempo di scoperta del nodo
+     */
+    public int getEnteringTime(GraphNode<L> node) {
+        return this.enteringTime[this.indexOf(node)];
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @param time
+     *                 il nuovo tempo di scoperta del nodo
+     */
+    public void setEnteringTime(GraphNode<L> node, int time) {
+        this.enteringTime[this.indexOf(node)] = time;
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @return il tempo di fine visita del nodo
+     */
+    public int getExitingTime(GraphNode<L> node) {
+        return this.exitingTime[this.indexOf(node)];
+    }
+
+    /**
+     * @param node
+     *                 il nodo
+     * @param time
+     *                 il nuovo tempo di fine visita del nodo
+     */
+    public void setExitingTime(GraphNode<L> node, int time) {
+        this.exitingTime[this.indexOf(node)] = time;
+    }
+
+    /**
+     * Copia tutti i valori dello stato nei campi dei nodi del grafo, come se
+     * la visita fosse stata eseguita senza stato.
+     */
+    public void writeToNodes() {
+        for(int i = 0; i < this.nodes.size(); i++){
+            GraphNode<L> node = this.nodes.get(i);
+            node.setColor(this.color[i]);
+            node.setIntegerDistance(this.integerDistance[i]);
+            node.setFloatingPointDistance(this.floatingPointDistance[i]);
+            node.setPrevious(this.previous[i] == -1 ? null : this.nodes.get(this.previous[i]));
+            node.setEnteringTime(this.enteringTime[i]);
+            node.setExitingTime(this.exitingTime[i]);
+        }
+    }
+}
@@ -0,0 +1,649 @@
+package it.unicam.cs.asdl2324.es12;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Implementazione della classe astratta {@code Graph<L>} che realizza un grafo
+ * non orientato sparso con liste di adiacenza memorizzate in array di tipi
+ * primitivi. Ogni nodo riceve, nell'ordine di inserimento, un indice denso
+ * nell'intervallo <code>[0, this.nodeCount() - 1]</code>; una tabella hash
+ * associa a ogni etichetta l'indice del nodo, quindi la ricerca di un nodo,
+ * del suo indice e del nodo di un indice costano tempo pseudocostante.
+ *
+ * Per ogni nodo si tengono un array {@code int[]} con gli indici dei nodi
+ * adiacenti e un array {@code double[]} con i pesi degli archi
+ * corrispondenti, {@code Double.NaN} se l'arco non è pesato, che raddoppiano
+ * quando sono pieni. Un arco non orientato compare negli array di entrambi
+ * gli estremi, un cappio una volta sola. Gli oggetti {@code GraphEdge<L>}
+ * passati ad {@code addEdge} non vengono conservati: la vista restituita da
+ * {@code getEdges} e l'insieme restituito da {@code getEdgesOf} contengono
+ * archi nuovi creati dagli array, mentre {@code forEachNeighbor} e i metodi
+ * con indici scorrono gli array direttamente senza creare oggetti. La ricerca
+ * di un arco scorre la lista più corta dei due estremi.
+ *
+ * Proprio perché gli archi restituiti sono copie, chiamare {@code setWeight}
+ * su di essi non ha nessun effetto sul grafo: per cambiare il peso di un arco
+ * bisogna rimuoverlo e inserirlo di nuovo. Per questo la classe non può
+ * sostituire in tutto {@code MapAdjacentListUndirectedGraph}, che restituisce
+ * gli oggetti memorizzati, nel codice che modifica i pesi attraverso gli
+ * archi.
+ *
+ * Questa classe supporta la rimozione degli archi ma non quella dei nodi,
+ * così gli indici restano stabili.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class ArrayAdjacentListUndirectedGraph<L> extends Graph<L> {
+
+    /*
+     * Capacità iniziale degli array di adiacenza di un nodo
+     */
+    private static final int INITIAL_DEGREE_CAPACITY = 4;
+
+    /*
+     * Nodi nell'ordine dei loro indici e indice di ogni etichetta
+     */
+    protected final List<GraphNode<L>> nodes;
+
+    private final Map<L, Integer> ids;
+
+    /*
+     * Per ogni indice di nodo: indici dei nodi adiacenti, pesi degli archi e
+     * numero di posizioni usate. Protected per JUnit testing
+     */
+    protected int[][] adjacent;
+
+    protected double[][] weights;
+
+    protected int[] degree;
+
+    private int edgeCount;
+
+    /*
+     * Viste non modificabili dei nodi e degli archi restituite da getNodes()
+     * e getEdges()
+     */
+    private final Set<GraphNode<L>> nodeView;
+
+    private final Set<GraphEdge<L>> edgeView;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public ArrayAdjacentListUndirectedGraph() {
+        this(0);
+    }
+
+    /**
+     * Crea un grafo vuoto con gli array indicizzati con i nodi già
+     * dimensionati per il numero di nodi dato, in modo che il loro
+     * inserimento non debba riallocarli. Il grafo può comunque contenere più
+     * nodi di quelli previsti.
+     *
+     * @param expectedNodeCount
+     *                              il numero di nodi previsto
+     * @throws IllegalArgumentException
+     *                                      se il numero di nodi previsto è
+     *                                      negativo
+     */
+    public ArrayAdjacentListUndirectedGraph(int expectedNodeCount) {
+        if (expectedNodeCount < 0)
+            throw new IllegalArgumentException(
+                    "Numero di nodi previsto negativo: " + expectedNodeCount);
+        this.nodes = new ArrayList<GraphNode<L>>(expectedNodeCount);
+        this.ids = new HashMap<L, Integer>(
+                Math.max(16, (int) (expectedNodeCount / 0.75f) + 1));
+        this.adjacent = new int[expectedNodeCount][];
+        this.weights = new double[expectedNodeCount][];
+        this.degree = new int[expectedNodeCount];
+        this.edgeCount = 0;
+        this.nodeView = new AbstractSet<GraphNode<L>>() {
+
+            @Override
+            public Iterator<GraphNode<L>> iterator() {
+                return Collections.unmodifiableList(
+                        ArrayAdjacentListUndirectedGraph.this.nodes).iterator();
+            }
+
+            @Override
+            public int size() {
+                return ArrayAdjacentListUndirectedGraph.this.nodes.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof GraphNode && ArrayAdjacentListUndirectedGraph.this.ids
+                        .containsKey(((GraphNode<?>) o).getLabel());
+            }
+        };
+        this.edgeView = new AbstractSet<GraphEdge<L>>() {
+
+            @Override
+            public Iterator<GraphEdge<L>> iterator() {
+                return new EdgeIterator();
+            }
+
+            @Override
+            public int size() {
+                return ArrayAdjacentListUndirectedGraph.this.edgeCount;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof GraphEdge))
+                    return false;
+                GraphEdge<?> e = (GraphEdge<?>) o;
+                Integer u = ArrayAdjacentListUndirectedGraph.this.ids
+                        .get(e.getNode1().getLabel());
+                Integer v = ArrayAdjacentListUndirectedGraph.this.ids
+                        .get(e.getNode2().getLabel());
+                return u != null && v != null
+                        && ArrayAdjacentListUndirectedGraph.this.hasEdge(u, v);
+            }
+        };
+    }
+
+    @Override
+    public int nodeCount() {
+        return this.nodes.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return this.edgeCount;
+    }
+
+    @Override
+    public void clear() {
+        this.nodes.clear();
+        this.ids.clear();
+        this.adjacent = new int[0][];
+        this.weights = new double[0][];
+        this.degree = new int[0];
+        this.edgeCount = 0;
+    }
+
+    @Override
+    public boolean isDirected() {
+        // Questa classe implementa grafi non orientati
+        return false;
+    }
+
+    /*
+     * La vista restituita riflette gli inserimenti successivi e non può
+     * essere modificata
+     */
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return this.nodeView;
+    }
+
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Inserimento di nodo null");
+        if (this.ids.containsKey(node.getLabel()))
+            return false;
+        int i = this.nodes.size();
+        // Raddoppio gli array indicizzati con i nodi se sono pieni
+        if (i == this.degree.length) {
+            int capacity = Math.max(INITIAL_DEGREE_CAPACITY, 2 * i);
+            this.adjacent = Arrays.copyOf(this.adjacent, capacity);
+            this.weights = Arrays.copyOf(this.weights, capacity);
+            this.degree = Arrays.copyOf(this.degree, capacity);
+        }
+        this.nodes.add(node);
+        this.ids.put(node.getLabel(), i);
+        this.adjacent[i] = new int[0];
+        this.weights[i] = new double[0];
+        this.degree[i] = 0;
+        return true;
+    }
+
+    @Override
+    public boolean removeNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere un nodo null");
+        throw new UnsupportedOperationException(
+                "Rimozione dei nodi non supportata");
+    }
+
+    @Override
+    public boolean containsNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Ricerca di nodo nullo");
+        return this.ids.containsKey(node.getLabel());
+    }
+
+    @Override
+    public GraphNode<L> getNodeOf(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di ricercare un nodo con etichetta null");
+        Integer i = this.ids.get(label);
+        return i == null ? null : this.nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di ricercare un nodo con etichetta null");
+        Integer i = this.ids.get(label);
+        if (i == null)
+            throw new IllegalArgumentException(
+                    "Ricerca dell'indice di un nodo non esistente");
+        return i;
+    }
+
+    @Override
+    public GraphNode<L> getNodeAtIndex(int i) {
+        this.checkIndex(i);
+        return this.nodes.get(i);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Ricerca di nodi adiacenti a un nodo nullo");
+        int i = this.indexOf(node,
+                "Ricerca di nodi adiacenti a un nodo non esistente");
+        Set<GraphNode<L>> r = new HashSet<GraphNode<L>>();
+        for (int k = 0; k < this.degree[i]; k++)
+            r.add(this.nodes.get(this.adjacent[i][k]));
+        return r;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Ricerca dei nodi predecessori non supportata in un grafo non orientato");
+    }
+
+    /*
+     * La vista costa O(1): size() usa il numero di archi, contains(...)
+     * cerca l'arco negli array e l'iteratore crea un arco nuovo per ogni
+     * posizione di adiacenza, con il peso registrato in quel momento
+     */
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        return this.edgeView;
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        // Controlli richiesti
+        if (edge == null)
+            throw new NullPointerException("Inserimento di arco nullo");
+        if (edge.isDirected())
+            throw new IllegalArgumentException(
+                    "Inserimento di un arco orientato in un grafo non orientato");
+        Integer u = this.ids.get(edge.getNode1().getLabel());
+        Integer v = this.ids.get(edge.getNode2().getLabel());
+        if (u == null || v == null)
+            throw new IllegalArgumentException(
+                    "Inserimento di un arco in cui almeno uno dei due nodi "
+                            + "collegati non esiste in questo grafo");
+        // Controllo se l'arco è già presente
+        if (this.hasEdge(u, v))
+            return false;
+        this.append(u, v, edge.getWeight());
+        if (!u.equals(v))
+            this.append(v, u, edge.getWeight());
+        this.edgeCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException("Rimozione di arco nullo");
+        int u = this.indexOf(edge.getNode1(),
+                "Rimozione di un arco in cui almeno uno dei due nodi "
+                        + "collegati non esiste in questo grafo");
+        int v = this.indexOf(edge.getNode2(),
+                "Rimozione di un arco in cui almeno uno dei due nodi "
+                        + "collegati non esiste in questo grafo");
+        int k = this.position(u, v);
+        if (k == -1)
+            return false;
+        this.removeAt(u, k);
+        if (u != v)
+            this.removeAt(v, this.position(v, u));
+        this.edgeCount--;
+        return true;
+    }
+
+    @Override
+    public boolean containsEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException("Ricerca di arco nullo");
+        String message = "Ricerca di un arco in cui almeno uno dei due nodi "
+                + "collegati non esiste in questo grafo";
+        int u = this.indexOf(edge.getNode1(), message);
+        int v = this.indexOf(edge.getNode2(), message);
+        return this.hasEdge(u, v);
+    }
+
+    /*
+     * L'insieme restituito è nuovo e le sue modifiche non si riflettono sul
+     * grafo
+     */
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Ricerca degli archi di un nodo nullo");
+        int i = this.indexOf(node,
+                "Ricerca degli archi di un nodo non esistente");
+        Set<GraphEdge<L>> r = new HashSet<GraphEdge<L>>(
+                2 * this.degree[i] + 1);
+        for (int k = 0; k < this.degree[i]; k++)
+            r.add(this.edgeAt(i, k));
+        return r;
+    }
+
+    @Override
+    public void forEachNeighbor(GraphNode<L> node,
+            ObjDoubleConsumer<GraphNode<L>> action) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Ricerca dei nodi adiacenti a un nodo nullo");
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di scorrere i nodi adiacenti con un'operazione null");
+        int i = this.indexOf(node,
+                "Ricerca dei nodi adiacenti a un nodo non esistente");
+        // Scorro direttamente gli array del nodo
+        int[] row = this.adjacent[i];
+        double[] w = this.weights[i];
+        for (int k = 0; k < this.degree[i]; k++)
+            action.accept(this.nodes.get(row[k]), w[k]);
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Archi entranti non significativi in un grafo non orientato");
+    }
+
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Calcolo del grado di un nodo nullo");
+        return this.degree[this.indexOf(node,
+                "Calcolo del grado di un nodo non esistente")];
+    }
+
+    /**
+     * Restituisce il numero di nodi adiacenti al nodo di un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il numero di nodi adiacenti, che coincide con il grado
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int getNeighborCount(int i) {
+        this.checkIndex(i);
+        return this.degree[i];
+    }
+
+    /**
+     * Restituisce l'indice del k-esimo nodo adiacente al nodo di indice i.
+     * Insieme a {@code getNeighborCount} e {@code getNeighborWeight} permette
+     * di scorrere gli archi di un nodo senza creare oggetti.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @param k
+     *              la posizione del nodo adiacente, tra 0 e
+     *              {@code getNeighborCount(i) - 1}
+     * @return l'indice del nodo adiacente
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due indici non è
+     *                                       valido
+     */
+    public int getNeighborIndex(int i, int k) {
+        this.checkNeighbor(i, k);
+        return this.adjacent[i][k];
+    }
+
+    /**
+     * Restituisce il peso dell'arco tra il nodo di indice i e il suo k-esimo
+     * nodo adiacente.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @param k
+     *              la posizione del nodo adiacente, tra 0 e
+     *              {@code getNeighborCount(i) - 1}
+     * @return il peso dell'arco, {@code Double.NaN} se non è pesato
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due indici non è
+     *                                       valido
+     */
+    public double getNeighborWeight(int i, int k) {
+        this.checkNeighbor(i, k);
+        return this.weights[i][k];
+    }
+
+    /*
+     * Sostituisce gli array di adiacenza, ancora vuoti, del nodo di indice i
+     * con quelli passati, che vengono usati senza copiarli. Serve a
+     * GraphSnapshot per installare righe già complete senza creare archi:
+     * ogni arco deve comparire nelle righe di entrambi gli estremi, per
+     * questo vengono contati solo gli archi verso nodi di indice maggiore o
+     * uguale a i. Le righe installate non vengono controllate, lo fa
+     * isSymmetric una volta installate tutte.
+     */
+    void setNeighbors(int i, int[] adjacent, double[] weights) {
+        this.checkIndex(i);
+        if (this.degree[i] != 0)
+            throw new IllegalStateException(
+                    "Il nodo di indice " + i + " ha già degli archi");
+        this.adjacent[i] = adjacent;
+        this.weights[i] = weights;
+        this.degree[i] = adjacent.length;
+        for (int v : adjacent)
+            if (v >= i)
+                this.edgeCount++;
+    }
+
+    /*
+     * Controlla che le righe di adiacenza descrivano un grafo non orientato:
+     * nessun adiacente ripetuto nella stessa riga e ogni arco tra due nodi
+     * diversi presente nelle righe di entrambi con lo stesso peso. Gli archi
+     * verso nodi di indice maggiore vengono raggruppati per nodo di arrivo,
+     * come in una trasposizione, e poi confrontati con la riga di quel nodo,
+     * in tempo lineare nel numero di posizioni di adiacenza.
+     */
+    boolean isSymmetric() {
+        int n = this.nodes.size();
+        // start[v + 1] conta gli archi verso v da nodi di indice minore
+        int[] start = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            int loops = 0;
+            for (int k = 0; k < this.degree[u]; k++) {
+                int v = this.adjacent[u][k];
+                if (v > u)
+                    start[v + 1]++;
+                else if (v == u && ++loops > 1)
+                    return false;
+            }
+        }
+        for (int v = 0; v < n; v++)
+            start[v + 1] += start[v];
+        int[] sources = new int[start[n]];
+        double[] sourceWeights = new double[start[n]];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int u = 0; u < n; u++)
+            for (int k = 0; k < this.degree[u]; k++) {
+                int v = this.adjacent[u][k];
+                if (v > u) {
+                    sources[fill[v]] = u;
+                    sourceWeights[fill[v]++] = this.weights[u][k];
+                }
+            }
+        // mark[u] == v se l'arco da u è atteso nella riga di v e non ancora
+        // trovato, così un adiacente ripetuto non viene trovato due volte
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        double[] expected = new double[n];
+        for (int v = 0; v < n; v++) {
+            for (int p = start[v]; p < start[v + 1]; p++) {
+                mark[sources[p]] = v;
+                expected[sources[p]] = sourceWeights[p];
+            }
+            int backward = 0;
+            for (int k = 0; k < this.degree[v]; k++) {
+                int u = this.adjacent[v][k];
+                if (u >= v)
+                    continue;
+                if (mark[u] != v
+                        || Double.compare(expected[u], this.weights[v][k]) != 0)
+                    return false;
+                mark[u] = -1;
+                backward++;
+            }
+            if (backward != start[v + 1] - start[v])
+                return false;
+        }
+        return true;
+    }
+
+    /*
+     * Indice di un nodo esistente, altrimenti IllegalArgumentException con il
+     * messaggio passato
+     */
+    private int indexOf(GraphNode<L> node, String message) {
+        Integer i = this.ids.get(node.getLabel());
+        if (i == null)
+            throw new IllegalArgumentException(message);
+        return i;
+    }
+
+    /*
+     * Determina se c'è l'arco tra u e v scorrendo la lista più corta
+     */
+    private boolean hasEdge(int u, int v) {
+        if (this.degree[v] < this.degree[u])
+            return this.position(v, u) != -1;
+        return this.position(u, v) != -1;
+    }
+
+    /*
+     * Posizione di v tra gli adiacenti di u, -1 se non c'è
+     */
+    private int position(int u, int v) {
+        int[] row = this.adjacent[u];
+        for (int k = 0; k < this.degree[u]; k++)
+            if (row[k] == v)
+                return k;
+        return -1;
+    }
+
+    /*
+     * Aggiunge v agli adiacenti di u, raddoppiando gli array se sono pieni
+     */
+    private void append(int u, int v, double weight) {
+        int d = this.degree[u];
+        if (d == this.adjacent[u].length) {
+            int capacity = Math.max(INITIAL_DEGREE_CAPACITY, 2 * d);
+            this.adjacent[u] = Arrays.copyOf(this.adjacent[u], capacity);
+            this.weights[u] = Arrays.copyOf(this.weights[u], capacity);
+        }
+        this.adjacent[u][d] = v;
+        this.weights[u][d] = weight;
+        this.degree[u] = d + 1;
+    }
+
+    /*
+     * Toglie il k-esimo adiacente di u spostando al suo posto l'ultimo
+     */
+    private void removeAt(int u, int k) {
+        int last = --this.degree[u];
+        this.adjacent[u][k] = this.adjacent[u][last];
+        this.weights[u][k] = this.weights[u][last];
+    }
+
+    /*
+     * Crea l'arco tra il nodo i e il suo k-esimo adiacente
+     */
+    private GraphEdge<L> edgeAt(int i, int k) {
+        return new GraphEdge<L>(this.nodes.get(i),
+                this.nodes.get(this.adjacent[i][k]), false,
+                this.weights[i][k]);
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= this.nodes.size())
+            throw new IndexOutOfBoundsException(
+                    "Indice di nodo non valido: " + i);
+    }
+
+    private void checkNeighbor(int i, int k) {
+        this.checkIndex(i);
+        if (k < 0 || k >= this.degree[i])
+            throw new IndexOutOfBoundsException(
+                    "Posizione di nodo adiacente non valida: " + k);
+    }
+
+    /*
+     * Iteratore degli archi della vista restituita da getEdges(): ogni arco
+     * viene creato una volta sola, dall'estremo di indice minore
+     */
+    private class EdgeIterator implements Iterator<GraphEdge<L>> {
+
+        // nodo e posizione tra i suoi adiacenti del prossimo arco
+        private int i = 0;
+
+        private int k = 0;
+
+        /*
+         * Porta la posizione sul prossimo adiacente di indice non minore del
+         * nodo
+         */
+        private void advance() {
+            while (this.i < nodes.size()) {
+                if (this.k >= degree[this.i]) {
+                    this.i++;
+                    this.k = 0;
+                } else if (adjacent[this.i][this.k] < this.i)
+                    this.k++;
+                else
+                    return;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            this.advance();
+            return this.i < nodes.size();
+        }
+
+        @Override
+        public GraphEdge<L> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return edgeAt(this.i, this.k++);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package it.unicam.cs.asdl2324.es12;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ArrayAdjacentListUndirectedGraphTest extends AbstractUndirectedGraphTest {
+
+    private double mstWeight(Graph<Integer> g) {
+        new PrimMST<Integer>().computeMSP(g, g.getNodeOf(0));
+        double sum = 0;
+        for (GraphNode<Integer> node : g.getNodes())
+            if (node.getPrevious() != null)
+                sum += node.getFloatingPointDistance();
+        return sum;
+    }
+
+    @Override
+    protected <L> Graph<L> createGraph() {
+        return new ArrayAdjacentListUndirectedGraph<L>();
+    }
+
+    @Test
+    final void testArrayAdjacentListUndirectedGraph() {
+        Graph<String> g = new ArrayAdjacentListUndirectedGraph<String>();
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    final void testIndices() {
+        Graph<String> g = new ArrayAdjacentListUndirectedGraph<String>();
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.getNodeAtIndex(0));
+        assertThrows(NullPointerException.class,
+                () -> g.getNodeIndexOf(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("s"));
+        String[] labels = { "s", "u", "x", "y", "z" };
+        for (String label : labels)
+            g.addNode(new GraphNode<String>(label));
+        // gli indici seguono l'ordine di inserimento
+        for (int i = 0; i < labels.length; i++) {
+            assertEquals(i, g.getNodeIndexOf(labels[i]));
+            assertEquals(labels[i], g.getNodeAtIndex(i).getLabel());
+        }
+        assertFalse(g.addNode(new GraphNode<String>("x")));
+        assertEquals(2, g.getNodeIndexOf("x"));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.getNodeAtIndex(5));
+        assertNull(g.getNodeOf("w"));
+        g.clear();
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("s"));
+    }
+
+    @Test
+    final void testNeighborArrays() {
+        ArrayAdjacentListUndirectedGraph<String> g = new ArrayAdjacentListUndirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(ns);
+        g.addNode(nu);
+        g.addEdge(new GraphEdge<String>(nu, ns, false, 2.5));
+        assertEquals(1, g.getNeighborCount(0));
+        assertEquals(1, g.getNeighborIndex(0, 0));
+        assertEquals(0, g.getNeighborIndex(1, 0));
+        assertEquals(2.5, g.getNeighborWeight(0, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.getNeighborIndex(0, 1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.getNeighborCount(2));
+        // un cappio compare una volta sola
+        g.addEdge(new GraphEdge<String>(ns, ns, false));
+        assertEquals(2, g.getNeighborCount(0));
+        assertEquals(2, g.edgeCount());
+        assertTrue(Double.isNaN(g.getNeighborWeight(0, 1)));
+        assertTrue(g.getEdges().contains(new GraphEdge<String>(ns, ns, false)));
+        assertEquals(2, g.getDegreeOf(ns));
+        assertEquals(1, g.getDegreeOf(nu));
+    }
+
+    @Test
+    final void testRemoveEdge() {
+        Graph<String> g = new ArrayAdjacentListUndirectedGraph<String>();
+        assertThrows(NullPointerException.class, () -> g.removeEdge(null));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(ns);
+        g.addNode(nu);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge(new GraphEdge<String>(ns, nx, false)));
+        g.addNode(nx);
+        g.addEdge(new GraphEdge<String>(ns, nu, false, 1));
+        g.addEdge(new GraphEdge<String>(ns, nx, false, 2));
+        g.addEdge(new GraphEdge<String>(nx, nx, false, 3));
+        assertFalse(g.removeEdge(new GraphEdge<String>(nu, nx, false)));
+        assertTrue(g.removeEdge(new GraphEdge<String>(nu, ns, false)));
+        assertEquals(2, g.edgeCount());
+        assertFalse(g.containsEdge(new GraphEdge<String>(ns, nu, false)));
+        assertTrue(g.containsEdge(new GraphEdge<String>(nx, ns, false)));
+        assertTrue(g.getAdjacentNodesOf(nu).isEmpty());
+        assertTrue(g.removeEdge(new GraphEdge<String>(nx, nx, false)));
+        assertEquals(1, g.getDegreeOf(nx));
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.removeNode(ns));
+    }
+
+    @Test
+    final void testGetEdgesView() {
+        ArrayAdjacentListUndirectedGraph<String> g = new ArrayAdjacentListUndirectedGraph<String>();
+        Set<GraphEdge<String>> view = g.getEdges();
+        assertTrue(view.isEmpty());
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(ns);
+        g.addNode(nu);
+        g.addNode(nx);
+        g.addEdge(new GraphEdge<String>(ns, nu, false, 1.0));
+        g.addEdge(new GraphEdge<String>(nx, nx, false, 2.0));
+        // la vista è sempre la stessa e riflette le modifiche
+        assertSame(view, g.getEdges());
+        assertEquals(2, view.size());
+        assertTrue(view.contains(new GraphEdge<String>(nu, ns, false)));
+        assertFalse(view.contains(new GraphEdge<String>(nu, nx, false)));
+        assertFalse(view.contains(new GraphEdge<String>(ns,
+                new GraphNode<String>("y"), false)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> view.add(new GraphEdge<String>(nu, nu, false)));
+        // gli archi sono copie: il peso cambiato non modifica il grafo
+        for (GraphEdge<String> e : view)
+            e.setWeight(-1.0);
+        assertEquals(1.0, g.getNeighborWeight(0, 0));
+        for (GraphEdge<String> e : view)
+            assertTrue(e.getWeight() > 0);
+        g.removeEdge(new GraphEdge<String>(ns, nu, false));
+        assertEquals(1, view.size());
+        assertEquals(new HashSet<GraphEdge<String>>(
+                Set.of(new GraphEdge<String>(nx, nx, false))),
+                new HashSet<GraphEdge<String>>(view));
+        g.clear();
+        assertTrue(view.isEmpty());
+        assertFalse(view.iterator().hasNext());
+    }
+
+    @Test
+    final void testSameAsMapAdjacentList() {
+        // stesso grafo casuale nelle due rappresentazioni
+        Random random = new Random(19);
+        int n = 300;
+        Graph<Integer> map = new MapAdjacentListUndirectedGraph<Integer>();
+        Graph<Integer> array = new ArrayAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            map.addNode(new GraphNode<Integer>(i));
+            array.addNode(new GraphNode<Integer>(i));
+        }
+        // senza cappi, che edgeCount della mappa conta a metà
+        for (int k = 0; k < 4 * n; k++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            if (i == j)
+                continue;
+            double w = random.nextInt(1000);
+            assertEquals(
+                    map.addEdge(new GraphEdge<Integer>(map.getNodeOf(i),
+                            map.getNodeOf(j), false, w)),
+                    array.addEdge(new GraphEdge<Integer>(array.getNodeOf(i),
+                            array.getNodeOf(j), false, w)));
+        }
+        assertEquals(map.edgeCount(), array.edgeCount());
+        assertEquals(map.getEdges(), array.getEdges());
+        assertEquals(map.getNodes(), array.getNodes());
+        for (GraphNode<Integer> node : map.getNodes()) {
+            assertEquals(map.getEdgesOf(node), array.getEdgesOf(node));
+            assertEquals(map.getAdjacentNodesOf(node),
+                    array.getAdjacentNodesOf(node));
+            assertEquals(map.getDegreeOf(node), array.getDegreeOf(node));
+        }
+        // l'albero di copertura minimo ha lo stesso peso
+        assertEquals(this.mstWeight(map), this.mstWeight(array));
+    }
+
+}
@@ -0,0 +1,420 @@
+package it.unicam.cs.asdl2324.es12;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Classe che implementa l'algoritmo di Dijkstra per i cammini minimi da una
+ * sorgente singola in un grafo pesato con pesi non negativi, e la sua variante
+ * A* guidata da una funzione euristica. Nel caso di grafo orientato vengono
+ * seguiti solo gli archi uscenti.
+ *
+ * Il grafo non deve necessariamente supportare le operazioni con indici: come
+ * in {@code PrimMST} i nodi vengono numerati localmente con una tabella hash,
+ * ma solo quando vengono raggiunti per la prima volta, e la coda di priorità è
+ * uno {@code IndexedMinHeap} su questi indici. Gli archi vengono scorsi con
+ * {@code Graph.forEachNeighbor}, senza creare insiemi né oggetti
+ * {@code GraphEdge<L>}. Un oggetto di questa classe è uno spazio di lavoro
+ * riusabile: distanze, predecessori e heap vengono allocati alla prima
+ * interrogazione, o quando il numero di nodi aumenta, e poi riusati. Siccome
+ * ogni interrogazione numera i nodi da capo e inizializza le posizioni degli
+ * array quando assegna un indice, non serve riportare gli array ai valori
+ * iniziali: il costo di un'interrogazione con destinazione dipende solo dalla
+ * parte di grafo esplorata prima di estrarre la destinazione.
+ *
+ * I risultati dell'ultima interrogazione si leggono con {@code getDistance},
+ * {@code getPrevious} e {@code getPath}, oppure vengono scritti nei nodi o in
+ * uno {@code TraversalState} dalle due versioni di
+ * {@code computeShortestPaths}. Un oggetto non deve essere usato da più thread
+ * contemporaneamente.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class DijkstraShortestPath<L> {
+
+    /*
+     * Numero di figli di ogni nodo dello heap: il rilassamento degli archi
+     * esegue molti più decrementi di priorità che estrazioni
+     */
+    private static final int HEAP_ARITY = 4;
+
+    /*
+     * Nodi raggiunti nell'ultima interrogazione, nell'ordine in cui sono stati
+     * raggiunti, e loro indici locali. Protected per JUnit testing
+     */
+    protected final List<GraphNode<L>> nodes;
+
+    protected Map<GraphNode<L>, Integer> index;
+
+    /*
+     * Spazio di lavoro indicizzato con gli indici locali: distanza dalla
+     * sorgente, indice del predecessore (-1 per la sorgente) e nodi già
+     * estratti dalla coda. Solo le prime nodes.size() posizioni sono valide
+     */
+    protected double[] distance;
+
+    protected int[] previous;
+
+    protected boolean[] settled;
+
+    /*
+     * Numero di nodi estratti dalla coda nell'ultima interrogazione
+     */
+    protected int settledCount;
+
+    private IndexedMinHeap heap;
+
+    /*
+     * Grafo dell'ultima interrogazione, null prima della prima
+     */
+    private Graph<L> graph;
+
+    /*
+     * Operazione di rilassamento riusata per ogni nodo estratto
+     */
+    private final Relaxation relaxation;
+
+    /**
+     * Crea un nuovo spazio di lavoro vuoto.
+     */
+    public DijkstraShortestPath() {
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.index = new HashMap<GraphNode<L>, Integer>();
+        this.distance = new double[0];
+        this.previous = new int[0];
+        this.settled = new boolean[0];
+        this.settledCount = 0;
+        this.heap = new IndexedMinHeap(0, HEAP_ARITY);
+        this.graph = null;
+        this.relaxation = new Relaxation();
+    }
+
+    /**
+     * Calcola i cammini minimi da un nodo sorgente verso tutti i nodi del
+     * grafo con l'algoritmo di Dijkstra e scrive il risultato nei nodi: nel
+     * campo floatingPointDistance la distanza dalla sorgente, nel campo
+     * previous il predecessore in un albero dei cammini minimi e come colore
+     * {@code GraphNode.COLOR_BLACK}. I nodi non raggiungibili hanno colore
+     * {@code GraphNode.COLOR_WHITE}, distanza infinita e previous null.
+     *
+     * @param g un grafo pesato con pesi non negativi
+     * @param s il nodo sorgente
+     * @throw NullPointerException se il grafo g o il nodo sorgente s sono nulli
+     * @throw IllegalArgumentException se il nodo sorgente s non esiste in g
+     * @throw IllegalArgumentException se un arco raggiungibile dalla sorgente
+     * non è pesato o ha peso negativo; in questo caso i nodi non vengono
+     * modificati
+     */
+    public void computeShortestPaths(Graph<L> g, GraphNode<L> s) {
+        if (g == null || s == null) {
+            throw new NullPointerException("Grafo o nodo sorgente nullo");
+        }
+        if (!g.containsNode(s)) {
+            throw new IllegalArgumentException("Nodo sorgente non esiste");
+        }
+        this.run(g, s, null, null);
+        for (GraphNode<L> node : g.getNodes()) {
+            Integer i = this.index.get(node);
+            if (i == null) {
+                node.setColor(GraphNode.COLOR_WHITE);
+                node.setFloatingPointDistance(Double.POSITIVE_INFINITY);
+                node.setPrevious(null);
+            } else {
+                node.setColor(GraphNode.COLOR_BLACK);
+                node.setFloatingPointDistance(this.distance[i]);
+                node.setPrevious(this.previous[i] == -1 ? null
+                        : this.nodes.get(this.previous[i]));
+            }
+        }
+    }
+
+    /**
+     * Calcola i cammini minimi come {@code computeShortestPaths(g, s)}, ma
+     * scrive colori, distanze in virgola mobile e predecessori nello stato
+     * passato invece che nei nodi, che non vengono modificati. Lo stato viene
+     * azzerato solo se il calcolo va a buon fine.
+     *
+     * @param g     un grafo pesato con pesi non negativi
+     * @param s     il nodo sorgente
+     * @param state lo stato in cui scrivere i risultati, creato per il grafo g
+     * @throw NullPointerException se almeno un valore passato è null
+     * @throw IllegalArgumentException se il nodo sorgente s non esiste in g o
+     * nello stato
+     * @throw IllegalArgumentException se un arco raggiungibile dalla sorgente
+     * non è pesato o ha peso negativo
+     */
+    public void computeShortestPaths(Graph<L> g, GraphNode<L> s,
+            TraversalState<L> state) {
+        if (g == null || s == null || state == null) {
+            throw new NullPointerException("Grafo, nodo sorgente o stato nullo");
+        }
+        if (!g.containsNode(s)) {
+            throw new IllegalArgumentException("Nodo sorgente non esiste");
+        }
+        state.indexOf(s);
+        this.run(g, s, null, null);
+        state.reset();
+        for (int i = 0; i < this.nodes.size(); i++) {
+            int j = state.indexOf(this.nodes.get(i));
+            state.color[j] = GraphNode.COLOR_BLACK;
+            state.floatingPointDistance[j] = this.distance[i];
+            state.previous[j] = this.previous[i] == -1 ? -1
+                    : state.indexOf(this.nodes.get(this.previous[i]));
+        }
+    }
+
+    /**
+     * Calcola la distanza minima tra due nodi con l'algoritmo di Dijkstra,
+     * fermandosi appena la destinazione viene estratta dalla coda.
+     *
+     * @param g      un grafo pesato con pesi non negativi
+     * @param source il nodo sorgente
+     * @param target il nodo di arrivo
+     * @return la distanza minima da source a target, infinita se target non
+     *         è raggiungibile
+     * @throw NullPointerException se almeno un valore passato è null
+     * @throw IllegalArgumentException se source o target non esistono in g
+     * @throw IllegalArgumentException se un arco esplorato non è pesato o ha
+     * peso negativo
+     */
+    public double computeShortestPath(Graph<L> g, GraphNode<L> source,
+            GraphNode<L> target) {
+        return this.computeShortestPath(g, source, target, null);
+    }
+
+    /**
+     * Calcola la distanza minima tra due nodi con l'algoritmo A*: la priorità
+     * di un nodo è la sua distanza dalla sorgente più la stima della sua
+     * distanza dalla destinazione data dall'euristica. L'euristica deve essere
+     * consistente, cioè per ogni arco (u, v) di peso w deve valere h(u) <= w +
+     * h(v), e h(target) deve essere 0: in questo caso il risultato è uguale a
+     * quello dell'algoritmo di Dijkstra, ma vengono estratti meno nodi.
+     *
+     * @param g         un grafo pesato con pesi non negativi
+     * @param source    il nodo sorgente
+     * @param target    il nodo di arrivo
+     * @param heuristic la stima della distanza di un nodo dalla destinazione,
+     *                  oppure null per l'algoritmo di Dijkstra
+     * @return la distanza minima da source a target, infinita se target non
+     *         è raggiungibile
+     * @throw NullPointerException se il grafo o uno dei nodi sono nulli
+     * @throw IllegalArgumentException se source o target non esistono in g
+     * @throw IllegalArgumentException se un arco esplorato non è pesato o ha
+     * peso negativo, o se l'euristica restituisce un valore negativo o NaN
+     */
+    public double computeShortestPath(Graph<L> g, GraphNode<L> source,
+            GraphNode<L> target, ToDoubleFunction<GraphNode<L>> heuristic) {
+        if (g == null || source == null || target == null) {
+            throw new NullPointerException("Grafo o nodo nullo");
+        }
+        if (!g.containsNode(source) || !g.containsNode(target)) {
+            throw new IllegalArgumentException("Nodo non esiste");
+        }
+        this.run(g, source, target, heuristic);
+        return this.getDistance(target);
+    }
+
+    /**
+     * Restituisce la distanza dalla sorgente trovata dall'ultima
+     * interrogazione. La distanza è minima se il nodo è stato estratto dalla
+     * coda.
+     *
+     * @param node il nodo
+     * @return la distanza del nodo dalla sorgente, infinita se il nodo non è
+     *         stato raggiunto
+     * @throw NullPointerException se il nodo è null
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     */
+    public double getDistance(GraphNode<L> node) {
+        Integer i = this.lookup(node);
+        return i == null ? Double.POSITIVE_INFINITY : this.distance[i];
+    }
+
+    /**
+     * Restituisce il predecessore di un nodo nel cammino dalla sorgente
+     * trovato dall'ultima interrogazione.
+     *
+     * @param node il nodo
+     * @return il predecessore del nodo, null se il nodo è la sorgente o non
+     *         è stato raggiunto
+     * @throw NullPointerException se il nodo è null
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     */
+    public GraphNode<L> getPrevious(GraphNode<L> node) {
+        Integer i = this.lookup(node);
+        if (i == null || this.previous[i] == -1)
+            return null;
+        return this.nodes.get(this.previous[i]);
+    }
+
+    /**
+     * Indica se un nodo è stato estratto dalla coda nell'ultima
+     * interrogazione, cioè se la sua distanza è definitiva.
+     *
+     * @param node il nodo
+     * @return true se il nodo è stato estratto dalla coda
+     * @throw NullPointerException se il nodo è null
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     */
+    public boolean isSettled(GraphNode<L> node) {
+        Integer i = this.lookup(node);
+        return i != null && this.settled[i];
+    }
+
+    /**
+     * @return il numero di nodi estratti dalla coda nell'ultima interrogazione
+     */
+    public int getSettledCount() {
+        return this.settledCount;
+    }
+
+    /**
+     * Restituisce il cammino minimo trovato dall'ultima interrogazione dalla
+     * sorgente a un nodo estratto dalla coda.
+     *
+     * @param target il nodo di arrivo
+     * @return la lista dei nodi del cammino, dalla sorgente al nodo passato
+     *         compresi; la lista è vuota se il nodo non è stato estratto
+     * @throw NullPointerException se il nodo è null
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     */
+    public List<GraphNode<L>> getPath(GraphNode<L> target) {
+        LinkedList<GraphNode<L>> path = new LinkedList<GraphNode<L>>();
+        Integer t = this.lookup(target);
+        if (t == null || !this.settled[t])
+            return path;
+        for (int i = t; i != -1; i = this.previous[i])
+            path.addFirst(this.nodes.get(i));
+        return path;
+    }
+
+    /*
+     * Esegue un'interrogazione: con target null estrae tutti i nodi
+     * raggiungibili, altrimenti si ferma quando estrae target
+     */
+    private void run(Graph<L> g, GraphNode<L> source, GraphNode<L> target,
+            ToDoubleFunction<GraphNode<L>> heuristic) {
+        this.begin(g, g.nodeCount());
+        this.relaxation.heuristic = heuristic;
+        try {
+            int s = this.reach(source, 0, -1);
+            this.heap.insert(s, this.relaxation.estimate(source));
+            while (!this.heap.isEmpty()) {
+                int u = this.heap.extractMin();
+                this.settled[u] = true;
+                this.settledCount++;
+                GraphNode<L> node = this.nodes.get(u);
+                // la distanza della destinazione estratta è definitiva
+                if (node.equals(target))
+                    break;
+                this.relaxation.from = u;
+                g.forEachNeighbor(node, this.relaxation);
+            }
+        } finally {
+            this.relaxation.heuristic = null;
+        }
+    }
+
+    /*
+     * Prepara lo spazio di lavoro per una nuova interrogazione su g: gli
+     * array vengono riallocati solo se il numero di nodi è aumentato, mentre
+     * la numerazione locale riparte da capo. La tabella degli indici viene
+     * ricreata perché svuotarla costerebbe quanto la sua capacità, che
+     * dipende dalle interrogazioni precedenti
+     */
+    private void begin(Graph<L> g, int n) {
+        if (this.distance.length < n) {
+            int capacity = Math.max(n, 2 * this.distance.length);
+            this.distance = new double[capacity];
+            this.previous = new int[capacity];
+            this.settled = new boolean[capacity];
+            this.heap = new IndexedMinHeap(capacity, HEAP_ARITY);
+        } else {
+            // un'interrogazione interrotta lascia nodi nella coda
+            this.heap.clear();
+        }
+        this.nodes.clear();
+        this.index = new HashMap<GraphNode<L>, Integer>();
+        this.settledCount = 0;
+        this.graph = g;
+    }
+
+    /*
+     * Assegna il prossimo indice locale a un nodo raggiunto per la prima
+     * volta e ne inizializza distanza e predecessore
+     */
+    private int reach(GraphNode<L> node, double d, int from) {
+        int i = this.nodes.size();
+        this.nodes.add(node);
+        this.index.put(node, i);
+        this.distance[i] = d;
+        this.previous[i] = from;
+        this.settled[i] = false;
+        return i;
+    }
+
+    private Integer lookup(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if (this.graph == null)
+            throw new IllegalStateException("Nessuna interrogazione eseguita");
+        return this.index.get(node);
+    }
+
+    /*
+     * Rilassa gli archi uscenti dal nodo from appena estratto. Una sola
+     * istanza viene riusata per tutti i nodi estratti, senza allocazioni.
+     */
+    private class Relaxation implements ObjDoubleConsumer<GraphNode<L>> {
+
+        private int from;
+
+        private ToDoubleFunction<GraphNode<L>> heuristic;
+
+        @Override
+        public void accept(GraphNode<L> node, double weight) {
+            // controlla se l'arco rispetta le regole dell'algoritmo
+            if (Double.isNaN(weight) || weight < 0)
+                throw new IllegalArgumentException(
+                        "Grafo con tipo di archi non valido");
+            DijkstraShortestPath<L> w = DijkstraShortestPath.this;
+            double d = w.distance[this.from] + weight;
+            Integer i = w.index.get(node);
+            if (i == null) {
+                int j = w.reach(node, d, this.from);
+                w.heap.insert(j, d + this.estimate(node));
+            } else if (!w.settled[i] && d < w.distance[i]) {
+                // con un'euristica consistente un nodo estratto non migliora
+                // più
+                w.distance[i] = d;
+                w.previous[i] = this.from;
+                w.heap.decreasePriority(i, d + this.estimate(node));
+            }
+        }
+
+        /*
+         * Valore dell'euristica per un nodo, 0 se non c'è euristica
+         */
+        private double estimate(GraphNode<L> node) {
+            if (this.heuristic == null)
+                return 0;
+            double h = this.heuristic.applyAsDouble(node);
+            if (Double.isNaN(h) || h < 0)
+                throw new IllegalArgumentException("Euristica non valida");
+            return h;
+        }
+    }
+}
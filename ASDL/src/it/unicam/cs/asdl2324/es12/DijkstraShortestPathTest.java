@@ -0,0 +1,298 @@
+package it.unicam.cs.asdl2324.es12;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe DijkstraShortestPath.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+class DijkstraShortestPathTest {
+
+    /*
+     * Distanze dalla sorgente calcolate con la versione quadratica
+     * dell'algoritmo, senza coda di priorità
+     */
+    private <L> Map<GraphNode<L>, Double> reference(Graph<L> g,
+            GraphNode<L> s) {
+        Map<GraphNode<L>, Double> d = new HashMap<GraphNode<L>, Double>();
+        for (GraphNode<L> node : g.getNodes())
+            d.put(node, Double.POSITIVE_INFINITY);
+        d.put(s, 0.0);
+        Set<GraphNode<L>> done = new HashSet<GraphNode<L>>();
+        while (true) {
+            GraphNode<L> u = null;
+            for (GraphNode<L> node : g.getNodes())
+                if (!done.contains(node) && d.get(node) < Double.POSITIVE_INFINITY
+                        && (u == null || d.get(node) < d.get(u)))
+                    u = node;
+            if (u == null)
+                return d;
+            done.add(u);
+            for (GraphEdge<L> e : g.getEdgesOf(u)) {
+                GraphNode<L> v = e.getNode1().equals(u) ? e.getNode2()
+                        : e.getNode1();
+                if (d.get(u) + e.getWeight() < d.get(v))
+                    d.put(v, d.get(u) + e.getWeight());
+            }
+        }
+    }
+
+    /*
+     * Griglia di lato side con nodi etichettati riga * side + colonna e pesi
+     * casuali almeno uguali a 1, così la distanza di Manhattan è
+     * un'euristica consistente
+     */
+    private void fillGrid(Graph<Integer> g, int side, Random random) {
+        for (int i = 0; i < side * side; i++)
+            g.addNode(new GraphNode<Integer>(i));
+        for (int r = 0; r < side; r++)
+            for (int c = 0; c < side; c++) {
+                GraphNode<Integer> u = g.getNodeOf(r * side + c);
+                if (c + 1 < side)
+                    g.addEdge(new GraphEdge<Integer>(u,
+                            g.getNodeOf(r * side + c + 1), false,
+                            1 + 4 * random.nextDouble()));
+                if (r + 1 < side)
+                    g.addEdge(new GraphEdge<Integer>(u,
+                            g.getNodeOf((r + 1) * side + c), false,
+                            1 + 4 * random.nextDouble()));
+            }
+    }
+
+    /*
+     * Peso dell'arco tra due nodi, NaN se non ci sono archi
+     */
+    private <L> double weight(Graph<L> g, GraphNode<L> u, GraphNode<L> v) {
+        for (GraphEdge<L> e : g.getEdgesOf(u))
+            if (e.getNode1().equals(v) || e.getNode2().equals(v))
+                return e.getWeight();
+        return Double.NaN;
+    }
+
+    /*
+     * Controlla che il cammino trovato parta dalla sorgente, segua archi del
+     * grafo e abbia come lunghezza la distanza trovata
+     */
+    private <L> void checkPath(Graph<L> g, DijkstraShortestPath<L> d,
+            GraphNode<L> s, GraphNode<L> t) {
+        List<GraphNode<L>> path = d.getPath(t);
+        assertEquals(s, path.get(0));
+        assertEquals(t, path.get(path.size() - 1));
+        double length = 0;
+        for (int k = 0; k + 1 < path.size(); k++) {
+            double w = this.weight(g, path.get(k), path.get(k + 1));
+            assertFalse(Double.isNaN(w));
+            length += w;
+        }
+        assertEquals(d.getDistance(t), length, 1e-9);
+    }
+
+    @Test
+    final void testComputeShortestPaths() {
+        Graph<String> g = new MapAdjacentListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphNode<String> d = new GraphNode<String>("d");
+        GraphNode<String> e = new GraphNode<String>("e");
+        g.addNode(a);
+        g.addNode(b);
+        g.addNode(c);
+        g.addNode(d);
+        g.addNode(e);
+        g.addEdge(new GraphEdge<String>(a, b, false, 4));
+        g.addEdge(new GraphEdge<String>(a, c, false, 1));
+        g.addEdge(new GraphEdge<String>(c, b, false, 2));
+        g.addEdge(new GraphEdge<String>(b, d, false, 5));
+        g.addEdge(new GraphEdge<String>(d, d, false, 0));
+        DijkstraShortestPath<String> dsp = new DijkstraShortestPath<String>();
+        dsp.computeShortestPaths(g, a);
+        assertEquals(0, a.getFloatingPointDistance());
+        assertEquals(3, b.getFloatingPointDistance());
+        assertEquals(1, c.getFloatingPointDistance());
+        assertEquals(8, d.getFloatingPointDistance());
+        assertNull(a.getPrevious());
+        assertEquals(c, b.getPrevious());
+        assertEquals(b, d.getPrevious());
+        assertEquals(GraphNode.COLOR_BLACK, d.getColor());
+        // nodo non raggiungibile
+        assertEquals(GraphNode.COLOR_WHITE, e.getColor());
+        assertEquals(Double.POSITIVE_INFINITY, e.getFloatingPointDistance());
+        assertNull(e.getPrevious());
+        assertEquals(4, dsp.getSettledCount());
+        assertEquals(List.of(a, c, b, d), dsp.getPath(d));
+        assertTrue(dsp.getPath(e).isEmpty());
+        // interrogazione con destinazione sullo stesso spazio di lavoro
+        assertEquals(3, dsp.computeShortestPath(g, a, b));
+        assertTrue(dsp.isSettled(b));
+        assertFalse(dsp.isSettled(d));
+        assertEquals(c, dsp.getPrevious(b));
+        assertEquals(Double.POSITIVE_INFINITY, dsp.computeShortestPath(g, a, e));
+        assertEquals(0, dsp.computeShortestPath(g, e, e));
+        assertEquals(1, dsp.getSettledCount());
+    }
+
+    @Test
+    final void testComputeShortestPathsWithState() {
+        Random random = new Random(11);
+        Graph<Integer> g = new ArrayAdjacentListUndirectedGraph<Integer>();
+        this.fillGrid(g, 8, random);
+        // un nodo isolato resta bianco
+        GraphNode<Integer> isolated = new GraphNode<Integer>(-1);
+        g.addNode(isolated);
+        GraphNode<Integer> s = g.getNodeOf(27);
+        TraversalState<Integer> state = new TraversalState<Integer>(g);
+        DijkstraShortestPath<Integer> dsp = new DijkstraShortestPath<Integer>();
+        for (GraphNode<Integer> node : g.getNodes())
+            node.setFloatingPointDistance(-5);
+        dsp.computeShortestPaths(g, s, state);
+        Map<GraphNode<Integer>, Double> expected = this.reference(g, s);
+        for (GraphNode<Integer> node : g.getNodes()) {
+            // i nodi non vengono modificati
+            assertEquals(-5, node.getFloatingPointDistance());
+            assertEquals(expected.get(node),
+                    state.getFloatingPointDistance(node), 1e-9);
+        }
+        assertEquals(GraphNode.COLOR_WHITE, state.getColor(isolated));
+        assertNull(state.getPrevious(isolated));
+        assertNull(state.getPrevious(s));
+        // i predecessori dello stato formano un albero dei cammini minimi
+        for (GraphNode<Integer> node : g.getNodes()) {
+            GraphNode<Integer> p = state.getPrevious(node);
+            if (p == null)
+                continue;
+            assertEquals(state.getFloatingPointDistance(node),
+                    state.getFloatingPointDistance(p)
+                            + this.weight(g, p, node),
+                    1e-9);
+        }
+    }
+
+    @Test
+    final void testRandomGraphs() {
+        Random random = new Random(23);
+        DijkstraShortestPath<Integer> dsp = new DijkstraShortestPath<Integer>();
+        for (int round = 0; round < 20; round++) {
+            // si alternano i due tipi di grafo, anche di dimensioni diverse,
+            // con lo stesso spazio di lavoro
+            Graph<Integer> g = round % 2 == 0
+                    ? new MapAdjacentListUndirectedGraph<Integer>()
+                    : new ArrayAdjacentListUndirectedGraph<Integer>();
+            int n = 5 + random.nextInt(60);
+            List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+            for (int i = 0; i < n; i++) {
+                nodes.add(new GraphNode<Integer>(i));
+                g.addNode(nodes.get(i));
+            }
+            for (int k = 0; k < 2 * n; k++)
+                g.addEdge(new GraphEdge<Integer>(
+                        nodes.get(random.nextInt(n)),
+                        nodes.get(random.nextInt(n)), false,
+                        random.nextInt(3) == 0 ? 0 : 10 * random.nextDouble()));
+            GraphNode<Integer> s = nodes.get(random.nextInt(n));
+            Map<GraphNode<Integer>, Double> expected = this.reference(g, s);
+            dsp.computeShortestPaths(g, s);
+            for (GraphNode<Integer> node : nodes) {
+                assertEquals(expected.get(node),
+                        node.getFloatingPointDistance(), 1e-9);
+                assertEquals(expected.get(node), dsp.getDistance(node), 1e-9);
+            }
+            for (int k = 0; k < 10; k++) {
+                GraphNode<Integer> t = nodes.get(random.nextInt(n));
+                assertEquals(expected.get(t), dsp.computeShortestPath(g, s, t),
+                        1e-9);
+                if (expected.get(t) < Double.POSITIVE_INFINITY)
+                    this.checkPath(g, dsp, s, t);
+            }
+        }
+    }
+
+    @Test
+    final void testAStar() {
+        Random random = new Random(5);
+        int side = 30;
+        Graph<Integer> g = new ArrayAdjacentListUndirectedGraph<Integer>();
+        this.fillGrid(g, side, random);
+        DijkstraShortestPath<Integer> dsp = new DijkstraShortestPath<Integer>();
+        for (int k = 0; k < 20; k++) {
+            GraphNode<Integer> s = g.getNodeOf(random.nextInt(side * side));
+            GraphNode<Integer> t = g.getNodeOf(random.nextInt(side * side));
+            int tr = t.getLabel() / side;
+            int tc = t.getLabel() % side;
+            double dijkstra = dsp.computeShortestPath(g, s, t);
+            int dijkstraSettled = dsp.getSettledCount();
+            double astar = dsp.computeShortestPath(g, s, t,
+                    node -> Math.abs(node.getLabel() / side - tr)
+                            + Math.abs(node.getLabel() % side - tc));
+            assertEquals(dijkstra, astar, 1e-9);
+            assertTrue(dsp.getSettledCount() <= dijkstraSettled);
+            this.checkPath(g, dsp, s, t);
+        }
+    }
+
+    @Test
+    final void testExceptions() {
+        Graph<String> g = new MapAdjacentListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        g.addNode(a);
+        g.addNode(b);
+        g.addNode(c);
+        g.addEdge(new GraphEdge<String>(a, b, false, 1));
+        DijkstraShortestPath<String> dsp = new DijkstraShortestPath<String>();
+        assertThrows(IllegalStateException.class, () -> dsp.getDistance(a));
+        assertThrows(IllegalStateException.class, () -> dsp.getPath(a));
+        assertThrows(NullPointerException.class,
+                () -> dsp.computeShortestPaths(null, a));
+        assertThrows(NullPointerException.class,
+                () -> dsp.computeShortestPaths(g, null));
+        assertThrows(NullPointerException.class,
+                () -> dsp.computeShortestPaths(g, a, null));
+        assertThrows(NullPointerException.class,
+                () -> dsp.computeShortestPath(g, a, null));
+        GraphNode<String> x = new GraphNode<String>("x");
+        assertThrows(IllegalArgumentException.class,
+                () -> dsp.computeShortestPaths(g, x));
+        assertThrows(IllegalArgumentException.class,
+                () -> dsp.computeShortestPath(g, a, x));
+        // euristica non valida
+        assertThrows(IllegalArgumentException.class,
+                () -> dsp.computeShortestPath(g, a, b, node -> -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> dsp.computeShortestPath(g, a, b, node -> Double.NaN));
+        // lo stato deve essere del grafo
+        TraversalState<String> state = new TraversalState<String>(g);
+        g.addNode(x);
+        assertThrows(IllegalArgumentException.class,
+                () -> dsp.computeShortestPaths(g, x, state));
+        // arco non pesato e arco negativo raggiungibili: i nodi non vengono
+        // modificati
+        g.addEdge(new GraphEdge<String>(b, c, false));
+        a.setFloatingPointDistance(7);
+        assertThrows(IllegalArgumentException.class,
+                () -> dsp.computeShortestPaths(g, a));
+        assertEquals(7, a.getFloatingPointDistance());
+        Graph<String> h = new ArrayAdjacentListUndirectedGraph<String>();
+        h.addNode(a);
+        h.addNode(b);
+        h.addEdge(new GraphEdge<String>(a, b, false, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> dsp.computeShortestPaths(h, a));
+        // un arco non valido non raggiungibile non viene controllato
+        assertEquals(0, dsp.computeShortestPath(g, x, x));
+        assertEquals(List.of(x), dsp.getPath(x));
+    }
+}
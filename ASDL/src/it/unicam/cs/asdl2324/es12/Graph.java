@@ -4,6 +4,7 @@
 package it.unicam.cs.asdl2324.es12;
 
 import java.util.Set;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Classe astratta per un generico grafo i cui nodi sono etichettati con
@@ -235,8 +236,24 @@ public abstract class Graph<L> {
     /**
      * Restituisce l'insieme di tutti gli archi in questo grafo.
      * 
-     * @return un insieme, possibilmente vuoto, contenente tutti gli archi di
-     *         questo grafo
+     * L'insieme restituito è una vista non modificabile degli archi del
+     * grafo: riflette le modifiche successive del grafo senza bisogno di
+     * richiamare il metodo e i tentativi di modificarlo lanciano
+     * {@code UnsupportedOperationException}. Il grafo non deve essere
+     * modificato mentre si scorre la vista, altrimenti il comportamento
+     * dell'iteratore non è specificato (può lanciare
+     * {@code ConcurrentModificationException}); chi deve modificare il grafo
+     * scorrendo i suoi archi, o vuole conservarli, deve prima copiare la
+     * vista.
+     * 
+     * Le implementazioni che memorizzano gli archi come oggetti restituiscono
+     * gli archi memorizzati, quelle che non lo fanno creano archi nuovi ad
+     * ogni iterazione e in quel caso la modifica del peso di un arco
+     * restituito non ha effetto sul grafo; ogni implementazione documenta
+     * quale dei due casi si applica.
+     * 
+     * @return una vista non modificabile, possibilmente vuota, di tutti gli
+     *         archi di questo grafo
      */
     public abstract Set<GraphEdge<L>> getEdges();
 
@@ -313,6 +330,40 @@ public abstract class Graph<L> {
      */
     public abstract Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node);
 
+    /**
+     * Esegue un'operazione su tutti i nodi adiacenti a un certo nodo, passando
+     * il nodo adiacente e il peso dell'arco che li collega. Nel caso di grafo
+     * orientato vengono considerati solo gli archi uscenti. A differenza di
+     * {@code getAdjacentNodesOf} questo metodo non crea nessun insieme.
+     * 
+     * In questa classe il metodo è realizzato tramite {@code getEdgesOf}, le
+     * sottoclassi possono ridefinirlo per scorrere direttamente la propria
+     * rappresentazione.
+     * 
+     * @param node
+     *                   il nodo di cui scorrere i nodi adiacenti
+     * @param action
+     *                   l'operazione da eseguire su ogni nodo adiacente
+     * 
+     * @throws IllegalArgumentException
+     *                                      se il nodo passato non esiste
+     * @throws NullPointerException
+     *                                      se il nodo o l'operazione passati
+     *                                      sono nulli
+     */
+    public void forEachNeighbor(GraphNode<L> node,
+            ObjDoubleConsumer<GraphNode<L>> action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di scorrere i nodi adiacenti con un'operazione null");
+        for (GraphEdge<L> e : this.getEdgesOf(node)) {
+            // nel caso non orientato il nodo può essere uno qualsiasi dei due
+            GraphNode<L> other = e.getNode1().equals(node) ? e.getNode2()
+                    : e.getNode1();
+            action.accept(other, e.getWeight());
+        }
+    }
+
     /**
      * Restituisce l'insieme di tutti gli archi entranti in un certo nodo in un
      * grafo orientato.
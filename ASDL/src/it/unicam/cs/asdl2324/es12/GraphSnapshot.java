@@ -0,0 +1,468 @@
+package it.unicam.cs.asdl2324.es12;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Scrittura e lettura di istantanee complete di un grafo non orientato su
+ * file, pensate per ricostruire velocemente un grafo al riavvio invece di
+ * rileggere i dati di partenza.
+ *
+ * Il file è composto, nell'ordine, da:
+ * <ul>
+ * <li>un'intestazione con il numero magico {@code MAGIC} (int), la versione
+ * del formato {@code VERSION} (int), il numero di nodi n (int), il numero
+ * totale di posizioni di adiacenza (long) e la lunghezza in byte del blocco
+ * delle etichette (long);</li>
+ * <li>il blocco delle etichette: per ogni nodo, in ordine di indice, la
+ * lunghezza (int) e i byte dell'etichetta prodotti da un
+ * {@code LabelCodec};</li>
+ * <li>il blocco dei gradi: n valori int, il numero di nodi adiacenti di ogni
+ * nodo;</li>
+ * <li>il blocco dei nodi adiacenti: gli indici (int) dei nodi adiacenti di
+ * tutti i nodi, riga dopo riga, come nel formato Compressed Sparse Row;</li>
+ * <li>il blocco dei pesi: i pesi (double) degli archi corrispondenti,
+ * {@code Double.NaN} se l'arco non è pesato;</li>
+ * <li>la somma di controllo CRC32 (int) di tutti i byte precedenti.</li>
+ * </ul>
+ * Ogni arco compare nelle righe di entrambi i nodi collegati, un cappio una
+ * volta sola. Tutti i valori sono scritti con ordine dei byte big-endian. Lo
+ * stesso formato è usato dalla classe omonima del pacchetto {@code mp2}.
+ *
+ * La lettura mappa il file in memoria con {@code FileChannel.map}, a finestre
+ * se il file supera la dimensione massima di una singola mappatura, verifica
+ * la somma di controllo e costruisce in un solo passaggio sui blocchi un
+ * {@code ArrayAdjacentListUndirectedGraph}: le righe dei nodi adiacenti e dei
+ * pesi vengono copiate direttamente negli array di adiacenza del grafo, senza
+ * creare nessun oggetto {@code GraphEdge<L>}, che vengono creati solo se
+ * richiesti da {@code getEdges} o {@code getEdgesOf}. Prima di restituire il
+ * grafo viene controllato, in tempo lineare, che ogni arco compaia in
+ * entrambe le righe con lo stesso peso e che nessuna riga contenga adiacenti
+ * ripetuti.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public final class GraphSnapshot {
+
+    /**
+     * Numero magico all'inizio di ogni istantanea, corrisponde ai caratteri
+     * "GSNP".
+     */
+    public static final int MAGIC = 0x47534E50;
+
+    /**
+     * Versione del formato scritta e accettata da questa classe.
+     */
+    public static final int VERSION = 1;
+
+    /*
+     * Dimensione in byte dell'intestazione: numero magico, versione, numero di
+     * nodi, numero di posizioni di adiacenza e lunghezza delle etichette
+     */
+    protected static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 8;
+
+    /*
+     * Dimensione in byte della somma di controllo in coda al file
+     */
+    protected static final int CHECKSUM_BYTES = 4;
+
+    /*
+     * Dimensione massima di una finestra di mappatura, sotto il limite di 2GB
+     * di FileChannel.map
+     */
+    protected static final int WINDOW_BYTES = 1 << 30;
+
+    /*
+     * Dimensione del buffer usato per la scrittura
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private GraphSnapshot() {
+        // classe con soli metodi statici
+    }
+
+    /**
+     * Scrive l'istantanea di un grafo su file. Se il grafo supporta le
+     * operazioni con indici i nodi vengono scritti nell'ordine dei loro
+     * indici, che vengono quindi conservati dal caricamento, altrimenti
+     * nell'ordine di {@code getNodes()}.
+     *
+     * @param g
+     *                  il grafo da scrivere
+     * @param codec
+     *                  la codifica delle etichette dei nodi
+     * @param file
+     *                  il file da creare o sovrascrivere
+     * @throws NullPointerException
+     *                                      se uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo è orientato
+     * @throws IOException
+     *                                      se si verifica un errore di
+     *                                      scrittura
+     */
+    public static <L> void write(Graph<L> g, LabelCodec<L> codec, Path file)
+            throws IOException {
+        if (g == null || codec == null || file == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        if (g.isDirected())
+            throw new IllegalArgumentException(
+                    "Istantanee di grafi orientati non supportate");
+        int n = g.nodeCount();
+        // prova a conservare gli indici del grafo, se li supporta
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(n);
+        try {
+            for (int i = 0; i < n; i++)
+                nodes.add(g.getNodeAtIndex(i));
+        } catch (UnsupportedOperationException e) {
+            nodes.clear();
+            nodes.addAll(g.getNodes());
+        }
+        Map<GraphNode<L>, Integer> index = new HashMap<GraphNode<L>, Integer>();
+        for (int i = 0; i < n; i++)
+            index.put(nodes.get(i), i);
+        // primo passaggio: codifica le etichette e conta i nodi adiacenti
+        byte[][] labels = new byte[n][];
+        int[] degrees = new int[n];
+        long labelBytes = 0;
+        long entries = 0;
+        int[] count = new int[1];
+        for (int i = 0; i < n; i++) {
+            labels[i] = codec.encode(nodes.get(i).getLabel());
+            labelBytes += 4 + labels[i].length;
+            count[0] = 0;
+            g.forEachNeighbor(nodes.get(i), (m, w) -> count[0]++);
+            degrees[i] = count[0];
+            entries += count[0];
+        }
+        try (Output out = new Output(file)) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(n);
+            out.putLong(entries);
+            out.putLong(labelBytes);
+            for (byte[] label : labels) {
+                out.putInt(label.length);
+                out.put(label);
+            }
+            for (int d : degrees)
+                out.putInt(d);
+            // i nodi adiacenti e i pesi vanno in due blocchi separati
+            for (int i = 0; i < n; i++)
+                g.forEachNeighbor(nodes.get(i),
+                        (m, w) -> out.putInt(index.get(m)));
+            for (int i = 0; i < n; i++)
+                g.forEachNeighbor(nodes.get(i), (m, w) -> out.putDouble(w));
+            out.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Carica un grafo da un'istantanea. I nodi ricevono gli indici
+     * nell'ordine in cui sono stati scritti.
+     *
+     * @param file
+     *                  il file da leggere
+     * @param codec
+     *                  la codifica delle etichette dei nodi
+     * @return il grafo con i nodi e gli archi letti
+     * @throws NullPointerException
+     *                                  se uno dei parametri è null
+     * @throws IOException
+     *                                  se si verifica un errore di lettura, se
+     *                                  il file non rispetta il formato o se la
+     *                                  somma di controllo non coincide
+     */
+    public static <L> ArrayAdjacentListUndirectedGraph<L> load(Path file,
+            LabelCodec<L> codec) throws IOException {
+        if (file == null || codec == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + CHECKSUM_BYTES)
+                throw new IOException("Istantanea troncata");
+            checkChecksum(channel, size);
+            long end = size - CHECKSUM_BYTES;
+            Input header = new Input(channel, 0, end);
+            if (header.getInt() != MAGIC)
+                throw new IOException("Istantanea non riconosciuta");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(
+                        "Versione dell'istantanea non supportata: " + version);
+            int n = header.getInt();
+            long entries = header.getLong();
+            long labelBytes = header.getLong();
+            if (n < 0 || entries < 0 || labelBytes < 4L * n
+                    || entries > end / 12 || labelBytes > end
+                    || end != HEADER_BYTES + labelBytes + 4L * n
+                            + 12 * entries)
+                throw new IOException(
+                        "Intestazione dell'istantanea non consistente");
+
+            ArrayAdjacentListUndirectedGraph<L> g = new ArrayAdjacentListUndirectedGraph<L>(
+                    n);
+            for (int i = 0; i < n; i++) {
+                int length = header.getInt();
+                if (length < 0)
+                    throw new IOException(
+                            "Lunghezza non valida dell'etichetta " + i);
+                L label = codec.decode(header.getBytes(length));
+                if (label == null || !g.addNode(new GraphNode<L>(label)))
+                    throw new IOException(
+                            "Etichetta nulla o ripetuta nel nodo " + i);
+            }
+            long degreesStart = HEADER_BYTES + labelBytes;
+            if (header.position() != degreesStart)
+                throw new IOException(
+                        "Blocco delle etichette non consistente");
+
+            // legge in parallelo i tre blocchi, ognuno con le sue finestre
+            long targetsStart = degreesStart + 4L * n;
+            long weightsStart = targetsStart + 4 * entries;
+            Input degrees = new Input(channel, degreesStart, targetsStart);
+            Input targets = new Input(channel, targetsStart, weightsStart);
+            Input weights = new Input(channel, weightsStart, end);
+            long read = 0;
+            for (int i = 0; i < n; i++) {
+                int d = degrees.getInt();
+                if (d < 0 || read + d > entries)
+                    throw new IOException("Grado non valido del nodo " + i);
+                read += d;
+                // la riga viene copiata con una sola lettura per blocco
+                int[] row = new int[d];
+                double[] w = new double[d];
+                targets.getInts(row);
+                weights.getDoubles(w);
+                for (int j : row)
+                    if (j < 0 || j >= n)
+                        throw new IOException(
+                                "Indice non valido tra gli adiacenti del nodo "
+                                        + i);
+                g.setNeighbors(i, row, w);
+            }
+            if (read != entries)
+                throw new IOException("Blocco dei gradi non consistente");
+            // le righe installate senza controlli devono formare un grafo non
+            // orientato, altrimenti le operazioni successive lo corrompono
+            if (!g.isSymmetric())
+                throw new IOException(
+                        "Liste di adiacenza non simmetriche o con archi ripetuti");
+            return g;
+        }
+    }
+
+    /*
+     * Confronta la somma di controllo in coda al file con quella calcolata su
+     * tutti i byte precedenti, mappati a finestre
+     */
+    private static void checkChecksum(FileChannel channel, long size)
+            throws IOException {
+        long end = size - CHECKSUM_BYTES;
+        CRC32 crc = new CRC32();
+        for (long p = 0; p < end; p += WINDOW_BYTES)
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, p,
+                    Math.min(WINDOW_BYTES, end - p)));
+        int expected = channel.map(FileChannel.MapMode.READ_ONLY, end,
+                CHECKSUM_BYTES).getInt();
+        if (expected != (int) crc.getValue())
+            throw new IOException("Somma di controllo dell'istantanea errata");
+    }
+
+    /*
+     * Scrittura bufferizzata su file che aggiorna la somma di controllo. Gli
+     * errori di scrittura vengono lanciati come UncheckedIOException in modo
+     * che i metodi possano essere chiamati dalle operazioni passate a
+     * forEachNeighbor
+     */
+    private static final class Output implements Closeable {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer;
+
+        private final CRC32 crc;
+
+        Output(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            this.crc = new CRC32();
+        }
+
+        void putInt(int value) {
+            this.ensure(4);
+            this.buffer.putInt(value);
+        }
+
+        void putLong(long value) {
+            this.ensure(8);
+            this.buffer.putLong(value);
+        }
+
+        void putDouble(double value) {
+            this.ensure(8);
+            this.buffer.putDouble(value);
+        }
+
+        void put(byte[] bytes) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                this.ensure(1);
+                int length = Math.min(this.buffer.remaining(),
+                        bytes.length - offset);
+                this.buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        /*
+         * Scrive i byte rimasti e in coda la somma di controllo
+         */
+        void finish() {
+            this.flush();
+            this.buffer.putInt((int) this.crc.getValue());
+            this.buffer.flip();
+            this.write();
+        }
+
+        private void ensure(int bytes) {
+            if (this.buffer.remaining() < bytes)
+                this.flush();
+        }
+
+        private void flush() {
+            this.buffer.flip();
+            this.crc.update(this.buffer.duplicate());
+            this.write();
+        }
+
+        private void write() {
+            try {
+                while (this.buffer.hasRemaining())
+                    this.channel.write(this.buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+
+    /*
+     * Lettura sequenziale di una regione del file attraverso finestre mappate
+     * in memoria, rimappate quando i byte richiesti non sono nella finestra
+     * corrente
+     */
+    private static final class Input {
+
+        private final FileChannel channel;
+
+        private final long end;
+
+        // posizione nel file dell'inizio della finestra corrente
+        private long start;
+
+        private MappedByteBuffer window;
+
+        Input(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.window = null;
+        }
+
+        long position() {
+            return this.start + (this.window == null ? 0
+                    : this.window.position());
+        }
+
+        int getInt() throws IOException {
+            this.ensure(4);
+            return this.window.getInt();
+        }
+
+        long getLong() throws IOException {
+            this.ensure(8);
+            return this.window.getLong();
+        }
+
+        double getDouble() throws IOException {
+            this.ensure(8);
+            return this.window.getDouble();
+        }
+
+        /*
+         * Riempie l'array con i prossimi interi, copiandoli a blocchi
+         */
+        void getInts(int[] values) throws IOException {
+            int copied = 0;
+            while (copied < values.length) {
+                this.ensure(4);
+                int k = Math.min(values.length - copied,
+                        this.window.remaining() / 4);
+                this.window.asIntBuffer().get(values, copied, k);
+                this.window.position(this.window.position() + 4 * k);
+                copied += k;
+            }
+        }
+
+        /*
+         * Riempie l'array con i prossimi double, copiandoli a blocchi
+         */
+        void getDoubles(double[] values) throws IOException {
+            int copied = 0;
+            while (copied < values.length) {
+                this.ensure(8);
+                int k = Math.min(values.length - copied,
+                        this.window.remaining() / 8);
+                this.window.asDoubleBuffer().get(values, copied, k);
+                this.window.position(this.window.position() + 8 * k);
+                copied += k;
+            }
+        }
+
+        /*
+         * Restituisce un buffer con i prossimi length byte, senza copiarli
+         */
+        ByteBuffer getBytes(int length) throws IOException {
+            this.ensure(length);
+            ByteBuffer bytes = this.window.slice();
+            bytes.limit(length);
+            this.window.position(this.window.position() + length);
+            return bytes;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (this.window != null && this.window.remaining() >= bytes)
+                return;
+            long from = this.position();
+            long size = Math.min(WINDOW_BYTES, this.end - from);
+            if (size < bytes)
+                throw new IOException("Istantanea troncata");
+            this.window = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                    from, size);
+            this.start = from;
+        }
+    }
+}
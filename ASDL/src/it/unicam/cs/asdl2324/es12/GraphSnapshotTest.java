@@ -0,0 +1,245 @@
+package it.unicam.cs.asdl2324.es12;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe GraphSnapshot.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+class GraphSnapshotTest {
+
+    /*
+     * Associa ogni arco del grafo al suo peso, per confrontare anche i pesi
+     * che equals tra archi ignora
+     */
+    private <L> Map<GraphEdge<L>, Double> weightedEdges(Graph<L> g) {
+        Map<GraphEdge<L>, Double> r = new HashMap<GraphEdge<L>, Double>();
+        for (GraphEdge<L> e : g.getEdges())
+            r.put(e, e.getWeight());
+        return r;
+    }
+
+    /*
+     * Costruisce i byte di un'istantanea con le righe di adiacenza date, così
+     * come sono, e una somma di controllo valida
+     */
+    private byte[] snapshot(String[] labels, int[][] rows, double[][] weights) {
+        int entries = 0;
+        int labelBytes = 0;
+        for (int i = 0; i < labels.length; i++) {
+            entries += rows[i].length;
+            labelBytes += 4 + labels[i].getBytes(StandardCharsets.UTF_8).length;
+        }
+        ByteBuffer b = ByteBuffer.allocate(GraphSnapshot.HEADER_BYTES
+                + labelBytes + 4 * labels.length + 12 * entries
+                + GraphSnapshot.CHECKSUM_BYTES);
+        b.putInt(GraphSnapshot.MAGIC).putInt(GraphSnapshot.VERSION)
+                .putInt(labels.length).putLong(entries).putLong(labelBytes);
+        for (String label : labels) {
+            byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+            b.putInt(bytes.length).put(bytes);
+        }
+        for (int[] row : rows)
+            b.putInt(row.length);
+        for (int[] row : rows)
+            for (int j : row)
+                b.putInt(j);
+        for (double[] row : weights)
+            for (double w : row)
+                b.putDouble(w);
+        CRC32 crc = new CRC32();
+        crc.update(b.array(), 0, b.position());
+        b.putInt((int) crc.getValue());
+        return b.array();
+    }
+
+    @Test
+    final void testWriteAndLoad() throws IOException {
+        // grafo senza operazioni con indici
+        Graph<String> g = new MapAdjacentListUndirectedGraph<String>();
+        GraphNode<String> na = new GraphNode<String>("città");
+        GraphNode<String> nb = new GraphNode<String>("b");
+        GraphNode<String> nc = new GraphNode<String>("c");
+        GraphNode<String> nd = new GraphNode<String>("d");
+        g.addNode(na);
+        g.addNode(nb);
+        g.addNode(nc);
+        g.addNode(nd);
+        g.addEdge(new GraphEdge<String>(na, nb, false, 2.5));
+        g.addEdge(new GraphEdge<String>(nb, nc, false));
+        g.addEdge(new GraphEdge<String>(na, nc, false, -1.0));
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            GraphSnapshot.write(g, LabelCodec.strings(), file);
+            ArrayAdjacentListUndirectedGraph<String> loaded = GraphSnapshot
+                    .load(file, LabelCodec.strings());
+            assertEquals(g.getNodes(), loaded.getNodes());
+            assertEquals(3, loaded.edgeCount());
+            // i pesi sono confrontati con Double.equals, quindi anche i pesi
+            // assenti devono restare NaN
+            assertEquals(this.weightedEdges(g), this.weightedEdges(loaded));
+            assertEquals(0, loaded.getDegreeOf(nd));
+            assertEquals(2, loaded.getDegreeOf(nc));
+            // grafo vuoto
+            g.clear();
+            GraphSnapshot.write(g, LabelCodec.strings(), file);
+            assertTrue(GraphSnapshot.load(file, LabelCodec.strings())
+                    .isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testRandomGraph() throws IOException {
+        Random random = new Random(47);
+        int n = 300;
+        ArrayAdjacentListUndirectedGraph<Integer> g = new ArrayAdjacentListUndirectedGraph<Integer>(
+                n);
+        for (int i = 0; i < n; i++)
+            g.addNode(new GraphNode<Integer>(7 * i - 500));
+        // abbastanza archi da richiedere più scritture del buffer, con cappi
+        for (int k = 0; k < 4000; k++) {
+            GraphNode<Integer> u = g.getNodeAtIndex(random.nextInt(n));
+            GraphNode<Integer> v = g.getNodeAtIndex(random.nextInt(n));
+            if (k % 5 == 0)
+                g.addEdge(new GraphEdge<Integer>(u, v, false));
+            else
+                g.addEdge(new GraphEdge<Integer>(u, v, false,
+                        random.nextDouble()));
+        }
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            GraphSnapshot.write(g, LabelCodec.integers(), file);
+            ArrayAdjacentListUndirectedGraph<Integer> loaded = GraphSnapshot
+                    .load(file, LabelCodec.integers());
+            assertEquals(g.edgeCount(), loaded.edgeCount());
+            // gli indici e le righe di adiacenza vengono conservati
+            for (int i = 0; i < n; i++) {
+                assertEquals(g.getNodeAtIndex(i), loaded.getNodeAtIndex(i));
+                assertEquals(g.getNeighborCount(i), loaded.getNeighborCount(i));
+                for (int k = 0; k < g.getNeighborCount(i); k++) {
+                    assertEquals(g.getNeighborIndex(i, k),
+                            loaded.getNeighborIndex(i, k));
+                    assertEquals(g.getNeighborWeight(i, k),
+                            loaded.getNeighborWeight(i, k));
+                }
+            }
+            assertEquals(this.weightedEdges(g), this.weightedEdges(loaded));
+            // il grafo caricato può essere modificato normalmente
+            GraphNode<Integer> a = loaded.getNodeAtIndex(0);
+            GraphNode<Integer> b = loaded.getNodeAtIndex(1);
+            loaded.removeEdge(new GraphEdge<Integer>(a, b, false));
+            assertTrue(loaded.addEdge(new GraphEdge<Integer>(a, b, false, 1)));
+            assertFalse(loaded.addEdge(new GraphEdge<Integer>(b, a, false)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testExceptions() throws IOException {
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            Graph<String> g = new ArrayAdjacentListUndirectedGraph<String>();
+            GraphNode<String> na = new GraphNode<String>("a");
+            GraphNode<String> nb = new GraphNode<String>("b");
+            g.addNode(na);
+            g.addNode(nb);
+            g.addEdge(new GraphEdge<String>(na, nb, false));
+            assertThrows(NullPointerException.class,
+                    () -> GraphSnapshot.write(null, LabelCodec.strings(), file));
+            assertThrows(NullPointerException.class,
+                    () -> GraphSnapshot.write(g, null, file));
+            assertThrows(NullPointerException.class,
+                    () -> GraphSnapshot.load(file, null));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ArrayAdjacentListUndirectedGraph<String>(-1));
+            GraphSnapshot.write(g, LabelCodec.strings(), file);
+            byte[] bytes = Files.readAllBytes(file);
+            // un byte modificato viene rilevato dalla somma di controllo
+            for (int p = 0; p < bytes.length; p += 5) {
+                byte[] wrong = bytes.clone();
+                wrong[p] ^= 0x10;
+                Files.write(file, wrong);
+                assertThrows(IOException.class,
+                        () -> GraphSnapshot.load(file, LabelCodec.strings()));
+            }
+            // file troncato
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+            assertThrows(IOException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testAsymmetricRows() throws IOException {
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            String[] labels = { "a", "b", "c", "d" };
+            double nan = Double.NaN;
+            // righe corrette, con un cappio: il file di prova è ben formato
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1, 0 }, { 0 }, {}, {} },
+                    new double[][] { { 2.0, nan }, { 2.0 }, {}, {} }));
+            ArrayAdjacentListUndirectedGraph<String> g = GraphSnapshot
+                    .load(file, LabelCodec.strings());
+            assertEquals(2, g.edgeCount());
+            assertEquals(2.0, g.getNeighborWeight(1, 0));
+            // archi presenti da un solo lato, in numero bilanciato
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1 }, {}, {}, { 2 } },
+                    new double[][] { { nan }, {}, {}, { nan } }));
+            assertThrows(IOException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings()));
+            // arco ripetuto in entrambe le righe
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1, 1 }, { 0, 0 }, {}, {} },
+                    new double[][] { { nan, nan }, { nan, nan }, {}, {} }));
+            assertThrows(IOException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings()));
+            // arco ripetuto da un lato solo, bilanciato da un altro arco
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1, 1 }, { 0 }, { 3 }, {} },
+                    new double[][] { { nan, nan }, { nan }, { nan }, {} }));
+            assertThrows(IOException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings()));
+            // cappio ripetuto
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 0, 0 }, {}, {}, {} },
+                    new double[][] { { nan, nan }, {}, {}, {} }));
+            assertThrows(IOException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings()));
+            // pesi diversi nelle due direzioni, anche pesato da un lato solo
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1 }, { 0 }, {}, {} },
+                    new double[][] { { 1.0 }, { 2.0 }, {}, {} }));
+            assertThrows(IOException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings()));
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1 }, { 0 }, {}, {} },
+                    new double[][] { { nan }, { 2.0 }, {}, {} }));
+            assertThrows(IOException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
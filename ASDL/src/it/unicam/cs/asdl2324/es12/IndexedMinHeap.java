@@ -0,0 +1,272 @@
+package it.unicam.cs.asdl2324.es12;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Coda di min priorità indicizzata realizzata con uno heap d-ario. Gli
+ * elementi sono gli interi da 0 a capacity - 1 e a ognuno è associata una
+ * priorità di tipo double. Un array di posizioni registra dove si trova ogni
+ * elemento nello heap, quindi oltre all'inserimento e all'estrazione del
+ * minimo, che costano O(d log_d n), sono possibili in tempo costante il test
+ * di appartenenza e in tempo O(log_d n) il decremento della priorità.
+ *
+ * Con d = 2 si ottiene il classico heap binario; valori maggiori di d rendono
+ * l'albero più basso, e quindi il decremento della priorità più veloce, a
+ * costo di confronti in più a ogni estrazione.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class IndexedMinHeap {
+
+    /*
+     * Numero di figli di ogni nodo dello heap
+     */
+    private final int arity;
+
+    /*
+     * Elementi nell'ordine dello heap: heap[0] è l'elemento con priorità
+     * minima, i figli della posizione p sono nelle posizioni da d * p + 1 a d
+     * * p + d
+     */
+    private final int[] heap;
+
+    /*
+     * Posizione di ogni elemento nello heap, -1 se non è presente
+     */
+    private final int[] position;
+
+    /*
+     * Priorità di ogni elemento presente
+     */
+    private final double[] priority;
+
+    private int size;
+
+    /**
+     * Crea una coda vuota per gli elementi da 0 a capacity - 1.
+     *
+     * @param capacity
+     *                     il numero di elementi possibili
+     * @param arity
+     *                     il numero di figli di ogni nodo dello heap
+     * @throws IllegalArgumentException
+     *                                      se capacity è negativo o arity è
+     *                                      minore di 2
+     */
+    public IndexedMinHeap(int capacity, int arity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException(
+                    "Capacità non valida: " + capacity);
+        if (arity < 2)
+            throw new IllegalArgumentException("Arità non valida: " + arity);
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.priority = new double[capacity];
+        Arrays.fill(this.position, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Crea una coda vuota per gli elementi da 0 a capacity - 1 realizzata con
+     * uno heap binario.
+     *
+     * @param capacity
+     *                     il numero di elementi possibili
+     * @throws IllegalArgumentException
+     *                                      se capacity è negativo
+     */
+    public IndexedMinHeap(int capacity) {
+        this(capacity, 2);
+    }
+
+    /**
+     * @return il numero di elementi presenti nella coda
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return true se la coda è vuota, false altrimenti
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Determina se un elemento è presente nella coda.
+     *
+     * @param element
+     *                    l'elemento da cercare
+     * @return true se l'elemento è presente, false altrimenti
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso tra 0
+     *                                       e capacity - 1
+     */
+    public boolean contains(int element) {
+        this.checkElement(element);
+        return this.position[element] != -1;
+    }
+
+    /**
+     * Restituisce la priorità di un elemento presente nella coda.
+     *
+     * @param element
+     *                    l'elemento
+     * @return la priorità corrente dell'elemento
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso tra 0
+     *                                       e capacity - 1
+     * @throws NoSuchElementException
+     *                                       se l'elemento non è presente
+     */
+    public double getPriority(int element) {
+        if (!this.contains(element))
+            throw new NoSuchElementException(
+                    "Elemento non presente: " + element);
+        return this.priority[element];
+    }
+
+    /**
+     * Inserisce un elemento con una certa priorità.
+     *
+     * @param element
+     *                     l'elemento da inserire
+     * @param priority
+     *                     la priorità dell'elemento
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso tra 0
+     *                                       e capacity - 1
+     * @throws IllegalArgumentException
+     *                                       se l'elemento è già presente o la
+     *                                       priorità è NaN
+     */
+    public void insert(int element, double priority) {
+        if (this.contains(element))
+            throw new IllegalArgumentException(
+                    "Elemento già presente: " + element);
+        if (Double.isNaN(priority))
+            throw new IllegalArgumentException("Priorità non valida");
+        this.priority[element] = priority;
+        this.heap[this.size] = element;
+        this.position[element] = this.size;
+        this.size++;
+        this.siftUp(this.size - 1);
+    }
+
+    /**
+     * Estrae l'elemento con priorità minima.
+     *
+     * @return l'elemento con priorità minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    public int extractMin() {
+        if (this.size == 0)
+            throw new NoSuchElementException("Coda vuota");
+        int min = this.heap[0];
+        this.size--;
+        if (this.size > 0) {
+            // l'ultimo elemento prende il posto della radice e scende
+            this.heap[0] = this.heap[this.size];
+            this.position[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+        this.position[min] = -1;
+        return min;
+    }
+
+    /**
+     * Diminuisce la priorità di un elemento presente nella coda.
+     *
+     * @param element
+     *                     l'elemento
+     * @param priority
+     *                     la nuova priorità
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso tra 0
+     *                                       e capacity - 1
+     * @throws NoSuchElementException
+     *                                       se l'elemento non è presente
+     * @throws IllegalArgumentException
+     *                                       se la nuova priorità è maggiore di
+     *                                       quella corrente o è NaN
+     */
+    public void decreasePriority(int element, double priority) {
+        if (!this.contains(element))
+            throw new NoSuchElementException(
+                    "Elemento non presente: " + element);
+        if (Double.isNaN(priority) || priority > this.priority[element])
+            throw new IllegalArgumentException(
+                    "La nuova priorità deve essere minore o uguale a quella corrente");
+        this.priority[element] = priority;
+        this.siftUp(this.position[element]);
+    }
+
+    /**
+     * Svuota la coda.
+     */
+    public void clear() {
+        for (int p = 0; p < this.size; p++)
+            this.position[this.heap[p]] = -1;
+        this.size = 0;
+    }
+
+    /*
+     * Fa risalire l'elemento in posizione p finché è minore del padre
+     */
+    private void siftUp(int p) {
+        int element = this.heap[p];
+        double key = this.priority[element];
+        while (p > 0) {
+            int parent = (p - 1) / this.arity;
+            if (this.priority[this.heap[parent]] <= key)
+                break;
+            this.move(this.heap[parent], p);
+            p = parent;
+        }
+        this.move(element, p);
+    }
+
+    /*
+     * Fa scendere l'elemento in posizione p finché è maggiore del minimo dei
+     * figli
+     */
+    private void siftDown(int p) {
+        int element = this.heap[p];
+        double key = this.priority[element];
+        while (true) {
+            int first = this.arity * p + 1;
+            if (first >= this.size)
+                break;
+            // cerca il figlio con priorità minima
+            int last = Math.min(first + this.arity, this.size);
+            int best = first;
+            for (int c = first + 1; c < last; c++)
+                if (this.priority[this.heap[c]] < this.priority[this.heap[best]])
+                    best = c;
+            if (this.priority[this.heap[best]] >= key)
+                break;
+            this.move(this.heap[best], p);
+            p = best;
+        }
+        this.move(element, p);
+    }
+
+    /*
+     * Mette un elemento nella posizione p aggiornando l'array delle posizioni
+     */
+    private void move(int element, int p) {
+        this.heap[p] = element;
+        this.position[element] = p;
+    }
+
+    private void checkElement(int element) {
+        if (element < 0 || element >= this.position.length)
+            throw new IndexOutOfBoundsException(
+                    "Elemento non valido: " + element);
+    }
+}
@@ -0,0 +1,96 @@
+package it.unicam.cs.asdl2324.es12;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IndexedMinHeap.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+class IndexedMinHeapTest {
+
+    @Test
+    final void testIndexedMinHeap() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IndexedMinHeap(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IndexedMinHeap(10, 1));
+        IndexedMinHeap heap = new IndexedMinHeap(10, 3);
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+        assertThrows(NoSuchElementException.class, () -> heap.extractMin());
+    }
+
+    @Test
+    final void testInsertAndContains() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insert(3, 2.5);
+        assertTrue(heap.contains(3));
+        assertFalse(heap.contains(2));
+        assertEquals(2.5, heap.getPriority(3));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(3, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> heap.insert(1, Double.NaN));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.insert(5, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.contains(-1));
+        assertThrows(NoSuchElementException.class, () -> heap.getPriority(2));
+        heap.insert(0, Double.POSITIVE_INFINITY);
+        assertEquals(2, heap.size());
+        assertEquals(3, heap.extractMin());
+        assertFalse(heap.contains(3));
+        assertEquals(0, heap.extractMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    final void testDecreasePriority() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(0, 10);
+        heap.insert(1, 20);
+        heap.insert(2, 30);
+        assertThrows(IllegalArgumentException.class,
+                () -> heap.decreasePriority(0, 11));
+        assertThrows(NoSuchElementException.class,
+                () -> heap.decreasePriority(3, 1));
+        heap.decreasePriority(2, 5);
+        assertEquals(5, heap.getPriority(2));
+        assertEquals(2, heap.extractMin());
+        assertEquals(0, heap.extractMin());
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(1));
+        // dopo clear gli elementi possono essere reinseriti
+        heap.insert(1, 0);
+        assertEquals(1, heap.extractMin());
+    }
+
+    @Test
+    final void testRandomOperations() {
+        Random random = new Random(13);
+        for (int arity = 2; arity <= 5; arity++) {
+            int n = 1000;
+            IndexedMinHeap heap = new IndexedMinHeap(n, arity);
+            double[] keys = new double[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = random.nextDouble() * 1000;
+                heap.insert(i, keys[i]);
+            }
+            for (int k = 0; k < 2000; k++) {
+                int i = random.nextInt(n);
+                keys[i] = keys[i] * random.nextDouble();
+                heap.decreasePriority(i, keys[i]);
+            }
+            double[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            for (int k = 0; k < n; k++)
+                assertEquals(sorted[k], keys[heap.extractMin()]);
+        }
+    }
+}
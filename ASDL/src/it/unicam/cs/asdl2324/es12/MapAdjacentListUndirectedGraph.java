@@ -3,10 +3,12 @@
  */
 package it.unicam.cs.asdl2324.es12;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Implementazione della classe astratta {@code Graph<L>} che realizza un grafo
@@ -48,12 +50,26 @@ public class MapAdjacentListUndirectedGraph<L> extends Graph<L> {
      */
     private final Map<GraphNode<L>, Set<GraphEdge<L>>> adjacentLists;
 
+    /*
+     * Insieme di tutti gli archi del grafo, aggiornato ad ogni inserimento in
+     * modo che getEdges() non debba unire gli insiemi di tutti i nodi.
+     */
+    private final Set<GraphEdge<L>> edges;
+
+    /*
+     * Vista non modificabile di edges restituita da getEdges().
+     */
+    private final Set<GraphEdge<L>> edgesView;
+
     /**
      * Crea un grafo vuoto.
      */
     public MapAdjacentListUndirectedGraph() {
         // Inizializza la mappa con la mappa vuota
         this.adjacentLists = new HashMap<GraphNode<L>, Set<GraphEdge<L>>>();
+        // Inizializza l'insieme degli archi e la sua vista
+        this.edges = new HashSet<GraphEdge<L>>();
+        this.edgesView = Collections.unmodifiableSet(this.edges);
     }
 
     @Override
@@ -77,6 +93,7 @@ public class MapAdjacentListUndirectedGraph<L> extends Graph<L> {
     @Override
     public void clear() {
         this.adjacentLists.clear();
+        this.edges.clear();
     }
 
     @Override
@@ -175,16 +192,15 @@ public class MapAdjacentListUndirectedGraph<L> extends Graph<L> {
                 "Ricerca dei nodi predecessori non supportata in un grafo non orientato");
     }
 
+    /*
+     * La vista è quella dell'insieme degli archi mantenuto da addEdge, senza
+     * creare un nuovo insieme. Gli archi sono quelli passati ad addEdge e un
+     * inserimento durante l'iterazione lancia
+     * ConcurrentModificationException.
+     */
     @Override
     public Set<GraphEdge<L>> getEdges() {
-        // Creo l'insieme risultato
-        Set<GraphEdge<L>> r = new HashSet<GraphEdge<L>>();
-        // Scorro la mappa e colleziono tutti gli archi, quelli ripetuti non
-        // saranno inseriti due volte, basandosi sull'equals tra archi
-        for (Map.Entry<GraphNode<L>, Set<GraphEdge<L>>> entry : this.adjacentLists
-                .entrySet())
-            r.addAll(entry.getValue());
-        return r;
+        return this.edgesView;
     }
 
     @Override
@@ -206,6 +222,8 @@ public class MapAdjacentListUndirectedGraph<L> extends Graph<L> {
         // Inserisco l'arco nel set di archi di ogni nodo collegato
         this.adjacentLists.get(edge.getNode1()).add(edge);
         this.adjacentLists.get(edge.getNode2()).add(edge);
+        // e nell'insieme di tutti gli archi
+        this.edges.add(edge);
         return true;
     }
 
@@ -241,6 +259,28 @@ public class MapAdjacentListUndirectedGraph<L> extends Graph<L> {
         return this.adjacentLists.get(node);
     }
 
+    @Override
+    public void forEachNeighbor(GraphNode<L> node,
+            ObjDoubleConsumer<GraphNode<L>> action) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Ricerca dei nodi adiacenti a un nodo nullo");
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di scorrere i nodi adiacenti con un'operazione null");
+        Set<GraphEdge<L>> edges = this.adjacentLists.get(node);
+        if (edges == null)
+            throw new IllegalArgumentException(
+                    "Ricerca dei nodi adiacenti a un nodo non esistente");
+        // Scorro direttamente l'insieme degli archi, senza crearne uno nuovo
+        for (GraphEdge<L> e : edges) {
+            // Il nodo adiacente è l'estremo dell'arco diverso da node
+            GraphNode<L> other = e.getNode1().equals(node) ? e.getNode2()
+                    : e.getNode1();
+            action.accept(other, e.getWeight());
+        }
+    }
+
     @Override
     public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
         throw new UnsupportedOperationException(
@@ -1,8 +1,12 @@
 package it.unicam.cs.asdl2324.es12;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -17,6 +21,20 @@ import java.util.Set;
  * Si possono usare i colori dei nodi per registrare la scoperta e la visita
  * effettuata dei nodi.
  *
+ * In alternativa alla ArrayList, scegliendo {@code QUEUE_INDEXED_HEAP} alla
+ * creazione, la coda è realizzata con uno {@code IndexedMinHeap} d-ario sugli
+ * indici locali dei nodi: l'estrazione del minimo e il decremento della
+ * priorità costano O(log V) e il test di appartenenza alla coda O(1), quindi
+ * l'algoritmo costa O(E log V) invece di O(V² + E·V).
+ *
+ * Scegliendo {@code QUEUE_LAZY_HEAP} si usa invece la versione "pigra":
+ * quando la priorità di un nodo diminuisce viene inserita nello heap una nuova
+ * coppia (peso, nodo) senza toccare quelle vecchie, che vengono scartate
+ * quando vengono estratte. Lo heap è realizzato con array di tipi primitivi e
+ * i nodi già nell'albero sono registrati in un {@code BitSet} sugli indici
+ * locali. Lo heap può contenere fino a E coppie, ma ogni operazione è più
+ * semplice: sui grafi sparsi è spesso la scelta più veloce.
+ *
  * @author @author Template: Luca Tesei, Implementazione: collettiva
  *
  * @param <L>
@@ -25,6 +43,30 @@ import java.util.Set;
  */
 public class PrimMST<L> {
 
+    /**
+     * Coda di priorità realizzata con una ArrayList.
+     */
+    public static final int QUEUE_LIST = 0;
+
+    /**
+     * Coda di priorità realizzata con uno heap d-ario indicizzato con
+     * decremento della priorità.
+     */
+    public static final int QUEUE_INDEXED_HEAP = 1;
+
+    /**
+     * Coda di priorità realizzata con uno heap binario di coppie (peso, nodo)
+     * con cancellazione pigra delle coppie non più valide.
+     */
+    public static final int QUEUE_LAZY_HEAP = 2;
+
+    /*
+     * Numero di figli di ogni nodo dello heap indicizzato
+     */
+    private static final int HEAP_ARITY = 4;
+
+    private final int queueType;
+
     private List<GraphNode<L>> coda;
     private Set<GraphNode<L>> visitati;
 
@@ -39,10 +81,36 @@ public class PrimMST<L> {
      * vuota.
      */
     public PrimMST() {
+        this(QUEUE_LIST);
+    }
+
+    /**
+     * Crea un nuovo algoritmo che usa il tipo di coda di priorità indicato.
+     *
+     * @param queueType
+     *                      il tipo di coda di priorità, {@code QUEUE_LIST},
+     *                      {@code QUEUE_INDEXED_HEAP} o
+     *                      {@code QUEUE_LAZY_HEAP}
+     * @throws IllegalArgumentException
+     *                                      se il tipo di coda non è valido
+     */
+    public PrimMST(int queueType) {
+        if (queueType != QUEUE_LIST && queueType != QUEUE_INDEXED_HEAP
+                && queueType != QUEUE_LAZY_HEAP)
+            throw new IllegalArgumentException(
+                    "Tipo di coda non valido: " + queueType);
+        this.queueType = queueType;
         coda = new ArrayList<GraphNode<L>>();
         visitati = new HashSet<GraphNode<L>>();
     }
 
+    /**
+     * @return il tipo di coda di priorità usato da questo algoritmo
+     */
+    public int getQueueType() {
+        return this.queueType;
+    }
+
     /**
      * Utilizza l'algoritmo goloso di Prim per trovare un albero di copertura
      * minimo in un grafo non orientato e pesato, con pesi degli archi non
@@ -72,13 +140,24 @@ public class PrimMST<L> {
             node.setFloatingPointDistance(Double.POSITIVE_INFINITY);
             node.setPrevious(null);
         }
-        Set<GraphEdge<L>> edges = g.getEdges();
-        for (GraphEdge<L> edge : edges) {
-            if (edge.getWeight() < 0 || Double.isNaN(edge.getWeight())) {
-                throw new IllegalArgumentException("Grafo non pesato");
+        // controlla gli archi di ogni nodo senza costruire l'insieme di tutti
+        // gli archi: ogni arco viene controllato due volte, ma senza hashing
+        for (GraphNode<L> node : g.getNodes()) {
+            for (GraphEdge<L> edge : g.getEdgesOf(node)) {
+                if (edge.getWeight() < 0 || Double.isNaN(edge.getWeight())) {
+                    throw new IllegalArgumentException("Grafo non pesato");
+                }
             }
         }
         s.setFloatingPointDistance(0);
+        if (this.queueType == QUEUE_INDEXED_HEAP) {
+            computeWithIndexedHeap(g);
+            return;
+        }
+        if (this.queueType == QUEUE_LAZY_HEAP) {
+            computeWithLazyHeap(g, s);
+            return;
+        }
         coda.addAll(g.getNodes());
 
         while (!coda.isEmpty()) {
@@ -105,6 +184,239 @@ public class PrimMST<L> {
         }
     }
 
+    /**
+     * Calcola un albero di copertura minimo come {@code computeMSP(g, s)}, ma
+     * scrive colori, distanze in virgola mobile e predecessori nello stato
+     * passato invece che nei nodi, che non vengono modificati. Lo stato viene
+     * azzerato all'inizio del calcolo. Viene usata la coda pigra se è stato
+     * scelto {@code QUEUE_LAZY_HEAP}, altrimenti lo heap indicizzato, anche
+     * con {@code QUEUE_LIST}. Tutte le strutture di lavoro sono locali, quindi
+     * più calcoli con stati diversi possono essere eseguiti in parallelo con lo
+     * stesso oggetto.
+     *
+     * @param g     un grafo non orientato, pesato, con pesi non negativi
+     * @param s     il nodo del grafo g sorgente, radice dell'albero trovato
+     * @param state lo stato in cui scrivere i risultati, creato per il grafo g
+     * @throw NullPointerException se almeno un valore passato è null
+     * @throw IllegalArgumentException se il nodo sorgente s non esiste in g o
+     * nello stato
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     * con pesi negativi
+     */
+    public void computeMSP(Graph<L> g, GraphNode<L> s, TraversalState<L> state) {
+        if (g == null || s == null || state == null) {
+            throw new NullPointerException("Grafo, nodo sorgente o stato nullo");
+        }
+        if (!g.containsNode(s)) {
+            throw new IllegalArgumentException("Nodo sorgente non esiste");
+        }
+        for (GraphNode<L> node : state.nodes) {
+            for (GraphEdge<L> edge : g.getEdgesOf(node)) {
+                if (edge.getWeight() < 0 || Double.isNaN(edge.getWeight())) {
+                    throw new IllegalArgumentException("Grafo non pesato");
+                }
+            }
+        }
+        state.reset();
+        int source = state.indexOf(s);
+        double[] key = state.floatingPointDistance;
+        key[source] = 0;
+        int n = state.size();
+        if (this.queueType == QUEUE_LAZY_HEAP) {
+            LazyHeap heap = new LazyHeap(n);
+            heap.push(0, source);
+            int root = 0;
+            while (true) {
+                while (!heap.isEmpty()) {
+                    double k = heap.peekKey();
+                    int u = heap.pop();
+                    if (state.color[u] == GraphNode.COLOR_BLACK || k > key[u])
+                        continue;
+                    relax(g, state, u, null, heap);
+                }
+                while (root < n && state.color[root] == GraphNode.COLOR_BLACK)
+                    root++;
+                if (root >= n)
+                    break;
+                heap.push(key[root], root);
+            }
+            return;
+        }
+        IndexedMinHeap heap = new IndexedMinHeap(n, HEAP_ARITY);
+        for (int i = 0; i < n; i++)
+            heap.insert(i, key[i]);
+        while (!heap.isEmpty())
+            relax(g, state, heap.extractMin(), heap, null);
+    }
+
+    /*
+     * Aggiunge all'albero il nodo di indice u dello stato e aggiorna la
+     * priorità dei suoi adiacenti non ancora nell'albero nello heap
+     * indicizzato o, se è null, inserendo nuove coppie nella coda pigra
+     */
+    private static <L> void relax(Graph<L> g, TraversalState<L> state, int u,
+            IndexedMinHeap indexed, LazyHeap lazy) {
+        state.color[u] = GraphNode.COLOR_BLACK;
+        g.forEachNeighbor(state.nodes.get(u), (v, weight) -> {
+            int j = state.indexOf(v);
+            if (state.color[j] != GraphNode.COLOR_BLACK
+                    && weight < state.floatingPointDistance[j]) {
+                state.floatingPointDistance[j] = weight;
+                state.previous[j] = u;
+                if (indexed != null)
+                    indexed.decreasePriority(j, weight);
+                else
+                    lazy.push(weight, j);
+            }
+        });
+    }
+
+    /*
+     * Ciclo principale dell'algoritmo con la coda realizzata da uno heap
+     * indicizzato. I nodi vengono numerati localmente perché il grafo non deve
+     * necessariamente supportare gli indici; la priorità di ogni nodo è la sua
+     * distanza in virgola mobile, già inizializzata.
+     */
+    private void computeWithIndexedHeap(Graph<L> g) {
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(g.getNodes());
+        Map<GraphNode<L>, Integer> index = new HashMap<GraphNode<L>, Integer>();
+        IndexedMinHeap heap = new IndexedMinHeap(nodes.size(), HEAP_ARITY);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+            heap.insert(i, nodes.get(i).getFloatingPointDistance());
+        }
+        while (!heap.isEmpty()) {
+            GraphNode<L> u = nodes.get(heap.extractMin());
+            u.setColor(GraphNode.COLOR_BLACK);
+            g.forEachNeighbor(u, (v, weight) -> {
+                // solo i nodi ancora nella coda (non neri) possono migliorare;
+                // l'indice viene cercato solo se la priorità cambia davvero
+                if (v.getColor() != GraphNode.COLOR_BLACK
+                        && weight < v.getFloatingPointDistance()) {
+                    v.setFloatingPointDistance(weight);
+                    v.setPrevious(u);
+                    heap.decreasePriority(index.get(v), weight);
+                }
+            });
+        }
+    }
+
+    /*
+     * Ciclo principale dell'algoritmo con la coda pigra. Prima viene costruito
+     * l'albero che parte dalla sorgente, poi ogni nodo non ancora raggiunto
+     * diventa la radice di un nuovo albero, come accade con le altre code in
+     * cui tutti i nodi vengono prima o poi estratti.
+     */
+    private void computeWithLazyHeap(Graph<L> g, GraphNode<L> s) {
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(g.getNodes());
+        Map<GraphNode<L>, Integer> index = new HashMap<GraphNode<L>, Integer>();
+        for (int i = 0; i < nodes.size(); i++)
+            index.put(nodes.get(i), i);
+        BitSet inTree = new BitSet(nodes.size());
+        LazyHeap heap = new LazyHeap(nodes.size());
+        heap.push(0, index.get(s));
+        int root = 0;
+        while (true) {
+            while (!heap.isEmpty()) {
+                double key = heap.peekKey();
+                int i = heap.pop();
+                GraphNode<L> u = nodes.get(i);
+                // coppia non più valida: il nodo è già nell'albero o ha
+                // ottenuto nel frattempo una priorità minore
+                if (inTree.get(i) || key > u.getFloatingPointDistance())
+                    continue;
+                inTree.set(i);
+                u.setColor(GraphNode.COLOR_BLACK);
+                g.forEachNeighbor(u, (v, weight) -> {
+                    // l'indice viene cercato solo se la priorità migliora
+                    if (weight < v.getFloatingPointDistance()) {
+                        int j = index.get(v);
+                        if (!inTree.get(j)) {
+                            v.setFloatingPointDistance(weight);
+                            v.setPrevious(u);
+                            heap.push(weight, j);
+                        }
+                    }
+                });
+            }
+            // cerca un nodo non ancora raggiunto da cui far partire un nuovo albero
+            root = inTree.nextClearBit(root);
+            if (root >= nodes.size())
+                break;
+            heap.push(nodes.get(root).getFloatingPointDistance(), root);
+        }
+    }
+
+    /*
+     * Heap binario di coppie (priorità, elemento) memorizzate in due array
+     * paralleli di tipi primitivi, che crescono raddoppiando
+     */
+    private static class LazyHeap {
+
+        private double[] keys;
+
+        private int[] elements;
+
+        private int size;
+
+        LazyHeap(int initialCapacity) {
+            this.keys = new double[Math.max(initialCapacity, 1)];
+            this.elements = new int[this.keys.length];
+            this.size = 0;
+        }
+
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        double peekKey() {
+            return this.keys[0];
+        }
+
+        void push(double key, int element) {
+            if (this.size == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, 2 * this.size);
+                this.elements = Arrays.copyOf(this.elements, 2 * this.size);
+            }
+            // risale dal fondo spostando in giù i padri più grandi
+            int p = this.size++;
+            while (p > 0) {
+                int parent = (p - 1) >>> 1;
+                if (this.keys[parent] <= key)
+                    break;
+                this.keys[p] = this.keys[parent];
+                this.elements[p] = this.elements[parent];
+                p = parent;
+            }
+            this.keys[p] = key;
+            this.elements[p] = element;
+        }
+
+        int pop() {
+            int min = this.elements[0];
+            this.size--;
+            double key = this.keys[this.size];
+            int element = this.elements[this.size];
+            // l'ultima coppia scende dalla radice
+            int p = 0;
+            while (true) {
+                int c = 2 * p + 1;
+                if (c >= this.size)
+                    break;
+                if (c + 1 < this.size && this.keys[c + 1] < this.keys[c])
+                    c++;
+                if (this.keys[c] >= key)
+                    break;
+                this.keys[p] = this.keys[c];
+                this.elements[p] = this.elements[c];
+                p = c;
+            }
+            this.keys[p] = key;
+            this.elements[p] = element;
+            return min;
+        }
+    }
+
     // EXTRACT-MIN(Q) method on slides
     private GraphNode<L> extractMin() {
         GraphNode<L> min = coda.get(0);
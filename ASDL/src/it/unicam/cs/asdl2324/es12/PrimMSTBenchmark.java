@@ -0,0 +1,90 @@
+package it.unicam.cs.asdl2324.es12;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Confronta le code di priorità di {@code PrimMST} su grafi casuali connessi
+ * con lo stesso numero di nodi e densità crescente, per scegliere la coda
+ * più adatta a seconda del grado medio dei nodi. Per ogni grafo e ogni coda
+ * viene eseguito un certo numero di ripetizioni di riscaldamento, non
+ * misurate, seguite dalle ripetizioni misurate; su standard output viene
+ * stampata una riga in formato CSV con il tempo minimo e medio in
+ * nanosecondi.
+ *
+ * La coda realizzata con la ArrayList viene misurata solo sui grafi con al più
+ * {@code LIST_MAX_NODES} nodi perché il suo costo è quadratico.
+ *
+ * Il main può essere chiamato con il numero di nodi, il numero di ripetizioni
+ * di riscaldamento e il numero di ripetizioni misurate come parametri di linea
+ * di comando.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class PrimMSTBenchmark {
+
+    private static final int LIST_MAX_NODES = 5000;
+
+    private static final int[] AVERAGE_DEGREES = { 2, 8, 32, 128 };
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int measured = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        String[] names = { "lista", "heapIndicizzato", "heapPigro" };
+        int[] queueTypes = { PrimMST.QUEUE_LIST, PrimMST.QUEUE_INDEXED_HEAP,
+                PrimMST.QUEUE_LAZY_HEAP };
+        System.out.println("Nodi,Archi,GradoMedio,Coda,MinTns,MediaTns");
+        for (int degree : AVERAGE_DEGREES) {
+            List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+            Graph<Integer> g = randomGraph(n, degree, new Random(degree),
+                    nodes);
+            int edges = g.edgeCount();
+            for (int q = 0; q < queueTypes.length; q++) {
+                if (queueTypes[q] == PrimMST.QUEUE_LIST && n > LIST_MAX_NODES)
+                    continue;
+                long min = Long.MAX_VALUE;
+                long total = 0;
+                for (int r = 0; r < warmup + measured; r++) {
+                    PrimMST<Integer> alg = new PrimMST<Integer>(queueTypes[q]);
+                    long start = System.nanoTime();
+                    alg.computeMSP(g, nodes.get(0));
+                    long elapsed = System.nanoTime() - start;
+                    if (r < warmup)
+                        continue;
+                    min = Math.min(min, elapsed);
+                    total += elapsed;
+                }
+                System.out.println(n + "," + edges + "," + degree + ","
+                        + names[q] + "," + min + "," + (total / measured));
+            }
+        }
+    }
+
+    /*
+     * Crea un grafo connesso con n nodi e circa n * degree / 2 archi con pesi
+     * casuali: un albero casuale più archi tra coppie di nodi casuali
+     */
+    private static Graph<Integer> randomGraph(int n, int degree,
+            Random random, List<GraphNode<Integer>> nodes) {
+        Graph<Integer> g = new MapAdjacentListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new GraphNode<Integer>(i));
+            g.addNode(nodes.get(i));
+        }
+        for (int i = 1; i < n; i++)
+            g.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(i)),
+                    nodes.get(i), false, random.nextDouble()));
+        long extra = (long) n * degree / 2 - (n - 1);
+        for (long k = 0; k < extra; k++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v)
+                g.addEdge(new GraphEdge<Integer>(nodes.get(u), nodes.get(v),
+                        false, random.nextDouble()));
+        }
+        return g;
+    }
+}
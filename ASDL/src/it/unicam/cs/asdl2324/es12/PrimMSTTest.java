@@ -2,6 +2,10 @@ package it.unicam.cs.asdl2324.es12;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -302,4 +306,191 @@ class PrimMSTTest {
         assertTrue(c.getFloatingPointDistance() == Double.POSITIVE_INFINITY);
         assertTrue(c.getColor() == GraphNode.COLOR_BLACK);
     }
+
+    @Test
+    final void testFindMSPIndexedHeap() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrimMST<String>(-1));
+        assertEquals(PrimMST.QUEUE_LIST, new PrimMST<String>().getQueueType());
+        Graph<String> gr = new MapAdjacentListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        GraphNode<String> g = new GraphNode<String>("g");
+        gr.addNode(g);
+        GraphNode<String> h = new GraphNode<String>("h");
+        gr.addNode(h);
+        GraphNode<String> i = new GraphNode<String>("i");
+        gr.addNode(i);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, h, false, 8.5));
+        gr.addEdge(new GraphEdge<String>(b, h, false, 11));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 8));
+        gr.addEdge(new GraphEdge<String>(c, i, false, 2));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 7));
+        gr.addEdge(new GraphEdge<String>(c, f, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, f, false, 14));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 9));
+        gr.addEdge(new GraphEdge<String>(e, f, false, 10));
+        gr.addEdge(new GraphEdge<String>(f, g, false, 2));
+        gr.addEdge(new GraphEdge<String>(g, i, false, 6));
+        gr.addEdge(new GraphEdge<String>(g, h, false, 1));
+        gr.addEdge(new GraphEdge<String>(h, i, false, 7));
+        PrimMST<String> alg = new PrimMST<String>(PrimMST.QUEUE_INDEXED_HEAP);
+        assertThrows(NullPointerException.class,
+                () -> alg.computeMSP(gr, null));
+        alg.computeMSP(gr, a);
+        assertTrue(a.getPrevious() == null);
+        assertTrue(b.getPrevious() == a);
+        assertTrue(c.getPrevious() == b);
+        assertTrue(d.getPrevious() == c);
+        assertTrue(e.getPrevious() == d);
+        assertTrue(f.getPrevious() == c);
+        assertTrue(g.getPrevious() == f);
+        assertTrue(h.getPrevious() == g);
+        assertTrue(i.getPrevious() == c);
+        // nodo isolato: resta radice di un proprio albero
+        GraphNode<String> z = new GraphNode<String>("z");
+        gr.addNode(z);
+        alg.computeMSP(gr, a);
+        assertTrue(z.getPrevious() == null);
+        assertTrue(i.getPrevious() == c);
+    }
+
+    @Test
+    final void testHeapsSameTreeAsList() {
+        // con pesi distinti l'albero è unico: le due code danno gli stessi previous
+        Random random = new Random(29);
+        int n = 300;
+        Graph<Integer> gr = new MapAdjacentListUndirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int k = 0; k < n; k++) {
+            nodes.add(new GraphNode<Integer>(k));
+            gr.addNode(nodes.get(k));
+        }
+        int weight = 0;
+        for (int k = 1; k < n; k++)
+            gr.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(k)),
+                    nodes.get(k), false, random.nextInt(1000) * 10000 + weight++));
+        for (int k = 0; k < 3 * n; k++) {
+            GraphNode<Integer> u = nodes.get(random.nextInt(n));
+            GraphNode<Integer> v = nodes.get(random.nextInt(n));
+            if (!u.equals(v))
+                gr.addEdge(new GraphEdge<Integer>(u, v, false,
+                        random.nextInt(1000) * 10000 + weight++));
+        }
+        new PrimMST<Integer>().computeMSP(gr, nodes.get(0));
+        List<GraphNode<Integer>> expected = new ArrayList<GraphNode<Integer>>();
+        for (GraphNode<Integer> node : nodes)
+            expected.add(node.getPrevious());
+        for (int queueType : new int[] { PrimMST.QUEUE_INDEXED_HEAP,
+                PrimMST.QUEUE_LAZY_HEAP }) {
+            new PrimMST<Integer>(queueType).computeMSP(gr, nodes.get(0));
+            for (int k = 0; k < n; k++)
+                assertEquals(expected.get(k), nodes.get(k).getPrevious());
+        }
+    }
+
+    @Test
+    final void testFindMSPLazyHeap() {
+        Graph<String> gr = new MapAdjacentListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> x = new GraphNode<String>("x");
+        gr.addNode(x);
+        GraphNode<String> y = new GraphNode<String>("y");
+        gr.addNode(y);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, d, false, 2));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 1));
+        // componente non raggiungibile dalla sorgente
+        gr.addEdge(new GraphEdge<String>(x, y, false, 4));
+        PrimMST<String> alg = new PrimMST<String>(PrimMST.QUEUE_LAZY_HEAP);
+        assertEquals(PrimMST.QUEUE_LAZY_HEAP, alg.getQueueType());
+        alg.computeMSP(gr, a);
+        assertTrue(a.getPrevious() == null);
+        assertTrue(b.getPrevious() == a);
+        assertTrue(d.getPrevious() == b);
+        assertTrue(c.getPrevious() == d);
+        // l'altra componente forma un albero a sé
+        assertTrue(x.getPrevious() == y || y.getPrevious() == x);
+        assertTrue(x.getPrevious() == null || y.getPrevious() == null);
+        for (GraphNode<String> node : gr.getNodes())
+            assertEquals(GraphNode.COLOR_BLACK, node.getColor());
+    }
+
+    @Test
+    final void testComputeMSPWithState() throws InterruptedException {
+        // con pesi distinti l'albero è unico e non dipende dalla sorgente
+        Random random = new Random(37);
+        int n = 400;
+        Graph<Integer> gr = new MapAdjacentListUndirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        for (int k = 0; k < n; k++) {
+            nodes.add(new GraphNode<Integer>(k));
+            gr.addNode(nodes.get(k));
+        }
+        int weight = 0;
+        for (int k = 1; k < n; k++)
+            gr.addEdge(new GraphEdge<Integer>(nodes.get(random.nextInt(k)),
+                    nodes.get(k), false, random.nextInt(1000) * 10000 + weight++));
+        for (int k = 0; k < 3 * n; k++) {
+            GraphNode<Integer> u = nodes.get(random.nextInt(n));
+            GraphNode<Integer> v = nodes.get(random.nextInt(n));
+            if (!u.equals(v))
+                gr.addEdge(new GraphEdge<Integer>(u, v, false,
+                        random.nextInt(1000) * 10000 + weight++));
+        }
+        new PrimMST<Integer>().computeMSP(gr, nodes.get(0));
+        List<GraphNode<Integer>> expected = new ArrayList<GraphNode<Integer>>();
+        for (GraphNode<Integer> node : nodes) {
+            expected.add(node.getPrevious());
+            node.setColor(GraphNode.COLOR_WHITE);
+        }
+        PrimMST<Integer> alg = new PrimMST<Integer>(PrimMST.QUEUE_LAZY_HEAP);
+        TraversalState<Integer> wrong = new TraversalState<Integer>(gr);
+        assertThrows(NullPointerException.class,
+                () -> alg.computeMSP(gr, nodes.get(0), null));
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(gr,
+                new GraphNode<Integer>(n), wrong));
+        // calcoli paralleli con lo stesso oggetto, ognuno con il suo stato
+        List<TraversalState<Integer>> states = new ArrayList<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            TraversalState<Integer> state = new TraversalState<Integer>(gr);
+            states.add(state);
+            PrimMST<Integer> shared = t % 2 == 0 ? alg
+                    : new PrimMST<Integer>(PrimMST.QUEUE_INDEXED_HEAP);
+            threads[t] = new Thread(
+                    () -> shared.computeMSP(gr, nodes.get(0), state));
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        for (TraversalState<Integer> state : states) {
+            for (int k = 0; k < n; k++) {
+                assertEquals(GraphNode.COLOR_WHITE, nodes.get(k).getColor());
+                assertEquals(GraphNode.COLOR_BLACK,
+                        state.getColor(nodes.get(k)));
+                assertEquals(expected.get(k), state.getPrevious(nodes.get(k)));
+            }
+        }
+    }
 }
@@ -34,6 +34,12 @@ import java.util.*;
  * Questa classe non supporta i metodi di cancellazione di nodi e archi, ma
  * supporta tutti i metodi che usano indici, utilizzando l'indice assegnato a
  * ogni nodo in fase di inserimento.
+ *
+ * Opzionalmente il grafo può essere creato in modalità di rimozione per
+ * scambio con l'ultimo nodo (si veda il costruttore
+ * {@code AdjacencyMatrixUndirectedGraph(boolean)}): in tale modalità la
+ * cancellazione di un nodo costa O(n) invece di O(n^2), ma gli indici
+ * restituiti da {@code getNodeIndexOf} non sono stabili.
  * 
  * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
  *
@@ -59,12 +65,205 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
      */
     protected ArrayList<ArrayList<GraphEdge<L>>> matrix;
 
+    /*
+     * Associazione inversa di ogni indice con il proprio nodo, mantenuta
+     * allineata con nodesIndex
+     */
+    protected ArrayList<GraphNode<L>> indexedNodes;
+
+    /*
+     * Se true la rimozione di un nodo sposta l'ultimo nodo nell'indice
+     * liberato invece di far scorrere tutti i nodi successivi
+     */
+    protected final boolean swapRemoval;
+
+    /*
+     * Numero di archi attualmente presenti, aggiornato ad ogni inserimento e
+     * cancellazione in modo che edgeCount() non debba scorrere la matrice
+     */
+    protected int edgeCounter;
+
+    /*
+     * Grado di ogni nodo, indicizzato con l'indice del nodo nella matrice di
+     * adiacenza. Un cappio conta come un solo arco, coerentemente con
+     * getEdgesOf. L'array può essere più lungo del numero di nodi.
+     */
+    protected int[] degrees;
+
+    /*
+     * Se true ogni interrogazione dei contatori viene confrontata con un
+     * conteggio completo sulla matrice (pensato per i test JUnit)
+     */
+    protected boolean consistencyCheck;
+
+    /*
+     * Insieme degli archi presenti, uno per ogni coppia di celle simmetriche
+     * della matrice, aggiornato ad ogni inserimento e cancellazione in modo
+     * che getEdges() non debba scorrere tutta la matrice
+     */
+    protected Set<GraphEdge<L>> edges;
+
+    /*
+     * Vista non modificabile di edges restituita da getEdges()
+     */
+    protected Set<GraphEdge<L>> edgesView;
+
+    /*
+     * Numero di nodi previsto passato al costruttore: le righe della matrice
+     * vengono create con almeno questa capacità in modo che l'inserimento dei
+     * nodi successivi non debba riallocarle
+     */
+    protected final int expectedNodeCount;
+
     /**
      * Crea un grafo vuoto.
      */
     public AdjacencyMatrixUndirectedGraph() {
-        this.matrix = new ArrayList<>();
-        this.nodesIndex = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * Crea un grafo vuoto scegliendo la modalità di rimozione dei nodi.
+     *
+     * Con {@code swapRemoval} uguale a false la rimozione di un nodo di indice
+     * i decrementa di uno gli indici di tutti i nodi successivi, come
+     * specificato in {@code Graph<L>}, e costa O(n^2) perché sposta una riga e
+     * una colonna di tutta la matrice.
+     *
+     * Con {@code swapRemoval} uguale a true l'ultimo nodo inserito viene
+     * spostato nell'indice i liberato e vengono riscritte solo una riga e una
+     * colonna, con costo O(n). ATTENZIONE: in questa modalità gli indici
+     * restituiti da {@code getNodeIndexOf} NON sono stabili rispetto alla
+     * rimozione: dopo ogni cancellazione l'ultimo nodo cambia indice, mentre
+     * gli altri nodi lo conservano. Strutture dati esterne indicizzate con gli
+     * indici dei nodi devono quindi essere aggiornate di conseguenza.
+     *
+     * @param swapRemoval
+     *                        true per rimuovere i nodi scambiandoli con
+     *                        l'ultimo, false per la rimozione standard
+     */
+    public AdjacencyMatrixUndirectedGraph(boolean swapRemoval) {
+        this(swapRemoval, 0);
+    }
+
+    /**
+     * Crea un grafo vuoto dimensionato per contenere il numero di nodi dato.
+     * La matrice, le righe aggiunte e le strutture dati associate ai nodi
+     * vengono allocate fin dall'inizio con la capacità necessaria, così il
+     * caricamento di un grafo di cui si conosce il numero di nodi non paga le
+     * copie dovute alla crescita delle ArrayList. Il costo di ogni
+     * inserimento di un nodo resta O(n), perché deve aggiungere una cella ad
+     * ogni riga. Il grafo può comunque contenere più nodi di quelli previsti.
+     *
+     * @param swapRemoval
+     *                              true per rimuovere i nodi scambiandoli con
+     *                              l'ultimo, false per la rimozione standard
+     * @param expectedNodeCount
+     *                              il numero di nodi previsto
+     * @throws IllegalArgumentException
+     *                                      se il numero di nodi previsto è
+     *                                      negativo
+     */
+    public AdjacencyMatrixUndirectedGraph(boolean swapRemoval,
+            int expectedNodeCount) {
+        if (expectedNodeCount < 0)
+            throw new IllegalArgumentException(
+                    "Numero di nodi previsto negativo: " + expectedNodeCount);
+        this.expectedNodeCount = expectedNodeCount;
+        this.matrix = new ArrayList<>(expectedNodeCount);
+        this.nodesIndex = new HashMap<>(Math.max(16,
+                (int) (expectedNodeCount / 0.75f) + 1));
+        this.indexedNodes = new ArrayList<>(expectedNodeCount);
+        this.swapRemoval = swapRemoval;
+        this.edgeCounter = 0;
+        this.degrees = new int[expectedNodeCount];
+        this.consistencyCheck = false;
+        this.edges = new HashSet<>();
+        this.edgesView = Collections.unmodifiableSet(this.edges);
+    }
+
+    /**
+     * Determina se questo grafo rimuove i nodi scambiandoli con l'ultimo.
+     *
+     * @return true se gli indici dei nodi non sono stabili rispetto alla
+     *         rimozione, false altrimenti
+     */
+    public boolean isSwapRemoval() {
+        return this.swapRemoval;
+    }
+
+    /**
+     * Attiva o disattiva la modalità di controllo di consistenza. Quando è
+     * attiva, {@code edgeCount()} e {@code getDegreeOf(...)} confrontano i
+     * contatori mantenuti durante le modifiche con un conteggio completo sulla
+     * matrice di adiacenza e lanciano un'eccezione se non coincidono. Il costo
+     * delle interrogazioni torna quindi ad essere O(n^2).
+     *
+     * @param enabled
+     *                    true per attivare il controllo, false per
+     *                    disattivarlo
+     */
+    public void setConsistencyCheck(boolean enabled) {
+        this.consistencyCheck = enabled;
+    }
+
+    /*
+     * Aggiorna i contatori e l'insieme degli archi dopo l'inserimento
+     * dell'arco tra i nodi di indice i e j, già scritto nella matrice.
+     */
+    private void edgeAdded(int i, int j) {
+        this.edges.add(this.matrix.get(i).get(j));
+        this.edgeCounter++;
+        this.degrees[i]++;
+        // un cappio conta una sola volta
+        if (i != j)
+            this.degrees[j]++;
+    }
+
+    /*
+     * Aggiorna i contatori e l'insieme degli archi dopo la rimozione dell'arco
+     * tra i nodi di indice i e j. L'arco viene cercato con un arco uguale
+     * costruito dai nodi, perché la cella della matrice potrebbe essere già
+     * stata azzerata.
+     */
+    private void edgeRemoved(int i, int j) {
+        this.edges.remove(new GraphEdge<>(this.indexedNodes.get(i),
+                this.indexedNodes.get(j), false));
+        this.edgeCounter--;
+        this.degrees[i]--;
+        if (i != j)
+            this.degrees[j]--;
+    }
+
+    /*
+     * Confronta i contatori con un conteggio completo sulla matrice se la
+     * modalità di controllo di consistenza è attiva.
+     */
+    private void checkCounters() {
+        if (!this.consistencyCheck)
+            return;
+        int edges = 0;
+        for (int i = 0; i < this.matrix.size(); i++) {
+            int degree = 0;
+            for (int j = 0; j < this.matrix.size(); j++) {
+                if (this.matrix.get(i).get(j) != null) {
+                    degree++;
+                    // ogni arco viene contato solo nel triangolo superiore
+                    if (i <= j)
+                        edges++;
+                }
+            }
+            if (degree != this.degrees[i])
+                throw new IllegalStateException("Grado del nodo di indice " + i
+                        + " non consistente: " + this.degrees[i]
+                        + " invece di " + degree);
+        }
+        if (edges != this.edgeCounter)
+            throw new IllegalStateException("Numero di archi non consistente: "
+                    + this.edgeCounter + " invece di " + edges);
+        if (edges != this.edges.size())
+            throw new IllegalStateException("Insieme degli archi non consistente: "
+                    + this.edges.size() + " archi invece di " + edges);
     }
 
     @Override
@@ -74,29 +273,19 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     @Override
     public int edgeCount() {
-        int edgeCounter = 0;
-        // scorre in tutte le arrayList presenti nell'ArrayList
-        for(ArrayList<GraphEdge<L>> currentArrayList : this.matrix){
-            for(GraphEdge<L> currentEdge : currentArrayList){
-                // somma la size di ogni ArrayList contenuto nell'ArrayList (quindi ogni riga)
-                // questo perché nelle righe sono contenuti effettivamente gli oggetti GraphEdge<L>
-                if(currentEdge != null)
-                    edgeCounter++;
-            }
-        }
-        // ritorna il numero di archi contenuti nella matrice di adiacenza
-        // (considerando che se tra due nodi non c'è un arco il valore
-        // inserito nella matrice è null e quindi non viene contato tra
-        // gli altri che invece hanno un valore inserito all'interno in
-        // base alla coppia di nodi)
-        // diviso due perché essendo un grafo orientato lo stesso arco compare 2 volte
-        return (edgeCounter / 2);
+        this.checkCounters();
+        // il contatore viene aggiornato ad ogni inserimento e cancellazione
+        return this.edgeCounter;
     }
 
     @Override
     public void clear() {
         this.matrix.clear(); // resetta la matrice di adiacenza
         this.nodesIndex.clear(); // resetta la mappa di nodi
+        this.indexedNodes.clear(); // resetta l'associazione inversa
+        this.edgeCounter = 0; // resetta i contatori
+        this.degrees = new int[0];
+        this.edges.clear(); // resetta l'insieme degli archi, la vista resta valida
     }
 
     @Override
@@ -123,14 +312,17 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // Aggiornamento HashMap
         int nodeIndex = this.nodesIndex.size();
         this.nodesIndex.put(node, nodeIndex); //inserisce il nodo nella mappa con l'indice corretto
+        this.indexedNodes.add(node); // e nell'associazione inversa
 
         // aggiunge un elemento alla fine di ogni riga
         for(ArrayList<GraphEdge<L>> currentArrayList : this.matrix){
             currentArrayList.add(null);
         }
 
-        // creo e inizializzo con null l'ArrayList per l'ultima riga
-        ArrayList<GraphEdge<L>> edgeList = new ArrayList<>();
+        // creo e inizializzo con null l'ArrayList per l'ultima riga, già
+        // abbastanza capiente per il numero di nodi previsto
+        ArrayList<GraphEdge<L>> edgeList = new ArrayList<>(
+                Math.max(this.expectedNodeCount, nodeIndex + 1));
 
         for(int i = 0; i < nodeIndex + 1; i++){
             edgeList.add(null);
@@ -138,6 +330,11 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
         // aggiunge una nuova riga con la grandezza corretta
         this.matrix.add(edgeList);
+
+        // fa spazio al grado del nuovo nodo raddoppiando l'array se necessario
+        if(nodeIndex >= this.degrees.length)
+            this.degrees = Arrays.copyOf(this.degrees, Math.max(4, 2 * this.degrees.length));
+        this.degrees[nodeIndex] = 0;
         return true;
     }
 
@@ -176,6 +373,24 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // rimuove il nodo dalla HashMap
         int indexOfRemovedNode = this.nodesIndex.remove(node); // contiene l'indice del nodo rimosso
 
+        // aggiorna i contatori togliendo gli archi collegati al nodo rimosso
+        ArrayList<GraphEdge<L>> removedRow = this.matrix.get(indexOfRemovedNode);
+        for(int j = 0; j < removedRow.size(); j++){
+            if(removedRow.get(j) != null)
+                this.edgeRemoved(indexOfRemovedNode, j);
+        }
+
+        // #CASO: rimozione per scambio con l'ultimo nodo
+        if(this.swapRemoval){
+            this.swapRemove(indexOfRemovedNode);
+            return;
+        }
+
+        // fa scorrere di una posizione i gradi dei nodi successivi
+        System.arraycopy(this.degrees, indexOfRemovedNode + 1, this.degrees,
+                indexOfRemovedNode, removedRow.size() - indexOfRemovedNode - 1);
+        this.indexedNodes.remove(indexOfRemovedNode);
+
         // Reimposta tutti gli indici dei nodi in modo tale da continuare ad essere contigui anche
         // dopo la rimozione di un nodo
         // scorre nelle coppie di valori della HashMap
@@ -207,6 +422,40 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     }
 
+    /*
+     * Completa la rimozione del nodo che aveva l'indice dato, già tolto da
+     * nodesIndex e dai contatori, spostando l'ultimo nodo al suo posto. Vengono
+     * riscritte solo la colonna e la riga dell'indice liberato, mentre l'ultima
+     * riga e l'ultima colonna vengono tolte in coda alle ArrayList in tempo
+     * costante.
+     */
+    private void swapRemove(int removedIndex) {
+        int lastIndex = this.matrix.size() - 1;
+        // #CASO: il nodo rimosso era l'ultimo, basta togliere riga e colonna
+        // in coda
+        if(removedIndex != lastIndex){
+            // sposta la colonna dell'ultimo nodo nella colonna liberata, anche
+            // nella riga dell'ultimo nodo in modo che il suo eventuale cappio
+            // finisca sulla diagonale
+            for(int r = 0; r <= lastIndex; r++){
+                if(r != removedIndex)
+                    this.matrix.get(r).set(removedIndex, this.matrix.get(r).get(lastIndex));
+            }
+            // la riga dell'ultimo nodo prende il posto della riga liberata
+            this.matrix.set(removedIndex, this.matrix.get(lastIndex));
+            // l'ultimo nodo prende l'indice liberato
+            GraphNode<L> lastNode = this.indexedNodes.get(lastIndex);
+            this.indexedNodes.set(removedIndex, lastNode);
+            this.nodesIndex.put(lastNode, removedIndex);
+            this.degrees[removedIndex] = this.degrees[lastIndex];
+        }
+        // toglie l'ultima riga e l'ultima colonna
+        this.matrix.remove(lastIndex);
+        for(ArrayList<GraphEdge<L>> row : this.matrix)
+            row.remove(lastIndex);
+        this.indexedNodes.remove(lastIndex);
+    }
+
     /*
      * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
      * cancellare devono essere decrementati di uno dopo la cancellazione del
@@ -252,13 +501,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
             return null;
 
         // #CASO: se il nodo è presente nel grafo
-        // per ogni nodo presente nel grafo
-        for(GraphNode<L> currentNode : this.nodesIndex.keySet()){
-            // se il nodo passato come parametro è uguale al nodo corrente
-            if(currentNode.equals(node))
-                return currentNode; // ritorna il puntatore al nodo corrente del grafo
-        }
-        return null;
+        // ritorna il puntatore al nodo del grafo tramite l'associazione inversa
+        return this.indexedNodes.get(this.nodesIndex.get(node));
     }
 
     @Override
@@ -277,15 +521,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         if(i < 0 || i >= this.nodeCount())
             throw new IndexOutOfBoundsException("Indice passato non valido");
 
-        // cerca il nodo che ha quell'indice nella mappa e se non c'è ritorna null
-        GraphNode<L> aNode = null;
-        for(Map.Entry<GraphNode<L>, Integer> currentEntry : this.nodesIndex.entrySet()){
-            if(currentEntry.getValue().equals(i)) {
-                aNode = currentEntry.getKey();
-                break;
-            }
-        }
-        return aNode;
+        // ritorna il nodo che ha quell'indice
+        return this.indexedNodes.get(i);
     }
 
     @Override
@@ -338,6 +575,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // inserisce nella matrice l'arco
         this.matrix.get(node1Index).set(node2Index, edge);
         this.matrix.get(node2Index).set(node1Index, edge);
+        this.edgeAdded(node1Index, node2Index); // aggiorna i contatori di archi e gradi
         return true;
     }
 
@@ -355,11 +593,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
         // #CASO: se l'arco NON era già presente nel grafo
         int node1Index = this.getNodeIndexOf(node1); //contiene l'indice del primo nodo nella HashMap
-        int node2Index = this.getNodeIndexOf(node1); //contiene l'indice del secondo nodo nella HashMap
+        int node2Index = this.getNodeIndexOf(node2); //contiene l'indice del secondo nodo nella HashMap
 
         // inserisce nella matrice l'arco
         this.matrix.get(node1Index).set(node2Index, new GraphEdge<>(node1, node2, this.isDirected()));
         this.matrix.get(node2Index).set(node1Index, new GraphEdge<>(node2, node1, this.isDirected()));
+        this.edgeAdded(node1Index, node2Index); // aggiorna i contatori di archi e gradi
         return true;
     }
 
@@ -382,6 +621,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // inserisce nella matrice l'arco
         this.matrix.get(node1Index).set(node2Index, new GraphEdge<>(node1, node2, this.isDirected(), weight));
         this.matrix.get(node2Index).set(node1Index, new GraphEdge<>(node2, node1, this.isDirected(), weight));
+        this.edgeAdded(node1Index, node2Index); // aggiorna i contatori di archi e gradi
         return true;
     }
 
@@ -404,6 +644,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // inserisce nella matrice l'arco
         this.matrix.get(node1Index).set(node2Index, new GraphEdge<>(new GraphNode<>(label1), new GraphNode<>(label2), this.isDirected()));
         this.matrix.get(node2Index).set(node1Index, new GraphEdge<>(new GraphNode<>(label2), new GraphNode<>(label1), this.isDirected()));
+        this.edgeAdded(node1Index, node2Index); // aggiorna i contatori di archi e gradi
         return true;
 
     }
@@ -427,6 +668,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // inserisce nella matrice l'arco
         this.matrix.get(node1Index).set(node2Index, new GraphEdge<>(new GraphNode<>(label1), new GraphNode<>(label2), this.isDirected(), weight));
         this.matrix.get(node2Index).set(node1Index, new GraphEdge<>(new GraphNode<>(label2), new GraphNode<>(label1), this.isDirected(), weight));
+        this.edgeAdded(node1Index, node2Index); // aggiorna i contatori di archi e gradi
         return true;
     }
 
@@ -445,6 +687,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // inserisce nella matrice l'arco
         this.matrix.get(i).set(j, new GraphEdge<>(this.getNode(i), this.getNode(j), this.isDirected()));
         this.matrix.get(j).set(i, new GraphEdge<>(this.getNode(j), this.getNode(i), this.isDirected()));
+        this.edgeAdded(i, j); // aggiorna i contatori di archi e gradi
         return true;
     }
 
@@ -463,6 +706,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // inserisce nella matrice l'arco
         this.matrix.get(i).set(j, new GraphEdge<>(this.getNode(i), this.getNode(j), this.isDirected(), weight));
         this.matrix.get(j).set(i, new GraphEdge<>(this.getNode(j), this.getNode(i), this.isDirected(), weight));
+        this.edgeAdded(i, j); // aggiorna i contatori di archi e gradi
         return true;
     }
 
@@ -483,6 +727,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // rimuove l'arco nella matrice
         this.matrix.get(node1Index).set(node2Index, null);
         this.matrix.get(node2Index).set(node1Index, null);
+        this.edgeRemoved(node1Index, node2Index); // aggiorna i contatori di archi e gradi
     }
 
     @Override
@@ -502,6 +747,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // rimuove l'arco nella matrice
         this.matrix.get(node1Index).set(node2Index, null);
         this.matrix.get(node2Index).set(node1Index, null);
+        this.edgeRemoved(node1Index, node2Index); // aggiorna i contatori di archi e gradi
     }
 
     @Override
@@ -521,6 +767,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // rimuove l'arco nella matrice
         this.matrix.get(node1Index).set(node2Index, null);
         this.matrix.get(node2Index).set(node1Index, null);
+        this.edgeRemoved(node1Index, node2Index); // aggiorna i contatori di archi e gradi
     }
 
     @Override
@@ -536,6 +783,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // rimuove l'arco nella matrice
         this.matrix.get(i).set(j, null);
         this.matrix.get(j).set(i, null);
+        this.edgeRemoved(i, j); // aggiorna i contatori di archi e gradi
     }
 
     @Override
@@ -776,6 +1024,25 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     }
 
+    @Override
+    public void forEachNeighbor(int i, IntDoubleConsumer action) {
+        // controllo parametri
+        if(action == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        // verifica che l'indice passato sia compreso tra { (0) e ((n° di nodi) - 1) }
+        if(i < 0 || i >= this.nodeCount())
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+
+        // scorre direttamente la riga del nodo: la colonna è l'indice del nodo adiacente
+        ArrayList<GraphEdge<L>> row = this.matrix.get(i);
+        for(int j = 0; j < row.size(); j++){
+            GraphEdge<L> currentEdge = row.get(j);
+            // se esiste un arco in quello slot
+            if(currentEdge != null)
+                action.accept(j, currentEdge.getWeight());
+        }
+    }
+
     @Override
     public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
         throw new UnsupportedOperationException(
@@ -794,19 +1061,46 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
                 "Operazione non supportata in un grafo non orientato");
     }
 
+    /*
+     * La vista è quella dell'insieme degli archi mantenuto ad ogni
+     * inserimento e cancellazione: la chiamata costa O(1) e scorrere la vista
+     * costa O(m) invece di O(n^2). Gli archi sono quelli memorizzati nella
+     * matrice e una modifica del grafo durante l'iterazione lancia
+     * ConcurrentModificationException.
+     */
     @Override
     public Set<GraphEdge<L>> getEdges() {
-        // set di appoggio che conterrà tutti gli archi
-        HashSet<GraphEdge<L>> edgeSet = new HashSet<>();
-        // scorre in tutte le righe della matrice
-        for(ArrayList<GraphEdge<L>> currentArrayList : this.matrix) {
-            // scorre in tutte le colonne della matrice
-            for(GraphEdge<L> currentEdge : currentArrayList){
-                // se esiste un arco in quello slot
-                if(currentEdge != null)
-                    edgeSet.add(currentEdge); // aggiunge quell'arco al set di archi
-            }
-        }
-        return edgeSet; // ritorna il set di archi
+        return this.edgesView;
+    }
+
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        // controllo parametro
+        if(node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        Integer nodeIndex = this.nodesIndex.get(node);
+        if(nodeIndex == null)
+            throw new IllegalArgumentException("Nodo non presente in questo grafo");
+        this.checkCounters();
+        // il grado viene aggiornato ad ogni inserimento e cancellazione
+        return this.degrees[nodeIndex];
+    }
+
+    @Override
+    public int getDegreeOf(L label) {
+        // controllo parametro
+        if(label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.getDegreeOf(new GraphNode<>(label));
+    }
+
+    @Override
+    public int getDegreeOf(int i) {
+        // controllo parametro
+        // verifica che l'indice passato sia compreso tra { (0) e ((n° di nodi) - 1) }
+        if(i < 0 || i >= this.nodeCount())
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+        this.checkCounters();
+        return this.degrees[i];
     }
 }
@@ -3,6 +3,7 @@ package it.unicam.cs.asdl2324.mp2;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -692,4 +693,152 @@ class AdjacencyMatrixUndirectedGraphTest {
         assertTrue(g.getDegreeOf(nw) == 1);
     }
 
+    @Test
+    final void testCountersConsistency() {
+        AdjacencyMatrixUndirectedGraph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        // ogni interrogazione dei contatori viene verificata con un conteggio
+        // completo sulla matrice
+        g.setConsistencyCheck(true);
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addEdge("a", "b");
+        g.addWeightedEdge("b", "c", 2.0);
+        g.addEdge(new GraphNode<String>("a"), new GraphNode<String>("c"));
+        g.addEdge(2, 3);
+        g.addWeightedEdge(3, 3, 1.0);
+        assertEquals(5, g.edgeCount());
+        assertEquals(2, g.getDegreeOf("a"));
+        assertEquals(3, g.getDegreeOf(2));
+        assertEquals(2, g.getDegreeOf(new GraphNode<String>("d")));
+        g.removeEdge("a", "b");
+        assertEquals(4, g.edgeCount());
+        assertEquals(1, g.getDegreeOf("b"));
+        g.removeNode("c");
+        assertEquals(1, g.edgeCount());
+        assertEquals(0, g.getDegreeOf("a"));
+        assertEquals(0, g.getDegreeOf("b"));
+        assertEquals(1, g.getDegreeOf(2));
+        g.removeEdge(2, 2);
+        assertEquals(0, g.edgeCount());
+        g.clear();
+        assertEquals(0, g.edgeCount());
+        g.addNode("x");
+        assertEquals(0, g.getDegreeOf("x"));
+    }
+
+    @Test
+    final void testRemoveNodeSwap() {
+        AdjacencyMatrixUndirectedGraph<String> g = new AdjacencyMatrixUndirectedGraph<String>(
+                true);
+        g.setConsistencyCheck(true);
+        assertTrue(g.isSwapRemoval());
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("b", "d");
+        g.addEdge("a", "d");
+        g.addWeightedEdge("d", "d", 3.0);
+        g.removeNode("b");
+        // l'ultimo nodo prende l'indice del nodo rimosso, gli altri no
+        assertTrue(g.getNodeIndexOf("a") == 0);
+        assertTrue(g.getNodeIndexOf("d") == 1);
+        assertTrue(g.getNodeIndexOf("c") == 2);
+        assertTrue(g.getNode(1).equals(new GraphNode<String>("d")));
+        assertTrue(g.nodeCount() == 3);
+        assertTrue(g.matrix.size() == 3);
+        for (int i = 0; i < 3; i++)
+            assertTrue(g.matrix.get(i).size() == 3);
+        assertTrue(g.getEdge("a", "d") != null);
+        assertTrue(g.getEdge(1, 0) != null);
+        assertTrue(g.getEdge("d", "d").getWeight() == 3.0);
+        assertTrue(g.getEdge(1, 1) != null);
+        assertTrue(g.getEdge("c", "d") == null);
+        assertTrue(g.getEdge("a", "c") == null);
+        assertEquals(2, g.edgeCount());
+        assertEquals(2, g.getDegreeOf("d"));
+        assertEquals(0, g.getDegreeOf("c"));
+        // rimozione dell'ultimo nodo
+        g.removeNode(2);
+        assertTrue(g.nodeCount() == 2);
+        assertTrue(g.getNode("c") == null);
+        assertEquals(2, g.edgeCount());
+        g.removeNode("a");
+        assertTrue(g.getNodeIndexOf("d") == 0);
+        assertEquals(1, g.edgeCount());
+        assertEquals(1, g.getDegreeOf(0));
+    }
+
+    @Test
+    final void testForEachNeighbor() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.forEachNeighbor(0, (j, w) -> {
+                }));
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        assertThrows(NullPointerException.class,
+                () -> g.forEachNeighbor(0, null));
+        g.addWeightedEdge("a", "b", 1.0);
+        g.addWeightedEdge("c", "a", 2.0);
+        g.addWeightedEdge("b", "d", 3.0);
+        g.addWeightedEdge("c", "c", 4.0);
+        for (int i = 0; i < g.nodeCount(); i++) {
+            int k = i;
+            Set<GraphNode<String>> adjacent = new HashSet<GraphNode<String>>();
+            g.forEachNeighbor(i, (j, w) -> {
+                adjacent.add(g.getNode(j));
+                assertEquals(g.getEdge(k, j).getWeight(), w);
+            });
+            assertEquals(g.getAdjacentNodesOf(i), adjacent);
+        }
+        // l'istantanea CSR dà lo stesso risultato
+        CompressedSparseRowGraph<String> s = g.freeze();
+        for (int i = 0; i < g.nodeCount(); i++) {
+            Set<Integer> fromGraph = new HashSet<Integer>();
+            Set<Integer> fromSnapshot = new HashSet<Integer>();
+            g.forEachNeighbor(i, (j, w) -> fromGraph.add(j));
+            s.forEachNeighbor(i, (j, w) -> fromSnapshot.add(j));
+            assertEquals(fromGraph, fromSnapshot);
+        }
+    }
+
+    @Test
+    final void testGetEdgesView() {
+        AdjacencyMatrixUndirectedGraph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        g.setConsistencyCheck(true);
+        Set<GraphEdge<Integer>> view = g.getEdges();
+        assertTrue(view.isEmpty());
+        for (int i = 0; i < 30; i++)
+            g.addNode(i);
+        Random random = new Random(23);
+        for (int k = 0; k < 400; k++) {
+            int i = random.nextInt(g.nodeCount());
+            int j = random.nextInt(g.nodeCount());
+            if (g.getEdge(i, j) == null)
+                g.addWeightedEdge(i, j, k);
+            else
+                g.removeEdge(i, j);
+            if (k % 50 == 0)
+                g.removeNode(random.nextInt(g.nodeCount()));
+        }
+        // la vista è sempre la stessa e riflette le modifiche
+        assertSame(view, g.getEdges());
+        Set<GraphEdge<Integer>> expected = new HashSet<GraphEdge<Integer>>();
+        for (int i = 0; i < g.nodeCount(); i++)
+            for (int j = i; j < g.nodeCount(); j++)
+                if (g.getEdge(i, j) != null)
+                    expected.add(g.getEdge(i, j));
+        assertEquals(expected, view);
+        assertEquals(g.edgeCount(), view.size());
+        assertThrows(UnsupportedOperationException.class, () -> view.clear());
+        g.clear();
+        assertTrue(view.isEmpty());
+    }
 }
@@ -0,0 +1,280 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Lettura e scrittura di grafi in un formato binario compatto a lista di
+ * archi, pensato per caricare grafi grandi senza passare da file di testo.
+ *
+ * Il file è composto da un'intestazione seguita da un record per ogni arco.
+ * L'intestazione contiene, nell'ordine, il numero magico {@code MAGIC} (int),
+ * la versione del formato {@code VERSION} (int), il numero di nodi n (int) e
+ * il numero di archi m (long). Ogni record contiene l'indice del primo nodo
+ * (int), l'indice del secondo nodo (int) e il peso dell'arco (double),
+ * {@code Double.NaN} se l'arco non è pesato. Gli indici dei nodi vanno da 0 a
+ * n - 1 e i nodi sono etichettati con il proprio indice. Tutti i valori sono
+ * scritti con ordine dei byte big-endian, lo stesso di
+ * {@code java.io.DataOutputStream}.
+ *
+ * La lettura mappa il file in memoria con {@code FileChannel.map}, a blocchi
+ * se il file supera la dimensione massima di una singola mappatura, e crea il
+ * grafo tramite una funzione che riceve il numero di nodi, in modo da poter
+ * usare i costruttori che dimensionano il grafo in anticipo, ad esempio
+ * {@code PrimitiveAdjacencyMatrixUndirectedGraph::new}. Gli archi vengono poi
+ * inseriti con le operazioni con indici, senza cercare i nodi per etichetta.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ */
+public final class BinaryEdgeList {
+
+    /**
+     * Numero magico all'inizio di ogni file, corrisponde ai caratteri "EDGL".
+     */
+    public static final int MAGIC = 0x4544474C;
+
+    /**
+     * Versione del formato scritta e accettata da questa classe.
+     */
+    public static final int VERSION = 1;
+
+    /*
+     * Dimensione in byte dell'intestazione: numero magico, versione, numero di
+     * nodi e numero di archi
+     */
+    protected static final int HEADER_BYTES = 4 + 4 + 4 + 8;
+
+    /*
+     * Dimensione in byte del record di un arco: due indici e un peso
+     */
+    protected static final int RECORD_BYTES = 4 + 4 + 8;
+
+    /*
+     * Numero massimo di record letti con una singola mappatura, in modo che
+     * ogni blocco resti sotto il limite di 2GB di FileChannel.map
+     */
+    protected static final int RECORDS_PER_MAP = 1 << 26;
+
+    /*
+     * Numero di record accumulati in memoria prima di ogni scrittura su file
+     */
+    private static final int RECORDS_PER_WRITE = 1 << 12;
+
+    private BinaryEdgeList() {
+        // classe con soli metodi statici
+    }
+
+    /**
+     * Scrive un grafo su file. I nodi vengono identificati con il proprio
+     * indice nel grafo, le etichette non vengono scritte.
+     *
+     * @param g
+     *                 il grafo da scrivere
+     * @param file
+     *                 il file da creare o sovrascrivere
+     * @throws NullPointerException
+     *                                  se uno dei parametri è null
+     * @throws IOException
+     *                                  se si verifica un errore di scrittura
+     */
+    public static <L> void write(Graph<L> g, Path file) throws IOException {
+        if (g == null || file == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        try (FileChannel channel = openForWrite(file)) {
+            Set<GraphEdge<L>> edges = g.getEdges();
+            ByteBuffer buffer = header(g.nodeCount(), edges.size());
+            for (GraphEdge<L> e : edges) {
+                if (buffer.remaining() < RECORD_BYTES)
+                    flush(channel, buffer);
+                buffer.putInt(g.getNodeIndexOf(e.getNode1()));
+                buffer.putInt(g.getNodeIndexOf(e.getNode2()));
+                buffer.putDouble(e.getWeight());
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Scrive su file una lista di archi data con array paralleli, senza
+     * bisogno di costruire un grafo. L'arco k collega i nodi di indice
+     * {@code sources[k]} e {@code targets[k]} e ha peso {@code weights[k]},
+     * {@code Double.NaN} se non è pesato.
+     *
+     * @param file
+     *                      il file da creare o sovrascrivere
+     * @param nodeCount
+     *                      il numero di nodi
+     * @param sources
+     *                      gli indici dei primi nodi degli archi
+     * @param targets
+     *                      gli indici dei secondi nodi degli archi
+     * @param weights
+     *                      i pesi degli archi
+     * @throws NullPointerException
+     *                                      se uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se gli array hanno lunghezze
+     *                                      diverse, se il numero di nodi è
+     *                                      negativo o se un indice non è
+     *                                      compreso tra 0 e nodeCount - 1
+     * @throws IOException
+     *                                      se si verifica un errore di
+     *                                      scrittura
+     */
+    public static void write(Path file, int nodeCount, int[] sources,
+            int[] targets, double[] weights) throws IOException {
+        if (file == null || sources == null || targets == null
+                || weights == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        if (sources.length != targets.length
+                || sources.length != weights.length)
+            throw new IllegalArgumentException(
+                    "Array degli archi di lunghezze diverse");
+        if (nodeCount < 0)
+            throw new IllegalArgumentException(
+                    "Numero di nodi negativo: " + nodeCount);
+        for (int k = 0; k < sources.length; k++)
+            if (sources[k] < 0 || sources[k] >= nodeCount || targets[k] < 0
+                    || targets[k] >= nodeCount)
+                throw new IllegalArgumentException(
+                        "Indice di nodo non valido nell'arco " + k);
+        try (FileChannel channel = openForWrite(file)) {
+            ByteBuffer buffer = header(nodeCount, sources.length);
+            for (int k = 0; k < sources.length; k++) {
+                if (buffer.remaining() < RECORD_BYTES)
+                    flush(channel, buffer);
+                buffer.putInt(sources[k]);
+                buffer.putInt(targets[k]);
+                buffer.putDouble(weights[k]);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Carica un grafo da file. Il grafo viene creato dalla funzione passata,
+     * che riceve il numero di nodi letto dall'intestazione e deve restituire
+     * un grafo vuoto. I nodi vengono inseriti con etichette da 0 a n - 1, in
+     * modo che l'indice di ogni nodo coincida con la sua etichetta, e poi
+     * vengono inseriti gli archi; gli archi ripetuti nel file vengono
+     * inseriti una sola volta.
+     *
+     * @param file
+     *                    il file da leggere
+     * @param factory
+     *                    la funzione che crea il grafo dato il numero di nodi
+     * @return il grafo creato da {@code factory} con i nodi e gli archi letti
+     * @throws NullPointerException
+     *                                      se uno dei parametri è null o se la
+     *                                      funzione restituisce null
+     * @throws IllegalArgumentException
+     *                                      se il grafo creato dalla funzione
+     *                                      non è vuoto
+     * @throws IOException
+     *                                      se si verifica un errore di lettura
+     *                                      o se il file non rispetta il
+     *                                      formato
+     */
+    public static <G extends Graph<Integer>> G load(Path file,
+            IntFunction<G> factory) throws IOException {
+        if (file == null || factory == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES)
+                throw new IOException("File di archi troncato");
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, HEADER_BYTES);
+            if (header.getInt() != MAGIC)
+                throw new IOException("File di archi non riconosciuto");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(
+                        "Versione del file di archi non supportata: " + version);
+            int n = header.getInt();
+            long m = header.getLong();
+            if (n < 0 || m < 0
+                    || (size - HEADER_BYTES) / RECORD_BYTES != m
+                    || (size - HEADER_BYTES) % RECORD_BYTES != 0)
+                throw new IOException(
+                        "Intestazione del file di archi non consistente");
+
+            G g = factory.apply(n);
+            if (g == null)
+                throw new NullPointerException(
+                        "La funzione ha restituito un grafo null");
+            if (g.nodeCount() != 0)
+                throw new IllegalArgumentException(
+                        "Il grafo da caricare deve essere vuoto");
+            for (int i = 0; i < n; i++)
+                g.addNode(i);
+
+            // legge i record a blocchi, ognuno con una propria mappatura
+            long position = HEADER_BYTES;
+            for (long read = 0; read < m;) {
+                int records = (int) Math.min(RECORDS_PER_MAP, m - read);
+                MappedByteBuffer block = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position,
+                        (long) records * RECORD_BYTES);
+                for (int k = 0; k < records; k++) {
+                    int u = block.getInt();
+                    int v = block.getInt();
+                    double w = block.getDouble();
+                    if (u < 0 || u >= n || v < 0 || v >= n)
+                        throw new IOException(
+                                "Indice di nodo non valido nell'arco "
+                                        + (read + k));
+                    if (Double.isNaN(w))
+                        g.addEdge(u, v);
+                    else
+                        g.addWeightedEdge(u, v, w);
+                }
+                read += records;
+                position += (long) records * RECORD_BYTES;
+            }
+            return g;
+        }
+    }
+
+    /*
+     * Apre il file in scrittura troncandolo se esiste già
+     */
+    private static FileChannel openForWrite(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /*
+     * Crea il buffer di scrittura e vi inserisce l'intestazione
+     */
+    private static ByteBuffer header(int nodeCount, long edgeCount) {
+        ByteBuffer buffer = ByteBuffer
+                .allocate(HEADER_BYTES + RECORDS_PER_WRITE * RECORD_BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(nodeCount);
+        buffer.putLong(edgeCount);
+        return buffer;
+    }
+
+    /*
+     * Scrive sul file il contenuto del buffer e lo svuota
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,160 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe BinaryEdgeList.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class BinaryEdgeListTest {
+
+    /*
+     * Controlla che i due grafi abbiano gli stessi nodi con gli stessi indici
+     * e gli stessi archi con gli stessi pesi
+     */
+    private void assertSameGraph(Graph<Integer> expected,
+            Graph<Integer> actual) {
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int i = 0; i < expected.nodeCount(); i++) {
+            assertEquals(expected.getNode(i), actual.getNode(i));
+            for (int j = i; j < expected.nodeCount(); j++) {
+                GraphEdge<Integer> e = expected.getEdge(i, j);
+                GraphEdge<Integer> a = actual.getEdge(i, j);
+                if (e == null) {
+                    assertNull(a);
+                    continue;
+                }
+                assertEquals(e, a);
+                assertEquals(e.hasWeight(), a.hasWeight());
+                if (e.hasWeight())
+                    assertEquals(e.getWeight(), a.getWeight());
+            }
+        }
+    }
+
+    @Test
+    final void testWriteAndLoad() throws IOException {
+        Random random = new Random(29);
+        int n = 80;
+        Graph<Integer> g = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+        // abbastanza archi da richiedere più scritture del buffer
+        for (int k = 0; k < 3000; k++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            if (k % 7 == 0)
+                g.addEdge(i, j);
+            else
+                g.addWeightedEdge(i, j, random.nextDouble());
+        }
+        Path file = Files.createTempFile("edges", ".bin");
+        try {
+            BinaryEdgeList.write(g, file);
+            assertEquals(BinaryEdgeList.HEADER_BYTES
+                    + (long) g.edgeCount() * BinaryEdgeList.RECORD_BYTES,
+                    Files.size(file));
+            this.assertSameGraph(g, BinaryEdgeList.load(file,
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            this.assertSameGraph(g, BinaryEdgeList.load(file,
+                    c -> new AdjacencyMatrixUndirectedGraph<Integer>(false, c)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testWriteArrays() throws IOException {
+        Path file = Files.createTempFile("edges", ".bin");
+        try {
+            int[] sources = { 0, 1, 2, 1, 3 };
+            int[] targets = { 1, 2, 2, 0, 0 };
+            double[] weights = { 1.5, Double.NaN, 3.0, 7.0, 0.0 };
+            BinaryEdgeList.write(file, 5, sources, targets, weights);
+            Graph<Integer> g = BinaryEdgeList.load(file,
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new);
+            assertEquals(5, g.nodeCount());
+            // l'arco ripetuto 1 - 0 viene inserito una sola volta
+            assertEquals(4, g.edgeCount());
+            assertEquals(1.5, g.getEdge(1, 0).getWeight());
+            assertFalse(g.getEdge(1, 2).hasWeight());
+            assertEquals(3.0, g.getEdge(2, 2).getWeight());
+            assertEquals(0.0, g.getEdge(0, 3).getWeight());
+            assertEquals(0, g.getDegreeOf(4));
+            assertEquals(4, g.getNodeIndexOf(4));
+            // grafo senza archi
+            BinaryEdgeList.write(file, 3, new int[0], new int[0],
+                    new double[0]);
+            g = BinaryEdgeList.load(file,
+                    c -> new AdjacencyMatrixUndirectedGraph<Integer>(false, c));
+            assertEquals(3, g.nodeCount());
+            assertEquals(0, g.edgeCount());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testExceptions() throws IOException {
+        Path file = Files.createTempFile("edges", ".bin");
+        try {
+            assertThrows(NullPointerException.class,
+                    () -> BinaryEdgeList.write(null, file));
+            assertThrows(NullPointerException.class, () -> BinaryEdgeList
+                    .load(file, null));
+            assertThrows(IllegalArgumentException.class,
+                    () -> BinaryEdgeList.write(file, 2, new int[] { 0 },
+                            new int[] { 1, 0 }, new double[] { 1 }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> BinaryEdgeList.write(file, 2, new int[] { 0 },
+                            new int[] { 2 }, new double[] { 1 }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>(
+                            -1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new AdjacencyMatrixUndirectedGraph<Integer>(false,
+                            -1));
+            BinaryEdgeList.write(file, 2, new int[] { 0 }, new int[] { 1 },
+                    new double[] { 1 });
+            // il grafo creato deve essere vuoto
+            assertThrows(IllegalArgumentException.class,
+                    () -> BinaryEdgeList.load(file, c -> {
+                        Graph<Integer> g = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>(
+                                c);
+                        g.addNode(7);
+                        return g;
+                    }));
+            byte[] bytes = Files.readAllBytes(file);
+            // file troncato
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            assertThrows(IOException.class, () -> BinaryEdgeList.load(file,
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            // numero magico errato
+            byte[] wrong = bytes.clone();
+            wrong[0] = 0;
+            Files.write(file, wrong);
+            assertThrows(IOException.class, () -> BinaryEdgeList.load(file,
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            // indice di nodo fuori dall'intervallo
+            wrong = bytes.clone();
+            ByteBuffer.wrap(wrong).putInt(BinaryEdgeList.HEADER_BYTES, 5);
+            Files.write(file, wrong);
+            assertThrows(IOException.class, () -> BinaryEdgeList.load(file,
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
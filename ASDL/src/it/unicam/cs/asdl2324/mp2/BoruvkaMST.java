@@ -0,0 +1,280 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ *
+ * Classe che implementa l'algoritmo di Borůvka per trovare un Minimum Spanning
+ * Tree di un grafo non orientato, pesato e con pesi non negativi.
+ *
+ * L'algoritmo procede per fasi. In ogni fase ogni componente (inizialmente
+ * ogni nodo) sceglie l'arco di peso minimo che la collega a un'altra
+ * componente; tutti gli archi scelti vengono aggiunti all'albero e le
+ * componenti collegate vengono contratte. Poiché il numero di componenti
+ * almeno si dimezza a ogni fase, le fasi sono al più log(n).
+ *
+ * La ricerca degli archi minimi, che scorre tutti gli archi, viene eseguita in
+ * parallelo con il framework fork/join su un numero di thread scelto alla
+ * creazione. La contrazione usa la classe
+ * {@code ForestDisjointSets<GraphNode<L>>} ed è sequenziale. A parità di peso
+ * viene scelto l'arco con indice minore, in modo che gli archi scelti non
+ * formino mai un ciclo. Se i pesi degli archi sono tutti distinti l'albero di
+ * copertura minimo è unico e il risultato coincide con quello di
+ * {@code KruskalMST<L>}.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class BoruvkaMST<L> {
+
+    /*
+     * Numero di archi al di sotto del quale un task fork/join non viene più
+     * diviso
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 12;
+
+    /*
+     * Struttura dati per rappresentare gli insiemi disgiunti utilizzata per
+     * contrarre le componenti.
+     */
+    private ForestDisjointSets<GraphNode<L>> disjointSets;
+
+    /*
+     * Numero di thread usati per la ricerca degli archi minimi
+     */
+    private final int parallelism;
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Borůvka con un thread per ogni processore disponibile.
+     */
+    public BoruvkaMST() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Borůvka con un certo numero di thread.
+     *
+     * @param parallelism
+     *                        il numero di thread da usare
+     * @throws IllegalArgumentException
+     *                                      se il numero di thread è minore di
+     *                                      1
+     */
+    public BoruvkaMST(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException(
+                    "Numero di thread non valido: " + parallelism);
+        this.parallelism = parallelism;
+        this.disjointSets = new ForestDisjointSets<>();
+    }
+
+    /**
+     * Restituisce il numero di thread usati da questo calcolatore.
+     *
+     * @return il numero di thread usati
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Utilizza l'algoritmo di Borůvka per trovare un albero di copertura
+     * minimo in un grafo non orientato e pesato, con pesi degli archi non
+     * negativi. L'albero restituito non è radicato, quindi è rappresentato
+     * semplicemente con un sottoinsieme degli archi del grafo.
+     *
+     * @param g un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono l'albero di
+     * copertura minimo trovato
+     * @throw NullPointerException se il grafo g è null
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     * con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        // controllo parametro
+        if(g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(g.isDirected())
+            throw new IllegalArgumentException("Grafo orientato non valido");
+
+        // assegna un indice a ogni nodo e crea un set con il nodo
+        this.disjointSets.clear();
+        ArrayList<GraphNode<L>> nodes = new ArrayList<>(g.getNodes());
+        Map<GraphNode<L>, Integer> index = new HashMap<>();
+        for(GraphNode<L> currentNode : nodes){
+            index.put(currentNode, index.size());
+            this.disjointSets.makeSet(currentNode);
+        }
+        int n = nodes.size();
+
+        // copia gli archi in array paralleli controllando le regole dell'algoritmo
+        Set<GraphEdge<L>> edgeSet = g.getEdges();
+        int m = edgeSet.size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        GraphEdge<L>[] edges = newEdgeArray(m);
+        int e = 0;
+        for(GraphEdge<L> currentEdge : edgeSet){
+            if(!(currentEdge.hasWeight()) || currentEdge.getWeight() < 0)
+                throw new IllegalArgumentException("Grafo con tipo di archi non valido");
+            sources[e] = index.get(currentEdge.getNode1());
+            targets[e] = index.get(currentEdge.getNode2());
+            weights[e] = currentEdge.getWeight();
+            edges[e] = currentEdge;
+            e++;
+        }
+
+        // componente di ogni nodo all'inizio della fase corrente
+        int[] component = new int[n];
+        // arco minimo uscente da ogni componente, -1 se non ancora trovato
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        HashSet<GraphEdge<L>> a = new HashSet<>();
+        ForkJoinPool pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+        try {
+            boolean merged = true;
+            while(merged && a.size() < n - 1){
+                // calcola la componente di ogni nodo (sequenziale perché findSet comprime i cammini)
+                for(int u = 0; u < n; u++){
+                    component[u] = index.get(this.disjointSets.findSet(nodes.get(u)));
+                    cheapest.set(u, -1);
+                }
+                // cerca l'arco minimo uscente da ogni componente: con un solo
+                // thread la ricerca resta nel thread chiamante, perché un task
+                // fork/join eseguito fuori da un pool dividerebbe il lavoro
+                // sul pool comune
+                if(pool == null)
+                    this.scanEdges(0, m, sources, targets, weights, component, cheapest);
+                else
+                    pool.invoke(new MinEdgeTask(0, m, sources, targets, weights, component, cheapest));
+                // aggiunge gli archi scelti e contrae le componenti
+                merged = false;
+                for(int c = 0; c < n; c++){
+                    int best = cheapest.get(c);
+                    if(best == -1)
+                        continue;
+                    GraphNode<L> n1 = nodes.get(sources[best]);
+                    GraphNode<L> n2 = nodes.get(targets[best]);
+                    // due componenti possono aver scelto lo stesso arco
+                    if(this.disjointSets.findSet(n1) != this.disjointSets.findSet(n2)){
+                        a.add(edges[best]);
+                        this.disjointSets.union(n1, n2);
+                        merged = true;
+                    }
+                }
+            }
+        } finally {
+            if(pool != null)
+                pool.shutdown();
+        }
+        return a;
+    }
+
+    /*
+     * Crea un array di archi con m posizioni: gli array di tipi generici non
+     * si possono creare direttamente
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <L> GraphEdge<L>[] newEdgeArray(int m) {
+        return (GraphEdge<L>[]) new GraphEdge[m];
+    }
+
+    /*
+     * Scorre gli archi [from, to) e aggiorna l'arco minimo uscente dalla
+     * componente di ognuno dei due estremi. Durante la ricerca l'array delle
+     * componenti viene solo letto, mentre gli archi minimi vengono aggiornati
+     * con compare-and-set. Protected per JUnit testing, in modo da poter
+     * controllare in quali thread viene eseguita la ricerca
+     */
+    protected void scanEdges(int from, int to, int[] sources, int[] targets,
+            double[] weights, int[] component, AtomicIntegerArray cheapest) {
+        for(int e = from; e < to; e++){
+            int c1 = component[sources[e]];
+            int c2 = component[targets[e]];
+            // l'arco è interno a una componente
+            if(c1 == c2)
+                continue;
+            offer(cheapest, weights, c1, e);
+            offer(cheapest, weights, c2, e);
+        }
+    }
+
+    /*
+     * Sostituisce l'arco minimo della componente c con e se e è più leggero,
+     * ripetendo il tentativo se un altro thread lo ha modificato
+     */
+    private static void offer(AtomicIntegerArray cheapest, double[] weights, int c, int e) {
+        int current = cheapest.get(c);
+        while(current == -1 || lighter(weights, e, current)){
+            if(cheapest.compareAndSet(c, current, e))
+                return;
+            current = cheapest.get(c);
+        }
+    }
+
+    /*
+     * Determina se l'arco e1 precede l'arco e2 nell'ordine (peso, indice)
+     */
+    private static boolean lighter(double[] weights, int e1, int e2) {
+        int cmp = Double.compare(weights[e1], weights[e2]);
+        return cmp < 0 || (cmp == 0 && e1 < e2);
+    }
+
+    /*
+     * Task fork/join che divide gli archi [from, to) finché non scendono
+     * sotto la soglia e poi li scorre con scanEdges
+     */
+    private class MinEdgeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final int[] sources;
+
+        private final int[] targets;
+
+        private final double[] weights;
+
+        private final int[] component;
+
+        private final AtomicIntegerArray cheapest;
+
+        MinEdgeTask(int from, int to, int[] sources, int[] targets,
+                double[] weights, int[] component, AtomicIntegerArray cheapest) {
+            this.from = from;
+            this.to = to;
+            this.sources = sources;
+            this.targets = targets;
+            this.weights = weights;
+            this.component = component;
+            this.cheapest = cheapest;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.to - this.from > SEQUENTIAL_THRESHOLD){
+                int mid = (this.from + this.to) >>> 1;
+                invokeAll(new MinEdgeTask(this.from, mid, this.sources, this.targets,
+                                this.weights, this.component, this.cheapest),
+                        new MinEdgeTask(mid, this.to, this.sources, this.targets,
+                                this.weights, this.component, this.cheapest));
+                return;
+            }
+            BoruvkaMST.this.scanEdges(this.from, this.to, this.sources, this.targets,
+                    this.weights, this.component, this.cheapest);
+        }
+    }
+}
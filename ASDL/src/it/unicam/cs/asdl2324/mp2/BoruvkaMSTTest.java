@@ -0,0 +1,185 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe BoruvkaMST.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class BoruvkaMSTTest {
+
+    /*
+     * Crea un grafo casuale connesso con n nodi, in cui ogni coppia di nodi
+     * non consecutivi è collegata con probabilità density. Se distinct è true i
+     * pesi sono tutti distinti.
+     */
+    private Graph<Integer> createRandomGraph(int n, double density,
+            boolean distinct, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+        List<int[]> pairs = new ArrayList<int[]>();
+        for (int i = 1; i < n; i++)
+            pairs.add(new int[] { i - 1, i });
+        for (int i = 0; i < n; i++)
+            for (int j = i + 2; j < n; j++)
+                if (random.nextDouble() < density)
+                    pairs.add(new int[] { i, j });
+        List<Integer> weights = new ArrayList<Integer>();
+        for (int k = 0; k < pairs.size(); k++)
+            weights.add(distinct ? k : random.nextInt(10));
+        Collections.shuffle(weights, random);
+        for (int k = 0; k < pairs.size(); k++)
+            g.addWeightedEdge(pairs.get(k)[0], pairs.get(k)[1], (double) weights.get(k));
+        return g;
+    }
+
+    private double totalWeight(Set<GraphEdge<Integer>> edges) {
+        double sum = 0;
+        for (GraphEdge<Integer> e : edges)
+            sum += e.getWeight();
+        return sum;
+    }
+
+    @Test
+    final void testBoruvkaMST() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoruvkaMST<String>(0));
+        assertEquals(4, new BoruvkaMST<String>(4).getParallelism());
+        assertTrue(new BoruvkaMST<String>().getParallelism() >= 1);
+    }
+
+    @Test
+    final void testComputeMSPExceptions() {
+        BoruvkaMST<String> alg = new BoruvkaMST<String>(2);
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addEdge("a", "b");
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr));
+        gr.removeEdge("a", "b");
+        gr.addWeightedEdge("a", "b", -1);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr));
+        assertTrue(alg.computeMSP(new AdjacencyMatrixUndirectedGraph<String>())
+                .isEmpty());
+    }
+
+    @Test
+    final void testComputeMSP1() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 7));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 10));
+        gr.addEdge(new GraphEdge<String>(a, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 1));
+        result.add(new GraphEdge<String>(d, e, false, 2));
+        result.add(new GraphEdge<String>(b, c, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 4));
+        assertTrue(new BoruvkaMST<String>(1).computeMSP(gr).equals(result));
+        assertTrue(new BoruvkaMST<String>(3).computeMSP(gr).equals(result));
+    }
+
+    @Test
+    final void testComputeMSPDistinctWeights() {
+        // con pesi distinti il risultato coincide con quello di Kruskal
+        Graph<Integer> g = this.createRandomGraph(300, 0.3, true, 11);
+        Set<GraphEdge<Integer>> expected = new KruskalMST<Integer>()
+                .computeMSP(g);
+        for (int parallelism = 1; parallelism <= 8; parallelism *= 2)
+            assertTrue(new BoruvkaMST<Integer>(parallelism).computeMSP(g)
+                    .equals(expected));
+    }
+
+    @Test
+    final void testComputeMSPEqualWeights() {
+        // con pesi ripetuti viene comunque trovato un albero di peso minimo
+        Graph<Integer> g = this.createRandomGraph(200, 0.2, false, 5);
+        Set<GraphEdge<Integer>> expected = new KruskalMST<Integer>()
+                .computeMSP(g);
+        Set<GraphEdge<Integer>> mst = new BoruvkaMST<Integer>(4).computeMSP(g);
+        assertEquals(199, mst.size());
+        assertEquals(this.totalWeight(expected), this.totalWeight(mst));
+    }
+
+    @Test
+    final void testComputeMSPForest() {
+        // due componenti connesse: viene restituita una foresta
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 6; i++)
+            g.addNode(i);
+        g.addWeightedEdge(0, 1, 3);
+        g.addWeightedEdge(1, 2, 1);
+        g.addWeightedEdge(0, 2, 2);
+        g.addWeightedEdge(3, 4, 5);
+        g.addWeightedEdge(4, 5, 4);
+        Set<GraphEdge<Integer>> mst = new BoruvkaMST<Integer>(2).computeMSP(g);
+        assertEquals(4, mst.size());
+        assertEquals(12, this.totalWeight(mst));
+    }
+
+    @Test
+    final void testSingleThread() {
+        // abbastanza archi da superare la soglia sotto cui un task non viene
+        // più diviso
+        Graph<Integer> g = this.createRandomGraph(300, 0.3, true, 17);
+        assertTrue(g.edgeCount() > 4096);
+        Set<GraphEdge<Integer>> expected = new KruskalMST<Integer>()
+                .computeMSP(g);
+        for (int parallelism : new int[] { 1, 4 }) {
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            Set<Boolean> inPool = ConcurrentHashMap.newKeySet();
+            BoruvkaMST<Integer> alg = new BoruvkaMST<Integer>(parallelism) {
+
+                @Override
+                protected void scanEdges(int from, int to, int[] sources,
+                        int[] targets, double[] weights, int[] component,
+                        AtomicIntegerArray cheapest) {
+                    threads.add(Thread.currentThread());
+                    inPool.add(ForkJoinTask.inForkJoinPool());
+                    super.scanEdges(from, to, sources, targets, weights,
+                            component, cheapest);
+                }
+            };
+            assertTrue(alg.computeMSP(g).equals(expected));
+            if (parallelism == 1) {
+                // nessun thread del pool comune partecipa alla ricerca
+                assertEquals(Set.of(Thread.currentThread()), threads);
+                assertEquals(Set.of(false), inPool);
+            } else {
+                assertEquals(Set.of(true), inPool);
+            }
+        }
+    }
+}
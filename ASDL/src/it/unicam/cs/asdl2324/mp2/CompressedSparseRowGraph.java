@@ -0,0 +1,302 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Istantanea immutabile di un grafo {@code Graph<L>} rappresentata nel formato
+ * Compressed Sparse Row (CSR). Gli archi uscenti dal nodo di indice i occupano
+ * le posizioni da {@code neighborsStart(i)} (inclusa) a
+ * {@code neighborsEnd(i)} (esclusa) di due array paralleli che contengono
+ * l'indice del nodo adiacente e il peso dell'arco. In questo modo i nodi
+ * adiacenti di un nodo sono contigui in memoria e possono essere scorsi con un
+ * semplice ciclo su interi, senza creare nessun insieme e nessun oggetto
+ * {@code GraphEdge<L>}.
+ *
+ * Nel caso di grafo non orientato ogni arco compare nelle righe di entrambi i
+ * nodi collegati, tranne i cappi che compaiono una sola volta. Nel caso di
+ * grafo orientato compaiono solo gli archi uscenti.
+ *
+ * Se il grafo di partenza supporta le operazioni con indici, gli indici dei
+ * nodi nell'istantanea coincidono con quelli del grafo al momento della
+ * creazione, altrimenti vengono assegnati seguendo l'ordine di
+ * {@code getNodes()}. L'istantanea non viene aggiornata se il grafo di partenza
+ * viene modificato successivamente.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class CompressedSparseRowGraph<L> {
+
+    /*
+     * Nodi dell'istantanea indicizzati con il proprio indice
+     */
+    private final ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione di ogni nodo con il proprio indice
+     */
+    private final Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Gli archi uscenti dal nodo i occupano le posizioni da offsets[i] a
+     * offsets[i + 1] - 1 degli array targets e weights
+     */
+    private final int[] offsets;
+
+    /*
+     * Indice del nodo adiacente per ogni posizione
+     */
+    private final int[] targets;
+
+    /*
+     * Peso dell'arco per ogni posizione, Double.NaN se l'arco non è pesato
+     */
+    private final double[] weights;
+
+    private final boolean directed;
+
+    private final int edgeCount;
+
+    /**
+     * Crea l'istantanea CSR di un grafo.
+     *
+     * @param g
+     *              il grafo di cui creare l'istantanea
+     * @throws NullPointerException
+     *                                  se il grafo passato è null
+     */
+    public CompressedSparseRowGraph(Graph<L> g) {
+        if (g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        int n = g.nodeCount();
+        this.directed = g.isDirected();
+        this.nodes = new ArrayList<>(n);
+        this.nodesIndex = new HashMap<>();
+        // prova a conservare gli indici del grafo, se li supporta
+        try {
+            for (int i = 0; i < n; i++)
+                this.nodes.add(g.getNode(i));
+        } catch (UnsupportedOperationException e) {
+            this.nodes.clear();
+            this.nodes.addAll(g.getNodes());
+        }
+        for (int i = 0; i < n; i++)
+            this.nodesIndex.put(this.nodes.get(i), i);
+
+        Set<GraphEdge<L>> edges = g.getEdges();
+        this.edgeCount = edges.size();
+        // primo passaggio: conta gli archi di ogni riga
+        this.offsets = new int[n + 1];
+        for (GraphEdge<L> e : edges) {
+            int u = this.nodesIndex.get(e.getNode1());
+            int v = this.nodesIndex.get(e.getNode2());
+            this.offsets[u + 1]++;
+            if (!this.directed && u != v)
+                this.offsets[v + 1]++;
+        }
+        // somme prefisse per ottenere l'inizio di ogni riga
+        for (int i = 0; i < n; i++)
+            this.offsets[i + 1] += this.offsets[i];
+        // secondo passaggio: riempie le righe
+        this.targets = new int[this.offsets[n]];
+        this.weights = new double[this.offsets[n]];
+        int[] next = Arrays.copyOf(this.offsets, n);
+        for (GraphEdge<L> e : edges) {
+            int u = this.nodesIndex.get(e.getNode1());
+            int v = this.nodesIndex.get(e.getNode2());
+            this.targets[next[u]] = v;
+            this.weights[next[u]++] = e.getWeight();
+            if (!this.directed && u != v) {
+                this.targets[next[v]] = u;
+                this.weights[next[v]++] = e.getWeight();
+            }
+        }
+    }
+
+    /**
+     * Restituisce il numero di nodi di questa istantanea.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Restituisce il numero di archi di questa istantanea.
+     *
+     * @return il numero di archi
+     */
+    public int edgeCount() {
+        return this.edgeCount;
+    }
+
+    /**
+     * Determina se il grafo da cui è stata creata questa istantanea è
+     * orientato.
+     *
+     * @return true se il grafo è orientato, false altrimenti
+     */
+    public boolean isDirected() {
+        return this.directed;
+    }
+
+    /**
+     * Restituisce il nodo associato a un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il nodo di indice i
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è compreso
+     *                                       nell'intervallo
+     *                                       <code>[0, this.nodeCount() - 1]</code>
+     */
+    public GraphNode<L> getNode(int i) {
+        this.checkIndex(i);
+        return this.nodes.get(i);
+    }
+
+    /**
+     * Restituisce l'indice associato a un certo nodo.
+     *
+     * @param node
+     *                 il nodo di cui restituire l'indice
+     * @return l'indice del nodo
+     * @throws NullPointerException
+     *                                      se il nodo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non appartiene a questa
+     *                                      istantanea
+     */
+    public int getNodeIndexOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        Integer index = this.nodesIndex.get(node);
+        if (index == null)
+            throw new IllegalArgumentException(
+                    "Nodo non presente in questa istantanea");
+        return index;
+    }
+
+    /**
+     * Restituisce il numero di posizioni occupate dalla riga del nodo di
+     * indice i, cioè il numero di archi uscenti (nel caso non orientato il
+     * grado, con i cappi contati una volta).
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il numero di archi nella riga del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int degree(int i) {
+        this.checkIndex(i);
+        return this.offsets[i + 1] - this.offsets[i];
+    }
+
+    /**
+     * Restituisce la prima posizione della riga del nodo di indice i.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la prima posizione della riga, da usare con
+     *         {@code neighborAt} e {@code weightAt}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int neighborsStart(int i) {
+        this.checkIndex(i);
+        return this.offsets[i];
+    }
+
+    /**
+     * Restituisce la posizione successiva all'ultima della riga del nodo di
+     * indice i.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la posizione successiva all'ultima della riga
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public int neighborsEnd(int i) {
+        this.checkIndex(i);
+        return this.offsets[i + 1];
+    }
+
+    /**
+     * Restituisce l'indice del nodo adiacente memorizzato in una certa
+     * posizione.
+     *
+     * @param k
+     *              la posizione, compresa tra {@code neighborsStart(i)} e
+     *              {@code neighborsEnd(i) - 1} per qualche nodo i
+     * @return l'indice del nodo adiacente
+     */
+    public int neighborAt(int k) {
+        return this.targets[k];
+    }
+
+    /**
+     * Restituisce il peso dell'arco memorizzato in una certa posizione.
+     *
+     * @param k
+     *              la posizione, compresa tra {@code neighborsStart(i)} e
+     *              {@code neighborsEnd(i) - 1} per qualche nodo i
+     * @return il peso dell'arco, Double.NaN se non è pesato
+     */
+    public double weightAt(int k) {
+        return this.weights[k];
+    }
+
+    /**
+     * Esegue un'operazione su tutti i nodi adiacenti al nodo con indice dato,
+     * passando l'indice del nodo adiacente e il peso dell'arco, scorrendo la
+     * riga del nodo senza creare nessun oggetto.
+     *
+     * @param i
+     *                   l'indice del nodo
+     * @param action
+     *                   l'operazione da eseguire su ogni nodo adiacente
+     * @throws NullPointerException
+     *                                       se l'operazione passata è null
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è valido
+     */
+    public void forEachNeighbor(int i, IntDoubleConsumer action) {
+        if (action == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        this.checkIndex(i);
+        for (int k = this.offsets[i]; k < this.offsets[i + 1]; k++)
+            action.accept(this.targets[k], this.weights[k]);
+    }
+
+    /**
+     * Crea l'oggetto {@code GraphEdge<L>} corrispondente all'arco che parte
+     * dal nodo di indice i e che è memorizzato nella posizione k.
+     *
+     * @param i
+     *              l'indice del nodo da cui parte l'arco
+     * @param k
+     *              la posizione dell'arco nella riga del nodo i
+     * @return un arco uguale (secondo equals) a quello del grafo di partenza
+     */
+    public GraphEdge<L> edgeAt(int i, int k) {
+        return new GraphEdge<>(this.nodes.get(i), this.nodes.get(this.targets[k]),
+                this.directed, this.weights[k]);
+    }
+
+    /*
+     * Controlla che l'indice passato sia compreso tra { (0) e ((n° di nodi) -
+     * 1) }
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= this.nodes.size())
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+    }
+}
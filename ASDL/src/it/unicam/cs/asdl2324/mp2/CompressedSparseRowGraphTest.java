@@ -0,0 +1,94 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe CompressedSparseRowGraph.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ */
+class CompressedSparseRowGraphTest {
+
+    private Graph<String> createGraph() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addWeightedEdge("a", "b", 1.0);
+        g.addWeightedEdge("a", "c", 2.0);
+        g.addWeightedEdge("b", "c", 3.0);
+        g.addWeightedEdge("c", "c", 4.0);
+        return g;
+    }
+
+    @Test
+    final void testCompressedSparseRowGraph() {
+        assertThrows(NullPointerException.class,
+                () -> new CompressedSparseRowGraph<String>(null));
+        CompressedSparseRowGraph<String> s = new AdjacencyMatrixUndirectedGraph<String>()
+                .freeze();
+        assertEquals(0, s.nodeCount());
+        assertEquals(0, s.edgeCount());
+        assertFalse(s.isDirected());
+    }
+
+    @Test
+    final void testIndices() {
+        Graph<String> g = this.createGraph();
+        CompressedSparseRowGraph<String> s = g.freeze();
+        assertEquals(4, s.nodeCount());
+        assertEquals(4, s.edgeCount());
+        // gli indici del grafo vengono conservati
+        for (int i = 0; i < g.nodeCount(); i++) {
+            assertEquals(g.getNode(i), s.getNode(i));
+            assertEquals(i, s.getNodeIndexOf(g.getNode(i)));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> s.getNode(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> s.degree(-1));
+        assertThrows(NullPointerException.class,
+                () -> s.getNodeIndexOf(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> s.getNodeIndexOf(new GraphNode<String>("x")));
+    }
+
+    @Test
+    final void testNeighbors() {
+        Graph<String> g = this.createGraph();
+        CompressedSparseRowGraph<String> s = g.freeze();
+        assertEquals(2, s.degree(0));
+        assertEquals(2, s.degree(1));
+        // il cappio compare una sola volta
+        assertEquals(3, s.degree(2));
+        assertEquals(0, s.degree(3));
+        for (int i = 0; i < s.nodeCount(); i++) {
+            Set<GraphNode<String>> adjacent = new HashSet<GraphNode<String>>();
+            for (int k = s.neighborsStart(i); k < s.neighborsEnd(i); k++) {
+                adjacent.add(s.getNode(s.neighborAt(k)));
+                assertEquals(
+                        g.getEdge(i, s.neighborAt(k)).getWeight(),
+                        s.weightAt(k));
+                assertEquals(g.getEdge(i, s.neighborAt(k)), s.edgeAt(i, k));
+            }
+            assertEquals(g.getAdjacentNodesOf(i), adjacent);
+        }
+    }
+
+    @Test
+    final void testFreezeIsImmutable() {
+        Graph<String> g = this.createGraph();
+        CompressedSparseRowGraph<String> s = g.freeze();
+        g.addNode("e");
+        g.addEdge("d", "e");
+        g.removeEdge("a", "b");
+        assertEquals(4, s.nodeCount());
+        assertEquals(4, s.edgeCount());
+        assertEquals(0, s.degree(3));
+        assertEquals(2, s.degree(0));
+    }
+}
@@ -0,0 +1,247 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Implementazione dell'interfaccia <code>DisjointSets<E></code> che può essere
+ * usata contemporaneamente da più thread senza lock. Ogni elemento inserito
+ * riceve un identificatore intero e la foresta è memorizzata in un
+ * {@code AtomicIntegerArray} che contiene il padre di ogni identificatore;
+ * tutte le modifiche ai padri avvengono con compare-and-set.
+ *
+ * Al posto dell'unione per rango, che richiederebbe di aggiornare due valori
+ * in modo atomico, viene usato il collegamento casuale: a ogni identificatore
+ * è associata una priorità pseudo-casuale fissa e la radice con priorità
+ * minore viene collegata a quella con priorità maggiore. Il find-set realizza
+ * il dimezzamento del cammino, anch'esso con compare-and-set: un tentativo
+ * fallito significa solo che un altro thread ha già accorciato il cammino.
+ *
+ * Il numero massimo di elementi è fissato alla creazione. Le operazioni
+ * {@code isPresent}, {@code makeSet}, {@code findSet} e {@code union} possono
+ * essere eseguite in concorrenza; {@code getCurrentRepresentatives} e
+ * {@code getCurrentElementsOfSetContaining} restituiscono un risultato
+ * esatto solo se nessuna unione è in corso, mentre {@code clear} non deve
+ * essere eseguito in concorrenza con nessun'altra operazione.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class ConcurrentDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Associazione di ogni elemento inserito con il proprio identificatore
+     */
+    private final ConcurrentHashMap<E, Integer> ids;
+
+    /*
+     * Elemento associato a ogni identificatore
+     */
+    private final AtomicReferenceArray<E> items;
+
+    /*
+     * Padre di ogni identificatore, la radice di ogni albero ha come padre se
+     * stessa. Protected unicamente per permettere i test JUnit.
+     */
+    protected final AtomicIntegerArray parent;
+
+    /*
+     * Prossimo identificatore libero
+     */
+    private final AtomicInteger nextId;
+
+    /*
+     * Seme usato per calcolare le priorità degli identificatori
+     */
+    private int seed;
+
+    /**
+     * Costruisce una collezione vuota di insiemi disgiunti che può contenere
+     * al più un certo numero di elementi.
+     *
+     * @param capacity
+     *                     il numero massimo di elementi
+     * @throws IllegalArgumentException
+     *                                      se capacity è negativo
+     */
+    public ConcurrentDisjointSets(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException(
+                    "Numero di elementi non valido: " + capacity);
+        this.ids = new ConcurrentHashMap<>();
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.parent = new AtomicIntegerArray(capacity);
+        this.nextId = new AtomicInteger(0);
+        this.seed = ThreadLocalRandom.current().nextInt();
+    }
+
+    /**
+     * Restituisce il numero massimo di elementi.
+     *
+     * @return il numero massimo di elementi
+     */
+    public int capacity() {
+        return this.parent.length();
+    }
+
+    @Override
+    public boolean isPresent(E e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        return this.ids.containsKey(e);
+    }
+
+    /*
+     * Se due thread inseriscono lo stesso elemento contemporaneamente solo uno
+     * dei due ci riesce, l'altro ottiene IllegalArgumentException.
+     *
+     * @throws IllegalStateException se è già stato raggiunto il numero
+     * massimo di elementi
+     */
+    @Override
+    public void makeSet(E e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if (this.ids.containsKey(e))
+            throw new IllegalArgumentException("Elemento già presente");
+        int id = this.nextId.getAndIncrement();
+        if (id >= this.parent.length()) {
+            this.nextId.decrementAndGet();
+            throw new IllegalStateException(
+                    "Raggiunto il numero massimo di elementi: "
+                            + this.parent.length());
+        }
+        // l'identificatore viene preparato prima di essere reso visibile
+        this.items.set(id, e);
+        this.parent.set(id, id);
+        if (this.ids.putIfAbsent(e, id) != null) {
+            // un altro thread ha inserito lo stesso elemento: lo slot resta
+            // inutilizzato come radice isolata senza elemento
+            this.items.set(id, null);
+            throw new IllegalArgumentException("Elemento già presente");
+        }
+    }
+
+    @Override
+    public E findSet(E e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        Integer id = this.ids.get(e);
+        if (id == null)
+            return null;
+        return this.items.get(this.find(id));
+    }
+
+    @Override
+    public void union(E e1, E e2) {
+        if (e1 == null || e2 == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        Integer id1 = this.ids.get(e1);
+        Integer id2 = this.ids.get(e2);
+        if (id1 == null || id2 == null)
+            throw new IllegalArgumentException(
+                    "Almeno uno dei due elementi non è presente");
+        int x = id1;
+        int y = id2;
+        while (true) {
+            int r1 = this.find(x);
+            int r2 = this.find(y);
+            if (r1 == r2)
+                return;
+            // la radice con priorità minore viene collegata all'altra
+            if (this.lowerPriority(r2, r1)) {
+                int tmp = r1;
+                r1 = r2;
+                r2 = tmp;
+            }
+            // riesce solo se r1 è ancora una radice, altrimenti si riprova
+            if (this.parent.compareAndSet(r1, r1, r2))
+                return;
+            x = r1;
+            y = r2;
+        }
+    }
+
+    @Override
+    public Set<E> getCurrentRepresentatives() {
+        HashSet<E> representatives = new HashSet<>();
+        int n = Math.min(this.nextId.get(), this.parent.length());
+        for (int i = 0; i < n; i++) {
+            E item = this.items.get(i);
+            if (item != null && this.parent.get(i) == i)
+                representatives.add(item);
+        }
+        return representatives;
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        Integer id = this.ids.get(e);
+        if (id == null)
+            throw new IllegalArgumentException("Elemento non presente");
+        int root = this.find(id);
+        HashSet<E> elements = new HashSet<>();
+        int n = Math.min(this.nextId.get(), this.parent.length());
+        for (int i = 0; i < n; i++) {
+            E item = this.items.get(i);
+            if (item != null && this.find(i) == root)
+                elements.add(item);
+        }
+        return elements;
+    }
+
+    @Override
+    public void clear() {
+        int n = Math.min(this.nextId.get(), this.parent.length());
+        for (int i = 0; i < n; i++)
+            this.items.set(i, null);
+        this.ids.clear();
+        this.nextId.set(0);
+        this.seed = ThreadLocalRandom.current().nextInt();
+    }
+
+    /*
+     * Trova la radice dell'albero di un identificatore dimezzando il cammino:
+     * ogni nodo visitato viene collegato al nonno con compare-and-set
+     */
+    private int find(int x) {
+        int p = this.parent.get(x);
+        while (p != x) {
+            int gp = this.parent.get(p);
+            if (gp != p)
+                this.parent.compareAndSet(x, p, gp);
+            x = p;
+            p = this.parent.get(x);
+        }
+        return x;
+    }
+
+    /*
+     * Determina se la priorità di a è minore di quella di b, a parità di
+     * priorità decide l'identificatore
+     */
+    private boolean lowerPriority(int a, int b) {
+        int pa = this.priority(a);
+        int pb = this.priority(b);
+        return pa < pb || (pa == pb && a < b);
+    }
+
+    /*
+     * Priorità pseudo-casuale di un identificatore, ottenuta mescolando i bit
+     * dell'identificatore con il seme
+     */
+    private int priority(int id) {
+        int h = (id ^ this.seed) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
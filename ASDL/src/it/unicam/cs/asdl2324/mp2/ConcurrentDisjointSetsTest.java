@@ -0,0 +1,160 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe ConcurrentDisjointSets.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class ConcurrentDisjointSetsTest {
+
+    private static final int THREADS = 16;
+
+    /*
+     * Esegue lo stesso compito su THREADS thread fatti partire insieme e
+     * rilancia il primo errore incontrato
+     */
+    private void runConcurrently(IntTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Throwable[] failure = new Throwable[1];
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(id);
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        if (failure[0] == null)
+                            failure[0] = e;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+        if (failure[0] != null)
+            fail(failure[0]);
+    }
+
+    private interface IntTask {
+        void run(int thread) throws Exception;
+    }
+
+    @Test
+    final void testConcurrentDisjointSets() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentDisjointSets<Integer>(-1));
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                10);
+        assertEquals(10, ds.capacity());
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+    }
+
+    @Test
+    final void testSequentialOperations() {
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                4);
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        assertThrows(NullPointerException.class, () -> ds.isPresent(null));
+        assertThrows(NullPointerException.class, () -> ds.findSet(null));
+        assertFalse(ds.isPresent(1));
+        assertNull(ds.findSet(1));
+        for (int i = 1; i <= 4; i++)
+            ds.makeSet(i);
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(1));
+        assertThrows(IllegalStateException.class, () -> ds.makeSet(5));
+        assertThrows(IllegalArgumentException.class, () -> ds.union(1, 5));
+        assertThrows(NullPointerException.class, () -> ds.union(null, 1));
+        ds.union(1, 2);
+        ds.union(3, 4);
+        assertEquals(ds.findSet(1), ds.findSet(2));
+        assertNotEquals(ds.findSet(1), ds.findSet(3));
+        assertEquals(2, ds.getCurrentRepresentatives().size());
+        ds.union(2, 4);
+        Set<Integer> all = new HashSet<Integer>();
+        for (int i = 1; i <= 4; i++)
+            all.add(i);
+        assertEquals(all, ds.getCurrentElementsOfSetContaining(3));
+        assertEquals(1, ds.getCurrentRepresentatives().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.getCurrentElementsOfSetContaining(7));
+        ds.clear();
+        assertFalse(ds.isPresent(1));
+        // dopo clear la capacità è di nuovo disponibile
+        for (int i = 5; i <= 8; i++)
+            ds.makeSet(i);
+        assertEquals(4, ds.getCurrentRepresentatives().size());
+    }
+
+    @Test
+    final void testStressMakeSet() throws InterruptedException {
+        int perThread = 2000;
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                THREADS * perThread);
+        AtomicInteger duplicates = new AtomicInteger();
+        // ogni thread inserisce gli stessi elementi: solo uno deve riuscirci
+        this.runConcurrently(t -> {
+            for (int i = 0; i < perThread; i++) {
+                try {
+                    ds.makeSet(i);
+                } catch (IllegalArgumentException e) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+        assertEquals((THREADS - 1) * perThread, duplicates.get());
+        assertEquals(perThread, ds.getCurrentRepresentatives().size());
+    }
+
+    @Test
+    final void testStressUnion() throws InterruptedException {
+        int n = 50000;
+        int unionsPerThread = 4000;
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                n);
+        // inserimento concorrente di elementi distinti
+        this.runConcurrently(t -> {
+            for (int i = t; i < n; i += THREADS)
+                ds.makeSet(i);
+        });
+        // unioni casuali predeterminate, ripartite tra i thread
+        int[][] pairs = new int[THREADS * unionsPerThread][2];
+        Random random = new Random(17);
+        for (int[] pair : pairs) {
+            pair[0] = random.nextInt(n);
+            pair[1] = random.nextInt(n);
+        }
+        this.runConcurrently(t -> {
+            for (int k = t; k < pairs.length; k += THREADS) {
+                ds.union(pairs[k][0], pairs[k][1]);
+                // find-set concorrenti mentre la foresta cambia
+                assertNotNull(ds.findSet(pairs[k][0]));
+            }
+        });
+        // il risultato deve coincidere con le stesse unioni sequenziali
+        IntDisjointSets expected = new IntDisjointSets(n);
+        for (int[] pair : pairs)
+            expected.union(pair[0], pair[1]);
+        assertEquals(expected.setCount(),
+                ds.getCurrentRepresentatives().size());
+        for (int[] pair : pairs)
+            assertEquals(ds.findSet(pair[0]), ds.findSet(pair[1]));
+        for (int i = 0; i + 1 < n; i++)
+            assertEquals(expected.findSet(i) == expected.findSet(i + 1),
+                    ds.findSet(i).equals(ds.findSet(i + 1)));
+    }
+}
@@ -0,0 +1,221 @@
+package it.unicam.cs.asdl2324.mp2;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ *
+ * Classe singoletto che implementa l'algoritmo di Prim nella versione per
+ * grafi densi, per trovare un Minimum Spanning Tree di un grafo non orientato,
+ * pesato e con pesi non negativi che supporta le operazioni con indici.
+ *
+ * Al posto della coda di priorità si usano un array {@code double[]} con la
+ * chiave di ogni nodo, cioè il peso dell'arco più leggero che lo collega
+ * all'albero, e un array {@code int[]} con il colore, nero per i nodi già
+ * nell'albero: a ogni passo il minimo viene cercato scorrendo l'array delle
+ * chiavi e la riga del nodo estratto viene scorsa con
+ * {@code Graph.forEachNeighbor(int, IntDoubleConsumer)}, che sulle matrici di
+ * adiacenza legge direttamente la riga senza creare insiemi. L'algoritmo costa
+ * quindi O(V²) indipendentemente dal numero di archi e non alloca memoria
+ * oltre agli array iniziali: su grafi completi o quasi completi, come le
+ * matrici delle distanze, è più veloce delle versioni con uno heap.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class DensePrimMST<L> {
+
+    /*
+     * Chiave di ogni nodo: peso dell'arco più leggero verso l'albero
+     */
+    private double[] key;
+
+    /*
+     * Indice del nodo dell'albero a cui ogni nodo è collegato dall'arco più
+     * leggero, -1 se non ancora raggiunto
+     */
+    private int[] parent;
+
+    /*
+     * Colore di ogni nodo: nero se fa già parte dell'albero, bianco altrimenti
+     */
+    private int[] color;
+
+    /*
+     * Operazione di rilassamento sugli array precedenti, riusata per ogni
+     * nodo estratto
+     */
+    private Relaxation relaxation;
+
+    /**
+     * Crea un nuovo algoritmo.
+     */
+    public DensePrimMST() {
+        this.key = new double[0];
+        this.parent = new int[0];
+        this.color = new int[0];
+        this.relaxation = new Relaxation(this.key, this.parent, this.color);
+    }
+
+    /**
+     * Utilizza l'algoritmo goloso di Prim per trovare un albero di copertura
+     * minimo in un grafo non orientato e pesato, con pesi degli archi non
+     * negativi, che supporta le operazioni con indici. Dopo l'esecuzione del
+     * metodo nei nodi del grafo il campo previous contiene un puntatore a un
+     * nodo in accordo all'albero di copertura minimo calcolato, la cui radice
+     * è il nodo sorgente passato, il campo floatingPointDistance il peso
+     * dell'arco che collega il nodo al suo previous e il colore è
+     * {@code GraphNode.COLOR_BLACK}. I nodi non raggiungibili dalla sorgente
+     * diventano radici di altri alberi della foresta, con previous null.
+     *
+     * Gli array di lavoro vengono riusati tra un'esecuzione e l'altra se il
+     * numero di nodi non aumenta.
+     *
+     * @param g un grafo non orientato, pesato, con pesi non negativi, che
+     *          supporta le operazioni con indici
+     * @param s il nodo del grafo g sorgente, cioè da cui parte il calcolo
+     *          dell'albero di copertura minimo. Tale nodo sarà la radice
+     *          dell'albero di copertura trovato
+     * @throw NullPointerException se il grafo g o il nodo sorgente s sono nulli
+     * @throw IllegalArgumentException se il nodo sorgente s non esiste in g
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     * con pesi negativi; in questo caso i campi dei nodi possono essere stati
+     * parzialmente modificati
+     * @throw UnsupportedOperationException se il grafo g non supporta le
+     * operazioni con indici
+     */
+    public void computeMSP(Graph<L> g, GraphNode<L> s) {
+        // controllo parametri
+        if(g == null || s == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(g.isDirected())
+            throw new IllegalArgumentException("Grafo orientato non valido");
+        if(g.getNode(s) == null)
+            throw new IllegalArgumentException("Nodo sorgente non esiste");
+
+        int n = g.nodeCount();
+        // riusa gli array se sono abbastanza grandi
+        if(this.key.length < n){
+            this.key = new double[n];
+            this.parent = new int[n];
+            this.color = new int[n];
+            this.relaxation = new Relaxation(this.key, this.parent, this.color);
+        }
+        for(int i = 0; i < n; i++){
+            this.key[i] = Double.POSITIVE_INFINITY;
+            this.parent[i] = -1;
+            this.color[i] = GraphNode.COLOR_WHITE;
+        }
+        run(g, g.getNodeIndexOf(s), n, this.relaxation);
+
+        // scrive il risultato nei nodi del grafo
+        for(int i = 0; i < n; i++){
+            GraphNode<L> node = g.getNode(i);
+            node.setColor(GraphNode.COLOR_BLACK);
+            node.setFloatingPointDistance(this.key[i]);
+            node.setPrevious(this.parent[i] == -1 ? null : g.getNode(this.parent[i]));
+        }
+    }
+
+    /**
+     * Calcola un albero di copertura minimo come {@code computeMSP(g, s)}, ma
+     * scrive colori, distanze in virgola mobile e predecessori nello stato
+     * passato invece che nei nodi, che non vengono modificati. Lo stato viene
+     * azzerato all'inizio del calcolo e i suoi array vengono usati
+     * direttamente come array di lavoro, quindi più calcoli con stati diversi
+     * possono essere eseguiti in parallelo sullo stesso grafo e con lo stesso
+     * oggetto.
+     *
+     * @param g un grafo non orientato, pesato, con pesi non negativi, che
+     *          supporta le operazioni con indici
+     * @param s il nodo del grafo g sorgente, radice dell'albero trovato
+     * @param state lo stato in cui scrivere i risultati, creato per il grafo g
+     * @throw NullPointerException se almeno un valore passato è null
+     * @throw IllegalArgumentException se il nodo sorgente s non esiste in g
+     * @throw IllegalArgumentException se lo stato è stato creato per un altro
+     * grafo o se il numero di nodi di g è cambiato dalla sua creazione
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     * con pesi negativi; in questo caso lo stato può essere stato
+     * parzialmente modificato
+     * @throw UnsupportedOperationException se il grafo g non supporta le
+     * operazioni con indici
+     */
+    public void computeMSP(Graph<L> g, GraphNode<L> s, TraversalState<L> state) {
+        // controllo parametri
+        if(g == null || s == null || state == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(state.getGraph() != g || state.size() != g.nodeCount())
+            throw new IllegalArgumentException("Stato di un altro grafo");
+        if(g.isDirected())
+            throw new IllegalArgumentException("Grafo orientato non valido");
+        if(g.getNode(s) == null)
+            throw new IllegalArgumentException("Nodo sorgente non esiste");
+
+        state.reset();
+        run(g, g.getNodeIndexOf(s), state.size(), new Relaxation(
+                state.floatingPointDistance, state.previous, state.color));
+    }
+
+    /*
+     * Ciclo principale dell'algoritmo sugli array del rilassamento passato,
+     * già inizializzati: al termine tutti i nodi sono neri e le radici hanno
+     * chiave 0
+     */
+    private static void run(Graph<?> g, int source, int n, Relaxation relaxation) {
+        double[] key = relaxation.key;
+        int[] color = relaxation.color;
+        key[source] = 0;
+        for(int step = 0; step < n; step++){
+            // cerca il nodo fuori dall'albero con chiave minima; a parità di
+            // chiave vince l'indice minore, quindi se la sorgente non ha
+            // raggiunto tutti i nodi si riparte da quello di indice minore
+            int u = -1;
+            for(int i = 0; i < n; i++){
+                if(color[i] != GraphNode.COLOR_BLACK && (u == -1 || key[i] < key[u]))
+                    u = i;
+            }
+            color[u] = GraphNode.COLOR_BLACK;
+            // una nuova radice ha chiave infinita
+            if(relaxation.parent[u] == -1)
+                key[u] = 0;
+            // aggiorna le chiavi dei nodi adiacenti leggendo la riga di u
+            relaxation.from = u;
+            g.forEachNeighbor(u, relaxation);
+        }
+    }
+
+    /*
+     * Aggiorna la chiave dei nodi adiacenti al nodo from appena entrato
+     * nell'albero. Una sola istanza viene riusata per tutti i nodi estratti,
+     * senza allocazioni.
+     */
+    private static class Relaxation implements IntDoubleConsumer {
+
+        private final double[] key;
+
+        private final int[] parent;
+
+        private final int[] color;
+
+        private int from;
+
+        Relaxation(double[] key, int[] parent, int[] color) {
+            this.key = key;
+            this.parent = parent;
+            this.color = color;
+        }
+
+        @Override
+        public void accept(int index, double weight) {
+            // controlla se l'arco rispetta le regole dell'algoritmo
+            if(Double.isNaN(weight) || weight < 0)
+                throw new IllegalArgumentException("Grafo con tipo di archi non valido");
+            if(this.color[index] != GraphNode.COLOR_BLACK && weight < this.key[index]){
+                this.key[index] = weight;
+                this.parent[index] = this.from;
+            }
+        }
+    }
+}
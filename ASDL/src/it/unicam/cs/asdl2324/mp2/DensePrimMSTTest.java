@@ -0,0 +1,198 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe DensePrimMST.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class DensePrimMSTTest {
+
+    /*
+     * Somma i pesi degli archi tra ogni nodo e il suo previous, controllando
+     * che l'arco esista nel grafo
+     */
+    private double treeWeight(Graph<Integer> g) {
+        double sum = 0;
+        for (GraphNode<Integer> node : g.getNodes()) {
+            assertEquals(GraphNode.COLOR_BLACK, node.getColor());
+            if (node.getPrevious() == null)
+                continue;
+            GraphEdge<Integer> e = g.getEdge(node, node.getPrevious());
+            assertNotNull(e);
+            assertEquals(e.getWeight(), node.getFloatingPointDistance());
+            sum += e.getWeight();
+        }
+        return sum;
+    }
+
+    private double kruskalWeight(Graph<Integer> g) {
+        double sum = 0;
+        for (GraphEdge<Integer> e : new KruskalMST<Integer>().computeMSP(g))
+            sum += e.getWeight();
+        return sum;
+    }
+
+    @Test
+    final void testExceptions() {
+        DensePrimMST<String> alg = new DensePrimMST<String>();
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(a);
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null, a));
+        assertThrows(NullPointerException.class,
+                () -> alg.computeMSP(gr, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr, b));
+        gr.addNode(b);
+        gr.addEdge(a, b);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr, a));
+        gr.removeEdge(a, b);
+        gr.addWeightedEdge(a, b, -1);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr, a));
+    }
+
+    @Test
+    final void testComputeMSP() {
+        // grafo del libro di testo
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        String[] labels = { "a", "b", "c", "d", "e", "f", "g", "h", "i" };
+        for (String label : labels)
+            gr.addNode(label);
+        gr.addWeightedEdge("a", "b", 4);
+        gr.addWeightedEdge("a", "h", 8.5);
+        gr.addWeightedEdge("b", "h", 11);
+        gr.addWeightedEdge("b", "c", 8);
+        gr.addWeightedEdge("c", "i", 2);
+        gr.addWeightedEdge("c", "d", 7);
+        gr.addWeightedEdge("c", "f", 4);
+        gr.addWeightedEdge("d", "f", 14);
+        gr.addWeightedEdge("d", "e", 9);
+        gr.addWeightedEdge("e", "f", 10);
+        gr.addWeightedEdge("f", "g", 2);
+        gr.addWeightedEdge("g", "i", 6);
+        gr.addWeightedEdge("g", "h", 1);
+        gr.addWeightedEdge("h", "i", 7);
+        new DensePrimMST<String>().computeMSP(gr, gr.getNode("a"));
+        assertNull(gr.getNode("a").getPrevious());
+        assertEquals(gr.getNode("a"), gr.getNode("b").getPrevious());
+        assertEquals(gr.getNode("b"), gr.getNode("c").getPrevious());
+        assertEquals(gr.getNode("c"), gr.getNode("d").getPrevious());
+        assertEquals(gr.getNode("d"), gr.getNode("e").getPrevious());
+        assertEquals(gr.getNode("c"), gr.getNode("f").getPrevious());
+        assertEquals(gr.getNode("f"), gr.getNode("g").getPrevious());
+        assertEquals(gr.getNode("g"), gr.getNode("h").getPrevious());
+        assertEquals(gr.getNode("c"), gr.getNode("i").getPrevious());
+    }
+
+    @Test
+    final void testDisconnected() {
+        Graph<Integer> gr = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 5; i++)
+            gr.addNode(i);
+        gr.addWeightedEdge(0, 1, 3);
+        gr.addWeightedEdge(2, 3, 1);
+        gr.addWeightedEdge(3, 4, 2);
+        gr.addWeightedEdge(2, 4, 5);
+        DensePrimMST<Integer> alg = new DensePrimMST<Integer>();
+        alg.computeMSP(gr, gr.getNode(1));
+        assertNull(gr.getNode(1).getPrevious());
+        assertEquals(gr.getNode(1), gr.getNode(0).getPrevious());
+        // la seconda componente ha la sua radice
+        int roots = 0;
+        for (GraphNode<Integer> node : gr.getNodes())
+            if (node.getPrevious() == null)
+                roots++;
+        assertEquals(2, roots);
+        assertEquals(6, this.treeWeight(gr));
+    }
+
+    @Test
+    final void testRandomDense() {
+        Random random = new Random(31);
+        DensePrimMST<Integer> alg = new DensePrimMST<Integer>();
+        for (int round = 0; round < 10; round++) {
+            int n = 5 + random.nextInt(60);
+            Graph<Integer> matrix = new AdjacencyMatrixUndirectedGraph<Integer>();
+            Graph<Integer> primitive = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+            for (int i = 0; i < n; i++) {
+                matrix.addNode(i);
+                primitive.addNode(i);
+            }
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j++)
+                    if (random.nextInt(10) < 8) {
+                        double w = random.nextInt(100);
+                        matrix.addWeightedEdge(i, j, w);
+                        primitive.addWeightedEdge(i, j, w);
+                    }
+            // lo stesso algoritmo viene riusato con grafi di dimensioni diverse
+            alg.computeMSP(matrix, matrix.getNode(0));
+            assertEquals(this.kruskalWeight(matrix), this.treeWeight(matrix));
+            alg.computeMSP(primitive, primitive.getNode(n - 1));
+            assertEquals(this.kruskalWeight(matrix),
+                    this.treeWeight(primitive));
+        }
+    }
+
+    @Test
+    final void testComputeMSPWithState() throws InterruptedException {
+        Random random = new Random(43);
+        int n = 120;
+        Graph<Integer> gr = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++)
+            gr.addNode(i);
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                gr.addWeightedEdge(i, j, random.nextInt(1000));
+        DensePrimMST<Integer> alg = new DensePrimMST<Integer>();
+        assertThrows(NullPointerException.class,
+                () -> alg.computeMSP(gr, gr.getNode(0), null));
+        Graph<Integer> other = new AdjacencyMatrixUndirectedGraph<Integer>();
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(gr,
+                gr.getNode(0), new TraversalState<Integer>(other)));
+        double expected = this.kruskalWeight(gr);
+        // calcoli paralleli da sorgenti diverse con lo stesso oggetto
+        List<TraversalState<Integer>> states = new ArrayList<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            TraversalState<Integer> state = new TraversalState<Integer>(gr);
+            states.add(state);
+            int source = t * 7;
+            threads[t] = new Thread(
+                    () -> alg.computeMSP(gr, gr.getNode(source), state));
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        for (int t = 0; t < threads.length; t++) {
+            TraversalState<Integer> state = states.get(t);
+            assertEquals(-1, state.getPreviousIndex(t * 7));
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                assertEquals(GraphNode.COLOR_WHITE, gr.getNode(i).getColor());
+                assertEquals(GraphNode.COLOR_BLACK, state.getColor(i));
+                if (state.getPreviousIndex(i) != -1)
+                    sum += gr.getEdge(i, state.getPreviousIndex(i))
+                            .getWeight();
+            }
+            assertEquals(expected, sum);
+        }
+        // riportati nei nodi, gli stati danno lo stesso albero
+        for (TraversalState<Integer> state : states) {
+            state.writeToNodes();
+            assertEquals(expected, this.treeWeight(gr));
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+import java.util.function.IntToDoubleFunction;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ *
+ * Classe che implementa l'algoritmo di Dijkstra per i cammini minimi da una
+ * sorgente singola in un grafo pesato, con pesi non negativi, che supporta le
+ * operazioni con indici, e la sua variante A* guidata da una funzione
+ * euristica.
+ *
+ * La coda di priorità è uno {@code IndexedMinHeap} sugli indici dei nodi e gli
+ * archi vengono scorsi con {@code Graph.forEachNeighbor(int, IntDoubleConsumer)},
+ * senza creare insiemi né oggetti {@code GraphEdge<L>}. Un oggetto di questa
+ * classe è uno spazio di lavoro riusabile: distanze, predecessori e heap
+ * vengono allocati alla prima interrogazione, o quando il numero di nodi
+ * aumenta, e poi riusati. Invece di riportare tutti gli array ai valori
+ * iniziali, ogni interrogazione ha un numero progressivo e un nodo è
+ * considerato raggiunto solo se è marcato con il numero dell'interrogazione
+ * corrente: il costo di un'interrogazione con destinazione dipende quindi solo
+ * dalla parte di grafo esplorata prima di estrarre la destinazione.
+ *
+ * I risultati dell'ultima interrogazione si leggono con {@code getDistance},
+ * {@code getPreviousIndex} e {@code getPath}, oppure vengono scritti nei nodi
+ * del grafo da {@code computeShortestPaths(Graph<L>, GraphNode<L>)}. Un
+ * oggetto non deve essere usato da più thread contemporaneamente.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class DijkstraShortestPath<L> {
+
+    /*
+     * Numero di figli di ogni nodo dello heap: il rilassamento degli archi
+     * esegue molti più decrementi di priorità che estrazioni
+     */
+    private static final int HEAP_ARITY = 4;
+
+    /*
+     * Spazio di lavoro indicizzato con gli indici dei nodi: distanza dalla
+     * sorgente, indice del predecessore e numero dell'ultima interrogazione
+     * in cui il nodo è stato raggiunto o estratto dalla coda. Protected per
+     * JUnit testing
+     */
+    protected double[] distance;
+
+    protected int[] previous;
+
+    protected int[] reachedIn;
+
+    protected int[] settledIn;
+
+    /*
+     * Numero progressivo dell'interrogazione corrente, 0 prima della prima
+     */
+    protected int query;
+
+    /*
+     * Numero di nodi estratti dalla coda nell'ultima interrogazione
+     */
+    protected int settledCount;
+
+    private IndexedMinHeap heap;
+
+    /*
+     * Grafo e numero di nodi dell'ultima interrogazione
+     */
+    private Graph<L> graph;
+
+    private int nodeCount;
+
+    /*
+     * Operazione di rilassamento riusata per ogni nodo estratto
+     */
+    private final Relaxation relaxation;
+
+    /**
+     * Crea un nuovo spazio di lavoro vuoto.
+     */
+    public DijkstraShortestPath() {
+        this.distance = new double[0];
+        this.previous = new int[0];
+        this.reachedIn = new int[0];
+        this.settledIn = new int[0];
+        this.heap = new IndexedMinHeap(0, HEAP_ARITY);
+        this.query = 0;
+        this.settledCount = 0;
+        this.graph = null;
+        this.nodeCount = 0;
+        this.relaxation = new Relaxation();
+    }
+
+    /**
+     * Calcola i cammini minimi da un nodo sorgente verso tutti i nodi del
+     * grafo con l'algoritmo di Dijkstra e scrive il risultato nei nodi: nel
+     * campo floatingPointDistance la distanza dalla sorgente, nel campo
+     * previous il predecessore in un albero dei cammini minimi e come colore
+     * {@code GraphNode.COLOR_BLACK}. I nodi non raggiungibili hanno colore
+     * {@code GraphNode.COLOR_WHITE}, distanza infinita e previous null.
+     *
+     * @param g un grafo pesato, con pesi non negativi, che supporta le
+     *          operazioni con indici
+     * @param s il nodo sorgente
+     * @throw NullPointerException se il grafo g o il nodo sorgente s sono nulli
+     * @throw IllegalArgumentException se il nodo sorgente s non esiste in g
+     * @throw IllegalArgumentException se il grafo g non è pesato o ha pesi
+     * negativi; in questo caso i nodi non vengono modificati
+     * @throw UnsupportedOperationException se il grafo g non supporta le
+     * operazioni con indici
+     */
+    public void computeShortestPaths(Graph<L> g, GraphNode<L> s) {
+        // controllo parametri
+        if(g == null || s == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(g.getNode(s) == null)
+            throw new IllegalArgumentException("Nodo sorgente non esiste");
+
+        this.run(g, g.getNodeIndexOf(s), -1, null);
+
+        // scrive il risultato nei nodi del grafo
+        for(int i = 0; i < this.nodeCount; i++){
+            GraphNode<L> node = g.getNode(i);
+            boolean reached = this.reachedIn[i] == this.query;
+            node.setColor(reached ? GraphNode.COLOR_BLACK : GraphNode.COLOR_WHITE);
+            node.setFloatingPointDistance(reached ? this.distance[i] : Double.POSITIVE_INFINITY);
+            node.setPrevious(reached && this.previous[i] != -1 ? g.getNode(this.previous[i]) : null);
+        }
+    }
+
+    /**
+     * Calcola le distanze minime da un nodo sorgente verso tutti i nodi del
+     * grafo con l'algoritmo di Dijkstra, senza modificare i nodi. Il risultato
+     * si legge con {@code getDistance}, {@code getPreviousIndex} e
+     * {@code getPath}.
+     *
+     * @param g      un grafo pesato, con pesi non negativi, che supporta le
+     *               operazioni con indici
+     * @param source l'indice del nodo sorgente
+     * @throw NullPointerException se il grafo g è nullo
+     * @throw IndexOutOfBoundsException se l'indice della sorgente non è
+     * valido
+     * @throw IllegalArgumentException se il grafo g non è pesato o ha pesi
+     * negativi
+     * @throw UnsupportedOperationException se il grafo g non supporta le
+     * operazioni con indici
+     */
+    public void computeShortestPaths(Graph<L> g, int source) {
+        if(g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        this.run(g, source, -1, null);
+    }
+
+    /**
+     * Calcola la distanza minima tra due nodi con l'algoritmo di Dijkstra,
+     * fermandosi appena la destinazione viene estratta dalla coda. Dopo la
+     * chiamata sono esatte le distanze dei nodi estratti, tra cui la
+     * destinazione, e {@code getPath(target)} restituisce un cammino minimo.
+     *
+     * @param g      un grafo pesato, con pesi non negativi, che supporta le
+     *               operazioni con indici
+     * @param source l'indice del nodo sorgente
+     * @param target l'indice del nodo destinazione
+     * @return la distanza minima dalla sorgente alla destinazione,
+     *         {@code Double.POSITIVE_INFINITY} se la destinazione non è
+     *         raggiungibile
+     * @throw NullPointerException se il grafo g è nullo
+     * @throw IndexOutOfBoundsException se uno degli indici non è valido
+     * @throw IllegalArgumentException se un arco esplorato non è pesato o ha
+     * peso negativo
+     * @throw UnsupportedOperationException se il grafo g non supporta le
+     * operazioni con indici
+     */
+    public double computeShortestPath(Graph<L> g, int source, int target) {
+        return this.computeShortestPath(g, source, target, null);
+    }
+
+    /**
+     * Calcola la distanza minima tra due nodi con l'algoritmo A*: la priorità
+     * di un nodo nella coda è la sua distanza dalla sorgente più la stima
+     * della sua distanza dalla destinazione data dall'euristica, quindi
+     * vengono estratti prima i nodi nella direzione della destinazione. Per
+     * ottenere un cammino minimo l'euristica deve essere consistente, cioè
+     * h(destinazione) = 0 e h(u) ≤ peso(u, v) + h(v) per ogni arco (u, v), ad
+     * esempio la distanza in linea d'aria tra le posizioni dei nodi. Con
+     * un'euristica null, o sempre nulla, si ottiene l'algoritmo di Dijkstra.
+     *
+     * @param g         un grafo pesato, con pesi non negativi, che supporta
+     *                  le operazioni con indici
+     * @param source    l'indice del nodo sorgente
+     * @param target    l'indice del nodo destinazione
+     * @param heuristic la stima della distanza di ogni nodo dalla
+     *                  destinazione, dato il suo indice; può essere null
+     * @return la distanza minima dalla sorgente alla destinazione,
+     *         {@code Double.POSITIVE_INFINITY} se la destinazione non è
+     *         raggiungibile
+     * @throw NullPointerException se il grafo g è nullo
+     * @throw IndexOutOfBoundsException se uno degli indici non è valido
+     * @throw IllegalArgumentException se un arco esplorato non è pesato o ha
+     * peso negativo, o se l'euristica restituisce un valore negativo o NaN
+     * @throw UnsupportedOperationException se il grafo g non supporta le
+     * operazioni con indici
+     */
+    public double computeShortestPath(Graph<L> g, int source, int target,
+            IntToDoubleFunction heuristic) {
+        if(g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(target < 0 || target >= g.nodeCount())
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+        this.run(g, source, target, heuristic);
+        return this.reachedIn[target] == this.query ? this.distance[target] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Restituisce la distanza di un nodo dalla sorgente calcolata
+     * dall'ultima interrogazione. È la distanza minima se il nodo è stato
+     * estratto dalla coda, altrimenti è la lunghezza del miglior cammino
+     * trovato prima dell'arresto.
+     *
+     * @param i l'indice del nodo
+     * @return la distanza del nodo, {@code Double.POSITIVE_INFINITY} se non è
+     *         stato raggiunto
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public double getDistance(int i) {
+        this.checkIndex(i);
+        return this.reachedIn[i] == this.query ? this.distance[i] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Restituisce l'indice del predecessore di un nodo nel cammino trovato
+     * dall'ultima interrogazione. Permette di percorrere il cammino a
+     * ritroso senza allocare memoria.
+     *
+     * @param i l'indice del nodo
+     * @return l'indice del predecessore, -1 se il nodo è la sorgente o non è
+     *         stato raggiunto
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getPreviousIndex(int i) {
+        this.checkIndex(i);
+        return this.reachedIn[i] == this.query ? this.previous[i] : -1;
+    }
+
+    /**
+     * Determina se un nodo è stato estratto dalla coda nell'ultima
+     * interrogazione, cioè se la sua distanza è definitiva.
+     *
+     * @param i l'indice del nodo
+     * @return true se il nodo è stato estratto, false altrimenti
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public boolean isSettled(int i) {
+        this.checkIndex(i);
+        return this.settledIn[i] == this.query;
+    }
+
+    /**
+     * Restituisce il numero di nodi estratti dalla coda nell'ultima
+     * interrogazione, una misura del lavoro svolto.
+     *
+     * @return il numero di nodi estratti
+     */
+    public int getSettledCount() {
+        return this.settledCount;
+    }
+
+    /**
+     * Restituisce il cammino minimo trovato dall'ultima interrogazione dalla
+     * sorgente a un nodo estratto dalla coda.
+     *
+     * @param target l'indice del nodo di arrivo
+     * @return la lista dei nodi del cammino, dalla sorgente al nodo passato
+     *         compresi; la lista è vuota se il nodo non è stato estratto
+     * @throw IllegalStateException se non è stata ancora eseguita nessuna
+     * interrogazione
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public List<GraphNode<L>> getPath(int target) {
+        LinkedList<GraphNode<L>> path = new LinkedList<>();
+        if(!(this.isSettled(target)))
+            return path;
+        for(int i = target; i != -1; i = this.previous[i])
+            path.addFirst(this.graph.getNode(i));
+        return path;
+    }
+
+    /*
+     * Esegue un'interrogazione: con target -1 estrae tutti i nodi
+     * raggiungibili, altrimenti si ferma quando estrae target
+     */
+    private void run(Graph<L> g, int source, int target, IntToDoubleFunction heuristic) {
+        int n = g.nodeCount();
+        if(source < 0 || source >= n)
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+        this.begin(g, n);
+        this.relaxation.heuristic = heuristic;
+
+        this.distance[source] = 0;
+        this.previous[source] = -1;
+        this.reachedIn[source] = this.query;
+        this.heap.insert(source, this.relaxation.estimate(source));
+        while(!(this.heap.isEmpty())){
+            int u = this.heap.extractMin();
+            this.settledIn[u] = this.query;
+            this.settledCount++;
+            // la distanza della destinazione estratta è definitiva
+            if(u == target)
+                break;
+            this.relaxation.from = u;
+            g.forEachNeighbor(u, this.relaxation);
+        }
+        this.relaxation.heuristic = null;
+    }
+
+    /*
+     * Prepara lo spazio di lavoro per una nuova interrogazione su g: gli
+     * array vengono riallocati solo se il numero di nodi è aumentato e
+     * azzerati solo quando il numero progressivo raggiunge il massimo
+     */
+    private void begin(Graph<L> g, int n) {
+        if(this.distance.length < n){
+            int capacity = Math.max(n, 2 * this.distance.length);
+            this.distance = new double[capacity];
+            this.previous = new int[capacity];
+            this.reachedIn = new int[capacity];
+            this.settledIn = new int[capacity];
+            this.heap = new IndexedMinHeap(capacity, HEAP_ARITY);
+        } else {
+            // un'interrogazione interrotta lascia nodi nella coda
+            this.heap.clear();
+        }
+        if(this.query == Integer.MAX_VALUE){
+            Arrays.fill(this.reachedIn, 0);
+            Arrays.fill(this.settledIn, 0);
+            this.query = 0;
+        }
+        this.query++;
+        this.settledCount = 0;
+        this.graph = g;
+        this.nodeCount = n;
+    }
+
+    private void checkIndex(int i) {
+        if(this.graph == null)
+            throw new IllegalStateException("Nessuna interrogazione eseguita");
+        if(i < 0 || i >= this.nodeCount)
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+    }
+
+    /*
+     * Rilassa gli archi uscenti dal nodo from appena estratto. Una sola
+     * istanza viene riusata per tutti i nodi estratti, senza allocazioni.
+     */
+    private class Relaxation implements IntDoubleConsumer {
+
+        private int from;
+
+        private IntToDoubleFunction heuristic;
+
+        @Override
+        public void accept(int index, double weight) {
+            // controlla se l'arco rispetta le regole dell'algoritmo
+            if(Double.isNaN(weight) || weight < 0)
+                throw new IllegalArgumentException("Grafo con tipo di archi non valido");
+            DijkstraShortestPath<L> w = DijkstraShortestPath.this;
+            // con un'euristica consistente un nodo estratto non migliora più
+            if(w.settledIn[index] == w.query)
+                return;
+            double d = w.distance[this.from] + weight;
+            if(w.reachedIn[index] != w.query){
+                w.reachedIn[index] = w.query;
+                w.distance[index] = d;
+                w.previous[index] = this.from;
+                w.heap.insert(index, d + this.estimate(index));
+            } else if(d < w.distance[index]){
+                w.distance[index] = d;
+                w.previous[index] = this.from;
+                w.heap.decreasePriority(index, d + this.estimate(index));
+            }
+        }
+
+        /*
+         * Valore dell'euristica per un nodo, 0 se non c'è euristica
+         */
+        private double estimate(int index) {
+            if(this.heuristic == null)
+                return 0;
+            double h = this.heuristic.applyAsDouble(index);
+            if(Double.isNaN(h) || h < 0)
+                throw new IllegalArgumentException("Euristica non valida");
+            return h;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe DijkstraShortestPath.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class DijkstraShortestPathTest {
+
+    /*
+     * Distanze tra tutte le coppie di nodi calcolate con Floyd-Warshall
+     */
+    private double[][] allDistances(Graph<Integer> g) {
+        int n = g.nodeCount();
+        double[][] d = new double[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++) {
+                GraphEdge<Integer> e = g.getEdge(i, j);
+                d[i][j] = i == j ? 0
+                        : e == null ? Double.POSITIVE_INFINITY : e.getWeight();
+            }
+        for (int k = 0; k < n; k++)
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < n; j++)
+                    d[i][j] = Math.min(d[i][j], d[i][k] + d[k][j]);
+        return d;
+    }
+
+    /*
+     * Griglia side x side con archi di peso casuale tra 1 e 2, i nodi sono
+     * numerati per righe
+     */
+    private Graph<Integer> grid(int side, Random random) {
+        Graph<Integer> g = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < side * side; i++)
+            g.addNode(i);
+        for (int r = 0; r < side; r++)
+            for (int c = 0; c < side; c++) {
+                int i = r * side + c;
+                if (c + 1 < side)
+                    g.addWeightedEdge(i, i + 1, 1 + random.nextDouble());
+                if (r + 1 < side)
+                    g.addWeightedEdge(i, i + side, 1 + random.nextDouble());
+            }
+        return g;
+    }
+
+    @Test
+    final void testExceptions() {
+        DijkstraShortestPath<String> alg = new DijkstraShortestPath<String>();
+        assertThrows(IllegalStateException.class, () -> alg.getDistance(0));
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(a);
+        assertThrows(NullPointerException.class,
+                () -> alg.computeShortestPaths(null, a));
+        assertThrows(NullPointerException.class,
+                () -> alg.computeShortestPaths(gr, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeShortestPaths(gr, b));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> alg.computeShortestPath(gr, 0, 1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> alg.computeShortestPaths(gr, -1));
+        gr.addNode(b);
+        gr.addEdge(a, b);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeShortestPaths(gr, a));
+        gr.removeEdge(a, b);
+        gr.addWeightedEdge(a, b, -1);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeShortestPath(gr, 0, 1));
+        gr.removeEdge(a, b);
+        gr.addWeightedEdge(a, b, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeShortestPath(gr, 0, 1, i -> -1));
+        alg.computeShortestPath(gr, 0, 1);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> alg.getPreviousIndex(2));
+    }
+
+    @Test
+    final void testComputeShortestPaths() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        String[] labels = { "s", "t", "x", "y", "z", "u" };
+        for (String label : labels)
+            gr.addNode(label);
+        gr.addWeightedEdge("s", "t", 10);
+        gr.addWeightedEdge("s", "y", 5);
+        gr.addWeightedEdge("t", "y", 2);
+        gr.addWeightedEdge("t", "x", 1);
+        gr.addWeightedEdge("y", "x", 9);
+        gr.addWeightedEdge("y", "z", 2);
+        gr.addWeightedEdge("x", "z", 4);
+        DijkstraShortestPath<String> alg = new DijkstraShortestPath<String>();
+        alg.computeShortestPaths(gr, gr.getNode("s"));
+        assertEquals(0, gr.getNode("s").getFloatingPointDistance());
+        assertNull(gr.getNode("s").getPrevious());
+        assertEquals(7, gr.getNode("t").getFloatingPointDistance());
+        assertEquals(gr.getNode("y"), gr.getNode("t").getPrevious());
+        assertEquals(8, gr.getNode("x").getFloatingPointDistance());
+        assertEquals(gr.getNode("t"), gr.getNode("x").getPrevious());
+        assertEquals(5, gr.getNode("y").getFloatingPointDistance());
+        assertEquals(7, gr.getNode("z").getFloatingPointDistance());
+        assertEquals(GraphNode.COLOR_BLACK, gr.getNode("z").getColor());
+        // nodo non raggiungibile
+        assertEquals(Double.POSITIVE_INFINITY,
+                gr.getNode("u").getFloatingPointDistance());
+        assertEquals(GraphNode.COLOR_WHITE, gr.getNode("u").getColor());
+        assertNull(gr.getNode("u").getPrevious());
+        List<GraphNode<String>> path = alg.getPath(gr.getNodeIndexOf("x"));
+        assertEquals(4, path.size());
+        assertEquals(gr.getNode("s"), path.get(0));
+        assertEquals(gr.getNode("y"), path.get(1));
+        assertEquals(gr.getNode("t"), path.get(2));
+        assertEquals(gr.getNode("x"), path.get(3));
+        assertTrue(alg.getPath(gr.getNodeIndexOf("u")).isEmpty());
+        assertEquals(Double.POSITIVE_INFINITY, alg.computeShortestPath(gr,
+                gr.getNodeIndexOf("s"), gr.getNodeIndexOf("u")));
+    }
+
+    @Test
+    final void testRandomGraphs() {
+        Random random = new Random(37);
+        DijkstraShortestPath<Integer> alg = new DijkstraShortestPath<Integer>();
+        for (int round = 0; round < 10; round++) {
+            // lo stesso spazio di lavoro con grafi di dimensioni diverse
+            int n = 5 + random.nextInt(60);
+            Graph<Integer> g = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+            for (int i = 0; i < n; i++)
+                g.addNode(i);
+            for (int k = 0; k < 2 * n; k++) {
+                int i = random.nextInt(n);
+                int j = random.nextInt(n);
+                if (i != j && g.getEdge(i, j) == null)
+                    g.addWeightedEdge(i, j, random.nextInt(20));
+            }
+            double[][] expected = this.allDistances(g);
+            int s = random.nextInt(n);
+            alg.computeShortestPaths(g, s);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[s][i], alg.getDistance(i));
+                int p = alg.getPreviousIndex(i);
+                if (p != -1)
+                    assertEquals(alg.getDistance(i), alg.getDistance(p)
+                            + g.getEdge(p, i).getWeight());
+            }
+            // interrogazioni con destinazione
+            for (int q = 0; q < 20; q++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                assertEquals(expected[from][to],
+                        alg.computeShortestPath(g, from, to));
+                if (expected[from][to] == Double.POSITIVE_INFINITY)
+                    continue;
+                double length = 0;
+                List<GraphNode<Integer>> path = alg.getPath(to);
+                for (int k = 0; k + 1 < path.size(); k++)
+                    length += g.getEdge(path.get(k), path.get(k + 1))
+                            .getWeight();
+                assertEquals(expected[from][to], length, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    final void testEarlyExitAndAStar() {
+        int side = 40;
+        Graph<Integer> g = this.grid(side, new Random(41));
+        DijkstraShortestPath<Integer> alg = new DijkstraShortestPath<Integer>();
+        int source = 0;
+        int target = 5 * side + 5;
+        alg.computeShortestPaths(g, source);
+        double expected = alg.getDistance(target);
+        assertEquals(side * side, alg.getSettledCount());
+        // l'interrogazione si ferma alla destinazione
+        assertEquals(expected, alg.computeShortestPath(g, source, target));
+        assertTrue(alg.getSettledCount() < side * side / 4);
+        assertTrue(alg.isSettled(target));
+        assertFalse(alg.isSettled(side * side - 1));
+        assertEquals(Double.POSITIVE_INFINITY, alg.getDistance(side * side - 1));
+        int dijkstraSettled = alg.getSettledCount();
+        // distanza di Manhattan: consistente perché ogni arco pesa almeno 1
+        int tr = target / side;
+        int tc = target % side;
+        double astar = alg.computeShortestPath(g, source, target,
+                i -> Math.abs(i / side - tr) + Math.abs(i % side - tc));
+        assertEquals(expected, astar, 1e-9);
+        assertTrue(alg.getSettledCount() < dijkstraSettled);
+        List<GraphNode<Integer>> path = alg.getPath(target);
+        assertEquals(g.getNode(source), path.get(0));
+        assertEquals(g.getNode(target), path.get(path.size() - 1));
+        // un'interrogazione interrotta non lascia tracce nella successiva
+        alg.computeShortestPaths(g, target);
+        assertEquals(expected, alg.getDistance(source), 1e-9);
+        assertEquals(-1, alg.getPreviousIndex(target));
+    }
+}
@@ -0,0 +1,377 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ *
+ * Classe che implementa la variante Filter-Kruskal dell'algoritmo di Kruskal
+ * per trovare un Minimum Spanning Tree di un grafo non orientato, pesato e con
+ * pesi non negativi.
+ *
+ * Invece di ordinare subito tutti gli archi, l'algoritmo sceglie un peso pivot
+ * e divide gli archi in leggeri (peso minore o uguale al pivot) e pesanti.
+ * Gli archi leggeri vengono elaborati per primi, ricorsivamente; prima di
+ * passare agli archi pesanti vengono scartati quelli i cui estremi sono già
+ * nello stesso albero, che quindi non vengono mai ordinati. Solo le parti
+ * abbastanza piccole vengono ordinate ed elaborate come nell'algoritmo di
+ * Kruskal classico.
+ *
+ * La divisione degli archi (insieme al filtro) viene eseguita in parallelo
+ * con il framework fork/join su un numero di thread scelto alla creazione,
+ * mentre le unioni restano sequenziali. Il risultato rispetta lo stesso
+ * contratto di {@code KruskalMST<L>.computeMSP(Graph<L>)}: un insieme di archi
+ * del grafo che costituisce un albero (o una foresta) di copertura minimo.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class FilterKruskalMST<L> {
+
+    /*
+     * Numero di archi al di sotto del quale una parte viene ordinata ed
+     * elaborata direttamente
+     */
+    private static final int DEFAULT_BASE_CASE_SIZE = 1 << 14;
+
+    /*
+     * Numero di archi di ogni blocco assegnato a un singolo task durante la
+     * divisione
+     */
+    private static final int BLOCK_SIZE = 1 << 12;
+
+    /*
+     * Numero di thread usati per la divisione degli archi
+     */
+    private final int parallelism;
+
+    /*
+     * Dimensione delle parti ordinate direttamente, protetta per JUnit
+     * testing
+     */
+    protected final int baseCaseSize;
+
+    /*
+     * Stato del calcolo corrente: estremi e pesi degli archi indicizzati,
+     * archi del grafo corrispondenti e foresta di insiemi disgiunti sugli
+     * indici dei nodi
+     */
+    private int[] sources;
+
+    private int[] targets;
+
+    private double[] weights;
+
+    private GraphEdge<L>[] edges;
+
+    private IntDisjointSets sets;
+
+    /*
+     * Array di appoggio per la divisione degli archi
+     */
+    private int[] buffer;
+
+    private ForkJoinPool pool;
+
+    private HashSet<GraphEdge<L>> result;
+
+    private int remainingUnions;
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo Filter-Kruskal con un thread per ogni processore
+     * disponibile.
+     */
+    public FilterKruskalMST() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo Filter-Kruskal con un certo numero di thread.
+     *
+     * @param parallelism
+     *                        il numero di thread da usare
+     * @throws IllegalArgumentException
+     *                                      se il numero di thread è minore di
+     *                                      1
+     */
+    public FilterKruskalMST(int parallelism) {
+        this(parallelism, DEFAULT_BASE_CASE_SIZE);
+    }
+
+    /*
+     * Costruttore che permette di scegliere la dimensione delle parti
+     * ordinate direttamente, usato per JUnit testing
+     */
+    FilterKruskalMST(int parallelism, int baseCaseSize) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException(
+                    "Numero di thread non valido: " + parallelism);
+        if (baseCaseSize < 1)
+            throw new IllegalArgumentException(
+                    "Dimensione minima non valida: " + baseCaseSize);
+        this.parallelism = parallelism;
+        this.baseCaseSize = baseCaseSize;
+    }
+
+    /**
+     * Restituisce il numero di thread usati da questo calcolatore.
+     *
+     * @return il numero di thread usati
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Utilizza l'algoritmo Filter-Kruskal per trovare un albero di copertura
+     * minimo in un grafo non orientato e pesato, con pesi degli archi non
+     * negativi. L'albero restituito non è radicato, quindi è rappresentato
+     * semplicemente con un sottoinsieme degli archi del grafo.
+     *
+     * @param g un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono l'albero di
+     * copertura minimo trovato
+     * @throw NullPointerException se il grafo g è null
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     * con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        // controllo parametro
+        if(g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(g.isDirected())
+            throw new IllegalArgumentException("Grafo orientato non valido");
+
+        // assegna un indice a ogni nodo
+        Map<GraphNode<L>, Integer> index = new HashMap<>();
+        for(GraphNode<L> currentNode : g.getNodes())
+            index.put(currentNode, index.size());
+        int n = index.size();
+
+        // copia gli archi in array paralleli controllando le regole dell'algoritmo
+        Set<GraphEdge<L>> edgeSet = g.getEdges();
+        int m = edgeSet.size();
+        this.sources = new int[m];
+        this.targets = new int[m];
+        this.weights = new double[m];
+        this.edges = newEdgeArray(m);
+        int e = 0;
+        for(GraphEdge<L> currentEdge : edgeSet){
+            if(!(currentEdge.hasWeight()) || currentEdge.getWeight() < 0)
+                throw new IllegalArgumentException("Grafo con tipo di archi non valido");
+            this.sources[e] = index.get(currentEdge.getNode1());
+            this.targets[e] = index.get(currentEdge.getNode2());
+            this.weights[e] = currentEdge.getWeight();
+            this.edges[e] = currentEdge;
+            e++;
+        }
+
+        // crea un set per ogni nodo
+        this.sets = new IntDisjointSets(n);
+
+        int[] ids = new int[m];
+        for(e = 0; e < m; e++)
+            ids[e] = e;
+        this.buffer = new int[m];
+        this.result = new HashSet<>();
+        this.remainingUnions = n - 1;
+        this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+        HashSet<GraphEdge<L>> a = this.result;
+        try {
+            this.filterKruskal(ids, 0, m);
+        } finally {
+            if(this.pool != null)
+                this.pool.shutdown();
+            // libera lo stato del calcolo
+            this.sources = this.targets = this.buffer = null;
+            this.weights = null;
+            this.edges = null;
+            this.sets = null;
+            this.pool = null;
+            this.result = null;
+        }
+        return a;
+    }
+
+    /*
+     * Crea un array di archi con m posizioni: gli array di tipi generici non
+     * si possono creare direttamente
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <L> GraphEdge<L>[] newEdgeArray(int m) {
+        return (GraphEdge<L>[]) new GraphEdge[m];
+    }
+
+    /*
+     * Elabora gli archi ids[lo..hi-1] in ordine di peso crescente, dividendo
+     * le parti troppo grandi intorno a un pivot. La parte leggera viene
+     * elaborata ricorsivamente, quella pesante viene filtrata e elaborata
+     * nella stessa chiamata.
+     */
+    private void filterKruskal(int[] ids, int lo, int hi) {
+        while(hi - lo > this.baseCaseSize && this.remainingUnions > 0){
+            double pivot = this.choosePivot(ids, lo, hi);
+            // divide in leggeri e pesanti scartando gli archi interni a un albero
+            int[] bounds = this.partition(ids, lo, hi, pivot);
+            int mid = bounds[0];
+            int end = bounds[1];
+            // se una delle due parti è vuota il pivot non divide: ordina tutto
+            if(mid == lo || mid == end){
+                this.kruskal(ids, lo, end);
+                return;
+            }
+            this.filterKruskal(ids, lo, mid);
+            lo = mid;
+            hi = end;
+        }
+        if(this.remainingUnions > 0)
+            this.kruskal(ids, lo, hi);
+    }
+
+    /*
+     * Ordina gli archi ids[lo..hi-1] ed esegue il ciclo dell'algoritmo di
+     * Kruskal classico su di essi.
+     */
+    private void kruskal(int[] ids, int lo, int hi) {
+        int[] part = Arrays.copyOfRange(ids, lo, hi);
+        KruskalMST.sortByWeight(part, this.weights);
+        for(int e : part){
+            // se non sono nello stesso sotto albero li unisce
+            if(this.sets.union(this.sources[e], this.targets[e])){
+                this.result.add(this.edges[e]);
+                if(--this.remainingUnions == 0)
+                    return;
+            }
+        }
+    }
+
+    /*
+     * Sceglie come pivot il mediano dei pesi del primo, dell'ultimo e
+     * dell'arco centrale della parte
+     */
+    private double choosePivot(int[] ids, int lo, int hi) {
+        double a = this.weights[ids[lo]];
+        double b = this.weights[ids[(lo + hi) >>> 1]];
+        double c = this.weights[ids[hi - 1]];
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /*
+     * Divide in modo stabile gli archi ids[lo..hi-1] mettendo prima quelli con
+     * peso minore o uguale al pivot e poi quelli con peso maggiore, e scarta
+     * quelli i cui estremi sono già nello stesso albero. Restituisce la
+     * posizione del primo arco pesante e la nuova fine della parte. Durante
+     * la divisione la foresta viene solo letta, quindi i blocchi possono
+     * essere elaborati in parallelo.
+     */
+    private int[] partition(int[] ids, int lo, int hi, double pivot) {
+        int blocks = (hi - lo + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] lightCounts = new int[blocks];
+        int[] heavyCounts = new int[blocks];
+        // primo passaggio: conta gli archi leggeri e pesanti di ogni blocco
+        this.forEachBlock(blocks, block -> {
+            int light = 0, heavy = 0;
+            int end = Math.min(hi, lo + (block + 1) * BLOCK_SIZE);
+            for(int k = lo + block * BLOCK_SIZE; k < end; k++){
+                int c = this.classify(ids[k], pivot);
+                if(c == 0)
+                    light++;
+                else if(c == 1)
+                    heavy++;
+            }
+            lightCounts[block] = light;
+            heavyCounts[block] = heavy;
+        });
+        // somme prefisse per ottenere la posizione di partenza di ogni blocco
+        int totalLight = 0;
+        for(int block = 0; block < blocks; block++){
+            int c = lightCounts[block];
+            lightCounts[block] = lo + totalLight;
+            totalLight += c;
+        }
+        int totalHeavy = 0;
+        for(int block = 0; block < blocks; block++){
+            int c = heavyCounts[block];
+            heavyCounts[block] = lo + totalLight + totalHeavy;
+            totalHeavy += c;
+        }
+        // secondo passaggio: ogni blocco copia i propri archi nel buffer
+        this.forEachBlock(blocks, block -> {
+            int light = lightCounts[block], heavy = heavyCounts[block];
+            int end = Math.min(hi, lo + (block + 1) * BLOCK_SIZE);
+            for(int k = lo + block * BLOCK_SIZE; k < end; k++){
+                int c = this.classify(ids[k], pivot);
+                if(c == 0)
+                    this.buffer[light++] = ids[k];
+                else if(c == 1)
+                    this.buffer[heavy++] = ids[k];
+            }
+        });
+        int end = lo + totalLight + totalHeavy;
+        System.arraycopy(this.buffer, lo, ids, lo, end - lo);
+        return new int[] { lo + totalLight, end };
+    }
+
+    /*
+     * Restituisce 0 se l'arco è leggero, 1 se è pesante e -1 se i suoi estremi
+     * sono già nello stesso albero e quindi può essere scartato
+     */
+    private int classify(int e, double pivot) {
+        if(this.sets.findRoot(this.sources[e]) == this.sets.findRoot(this.targets[e]))
+            return -1;
+        return this.weights[e] <= pivot ? 0 : 1;
+    }
+
+    /*
+     * Esegue l'operazione su ogni blocco, in parallelo se il calcolatore usa
+     * più di un thread
+     */
+    private void forEachBlock(int blocks, IntConsumer action) {
+        if(this.pool == null || blocks == 1){
+            for(int block = 0; block < blocks; block++)
+                action.accept(block);
+        } else
+            this.pool.invoke(new BlockTask(0, blocks, action));
+    }
+
+    /*
+     * Task fork/join che divide a metà l'intervallo di blocchi fino ad
+     * arrivare a un blocco singolo
+     */
+    private static class BlockTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final IntConsumer action;
+
+        BlockTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.to - this.from == 1){
+                this.action.accept(this.from);
+                return;
+            }
+            int mid = (this.from + this.to) >>> 1;
+            invokeAll(new BlockTask(this.from, mid, this.action),
+                    new BlockTask(mid, this.to, this.action));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe FilterKruskalMST.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class FilterKruskalMSTTest {
+
+    /*
+     * Crea un grafo casuale connesso con n nodi e circa density * n * n / 2
+     * archi, con pesi interi tra 0 e maxWeight
+     */
+    private Graph<Integer> createRandomGraph(int n, double density,
+            int maxWeight, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+        // un cammino garantisce che il grafo sia connesso
+        for (int i = 1; i < n; i++)
+            g.addWeightedEdge(i - 1, i, random.nextInt(maxWeight + 1));
+        for (int i = 0; i < n; i++)
+            for (int j = i + 2; j < n; j++)
+                if (random.nextDouble() < density)
+                    g.addWeightedEdge(i, j, random.nextInt(maxWeight + 1));
+        return g;
+    }
+
+    private double totalWeight(Set<GraphEdge<Integer>> edges) {
+        double sum = 0;
+        for (GraphEdge<Integer> e : edges)
+            sum += e.getWeight();
+        return sum;
+    }
+
+    @Test
+    final void testFilterKruskalMST() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FilterKruskalMST<String>(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FilterKruskalMST<String>(2, 0));
+        assertEquals(3, new FilterKruskalMST<String>(3).getParallelism());
+        assertTrue(new FilterKruskalMST<String>().getParallelism() >= 1);
+    }
+
+    @Test
+    final void testComputeMSPExceptions() {
+        FilterKruskalMST<String> alg = new FilterKruskalMST<String>(2);
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addEdge("a", "b");
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr));
+        gr.removeEdge("a", "b");
+        gr.addWeightedEdge("a", "b", -1);
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(gr));
+        assertTrue(alg.computeMSP(new AdjacencyMatrixUndirectedGraph<String>())
+                .isEmpty());
+    }
+
+    @Test
+    final void testComputeMSP1() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 7));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 10));
+        gr.addEdge(new GraphEdge<String>(a, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 1));
+        result.add(new GraphEdge<String>(d, e, false, 2));
+        result.add(new GraphEdge<String>(b, c, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 4));
+        // caso base diretto e divisione fino a parti di un solo arco
+        assertTrue(new FilterKruskalMST<String>(1).computeMSP(gr)
+                .equals(result));
+        assertTrue(new FilterKruskalMST<String>(4, 1).computeMSP(gr)
+                .equals(result));
+    }
+
+    @Test
+    final void testComputeMSPRandom() {
+        Graph<Integer> g = this.createRandomGraph(300, 0.3, 1000, 42);
+        Set<GraphEdge<Integer>> expected = new KruskalMST<Integer>()
+                .computeMSP(g);
+        for (int parallelism = 1; parallelism <= 4; parallelism *= 2) {
+            for (int baseCaseSize = 1; baseCaseSize <= 100000; baseCaseSize *= 31) {
+                Set<GraphEdge<Integer>> mst = new FilterKruskalMST<Integer>(
+                        parallelism, baseCaseSize).computeMSP(g);
+                assertEquals(g.nodeCount() - 1, mst.size());
+                assertEquals(this.totalWeight(expected),
+                        this.totalWeight(mst));
+                assertTrue(g.getEdges().containsAll(mst));
+            }
+        }
+    }
+
+    @Test
+    final void testComputeMSPEqualWeights() {
+        // tutti i pesi uguali: il pivot non riesce a dividere gli archi
+        Graph<Integer> g = this.createRandomGraph(100, 0.5, 0, 7);
+        Set<GraphEdge<Integer>> mst = new FilterKruskalMST<Integer>(2, 8)
+                .computeMSP(g);
+        assertEquals(99, mst.size());
+        assertEquals(0, this.totalWeight(mst));
+    }
+
+    @Test
+    final void testComputeMSPForest() {
+        // due componenti connesse: viene restituita una foresta
+        Graph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 6; i++)
+            g.addNode(i);
+        g.addWeightedEdge(0, 1, 3);
+        g.addWeightedEdge(1, 2, 1);
+        g.addWeightedEdge(0, 2, 2);
+        g.addWeightedEdge(3, 4, 5);
+        g.addWeightedEdge(4, 5, 4);
+        Set<GraphEdge<Integer>> mst = new FilterKruskalMST<Integer>(2, 1)
+                .computeMSP(g);
+        assertEquals(4, mst.size());
+        assertEquals(12, this.totalWeight(mst));
+    }
+}
@@ -10,6 +10,13 @@ import java.util.*;
  * vedano le istruzioni o il libro di testo Cormen et al. (terza edizione)
  * Capitolo 21 Sezione 3.
  * 
+ * Oltre al parent, ogni nodo ha un puntatore next che collega tutti i nodi
+ * dello stesso insieme in una lista circolare; le liste di due insiemi vengono
+ * concatenate in tempo costante durante l'unione. Insieme all'insieme dei
+ * rappresentanti correnti, mantenuto a ogni makeSet e unione, permette di
+ * elencare gli elementi di un insieme in tempo O(|insieme|) e i
+ * rappresentanti in tempo O(numero di insiemi).
+ * 
  * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
  *
  * @param <E>
@@ -23,6 +30,13 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
      * i test JUnit.
      */
     protected Map<E, Node<E>> currentElements;
+
+    /*
+     * Insieme degli elementi che sono attualmente rappresentanti, cioè
+     * associati alla radice di un albero. La variabile è protected unicamente
+     * per permettere i test JUnit.
+     */
+    protected Set<E> currentRepresentatives;
     
     /*
      * Classe interna statica che rappresenta i nodi degli alberi della foresta.
@@ -47,9 +61,15 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
          */
         protected int rank;
 
+        /*
+         * Il nodo successivo nella lista circolare dei nodi dello stesso
+         * insieme. Per un insieme singoletto punta al nodo stesso.
+         */
+        protected Node<E> next;
+
         /**
-         * Costruisce un nodo radice con parent che punta a se stesso e rango
-         * zero.
+         * Costruisce un nodo radice con parent e next che puntano a se stesso
+         * e rango zero.
          * 
          * @param item
          *                 l'elemento conservato in questo nodo
@@ -59,6 +79,7 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
             this.item = item;
             this.parent = this;
             this.rank = 0;
+            this.next = this;
         }
 
     }
@@ -69,6 +90,7 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
      */
     public ForestDisjointSets() {
         this.currentElements = new HashMap<>();
+        this.currentRepresentatives = new HashSet<>();
     }
 
     @Override
@@ -93,6 +115,8 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
             throw new IllegalArgumentException("Elemento già presente");
         // inserisce l'elemento nell'HashMap
         this.currentElements.put(e, new Node<>(e));
+        // un insieme singoletto ha come rappresentante il suo unico elemento
+        this.currentRepresentatives.add(e);
     }
 
     /*
@@ -102,12 +126,6 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
      */
     @Override
     public E findSet(E e) {
-        /*
-        per ogni nodo che non è direttamente collegato al nodo padre, viene eliminato l'attuale predecessore
-        di quel nodo e sostituito con il corretto, cioè il nodo padre, questo per mantenere il tempo di accesso al
-        rappresentante di ogni nodo costante, cioè O(1)
-         */
-
         // controllo parametro
         if(e == null)
             throw new NullPointerException("Parametro nullo non valido");
@@ -116,11 +134,28 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
         // se il nodo non è presente
         if(aNode == null)
             return null;
-        // se il nodo è lui stesso il rappresentante
-        if(aNode != aNode.parent)
-            // chiamata ricorsiva
-            aNode.parent = this.currentElements.get(this.findSet(aNode.parent.item));
-        return aNode.parent.item;
+        return this.findRoot(aNode).item;
+    }
+
+    /*
+     * Trova la radice dell'albero di un nodo e comprime il cammino in due
+     * passate iterative: la prima risale fino alla radice, la seconda collega
+     * direttamente alla radice ogni nodo incontrato. Lavora solo sui
+     * puntatori parent, senza nessuna ricerca nella HashMap e senza
+     * ricorsione, quindi anche una catena molto lunga non esaurisce lo stack.
+     */
+    private Node<E> findRoot(Node<E> aNode) {
+        // prima passata: risale fino al nodo che è padre di se stesso
+        Node<E> root = aNode;
+        while(root.parent != root)
+            root = root.parent;
+        // seconda passata: ogni nodo del cammino viene collegato alla radice
+        while(aNode != root){
+            Node<E> next = aNode.parent;
+            aNode.parent = root;
+            aNode = next;
+        }
+        return root;
     }
 
     /*
@@ -138,39 +173,41 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
         // controllo parametri
         if(e1 == null || e2 == null)
             throw new NullPointerException("Parametri nulli non validi");
-        if(!(this.isPresent(e1) && this.isPresent(e2)))
+        Node<E> n1 = this.currentElements.get(e1);
+        Node<E> n2 = this.currentElements.get(e2);
+        if(n1 == null || n2 == null)
             throw new IllegalArgumentException("Almeno uno dei due elementi non è presente");
+        Node<E> r1 = this.findRoot(n1);
+        Node<E> r2 = this.findRoot(n2);
         // se i due rappresentanti sono uguali quindi gli elementi fanno parte dello stesso insieme
-        if(findSet(e1) == findSet(e2))
+        if(r1 == r2)
             return;
-        this.link(findSet(e1), findSet(e2)); // chiama un metodo privato di questa classe
+        this.link(r1, r2); // chiama un metodo privato di questa classe
     }
 
-    private void link(E x, E y){
-        Node<E> r1 = this.currentElements.get(x); // prende il nodo del rappresentante 1 nella HashMap
-        Node<E> r2 = this.currentElements.get(y); // prende il nodo del rappresentante 2 nella HashMap
-
+    private void link(Node<E> r1, Node<E> r2){
         // se il primo rappresentante ha rango maggiore
-        if(r1.rank > r2.rank)
+        if(r1.rank > r2.rank){
             r2.parent = r1; // il primo rappresentante diventa il nuovo rappresentante
+            this.currentRepresentatives.remove(r2.item);
+        }
         // se il secondo rappresentante ha rango maggiore
         else{
             r1.parent = r2; // il secondo rappresentante diventa il nuovo rappresentante
+            this.currentRepresentatives.remove(r1.item);
             if(r1.rank == r2.rank) // se hanno ìl rango uguale il
                 r2.rank++; // incremento del rango del secondo rappresentante
         }
+        // scambiando i next delle due radici le due liste circolari diventano una sola
+        Node<E> tmp = r1.next;
+        r1.next = r2.next;
+        r2.next = tmp;
     }
 
     @Override
     public Set<E> getCurrentRepresentatives() {
-        // crea il nuovo set che verrà popolato con i rappresentanti
-        HashSet<E> representatives = new HashSet<>();
-        // per ogni elemento nella HashMap
-        for(E current : this.currentElements.keySet()){
-            representatives.add(this.findSet(current)); // prende il rappresentante e lo aggiunge al set
-        }
-        // ritorna il set popolato con i rappresentanti
-        return representatives;
+        // restituisce una copia dei rappresentanti mantenuti durante le unioni
+        return new HashSet<>(this.currentRepresentatives);
     }
 
     @Override
@@ -178,18 +215,17 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
         // controllo parametro
         if(e == null )
             throw new NullPointerException("Parametro nullo non valido");
-        if(!(this.isPresent(e)))
+        Node<E> aNode = this.currentElements.get(e);
+        if(aNode == null)
             throw new IllegalArgumentException("Elemento non presente");
         // crea il nuovo set che verrà popolato con gli elementi
         HashSet<E> elements = new HashSet<>();
-        E rappresentante = this.findSet(e); // variabile di appoggio al rappresentante dell'elemento passato
-        // scorre in ogni elemento della HashMap
-        for(E current : this.currentElements.keySet()){
-            // se il rappresentante di quell'oggetto è lo stesso dell'oggetto passato
-            if(this.findSet(current) == rappresentante)
-                // aggiunge l'elemento al set
-                elements.add(current);
-        }
+        // percorre la lista circolare dell'insieme fino a tornare al nodo di partenza
+        Node<E> current = aNode;
+        do{
+            elements.add(current.item);
+            current = current.next;
+        } while(current != aNode);
         return elements; // ritorna gli elementi
     }
 
@@ -197,5 +233,6 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
     public void clear() {
         // elimina tutti gli elementi dalla HashMap
         this.currentElements.clear();
+        this.currentRepresentatives.clear();
     }
 }
@@ -0,0 +1,111 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.Random;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Confronta il find-set iterativo di {@code ForestDisjointSets<E>} con la
+ * versione ricorsiva precedente, che a ogni livello cerca l'elemento del padre
+ * nella HashMap. Entrambe le versioni vengono eseguite sulle stesse foreste di
+ * un milione di elementi in due scenari:
+ * <ul>
+ * <li>unioni casuali seguite da un find-set per ogni elemento;</li>
+ * <li>una catena lunga quanto il numero di elementi, costruita direttamente
+ * sui puntatori parent come potrebbe risultare da un ordine di unioni
+ * sfavorevole prima di qualsiasi compressione.</li>
+ * </ul>
+ *
+ * Per ogni scenario e versione viene stampata su standard output una riga in
+ * formato CSV con il tempo minimo in nanosecondi su un certo numero di
+ * ripetizioni, oppure l'errore che ha interrotto l'esecuzione.
+ *
+ * Il main può essere chiamato con il numero di elementi e il numero di
+ * ripetizioni come parametri di linea di comando.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+public class ForestDisjointSetsBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        System.out.println("Scenario,Versione,N,Tns");
+        for (String scenario : new String[] { "unioniCasuali", "catena" }) {
+            for (boolean recursive : new boolean[] { true, false }) {
+                String version = recursive ? "ricorsiva" : "iterativa";
+                long best = Long.MAX_VALUE;
+                String outcome = null;
+                for (int r = 0; r < repetitions && outcome == null; r++) {
+                    // ogni ripetizione parte da una foresta nuova
+                    ForestDisjointSets<Integer> ds = scenario
+                            .equals("unioniCasuali") ? randomUnions(n, r)
+                                    : chain(n);
+                    try {
+                        long start = System.nanoTime();
+                        findAll(ds, n, recursive);
+                        best = Math.min(best, System.nanoTime() - start);
+                    } catch (StackOverflowError e) {
+                        outcome = "StackOverflowError";
+                    }
+                }
+                System.out.println(scenario + "," + version + "," + n + ","
+                        + (outcome == null ? Long.toString(best) : outcome));
+            }
+        }
+    }
+
+    /*
+     * Crea una foresta con n elementi e n / 2 unioni tra coppie casuali
+     */
+    private static ForestDisjointSets<Integer> randomUnions(int n, long seed) {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        Random random = new Random(seed);
+        for (int i = 0; i < n / 2; i++)
+            ds.union(random.nextInt(n), random.nextInt(n));
+        return ds;
+    }
+
+    /*
+     * Crea una foresta con un solo albero a forma di catena: il padre
+     * dell'elemento i è l'elemento i + 1
+     */
+    private static ForestDisjointSets<Integer> chain(int n) {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        for (int i = 0; i < n - 1; i++)
+            ds.currentElements.get(i).parent = ds.currentElements.get(i + 1);
+        return ds;
+    }
+
+    /*
+     * Esegue un find-set per ogni elemento, partendo dall'inizio della catena
+     */
+    private static void findAll(ForestDisjointSets<Integer> ds, int n,
+            boolean recursive) {
+        for (int i = 0; i < n; i++) {
+            if (recursive)
+                recursiveFindSet(ds, i);
+            else
+                ds.findSet(i);
+        }
+    }
+
+    /*
+     * Versione ricorsiva precedente del find-set con compressione del
+     * cammino
+     */
+    private static <E> E recursiveFindSet(ForestDisjointSets<E> ds, E e) {
+        ForestDisjointSets.Node<E> aNode = ds.currentElements.get(e);
+        if (aNode == null)
+            return null;
+        if (aNode != aNode.parent)
+            aNode.parent = ds.currentElements
+                    .get(recursiveFindSet(ds, aNode.parent.item));
+        return aNode.parent.item;
+    }
+}
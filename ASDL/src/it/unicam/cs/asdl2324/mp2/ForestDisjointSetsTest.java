@@ -3,6 +3,7 @@ package it.unicam.cs.asdl2324.mp2;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -649,4 +650,51 @@ class ForestDisjointSetsTest {
         assertTrue(ds.getCurrentRepresentatives().isEmpty());
         assertTrue(ds.currentElements.isEmpty());
     }
+
+    @Test
+    final void testFindSetLongChain() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        int n = 200000;
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        // catena 0 -> 1 -> ... -> n - 1 costruita direttamente sui padri
+        for (int i = 0; i < n - 1; i++)
+            ds.currentElements.get(i).parent = ds.currentElements.get(i + 1);
+        assertEquals(n - 1, ds.findSet(0));
+        // dopo la compressione ogni nodo del cammino punta alla radice
+        for (int i = 0; i < n; i++)
+            assertTrue(ds.currentElements.get(i).parent == ds.currentElements
+                    .get(n - 1));
+    }
+
+    @Test
+    final void testSetListsAndRepresentatives() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        int n = 500;
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        Random random = new Random(3);
+        for (int k = 0; k < 400; k++) {
+            ds.union(random.nextInt(n), random.nextInt(n));
+            if (k % 50 != 0)
+                continue;
+            // confronta con il risultato ottenuto tramite findSet
+            Set<Integer> representatives = new HashSet<Integer>();
+            for (int i = 0; i < n; i++)
+                representatives.add(ds.findSet(i));
+            assertEquals(representatives, ds.getCurrentRepresentatives());
+            for (int i = 0; i < n; i += 37) {
+                Set<Integer> elements = new HashSet<Integer>();
+                for (int j = 0; j < n; j++)
+                    if (ds.findSet(j).equals(ds.findSet(i)))
+                        elements.add(j);
+                assertEquals(elements, ds.getCurrentElementsOfSetContaining(i));
+            }
+        }
+        // la copia restituita non modifica i rappresentanti mantenuti
+        ds.getCurrentRepresentatives().clear();
+        assertFalse(ds.currentRepresentatives.isEmpty());
+        ds.clear();
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+    }
 }
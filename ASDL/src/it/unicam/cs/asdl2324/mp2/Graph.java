@@ -867,6 +867,52 @@ public abstract class Graph<L> {
      */
     public abstract Set<GraphEdge<L>> getEdgesOf(int i);
 
+    /**
+     * Esegue un'operazione su tutti i nodi adiacenti al nodo con indice dato,
+     * passando l'indice del nodo adiacente e il peso dell'arco che li collega.
+     * Nel caso di grafo orientato vengono considerati solo gli archi uscenti.
+     * A differenza di {@code getAdjacentNodesOf(int)} e
+     * {@code getEdgesOf(int)} questo metodo è pensato per i cicli interni
+     * degli algoritmi e le implementazioni lo ridefiniscono in modo da non
+     * creare nessuna collezione.
+     * 
+     * In questa classe il metodo è realizzato tramite
+     * {@code getEdgesOf(int)} e {@code getNodeIndexOf(GraphNode<L>)}.
+     * 
+     * Questa operazione è opzionale.
+     * 
+     * @param i
+     *                   l'indice del nodo di cui scorrere i nodi adiacenti
+     * @param action
+     *                   l'operazione da eseguire su ogni nodo adiacente
+     * 
+     * @throws NullPointerException
+     *                                           se l'operazione passata è
+     *                                           null
+     * @throws IndexOutOfBoundsException
+     *                                           se l'indice passato non
+     *                                           corrisponde a nessun nodo o è
+     *                                           fuori dai limiti
+     *                                           dell'intervallo
+     *                                           <code>[0, this.nodeCount() - 1]</code>
+     * @throws UnsupportedOperationException
+     *                                           se questa operazione non è
+     *                                           supportata dall'implementazione
+     *                                           di questo grafo
+     */
+    public void forEachNeighbor(int i, IntDoubleConsumer action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di scorrere i nodi adiacenti con un'operazione null");
+        GraphNode<L> n = this.getNode(i);
+        for (GraphEdge<L> e : this.getEdgesOf(i)) {
+            // nel caso non orientato il nodo può essere uno qualsiasi dei due
+            GraphNode<L> other = e.getNode1().equals(n) ? e.getNode2()
+                    : e.getNode1();
+            action.accept(this.getNodeIndexOf(other), e.getWeight());
+        }
+    }
+
     /**
      * Restituisce l'insieme di tutti gli archi entranti in un certo nodo in un
      * grafo orientato.
@@ -943,8 +989,24 @@ public abstract class Graph<L> {
     /**
      * Restituisce l'insieme di tutti gli archi in questo grafo.
      * 
-     * @return un insieme, possibilmente vuoto, contenente tutti gli archi di
-     *         questo grafo
+     * L'insieme restituito è una vista non modificabile degli archi del
+     * grafo: riflette le modifiche successive del grafo senza bisogno di
+     * richiamare il metodo e i tentativi di modificarlo lanciano
+     * {@code UnsupportedOperationException}. Il grafo non deve essere
+     * modificato mentre si scorre la vista, altrimenti il comportamento
+     * dell'iteratore non è specificato (può lanciare
+     * {@code ConcurrentModificationException}); chi deve modificare il grafo
+     * scorrendo i suoi archi, o vuole conservarli, deve prima copiare la
+     * vista.
+     * 
+     * Le implementazioni che memorizzano gli archi come oggetti restituiscono
+     * gli archi memorizzati, quelle che non lo fanno creano archi nuovi ad
+     * ogni iterazione e in quel caso la modifica del peso di un arco
+     * restituito non ha effetto sul grafo; ogni implementazione documenta
+     * quale dei due casi si applica.
+     * 
+     * @return una vista non modificabile, possibilmente vuota, di tutti gli
+     *         archi di questo grafo
      */
     public abstract Set<GraphEdge<L>> getEdges();
 
@@ -1049,4 +1111,17 @@ public abstract class Graph<L> {
             return this.getEdgesOf(n).size() + this.getIngoingEdgesOf(n).size();
     }
 
+    /**
+     * Crea un'istantanea immutabile di questo grafo nel formato Compressed
+     * Sparse Row. L'istantanea permette di scorrere i nodi adiacenti tramite
+     * indici interi senza creare insiemi ed è adatta agli algoritmi che
+     * leggono soltanto il grafo. Le modifiche successive a questo grafo non si
+     * riflettono sull'istantanea.
+     * 
+     * @return l'istantanea CSR di questo grafo
+     */
+    public CompressedSparseRowGraph<L> freeze() {
+        return new CompressedSparseRowGraph<>(this);
+    }
+
 }
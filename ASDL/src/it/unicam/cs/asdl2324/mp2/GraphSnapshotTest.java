@@ -0,0 +1,248 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe GraphSnapshot.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class GraphSnapshotTest {
+
+    /*
+     * Controlla che i due grafi abbiano gli stessi nodi con gli stessi indici
+     * e gli stessi archi con gli stessi pesi
+     */
+    private <L> void assertSameGraph(Graph<L> expected, Graph<L> actual) {
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int i = 0; i < expected.nodeCount(); i++) {
+            assertEquals(expected.getNode(i), actual.getNode(i));
+            for (int j = i; j < expected.nodeCount(); j++) {
+                GraphEdge<L> e = expected.getEdge(i, j);
+                GraphEdge<L> a = actual.getEdge(i, j);
+                if (e == null) {
+                    assertNull(a);
+                    continue;
+                }
+                assertEquals(e, a);
+                assertEquals(e.hasWeight(), a.hasWeight());
+                if (e.hasWeight())
+                    assertEquals(e.getWeight(), a.getWeight());
+            }
+        }
+    }
+
+    /*
+     * Costruisce i byte di un'istantanea con le righe di adiacenza date, così
+     * come sono, e una somma di controllo valida
+     */
+    private byte[] snapshot(String[] labels, int[][] rows, double[][] weights) {
+        int entries = 0;
+        int labelBytes = 0;
+        for (int i = 0; i < labels.length; i++) {
+            entries += rows[i].length;
+            labelBytes += 4 + labels[i].getBytes(StandardCharsets.UTF_8).length;
+        }
+        ByteBuffer b = ByteBuffer.allocate(GraphSnapshot.HEADER_BYTES
+                + labelBytes + 4 * labels.length + 12 * entries
+                + GraphSnapshot.CHECKSUM_BYTES);
+        b.putInt(GraphSnapshot.MAGIC).putInt(GraphSnapshot.VERSION)
+                .putInt(labels.length).putLong(entries).putLong(labelBytes);
+        for (String label : labels) {
+            byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+            b.putInt(bytes.length).put(bytes);
+        }
+        for (int[] row : rows)
+            b.putInt(row.length);
+        for (int[] row : rows)
+            for (int j : row)
+                b.putInt(j);
+        for (double[] row : weights)
+            for (double w : row)
+                b.putDouble(w);
+        CRC32 crc = new CRC32();
+        crc.update(b.array(), 0, b.position());
+        b.putInt((int) crc.getValue());
+        return b.array();
+    }
+
+    @Test
+    final void testWriteAndLoad() throws IOException {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("città");
+        g.addNode("b");
+        g.addNode("");
+        g.addNode("d");
+        g.addWeightedEdge("città", "b", 2.5);
+        g.addEdge("b", "");
+        g.addWeightedEdge("", "", 4.0);
+        g.addWeightedEdge("città", "d", -1.0);
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            GraphSnapshot.write(g, LabelCodec.strings(), file);
+            this.assertSameGraph(g, GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            this.assertSameGraph(g, GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    c -> new AdjacencyMatrixUndirectedGraph<String>(false, c)));
+            // grafo vuoto
+            g.clear();
+            GraphSnapshot.write(g, LabelCodec.strings(), file);
+            assertTrue(GraphSnapshot.load(file, LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new).isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testRandomGraph() throws IOException {
+        Random random = new Random(43);
+        int n = 120;
+        Graph<Integer> g = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>(
+                n);
+        // etichette diverse dagli indici
+        for (int i = 0; i < n; i++)
+            g.addNode(1000 - 7 * i);
+        // abbastanza archi da richiedere più scritture del buffer
+        for (int k = 0; k < 5000; k++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            if (k % 5 == 0)
+                g.addEdge(i, j);
+            else
+                g.addWeightedEdge(i, j, random.nextDouble());
+        }
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            GraphSnapshot.write(g, LabelCodec.integers(), file);
+            Graph<Integer> loaded = GraphSnapshot.load(file,
+                    LabelCodec.integers(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new);
+            this.assertSameGraph(g, loaded);
+            assertEquals(g.getEdges(), loaded.getEdges());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testExceptions() throws IOException {
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+            g.addNode("a");
+            g.addNode("b");
+            g.addEdge("a", "b");
+            assertThrows(NullPointerException.class,
+                    () -> GraphSnapshot.write(null, LabelCodec.strings(), file));
+            assertThrows(NullPointerException.class,
+                    () -> GraphSnapshot.write(g, null, file));
+            assertThrows(NullPointerException.class, () -> GraphSnapshot
+                    .load(file, LabelCodec.strings(), null));
+            GraphSnapshot.write(g, LabelCodec.strings(), file);
+            // il grafo creato deve essere vuoto
+            assertThrows(IllegalArgumentException.class,
+                    () -> GraphSnapshot.load(file, LabelCodec.strings(), c -> {
+                        Graph<String> h = new AdjacencyMatrixUndirectedGraph<String>();
+                        h.addNode("x");
+                        return h;
+                    }));
+            byte[] bytes = Files.readAllBytes(file);
+            // un byte modificato viene rilevato dalla somma di controllo
+            for (int p = 0; p < bytes.length; p += 5) {
+                byte[] wrong = bytes.clone();
+                wrong[p] ^= 0x10;
+                Files.write(file, wrong);
+                assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                        LabelCodec.strings(),
+                        PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            }
+            // file troncato
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            Files.write(file, new byte[3]);
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    final void testAsymmetricRows() throws IOException {
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            String[] labels = { "a", "b", "c", "d" };
+            double nan = Double.NaN;
+            // righe corrette, con un cappio: il file di prova è ben formato
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1, 0 }, { 0 }, {}, {} },
+                    new double[][] { { 2.0, nan }, { 2.0 }, {}, {} }));
+            Graph<String> g = GraphSnapshot.load(file, LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new);
+            assertEquals(2, g.edgeCount());
+            assertEquals(2.0, g.getEdge(1, 0).getWeight());
+            // archi presenti da un solo lato, in numero bilanciato
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1 }, {}, {}, { 2 } },
+                    new double[][] { { nan }, {}, {}, { nan } }));
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            // arco ripetuto in entrambe le righe
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1, 1 }, { 0, 0 }, {}, {} },
+                    new double[][] { { nan, nan }, { nan, nan }, {}, {} }));
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            // arco ripetuto da un lato solo, bilanciato da un altro arco
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1, 1 }, { 0 }, { 3 }, {} },
+                    new double[][] { { nan, nan }, { nan }, { nan }, {} }));
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            // cappio ripetuto
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 0, 0 }, {}, {}, {} },
+                    new double[][] { { nan, nan }, {}, {}, {} }));
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            // pesi diversi nelle due direzioni, anche pesato da un lato solo
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1 }, { 0 }, {}, {} },
+                    new double[][] { { 1.0 }, { 2.0 }, {}, {} }));
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+            Files.write(file, this.snapshot(labels,
+                    new int[][] { { 1 }, { 0 }, {}, {} },
+                    new double[][] { { nan }, { 2.0 }, {}, {} }));
+            assertThrows(IOException.class, () -> GraphSnapshot.load(file,
+                    LabelCodec.strings(),
+                    PrimitiveAdjacencyMatrixUndirectedGraph::new));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ *
+ * Classe che mantiene un albero (o una foresta) di copertura minimo di un
+ * grafo non orientato, pesato e con pesi non negativi mentre al grafo vengono
+ * aggiunti nodi e archi o vengono diminuiti i pesi degli archi, senza
+ * ricalcolarlo da capo con {@code KruskalMST<L>}.
+ *
+ * Ogni aggiornamento applica la regola del massimo sul ciclo: se il nuovo arco
+ * collega due alberi diversi della foresta viene aggiunto, altrimenti chiude
+ * un ciclo con il cammino che collega i suoi estremi nell'albero e, se è più
+ * leggero dell'arco più pesante di quel cammino, lo sostituisce. Il cammino
+ * viene cercato visitando solo gli archi dell'albero, quindi ogni
+ * aggiornamento costa O(n) nel caso peggiore, indipendentemente dal numero
+ * di archi del grafo. Il peso totale e l'insieme degli archi dell'albero sono
+ * mantenuti a ogni aggiornamento e restituiti in tempo costante.
+ *
+ * Gli archi che non fanno parte dell'albero non vengono memorizzati: per
+ * questo non è possibile rimuovere archi o aumentarne il peso.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class IncrementalMST<L> {
+
+    /*
+     * Archi dell'albero uscenti da ogni nodo, indicizzati con il nodo
+     * adiacente. Contiene una chiave per ogni nodo, anche isolato.
+     */
+    private final Map<GraphNode<L>, Map<GraphNode<L>, GraphEdge<L>>> tree;
+
+    /*
+     * Archi correnti dell'albero
+     */
+    private final Set<GraphEdge<L>> edges;
+
+    /*
+     * Peso totale corrente dell'albero
+     */
+    private double weight;
+
+    /**
+     * Crea un albero di copertura minimo di un grafo senza nodi.
+     */
+    public IncrementalMST() {
+        this.tree = new HashMap<>();
+        this.edges = new HashSet<>();
+        this.weight = 0;
+    }
+
+    /**
+     * Crea l'albero di copertura minimo di un grafo, calcolato con
+     * {@code KruskalMST<L>}. Gli aggiornamenti successivi non modificano il
+     * grafo passato.
+     *
+     * @param g un grafo non orientato, pesato, con pesi non negativi
+     * @throw NullPointerException se il grafo g è null
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     * con pesi negativi
+     */
+    public IncrementalMST(Graph<L> g) {
+        this();
+        Set<GraphEdge<L>> mst = new KruskalMST<L>().computeMSP(g);
+        for (GraphNode<L> currentNode : g.getNodes())
+            this.tree.put(currentNode, new HashMap<>());
+        for (GraphEdge<L> currentEdge : mst)
+            this.link(currentEdge);
+    }
+
+    /**
+     * Restituisce il peso totale corrente dell'albero di copertura minimo.
+     *
+     * @return la somma dei pesi degli archi dell'albero
+     */
+    public double getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * Restituisce gli archi correnti dell'albero di copertura minimo.
+     *
+     * @return una vista non modificabile dell'insieme degli archi
+     *         dell'albero, che riflette gli aggiornamenti successivi
+     */
+    public Set<GraphEdge<L>> getEdges() {
+        return Collections.unmodifiableSet(this.edges);
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo di cui si mantiene l'albero.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return this.tree.size();
+    }
+
+    /**
+     * Aggiunge un nodo isolato al grafo di cui si mantiene l'albero.
+     *
+     * @param node il nodo da aggiungere
+     * @return true se il nodo è stato aggiunto, false se era già presente
+     * @throw NullPointerException se il nodo è null
+     */
+    public boolean addNode(GraphNode<L> node) {
+        if(node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(this.tree.containsKey(node))
+            return false;
+        this.tree.put(node, new HashMap<>());
+        return true;
+    }
+
+    /**
+     * Aggiunge un arco al grafo di cui si mantiene l'albero e aggiorna
+     * l'albero. I nodi dell'arco non ancora presenti vengono aggiunti. Se
+     * l'arco fa già parte dell'albero l'operazione equivale a
+     * {@code decreaseWeight(edge, edge.getWeight())}.
+     *
+     * @param edge l'arco da aggiungere, non orientato e con peso non negativo
+     * @return true se l'albero è cambiato, false altrimenti
+     * @throw NullPointerException se l'arco è null
+     * @throw IllegalArgumentException se l'arco è orientato, non pesato o con
+     * peso negativo, oppure se fa già parte dell'albero con un peso minore
+     */
+    public boolean addEdge(GraphEdge<L> edge) {
+        // controllo parametro
+        if(edge == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(edge.isDirected())
+            throw new IllegalArgumentException("Arco orientato non valido");
+        if(!(edge.hasWeight()) || edge.getWeight() < 0)
+            throw new IllegalArgumentException("Arco con peso non valido");
+        this.addNode(edge.getNode1());
+        this.addNode(edge.getNode2());
+        return this.insert(edge.getNode1(), edge.getNode2(), edge, edge.getWeight());
+    }
+
+    /**
+     * Diminuisce il peso di un arco del grafo di cui si mantiene l'albero e
+     * aggiorna l'albero. Se l'arco fa parte dell'albero viene solo aggiornato
+     * il suo peso, altrimenti viene trattato come un arco appena inserito con
+     * il nuovo peso. Gli archi dell'albero sono sostituiti da copie con il
+     * nuovo peso: l'arco passato non viene modificato.
+     *
+     * @param edge l'arco di cui diminuire il peso
+     * @param newWeight il nuovo peso, non negativo
+     * @return true se l'albero è cambiato, false altrimenti
+     * @throw NullPointerException se l'arco è null
+     * @throw IllegalArgumentException se l'arco è orientato, se il nuovo peso
+     * non è valido oppure se l'arco fa parte dell'albero con un peso minore
+     * del nuovo
+     */
+    public boolean decreaseWeight(GraphEdge<L> edge, double newWeight) {
+        // controllo parametri
+        if(edge == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(edge.isDirected())
+            throw new IllegalArgumentException("Arco orientato non valido");
+        if(Double.isNaN(newWeight) || newWeight < 0)
+            throw new IllegalArgumentException("Peso non valido: " + newWeight);
+        this.addNode(edge.getNode1());
+        this.addNode(edge.getNode2());
+        return this.insert(edge.getNode1(), edge.getNode2(), null, newWeight);
+    }
+
+    /*
+     * Aggiorna l'albero con l'arco {u, v} di peso w. Se edge è null, o se il
+     * suo peso è diverso da w, nell'albero viene inserita una copia con peso w.
+     */
+    private boolean insert(GraphNode<L> u, GraphNode<L> v, GraphEdge<L> edge, double w) {
+        // un cappio non fa mai parte di un albero
+        if(u.equals(v))
+            return false;
+        GraphEdge<L> current = this.tree.get(u).get(v);
+        if(current != null){
+            // l'arco fa già parte dell'albero: basta aggiornarne il peso
+            if(w > current.getWeight())
+                throw new IllegalArgumentException("Aumento del peso di un arco dell'albero non supportato");
+            if(w == current.getWeight())
+                return false;
+            this.cut(current);
+            this.link(this.withWeight(u, v, edge, w));
+            return true;
+        }
+        GraphEdge<L> heaviest = this.heaviestOnPath(u, v);
+        if(heaviest == null){
+            // u e v sono in alberi diversi: l'arco li collega
+            this.link(this.withWeight(u, v, edge, w));
+            return true;
+        }
+        // regola del massimo sul ciclo: sostituisce l'arco più pesante se il nuovo è più leggero
+        if(w >= heaviest.getWeight())
+            return false;
+        this.cut(heaviest);
+        this.link(this.withWeight(u, v, edge, w));
+        return true;
+    }
+
+    /*
+     * Cerca il cammino da u a v nell'albero con una visita in profondità
+     * iterativa e restituisce l'arco più pesante del cammino, oppure null se
+     * u e v sono in alberi diversi
+     */
+    private GraphEdge<L> heaviestOnPath(GraphNode<L> u, GraphNode<L> v) {
+        // arco con cui ogni nodo visitato è stato raggiunto
+        Map<GraphNode<L>, GraphEdge<L>> reachedBy = new HashMap<>();
+        reachedBy.put(u, null);
+        Deque<GraphNode<L>> stack = new ArrayDeque<>();
+        stack.push(u);
+        while(!stack.isEmpty() && !reachedBy.containsKey(v)){
+            GraphNode<L> x = stack.pop();
+            for(Map.Entry<GraphNode<L>, GraphEdge<L>> entry : this.tree.get(x).entrySet()){
+                if(!reachedBy.containsKey(entry.getKey())){
+                    reachedBy.put(entry.getKey(), entry.getValue());
+                    stack.push(entry.getKey());
+                }
+            }
+        }
+        if(!reachedBy.containsKey(v))
+            return null;
+        // risale il cammino da v a u cercando l'arco più pesante
+        GraphEdge<L> heaviest = null;
+        GraphNode<L> x = v;
+        while(!x.equals(u)){
+            GraphEdge<L> e = reachedBy.get(x);
+            if(heaviest == null || e.getWeight() > heaviest.getWeight())
+                heaviest = e;
+            x = e.getNode1().equals(x) ? e.getNode2() : e.getNode1();
+        }
+        return heaviest;
+    }
+
+    /*
+     * Restituisce edge se ha già peso w, altrimenti un nuovo arco non
+     * orientato tra u e v con peso w
+     */
+    private GraphEdge<L> withWeight(GraphNode<L> u, GraphNode<L> v, GraphEdge<L> edge, double w) {
+        if(edge != null && edge.getWeight() == w)
+            return edge;
+        return new GraphEdge<>(u, v, false, w);
+    }
+
+    /*
+     * Aggiunge un arco all'albero
+     */
+    private void link(GraphEdge<L> e) {
+        this.tree.get(e.getNode1()).put(e.getNode2(), e);
+        this.tree.get(e.getNode2()).put(e.getNode1(), e);
+        this.edges.add(e);
+        this.weight += e.getWeight();
+    }
+
+    /*
+     * Rimuove un arco dall'albero
+     */
+    private void cut(GraphEdge<L> e) {
+        this.tree.get(e.getNode1()).remove(e.getNode2());
+        this.tree.get(e.getNode2()).remove(e.getNode1());
+        this.edges.remove(e);
+        this.weight -= e.getWeight();
+    }
+}
@@ -0,0 +1,159 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe IncrementalMST.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class IncrementalMSTTest {
+
+    private double totalWeight(Set<GraphEdge<String>> edges) {
+        double sum = 0;
+        for (GraphEdge<String> e : edges)
+            sum += e.getWeight();
+        return sum;
+    }
+
+    @Test
+    final void testIncrementalMST() {
+        IncrementalMST<String> mst = new IncrementalMST<String>();
+        assertEquals(0, mst.nodeCount());
+        assertEquals(0, mst.getWeight());
+        assertTrue(mst.getEdges().isEmpty());
+        assertThrows(NullPointerException.class,
+                () -> new IncrementalMST<String>(null));
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addNode("c");
+        gr.addWeightedEdge("a", "b", 3);
+        gr.addWeightedEdge("b", "c", 1);
+        gr.addWeightedEdge("a", "c", 2);
+        IncrementalMST<String> fromGraph = new IncrementalMST<String>(gr);
+        assertEquals(3, fromGraph.nodeCount());
+        assertEquals(3, fromGraph.getWeight());
+        assertEquals(new KruskalMST<String>().computeMSP(gr),
+                fromGraph.getEdges());
+        assertThrows(UnsupportedOperationException.class,
+                () -> fromGraph.getEdges().clear());
+    }
+
+    @Test
+    final void testAddEdge() {
+        IncrementalMST<String> mst = new IncrementalMST<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphNode<String> d = new GraphNode<String>("d");
+        assertThrows(NullPointerException.class, () -> mst.addEdge(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> mst.addEdge(new GraphEdge<String>(a, b, true, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> mst.addEdge(new GraphEdge<String>(a, b, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> mst.addEdge(new GraphEdge<String>(a, b, false, -1)));
+        assertTrue(mst.addNode(d));
+        assertFalse(mst.addNode(d));
+        // i nodi degli archi vengono aggiunti
+        assertTrue(mst.addEdge(new GraphEdge<String>(a, b, false, 5)));
+        assertTrue(mst.addEdge(new GraphEdge<String>(b, c, false, 4)));
+        assertEquals(4, mst.nodeCount());
+        assertEquals(9, mst.getWeight());
+        // chiude un ciclo più pesante: l'albero non cambia
+        assertFalse(mst.addEdge(new GraphEdge<String>(a, c, false, 6)));
+        // chiude un ciclo più leggero: sostituisce l'arco a-b
+        assertTrue(mst.addEdge(new GraphEdge<String>(a, c, false, 1)));
+        assertEquals(5, mst.getWeight());
+        assertFalse(mst.getEdges().contains(new GraphEdge<String>(a, b, false)));
+        assertTrue(mst.getEdges().contains(new GraphEdge<String>(c, a, false)));
+        // un cappio non fa mai parte dell'albero
+        assertFalse(mst.addEdge(new GraphEdge<String>(d, d, false, 0)));
+        assertTrue(mst.addEdge(new GraphEdge<String>(d, a, false, 7)));
+        assertEquals(3, mst.getEdges().size());
+        assertEquals(12, mst.getWeight());
+    }
+
+    @Test
+    final void testDecreaseWeight() {
+        IncrementalMST<String> mst = new IncrementalMST<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphEdge<String> ab = new GraphEdge<String>(a, b, false, 5);
+        mst.addEdge(ab);
+        mst.addEdge(new GraphEdge<String>(b, c, false, 4));
+        assertThrows(NullPointerException.class,
+                () -> mst.decreaseWeight(null, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> mst.decreaseWeight(ab, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> mst.decreaseWeight(ab, Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> mst.decreaseWeight(ab, 8));
+        // arco dell'albero: cambia solo il peso, l'arco passato non viene modificato
+        assertTrue(mst.decreaseWeight(ab, 2));
+        assertEquals(6, mst.getWeight());
+        assertEquals(5, ab.getWeight());
+        assertFalse(mst.decreaseWeight(ab, 2));
+        // arco fuori dall'albero: si comporta come un inserimento
+        GraphEdge<String> ac = new GraphEdge<String>(a, c, false, 9);
+        assertFalse(mst.addEdge(ac));
+        assertTrue(mst.decreaseWeight(ac, 3));
+        assertEquals(5, mst.getWeight());
+        assertTrue(mst.getEdges().contains(ac));
+    }
+
+    @Test
+    final void testRandomStream() {
+        // confronta ogni aggiornamento con il ricalcolo da capo di Kruskal
+        Random random = new Random(23);
+        int n = 40;
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        IncrementalMST<String> mst = new IncrementalMST<String>();
+        for (int i = 0; i < n; i++) {
+            gr.addNode("n" + i);
+            mst.addNode(new GraphNode<String>("n" + i));
+        }
+        List<GraphEdge<String>> inserted = new ArrayList<GraphEdge<String>>();
+        KruskalMST<String> kruskal = new KruskalMST<String>();
+        for (int k = 0; k < 300; k++) {
+            if (k % 3 == 2 && !inserted.isEmpty()) {
+                // diminuisce il peso di un arco già inserito
+                GraphEdge<String> e = inserted
+                        .get(random.nextInt(inserted.size()));
+                GraphEdge<String> inGraph = gr.getEdge(e.getNode1(),
+                        e.getNode2());
+                double w = inGraph.getWeight() * random.nextDouble();
+                gr.removeEdge(inGraph);
+                gr.addEdge(new GraphEdge<String>(e.getNode1(), e.getNode2(),
+                        false, w));
+                mst.decreaseWeight(e, w);
+            } else {
+                GraphNode<String> u = new GraphNode<String>(
+                        "n" + random.nextInt(n));
+                GraphNode<String> v = new GraphNode<String>(
+                        "n" + random.nextInt(n));
+                if (u.equals(v) || gr.getEdge(u, v) != null)
+                    continue;
+                GraphEdge<String> e = new GraphEdge<String>(u, v, false,
+                        random.nextInt(1000));
+                gr.addEdge(e);
+                inserted.add(e);
+                mst.addEdge(e);
+            }
+            double expected = this.totalWeight(kruskal.computeMSP(gr));
+            assertEquals(expected, mst.getWeight(), 1e-6);
+            assertEquals(expected, this.totalWeight(mst.getEdges()), 1e-6);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Adattatore che permette di usare una {@code IntDisjointSets} come collezione
+ * di insiemi disgiunti di nodi di un grafo. Ogni nodo viene tradotto nel
+ * proprio indice con {@code Graph.getNodeIndexOf(GraphNode<L>)} e ogni
+ * rappresentante viene ritradotto in nodo con {@code Graph.getNode(int)},
+ * quindi ogni operazione costa una sola ricerca nella struttura del grafo
+ * invece di una per ogni livello dell'albero come in
+ * {@code ForestDisjointSets<E>}.
+ *
+ * Il grafo deve supportare le operazioni con indici e non deve essere
+ * modificato mentre l'adattatore è in uso, perché gli indici dei nodi
+ * potrebbero cambiare. Possono essere inseriti solo nodi del grafo.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class IndexedNodeDisjointSets<L> implements DisjointSets<GraphNode<L>> {
+
+    private final Graph<L> graph;
+
+    /*
+     * Insiemi disgiunti sugli indici dei nodi. Protected unicamente per
+     * permettere i test JUnit.
+     */
+    protected final IntDisjointSets sets;
+
+    /*
+     * Indica per ogni indice se il nodo corrispondente è stato inserito con
+     * makeSet
+     */
+    private final boolean[] present;
+
+    /**
+     * Crea una collezione vuota di insiemi disgiunti dei nodi di un grafo.
+     *
+     * @param graph
+     *                  il grafo i cui nodi verranno inseriti
+     * @throws NullPointerException
+     *                                  se il grafo passato è null
+     */
+    public IndexedNodeDisjointSets(Graph<L> graph) {
+        if (graph == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        this.graph = graph;
+        this.sets = new IntDisjointSets(graph.nodeCount());
+        this.present = new boolean[graph.nodeCount()];
+    }
+
+    @Override
+    public boolean isPresent(GraphNode<L> e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        int i = this.lookup(e);
+        return i != -1 && this.present[i];
+    }
+
+    @Override
+    public void makeSet(GraphNode<L> e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        int i = this.indexOf(e);
+        if (this.present[i])
+            throw new IllegalArgumentException("Elemento già presente");
+        this.present[i] = true;
+    }
+
+    @Override
+    public GraphNode<L> findSet(GraphNode<L> e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        int i = this.lookup(e);
+        if (i == -1 || !this.present[i])
+            return null;
+        return this.graph.getNode(this.sets.findSet(i));
+    }
+
+    @Override
+    public void union(GraphNode<L> e1, GraphNode<L> e2) {
+        if (e1 == null || e2 == null)
+            throw new NullPointerException("Parametri nulli non validi");
+        int i = this.lookup(e1);
+        int j = this.lookup(e2);
+        if (i == -1 || j == -1 || !(this.present[i] && this.present[j]))
+            throw new IllegalArgumentException(
+                    "Almeno uno dei due elementi non è presente");
+        this.sets.union(i, j);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getCurrentRepresentatives() {
+        HashSet<GraphNode<L>> representatives = new HashSet<>();
+        for (int i = 0; i < this.present.length; i++)
+            if (this.present[i])
+                representatives.add(this.graph.getNode(this.sets.findSet(i)));
+        return representatives;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getCurrentElementsOfSetContaining(
+            GraphNode<L> e) {
+        if (e == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if (!this.isPresent(e))
+            throw new IllegalArgumentException("Elemento non presente");
+        int representative = this.sets.findSet(this.indexOf(e));
+        HashSet<GraphNode<L>> elements = new HashSet<>();
+        for (int i = 0; i < this.present.length; i++)
+            if (this.present[i] && this.sets.findSet(i) == representative)
+                elements.add(this.graph.getNode(i));
+        return elements;
+    }
+
+    @Override
+    public void clear() {
+        this.sets.clear();
+        Arrays.fill(this.present, false);
+    }
+
+    /*
+     * Traduce un nodo nel proprio indice, restituisce -1 se il nodo non
+     * appartiene al grafo
+     */
+    private int lookup(GraphNode<L> e) {
+        if (this.graph.getNode(e) == null)
+            return -1;
+        return this.indexOf(e);
+    }
+
+    /*
+     * Traduce un nodo nel proprio indice, controllando che l'indice rientri
+     * tra quelli noti alla creazione dell'adattatore
+     */
+    private int indexOf(GraphNode<L> e) {
+        int i = this.graph.getNodeIndexOf(e);
+        if (i >= this.present.length)
+            throw new IllegalStateException(
+                    "Il grafo è stato modificato dopo la creazione degli insiemi disgiunti");
+        return i;
+    }
+}
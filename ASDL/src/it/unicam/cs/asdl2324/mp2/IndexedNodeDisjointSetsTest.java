@@ -0,0 +1,100 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IndexedNodeDisjointSets.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class IndexedNodeDisjointSetsTest {
+
+    private Graph<String> createGraph() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        return g;
+    }
+
+    @Test
+    final void testIndexedNodeDisjointSets() {
+        assertThrows(NullPointerException.class,
+                () -> new IndexedNodeDisjointSets<String>(null));
+        IndexedNodeDisjointSets<String> ds = new IndexedNodeDisjointSets<String>(
+                this.createGraph());
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        assertEquals(4, ds.sets.capacity());
+    }
+
+    @Test
+    final void testMakeSetAndIsPresent() {
+        Graph<String> g = this.createGraph();
+        IndexedNodeDisjointSets<String> ds = new IndexedNodeDisjointSets<String>(
+                g);
+        GraphNode<String> a = new GraphNode<String>("a");
+        assertFalse(ds.isPresent(a));
+        ds.makeSet(a);
+        assertTrue(ds.isPresent(a));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(a));
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        assertThrows(NullPointerException.class, () -> ds.isPresent(null));
+        // un nodo che non appartiene al grafo non è mai presente
+        GraphNode<String> x = new GraphNode<String>("x");
+        assertFalse(ds.isPresent(x));
+        assertNull(ds.findSet(x));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(x));
+        assertNull(ds.findSet(new GraphNode<String>("b")));
+    }
+
+    @Test
+    final void testUnionAndFindSet() {
+        Graph<String> g = this.createGraph();
+        IndexedNodeDisjointSets<String> ds = new IndexedNodeDisjointSets<String>(
+                g);
+        for (GraphNode<String> n : g.getNodes())
+            ds.makeSet(n);
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphNode<String> d = new GraphNode<String>("d");
+        assertThrows(NullPointerException.class, () -> ds.union(a, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.union(a, new GraphNode<String>("x")));
+        ds.union(a, b);
+        // a parità di rango il rappresentante è quello del secondo elemento
+        assertEquals(b, ds.findSet(a));
+        ds.union(c, a);
+        assertEquals(b, ds.findSet(c));
+        assertEquals(d, ds.findSet(d));
+        Set<GraphNode<String>> representatives = new HashSet<GraphNode<String>>();
+        representatives.add(b);
+        representatives.add(d);
+        assertEquals(representatives, ds.getCurrentRepresentatives());
+        Set<GraphNode<String>> elements = new HashSet<GraphNode<String>>();
+        elements.add(a);
+        elements.add(b);
+        elements.add(c);
+        assertEquals(elements, ds.getCurrentElementsOfSetContaining(c));
+        ds.clear();
+        assertFalse(ds.isPresent(a));
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+    }
+
+    @Test
+    final void testGraphModified() {
+        Graph<String> g = this.createGraph();
+        IndexedNodeDisjointSets<String> ds = new IndexedNodeDisjointSets<String>(
+                g);
+        g.addNode("e");
+        assertThrows(IllegalStateException.class,
+                () -> ds.makeSet(new GraphNode<String>("e")));
+    }
+}
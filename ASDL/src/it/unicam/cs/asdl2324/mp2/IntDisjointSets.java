@@ -0,0 +1,168 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.Arrays;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Collezione di insiemi disgiunti sugli interi {@code 0, ..., capacity - 1}
+ * rappresentati da una foresta memorizzata in array di tipi primitivi: per
+ * ogni elemento l'array {@code parent} contiene l'indice del padre e l'array
+ * {@code rank} il rango. Non vengono usati né mappe né oggetti nodo, quindi è
+ * adatta quando gli elementi sono già identificati da indici densi, come i
+ * nodi di un grafo che supporta le operazioni con indici.
+ *
+ * Alla creazione, e dopo {@code clear()}, ogni elemento forma un insieme
+ * singoletto. Il find-set realizza l'euristica "dimezzamento del cammino" in
+ * modo iterativo (ogni nodo visitato viene collegato al nonno), l'unione
+ * realizza l'euristica "unione per rango" con la stessa regola di
+ * {@code ForestDisjointSets<E>}: a parità di rango il rappresentante
+ * dell'unione è quello dell'insieme del secondo elemento.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ */
+public class IntDisjointSets {
+
+    /*
+     * Padre di ogni elemento, la radice di ogni albero ha come padre se
+     * stessa. Protected unicamente per permettere i test JUnit.
+     */
+    protected final int[] parent;
+
+    /*
+     * Rango di ogni elemento. Con l'unione per rango l'altezza degli alberi è
+     * al più log2(capacity), quindi un byte è sufficiente.
+     */
+    protected final byte[] rank;
+
+    /*
+     * Numero di insiemi disgiunti correnti
+     */
+    private int setCount;
+
+    /**
+     * Crea una collezione in cui ogni intero tra 0 e capacity - 1 forma un
+     * insieme singoletto.
+     *
+     * @param capacity
+     *                     il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se capacity è negativo
+     */
+    public IntDisjointSets(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException(
+                    "Numero di elementi non valido: " + capacity);
+        this.parent = new int[capacity];
+        this.rank = new byte[capacity];
+        this.clear();
+    }
+
+    /**
+     * Restituisce il numero di elementi gestiti.
+     *
+     * @return il numero di elementi gestiti
+     */
+    public int capacity() {
+        return this.parent.length;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti correnti.
+     *
+     * @return il numero di insiemi disgiunti correnti
+     */
+    public int setCount() {
+        return this.setCount;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto in cui si trova un
+     * elemento, dimezzando il cammino percorso.
+     *
+     * @param x
+     *              l'elemento di cui cercare l'insieme disgiunto
+     * @return il rappresentante dell'insieme disgiunto di x
+     * @throws IndexOutOfBoundsException
+     *                                       se x non è compreso tra 0 e
+     *                                       capacity - 1
+     */
+    public int findSet(int x) {
+        this.checkElement(x);
+        while (this.parent[x] != x) {
+            // collega x al nonno e prosegue da lì
+            this.parent[x] = this.parent[this.parent[x]];
+            x = this.parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto in cui si trova un
+     * elemento senza modificare la foresta. Può essere chiamato da più thread
+     * contemporaneamente, purché nessuno stia eseguendo {@code findSet} o
+     * {@code union}.
+     *
+     * @param x
+     *              l'elemento di cui cercare l'insieme disgiunto
+     * @return il rappresentante dell'insieme disgiunto di x
+     * @throws IndexOutOfBoundsException
+     *                                       se x non è compreso tra 0 e
+     *                                       capacity - 1
+     */
+    public int findRoot(int x) {
+        this.checkElement(x);
+        while (this.parent[x] != x)
+            x = this.parent[x];
+        return x;
+    }
+
+    /**
+     * Unisce gli insiemi disgiunti di cui fanno parte i due elementi passati.
+     *
+     * @param x
+     *              un elemento del primo insieme da unire
+     * @param y
+     *              un elemento del secondo insieme da unire
+     * @return true se gli insiemi sono stati uniti, false se gli elementi
+     *         facevano già parte dello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se x o y non sono compresi tra 0 e
+     *                                       capacity - 1
+     */
+    public boolean union(int x, int y) {
+        int r1 = this.findSet(x);
+        int r2 = this.findSet(y);
+        if (r1 == r2)
+            return false;
+        if (this.rank[r1] > this.rank[r2])
+            this.parent[r2] = r1;
+        else {
+            this.parent[r1] = r2;
+            if (this.rank[r1] == this.rank[r2])
+                this.rank[r2]++;
+        }
+        this.setCount--;
+        return true;
+    }
+
+    /**
+     * Riporta ogni elemento in un insieme singoletto.
+     */
+    public void clear() {
+        for (int i = 0; i < this.parent.length; i++)
+            this.parent[i] = i;
+        Arrays.fill(this.rank, (byte) 0);
+        this.setCount = this.parent.length;
+    }
+
+    /*
+     * Controlla che l'elemento sia compreso tra 0 e capacity - 1
+     */
+    private void checkElement(int x) {
+        if (x < 0 || x >= this.parent.length)
+            throw new IndexOutOfBoundsException(
+                    "Elemento non valido: " + x);
+    }
+}
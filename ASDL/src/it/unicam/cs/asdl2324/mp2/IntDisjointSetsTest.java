@@ -0,0 +1,86 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IntDisjointSets.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+class IntDisjointSetsTest {
+
+    @Test
+    final void testIntDisjointSets() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IntDisjointSets(-1));
+        IntDisjointSets ds = new IntDisjointSets(5);
+        assertEquals(5, ds.capacity());
+        assertEquals(5, ds.setCount());
+        for (int i = 0; i < 5; i++)
+            assertEquals(i, ds.findSet(i));
+        assertEquals(0, new IntDisjointSets(0).setCount());
+    }
+
+    @Test
+    final void testFindSetExceptions() {
+        IntDisjointSets ds = new IntDisjointSets(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findRoot(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.union(0, 3));
+    }
+
+    @Test
+    final void testUnion() {
+        IntDisjointSets ds = new IntDisjointSets(6);
+        assertTrue(ds.union(0, 1));
+        // a parità di rango il rappresentante è quello del secondo elemento
+        assertEquals(1, ds.findSet(0));
+        assertTrue(ds.union(2, 3));
+        assertTrue(ds.union(3, 0));
+        assertFalse(ds.union(2, 1));
+        assertEquals(3, ds.setCount());
+        int r = ds.findSet(0);
+        for (int i = 1; i < 4; i++)
+            assertEquals(r, ds.findSet(i));
+        assertEquals(4, ds.findSet(4));
+        assertNotEquals(r, ds.findSet(5));
+        // il rango cresce solo quando si uniscono alberi di rango uguale
+        assertEquals(2, ds.rank[r]);
+    }
+
+    @Test
+    final void testFindSetPathHalving() {
+        IntDisjointSets ds = new IntDisjointSets(8);
+        // costruisce manualmente la catena 0 -> 1 -> ... -> 7
+        for (int i = 0; i < 7; i++)
+            ds.parent[i] = i + 1;
+        // findRoot non modifica la foresta
+        assertEquals(7, ds.findRoot(0));
+        assertEquals(1, ds.parent[0]);
+        assertEquals(7, ds.findSet(0));
+        // ogni nodo visitato è stato collegato al nonno
+        assertEquals(2, ds.parent[0]);
+        assertEquals(4, ds.parent[2]);
+        assertEquals(6, ds.parent[4]);
+        assertEquals(7, ds.parent[6]);
+    }
+
+    @Test
+    final void testClear() {
+        IntDisjointSets ds = new IntDisjointSets(4);
+        ds.union(0, 1);
+        ds.union(2, 3);
+        ds.union(1, 3);
+        assertEquals(1, ds.setCount());
+        ds.clear();
+        assertEquals(4, ds.setCount());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, ds.findSet(i));
+            assertEquals(0, ds.rank[i]);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package it.unicam.cs.asdl2324.mp2;
+
+/**
+ * Operazione che accetta un indice intero e un valore double e non restituisce
+ * nessun risultato. Viene usata per scorrere i nodi adiacenti a un nodo di un
+ * grafo, identificati dal loro indice, insieme al peso dell'arco che li
+ * collega, senza creare insiemi o oggetti {@code GraphEdge<L>}.
+ * 
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+    /**
+     * Esegue l'operazione sui valori dati.
+     * 
+     * @param index
+     *                   l'indice del nodo adiacente
+     * @param weight
+     *                   il peso dell'arco, Double.NaN se l'arco non è pesato
+     */
+    void accept(int index, double weight);
+
+}
@@ -10,7 +10,9 @@ import java.util.*;
  * Minimum Spanning Tree di un grafo non orientato, pesato e con pesi non
  * negativi. L'algoritmo implementato si avvale della classe
  * {@code ForestDisjointSets<GraphNode<L>>} per gestire una collezione di
- * insiemi disgiunti di nodi del grafo.
+ * insiemi disgiunti di nodi del grafo. In alternativa, se il grafo supporta
+ * le operazioni con indici, può usare una {@code IntDisjointSets} sugli
+ * indici dei nodi tramite l'adattatore {@code IndexedNodeDisjointSets<L>}.
  * 
  * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
  * 
@@ -24,16 +26,48 @@ public class KruskalMST<L> {
      * Struttura dati per rappresentare gli insiemi disgiunti utilizzata
      * dall'algoritmo di Kruskal.
      */
-    private ForestDisjointSets<GraphNode<L>> disjointSets;
+    private DisjointSets<GraphNode<L>> disjointSets;
+
+    /*
+     * Indica se usare gli insiemi disgiunti sugli indici dei nodi
+     */
+    private final boolean indexedSets;
 
     /**
      * Costruisce un calcolatore di un albero di copertura minimo che usa
      * l'algoritmo di Kruskal su un grafo non orientato e pesato.
      */
     public KruskalMST() {
+        this(false);
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Kruskal su un grafo non orientato e pesato, scegliendo la
+     * rappresentazione degli insiemi disgiunti.
+     *
+     * @param indexedSets
+     *                        true per usare una {@code IntDisjointSets} sugli
+     *                        indici dei nodi, che richiede grafi che supportano
+     *                        le operazioni con indici; false per usare una
+     *                        {@code ForestDisjointSets<GraphNode<L>>}
+     */
+    public KruskalMST(boolean indexedSets) {
+        this.indexedSets = indexedSets;
         this.disjointSets = new ForestDisjointSets<>();
     }
 
+    /**
+     * Determina se questo calcolatore usa gli insiemi disgiunti sugli indici
+     * dei nodi.
+     *
+     * @return true se usa una {@code IntDisjointSets}, false se usa una
+     *         {@code ForestDisjointSets<GraphNode<L>>}
+     */
+    public boolean usesIndexedSets() {
+        return this.indexedSets;
+    }
+
     /**
      * Utilizza l'algoritmo goloso di Kruskal per trovare un albero di copertura
      * minimo in un grafo non orientato e pesato, con pesi degli archi non
@@ -46,6 +80,8 @@ public class KruskalMST<L> {
      * @throw NullPointerException se il grafo g è null
      * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
      * con pesi negativi
+     * @throw UnsupportedOperationException se il calcolatore usa gli insiemi
+     * disgiunti sugli indici e il grafo g non supporta le operazioni con indici
      */
     public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
         // controllo parametro
@@ -60,7 +96,11 @@ public class KruskalMST<L> {
         }
 
         // azzera l'oggetto
-        this.disjointSets.clear();
+        if(this.indexedSets)
+            // gli indici vanno letti dal grafo corrente
+            this.disjointSets = new IndexedNodeDisjointSets<>(g);
+        else
+            this.disjointSets.clear();
 
         // per ogni nodo del grafo
         for (GraphNode<L> currentNode : g.getNodes()) {
@@ -89,6 +129,116 @@ public class KruskalMST<L> {
         return a;
     }
 
+    /**
+     * Utilizza l'algoritmo goloso di Kruskal per trovare un albero di copertura
+     * minimo in un'istantanea CSR di un grafo non orientato e pesato, con pesi
+     * degli archi non negativi. Gli archi vengono letti direttamente dagli
+     * array dell'istantanea e gli oggetti {@code GraphEdge<L>} vengono creati
+     * solo per gli archi che fanno parte dell'albero restituito.
+     *
+     * @param g l'istantanea di un grafo non orientato, pesato, con pesi non
+     *          negativi, ottenibile con {@code Graph.freeze()}
+     * @return l'insieme degli archi che costituiscono l'albero di copertura
+     * minimo trovato, uguali (secondo equals) agli archi del grafo di partenza
+     * @throw NullPointerException se l'istantanea g è null
+     * @throw IllegalArgumentException se il grafo g è orientato, non pesato o
+     * con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSPOfSnapshot(CompressedSparseRowGraph<L> g) {
+        // controllo parametro
+        if(g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(g.isDirected())
+            throw new IllegalArgumentException("Grafo orientato non valido");
+
+        // raccoglie ogni arco una sola volta (dalla riga del nodo con indice
+        // minore) memorizzando il nodo di partenza e la posizione nella riga
+        int[] sources = new int[g.edgeCount()];
+        int[] arcs = new int[g.edgeCount()];
+        int count = 0;
+        for(int u = 0; u < g.nodeCount(); u++){
+            for(int k = g.neighborsStart(u); k < g.neighborsEnd(u); k++){
+                double w = g.weightAt(k);
+                // controlla se l'arco rispetta le regole dell'algoritmo
+                if(Double.isNaN(w) || w < 0)
+                    throw new IllegalArgumentException("Grafo con tipo di archi non valido");
+                if(u <= g.neighborAt(k)){
+                    sources[count] = u;
+                    arcs[count] = k;
+                    count++;
+                }
+            }
+        }
+
+        // ordina in maniera crescente le posizioni degli archi in base al peso
+        int[] order = new int[count];
+        for(int e = 0; e < count; e++)
+            order[e] = e;
+        double[] keys = new double[count];
+        for(int e = 0; e < count; e++)
+            keys[e] = g.weightAt(arcs[e]);
+        sortByWeight(order, keys);
+
+        HashSet<GraphEdge<L>> a = new HashSet<>();
+        if(this.indexedSets){
+            // gli indici dell'istantanea sono già densi: nessuna traduzione
+            IntDisjointSets sets = new IntDisjointSets(g.nodeCount());
+            for(int e : order){
+                if(sets.union(sources[e], g.neighborAt(arcs[e])))
+                    a.add(g.edgeAt(sources[e], arcs[e]));
+            }
+            return a;
+        }
+
+        // azzera l'oggetto e crea un set per ogni nodo
+        this.disjointSets = new ForestDisjointSets<>();
+        for(int u = 0; u < g.nodeCount(); u++)
+            this.disjointSets.makeSet(g.getNode(u));
+
+        for(int e : order){
+            GraphNode<L> n1 = g.getNode(sources[e]);
+            GraphNode<L> n2 = g.getNode(g.neighborAt(arcs[e]));
+            // se non sono nello stesso sotto albero
+            if(this.disjointSets.findSet(n1) != this.disjointSets.findSet(n2)){
+                // crea l'oggetto arco solo ora che fa parte dell'albero
+                a.add(g.edgeAt(sources[e], arcs[e]));
+                this.disjointSets.union(n1, n2);
+            }
+        }
+        return a;
+    }
+
+    /*
+     * Ordina in maniera crescente gli interi di ids secondo la chiave
+     * keys[id] con un merge sort stabile bottom-up, senza boxing degli
+     * elementi.
+     */
+    static void sortByWeight(int[] ids, double[] keys) {
+        int n = ids.length;
+        int[] buffer = new int[n];
+        int[] from = ids;
+        int[] to = buffer;
+        for(int width = 1; width < n; width *= 2){
+            for(int lo = 0; lo < n; lo += 2 * width){
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo, j = mid, k = lo;
+                while(i < mid && j < hi)
+                    to[k++] = keys[from[j]] < keys[from[i]] ? from[j++] : from[i++];
+                while(i < mid)
+                    to[k++] = from[i++];
+                while(j < hi)
+                    to[k++] = from[j++];
+            }
+            int[] tmp = from;
+            from = to;
+            to = tmp;
+        }
+        // se il risultato si trova nel buffer lo ricopia nell'array originale
+        if(from != ids)
+            System.arraycopy(from, 0, ids, 0, n);
+    }
+
     /*
     * Classe che implementa l'interfaccia comparator.
     * Serve a far si che gli archi possano essere ordinati.
@@ -215,4 +215,80 @@ class KruskalMSTTest {
             alg.computeMSP(x);
         });
     }
+
+    @Test
+    final void testComputeMSPOfSnapshot() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 7));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 10));
+        gr.addEdge(new GraphEdge<String>(a, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        gr.addEdge(new GraphEdge<String>(e, e, false, 0));
+        KruskalMST<String> alg = new KruskalMST<String>();
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 1));
+        result.add(new GraphEdge<String>(d, e, false, 2));
+        result.add(new GraphEdge<String>(b, c, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 4));
+        assertTrue(alg.computeMSPOfSnapshot(gr.freeze()).equals(result));
+        assertTrue(alg.computeMSP(gr).equals(result));
+        assertThrows(NullPointerException.class, () -> {
+            alg.computeMSPOfSnapshot(null);
+        });
+        gr.addEdge(new GraphEdge<String>(b, e, false, -1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            alg.computeMSPOfSnapshot(gr.freeze());
+        });
+    }
+
+    @Test
+    final void testComputeMSPIndexedSets() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 7));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 10));
+        gr.addEdge(new GraphEdge<String>(a, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        KruskalMST<String> alg = new KruskalMST<String>(true);
+        assertTrue(alg.usesIndexedSets());
+        assertFalse(new KruskalMST<String>().usesIndexedSets());
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 1));
+        result.add(new GraphEdge<String>(d, e, false, 2));
+        result.add(new GraphEdge<String>(b, c, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 4));
+        assertTrue(alg.computeMSP(gr).equals(result));
+        assertTrue(alg.computeMSPOfSnapshot(gr.freeze()).equals(result));
+        // lo stesso calcolatore funziona anche dopo aver modificato il grafo
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        gr.addEdge(new GraphEdge<String>(f, a, false, 6));
+        result.add(new GraphEdge<String>(f, a, false, 6));
+        assertTrue(alg.computeMSP(gr).equals(result));
+    }
 }
@@ -0,0 +1,79 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Codifica delle etichette dei nodi in sequenze di byte, usata da
+ * {@code GraphSnapshot} per scrivere e rileggere le etichette. Per ogni
+ * etichetta {@code l} deve valere
+ * {@code decode(ByteBuffer.wrap(encode(l))).equals(l)}.
+ *
+ * @author Mattia Brizi, mattia.brizi@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi
+ */
+public interface LabelCodec<L> {
+
+    /**
+     * Codifica un'etichetta.
+     *
+     * @param label
+     *                  l'etichetta da codificare, non null
+     * @return i byte che rappresentano l'etichetta
+     */
+    byte[] encode(L label);
+
+    /**
+     * Decodifica un'etichetta.
+     *
+     * @param bytes
+     *                  i byte dell'etichetta, dalla posizione corrente al
+     *                  limite del buffer
+     * @return l'etichetta rappresentata dai byte
+     */
+    L decode(ByteBuffer bytes);
+
+    /**
+     * Restituisce la codifica delle etichette di tipo stringa con UTF-8.
+     *
+     * @return la codifica delle stringhe
+     */
+    static LabelCodec<String> strings() {
+        return new LabelCodec<String>() {
+
+            @Override
+            public byte[] encode(String label) {
+                return label.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(ByteBuffer bytes) {
+                return StandardCharsets.UTF_8.decode(bytes).toString();
+            }
+        };
+    }
+
+    /**
+     * Restituisce la codifica delle etichette intere su quattro byte.
+     *
+     * @return la codifica degli interi
+     */
+    static LabelCodec<Integer> integers() {
+        return new LabelCodec<Integer>() {
+
+            @Override
+            public byte[] encode(Integer label) {
+                return ByteBuffer.allocate(4).putInt(label).array();
+            }
+
+            @Override
+            public Integer decode(ByteBuffer bytes) {
+                return bytes.getInt();
+            }
+        };
+    }
+}
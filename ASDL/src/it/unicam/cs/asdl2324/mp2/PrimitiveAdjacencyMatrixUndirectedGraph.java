@@ -0,0 +1,807 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+
+// ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa un grafo non orientato tramite una matrice di
+ * adiacenza memorizzata in array di tipi primitivi. Non sono accettate
+ * etichette dei nodi null e non sono accettate etichette duplicate nei nodi
+ * (che in quel caso sono lo stesso nodo).
+ *
+ * I nodi sono indicizzati da 0 a nodeCount() - 1 seguendo l'ordine del loro
+ * inserimento, esattamente come in {@code AdjacencyMatrixUndirectedGraph<L>}.
+ *
+ * A differenza di {@code AdjacencyMatrixUndirectedGraph<L>} la matrice non
+ * contiene oggetti della classe {@code GraphEdge<L>}. Essendo il grafo non
+ * orientato la matrice è simmetrica e quindi viene memorizzato solo il
+ * triangolo superiore (diagonale compresa) linearizzato per colonne: la cella
+ * (i, j) con i <= j si trova in posizione j * (j + 1) / 2 + i. La presenza di
+ * un arco è registrata in un insieme di bit ({@code long[]}) e il peso in un
+ * array {@code double[]} parallelo (Double.NaN se l'arco non è pesato). Con
+ * questa linearizzazione l'aggiunta di un nodo non sposta nessuna cella già
+ * esistente, ma aggiunge in coda la nuova colonna.
+ *
+ * Gli oggetti {@code GraphEdge<L>} vengono creati solo quando un metodo
+ * dell'interfaccia {@code Graph<L>} deve restituirne uno. Per questo motivo
+ * due chiamate successive a {@code getEdge} restituiscono oggetti uguali
+ * (secondo equals) ma distinti e la modifica del peso dell'arco restituito non
+ * ha effetto sul grafo.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class PrimitiveAdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Associazione di ogni nodo con il proprio indice nella matrice di
+     * adiacenza
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Associazione inversa di ogni indice con il proprio nodo
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Insieme di bit che registra la presenza degli archi nel triangolo
+     * superiore della matrice di adiacenza
+     */
+    protected long[] presence;
+
+    /*
+     * Pesi degli archi nel triangolo superiore della matrice di adiacenza,
+     * significativi solo nelle celle il cui bit di presenza è a 1
+     */
+    protected double[] weights;
+
+    /*
+     * Numero di archi attualmente presenti nel grafo
+     */
+    protected int edgeCounter;
+
+    /*
+     * Grado di ogni nodo indicizzato con l'indice del nodo. Un cappio conta
+     * come un solo arco. L'array può essere più lungo del numero di nodi.
+     */
+    protected int[] degrees;
+
+    /*
+     * Se true ogni interrogazione dei contatori viene confrontata con un
+     * conteggio completo sull'insieme di bit (pensato per i test JUnit)
+     */
+    protected boolean consistencyCheck;
+
+    /*
+     * Vista non modificabile degli archi restituita da getEdges(). Gli archi
+     * non sono memorizzati come oggetti, per questo la vista li crea durante
+     * l'iterazione leggendo la matrice.
+     */
+    protected final Set<GraphEdge<L>> edgesView;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public PrimitiveAdjacencyMatrixUndirectedGraph() {
+        this.nodesIndex = new HashMap<>();
+        this.nodes = new ArrayList<>();
+        this.presence = new long[0];
+        this.weights = new double[0];
+        this.edgeCounter = 0;
+        this.degrees = new int[0];
+        this.consistencyCheck = false;
+        this.edgesView = new EdgesView();
+    }
+
+    /**
+     * Crea un grafo vuoto i cui array primitivi sono già dimensionati per il
+     * numero di nodi dato, in modo che né l'inserimento dei nodi né quello
+     * degli archi debba riallocarli finché il numero di nodi non supera quello
+     * previsto. Caricare un grafo di cui si conosce il numero di nodi costa
+     * quindi O(n + m) oltre all'allocazione iniziale della matrice.
+     *
+     * @param expectedNodeCount
+     *                              il numero di nodi previsto
+     * @throws IllegalArgumentException
+     *                                      se il numero di nodi previsto è
+     *                                      negativo
+     * @throws IllegalStateException
+     *                                      se la matrice per il numero di nodi
+     *                                      previsto non è rappresentabile
+     */
+    public PrimitiveAdjacencyMatrixUndirectedGraph(int expectedNodeCount) {
+        this();
+        if (expectedNodeCount < 0)
+            throw new IllegalArgumentException(
+                    "Numero di nodi previsto negativo: " + expectedNodeCount);
+        this.nodesIndex = new HashMap<>(Math.max(16,
+                (int) (expectedNodeCount / 0.75f) + 1));
+        this.nodes = new ArrayList<>(expectedNodeCount);
+        this.ensureCapacity(expectedNodeCount);
+    }
+
+    /**
+     * Attiva o disattiva la modalità di controllo di consistenza. Quando è
+     * attiva, {@code edgeCount()} e {@code getDegreeOf(...)} confrontano i
+     * contatori mantenuti durante le modifiche con un conteggio completo sulla
+     * matrice e lanciano un'eccezione se non coincidono.
+     *
+     * @param enabled
+     *                    true per attivare il controllo, false per
+     *                    disattivarlo
+     */
+    public void setConsistencyCheck(boolean enabled) {
+        this.consistencyCheck = enabled;
+    }
+
+    /*
+     * Confronta i contatori con un conteggio completo sulla matrice se la
+     * modalità di controllo di consistenza è attiva.
+     */
+    private void checkCounters() {
+        if (!this.consistencyCheck)
+            return;
+        int n = this.nodeCount();
+        int[] counted = new int[n];
+        int edges = 0;
+        for (int b = 0; b < n; b++)
+            for (int a = 0; a <= b; a++)
+                if (this.isSet(cell(a, b))) {
+                    edges++;
+                    counted[a]++;
+                    if (a != b)
+                        counted[b]++;
+                }
+        for (int i = 0; i < n; i++)
+            if (counted[i] != this.degrees[i])
+                throw new IllegalStateException("Grado del nodo di indice " + i
+                        + " non consistente: " + this.degrees[i]
+                        + " invece di " + counted[i]);
+        if (edges != this.edgeCounter)
+            throw new IllegalStateException("Numero di archi non consistente: "
+                    + this.edgeCounter + " invece di " + edges);
+    }
+
+    /*
+     * Restituisce la posizione della cella (i, j) nel triangolo superiore
+     * linearizzato. L'ordine degli indici non conta.
+     */
+    protected static long cell(int i, int j) {
+        int a = Math.min(i, j);
+        int b = Math.max(i, j);
+        return (long) b * (b + 1) / 2 + a;
+    }
+
+    /*
+     * Determina se il bit di presenza della cella data è a 1.
+     */
+    protected boolean isSet(long cell) {
+        return (this.presence[(int) (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    /*
+     * Assicura che gli array primitivi possano contenere il triangolo
+     * superiore di una matrice con il numero di nodi dato.
+     */
+    private void ensureCapacity(int nodeCount) {
+        long cells = (long) nodeCount * (nodeCount + 1) / 2;
+        if (cells > Integer.MAX_VALUE - 8)
+            throw new IllegalStateException(
+                    "Numero massimo di nodi rappresentabili superato");
+        if (nodeCount > this.degrees.length)
+            this.degrees = Arrays.copyOf(this.degrees,
+                    Math.max(nodeCount, 2 * this.degrees.length));
+        if (cells <= this.weights.length)
+            return;
+        // raddoppia la capacità per ammortizzare il costo delle copie
+        long newCells = Math.max(cells, Math.min(2L * this.weights.length,
+                Integer.MAX_VALUE - 8));
+        this.weights = Arrays.copyOf(this.weights, (int) newCells);
+        this.presence = Arrays.copyOf(this.presence,
+                (int) ((newCells + 63) >>> 6));
+    }
+
+    /*
+     * Controlla che l'indice passato sia compreso tra { (0) e ((n° di nodi) -
+     * 1) }
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= this.nodeCount())
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+    }
+
+    /*
+     * Restituisce l'indice di un nodo che deve essere presente nel grafo.
+     */
+    private int indexOfExisting(GraphNode<L> node) {
+        Integer index = this.nodesIndex.get(node);
+        if (index == null)
+            throw new IllegalArgumentException(
+                    "Nodo non presente in questo grafo");
+        return index;
+    }
+
+    /*
+     * Inserisce l'arco tra i nodi di indice i e j se non era già presente.
+     */
+    private boolean setEdge(int i, int j, double weight) {
+        long c = cell(i, j);
+        // #CASO: se l'arco era già presente nel grafo
+        if (this.isSet(c))
+            return false;
+        // #CASO: se l'arco NON era già presente nel grafo
+        this.presence[(int) (c >>> 6)] |= 1L << c;
+        this.weights[(int) c] = weight;
+        this.edgeCounter++;
+        this.degrees[i]++;
+        if (i != j)
+            this.degrees[j]++;
+        return true;
+    }
+
+    /*
+     * Rimuove l'arco tra i nodi di indice i e j che deve essere presente.
+     */
+    private void unsetEdge(int i, int j) {
+        long c = cell(i, j);
+        if (!this.isSet(c))
+            throw new IllegalArgumentException("Arco non presente nel grafo");
+        this.presence[(int) (c >>> 6)] &= ~(1L << c);
+        this.edgeCounter--;
+        this.degrees[i]--;
+        if (i != j)
+            this.degrees[j]--;
+    }
+
+    /*
+     * Crea l'oggetto che rappresenta l'arco tra i nodi di indice i e j, null se
+     * l'arco non esiste.
+     */
+    private GraphEdge<L> edgeAt(int i, int j) {
+        long c = cell(i, j);
+        if (!this.isSet(c))
+            return null;
+        return new GraphEdge<>(this.nodes.get(i), this.nodes.get(j), false,
+                this.weights[(int) c]);
+    }
+
+    /**
+     * Restituisce il peso dell'arco che collega i nodi con gli indici dati
+     * senza creare nessun oggetto {@code GraphEdge<L>}.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return il peso dell'arco tra i nodi di indice i e j, Double.NaN se
+     *         l'arco non è pesato
+     * @throws IndexOutOfBoundsException
+     *                                      se almeno uno degli indici non è
+     *                                      valido
+     * @throws IllegalArgumentException
+     *                                      se l'arco non esiste nel grafo
+     */
+    public double getEdgeWeight(int i, int j) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        long c = cell(i, j);
+        if (!this.isSet(c))
+            throw new IllegalArgumentException("Arco non presente nel grafo");
+        return this.weights[(int) c];
+    }
+
+    /**
+     * Determina se esiste un arco tra i nodi con gli indici dati senza creare
+     * nessun oggetto {@code GraphEdge<L>}.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return true se i nodi di indice i e j sono collegati da un arco
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno degli indici non è
+     *                                       valido
+     */
+    public boolean hasEdge(int i, int j) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        return this.isSet(cell(i, j));
+    }
+
+    @Override
+    public int nodeCount() {
+        return this.nodes.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        this.checkCounters();
+        return this.edgeCounter;
+    }
+
+    @Override
+    public void clear() {
+        this.nodesIndex.clear();
+        this.nodes.clear();
+        this.presence = new long[0];
+        this.weights = new double[0];
+        this.edgeCounter = 0;
+        this.degrees = new int[0];
+    }
+
+    @Override
+    public boolean isDirected() {
+        return false;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        // #CASO: se il nodo era già presente
+        if (this.nodesIndex.containsKey(node))
+            return false;
+        // #CASO: se il nodo NON era presente
+        // la nuova colonna viene aggiunta in coda al triangolo, le celle
+        // esistenti non si spostano
+        this.ensureCapacity(this.nodes.size() + 1);
+        this.nodesIndex.put(node, this.nodes.size());
+        this.nodes.add(node);
+        return true;
+    }
+
+    @Override
+    public boolean addNode(L label) {
+        if (label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.addNode(new GraphNode<>(label));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        this.removeNode(this.indexOfExisting(node));
+    }
+
+    @Override
+    public void removeNode(L label) {
+        if (label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        this.removeNode(new GraphNode<>(label));
+    }
+
+    @Override
+    public void removeNode(int i) {
+        this.checkIndex(i);
+        int n = this.nodeCount();
+        // toglie dai contatori gli archi collegati al nodo rimosso
+        for (int j = 0; j < n; j++)
+            if (this.isSet(cell(i, j))) {
+                this.edgeCounter--;
+                this.degrees[j]--;
+            }
+        System.arraycopy(this.degrees, i + 1, this.degrees, i, n - i - 1);
+        // compatta il triangolo saltando la riga e la colonna del nodo
+        // rimosso. La posizione di destinazione di ogni cella non è mai
+        // maggiore di quella di partenza, quindi la copia può essere fatta sul
+        // posto scorrendo in avanti
+        long to = 0;
+        for (int b = 0; b < n; b++) {
+            if (b == i)
+                continue;
+            long from = (long) b * (b + 1) / 2;
+            for (int a = 0; a <= b; a++, from++) {
+                if (a == i)
+                    continue;
+                if (this.isSet(from)) {
+                    this.presence[(int) (to >>> 6)] |= 1L << to;
+                    this.weights[(int) to] = this.weights[(int) from];
+                } else
+                    this.presence[(int) (to >>> 6)] &= ~(1L << to);
+                to++;
+            }
+        }
+        // azzera i bit rimasti oltre la nuova dimensione del triangolo
+        long end = (long) n * (n + 1) / 2;
+        for (long c = to; c < end; c++)
+            this.presence[(int) (c >>> 6)] &= ~(1L << c);
+        // aggiorna gli indici dei nodi successivi a quello rimosso
+        this.nodesIndex.remove(this.nodes.remove(i));
+        for (int k = i; k < this.nodes.size(); k++)
+            this.nodesIndex.put(this.nodes.get(k), k);
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        Integer index = this.nodesIndex.get(node);
+        // #CASO: se il nodo NON è presente nel grafo
+        if (index == null)
+            return null;
+        // #CASO: se il nodo è presente restituisce l'oggetto del grafo
+        return this.nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label) {
+        if (label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.getNode(new GraphNode<>(label));
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i) {
+        this.checkIndex(i);
+        return this.nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.indexOfExisting(node);
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.indexOfExisting(new GraphNode<>(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return this.nodesIndex.keySet();
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        if (edge.isDirected() != this.isDirected())
+            throw new IllegalArgumentException(
+                    "Tipologia di arco passato non valida");
+        return this.setEdge(this.indexOfExisting(edge.getNode1()),
+                this.indexOfExisting(edge.getNode2()), edge.getWeight());
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        return this.addWeightedEdge(node1, node2, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+            double weight) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        return this.setEdge(this.indexOfExisting(node1),
+                this.indexOfExisting(node2), weight);
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2) {
+        return this.addWeightedEdge(label1, label2, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        return this.addWeightedEdge(new GraphNode<>(label1),
+                new GraphNode<>(label2), weight);
+    }
+
+    @Override
+    public boolean addEdge(int i, int j) {
+        return this.addWeightedEdge(i, j, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        return this.setEdge(i, j, weight);
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        this.unsetEdge(this.indexOfExisting(edge.getNode1()),
+                this.indexOfExisting(edge.getNode2()));
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        this.unsetEdge(this.indexOfExisting(node1),
+                this.indexOfExisting(node2));
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        this.removeEdge(new GraphNode<>(label1), new GraphNode<>(label2));
+    }
+
+    @Override
+    public void removeEdge(int i, int j) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        this.unsetEdge(i, j);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        return this.edgeAt(this.indexOfExisting(edge.getNode1()),
+                this.indexOfExisting(edge.getNode2()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        return this.edgeAt(this.indexOfExisting(node1),
+                this.indexOfExisting(node2));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Parametri nulli non ammessi");
+        return this.getEdge(new GraphNode<>(label1), new GraphNode<>(label2));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j) {
+        this.checkIndex(i);
+        this.checkIndex(j);
+        return this.edgeAt(i, j);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.getAdjacentNodesOf(this.indexOfExisting(node));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label) {
+        if (label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.getAdjacentNodesOf(new GraphNode<>(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i) {
+        this.checkIndex(i);
+        HashSet<GraphNode<L>> adjacentNodeSet = new HashSet<>();
+        for (int j = 0; j < this.nodeCount(); j++)
+            if (this.isSet(cell(i, j)))
+                adjacentNodeSet.add(this.nodes.get(j));
+        return adjacentNodeSet;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.getEdgesOf(this.indexOfExisting(node));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label) {
+        if (label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.getEdgesOf(new GraphNode<>(label));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i) {
+        this.checkIndex(i);
+        HashSet<GraphEdge<L>> edgeSet = new HashSet<>();
+        for (int j = 0; j < this.nodeCount(); j++) {
+            GraphEdge<L> edge = this.edgeAt(i, j);
+            if (edge != null)
+                edgeSet.add(edge);
+        }
+        return edgeSet;
+    }
+
+    @Override
+    public void forEachNeighbor(int i, IntDoubleConsumer action) {
+        if (action == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        this.checkIndex(i);
+        int n = this.nodeCount();
+        // la parte della riga con j <= i è contigua nella colonna i
+        long c = cell(0, i);
+        for (int j = 0; j <= i; j++, c++)
+            if (this.isSet(c))
+                action.accept(j, this.weights[(int) c]);
+        // la parte con j > i si trova alla posizione i di ogni colonna j
+        for (int j = i + 1; j < n; j++) {
+            c = cell(i, j);
+            if (this.isSet(c))
+                action.accept(j, this.weights[(int) c]);
+        }
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    /*
+     * La vista restituita costa O(1): size() usa il contatore degli archi,
+     * contains(...) controlla un bit della matrice e l'iteratore scorre il
+     * triangolo superiore creando un nuovo arco per ogni cella presente, con
+     * il peso registrato in quel momento. La modifica del peso di un arco
+     * ottenuto dall'iteratore non ha effetto né sul grafo né sulle iterazioni
+     * successive.
+     */
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        return this.edgesView;
+    }
+
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        int i = this.indexOfExisting(node);
+        this.checkCounters();
+        return this.degrees[i];
+    }
+
+    @Override
+    public int getDegreeOf(L label) {
+        if (label == null)
+            throw new NullPointerException("Parametro nullo non ammesso");
+        return this.getDegreeOf(new GraphNode<>(label));
+    }
+
+    @Override
+    public int getDegreeOf(int i) {
+        this.checkIndex(i);
+        this.checkCounters();
+        return this.degrees[i];
+    }
+
+    /*
+     * Vista non modificabile degli archi, ricavati dalla matrice ad ogni
+     * iterazione
+     */
+    private class EdgesView extends AbstractSet<GraphEdge<L>> {
+
+        @Override
+        public int size() {
+            return edgeCounter;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof GraphEdge))
+                return false;
+            GraphEdge<?> e = (GraphEdge<?>) o;
+            Integer i = nodesIndex.get(e.getNode1());
+            Integer j = nodesIndex.get(e.getNode2());
+            return i != null && j != null && isSet(cell(i, j));
+        }
+
+        @Override
+        public Iterator<GraphEdge<L>> iterator() {
+            return new Iterator<GraphEdge<L>>() {
+
+                // prossima cella da esaminare, nella riga a e colonna b
+                private long c = 0;
+
+                private int a = 0;
+
+                private int b = 0;
+
+                /*
+                 * Porta la posizione sulla prossima cella presente scorrendo
+                 * le colonne del triangolo superiore, saltando le parole
+                 * dell'insieme di bit che non contengono archi
+                 */
+                private void advance() {
+                    while (this.b < nodeCount()) {
+                        if (this.a > this.b) {
+                            this.b++;
+                            this.a = 0;
+                        } else if ((this.c & 63) == 0
+                                && presence[(int) (this.c >>> 6)] == 0
+                                && this.b - this.a >= 63) {
+                            // l'intera parola è vuota e sta dentro la colonna
+                            this.a += 64;
+                            this.c += 64;
+                        } else if (isSet(this.c))
+                            return;
+                        else {
+                            this.a++;
+                            this.c++;
+                        }
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    this.advance();
+                    return this.b < nodeCount();
+                }
+
+                @Override
+                public GraphEdge<L> next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+                    GraphEdge<L> e = new GraphEdge<>(nodes.get(this.a),
+                            nodes.get(this.b), false, weights[(int) this.c]);
+                    this.a++;
+                    this.c++;
+                    return e;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,840 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe PrimitiveAdjacencyMatrixUndirectedGraph.
+ * 
+ * @author Luca Tesei
+ */
+class PrimitiveAdjacencyMatrixUndirectedGraphTest {
+
+    @Test
+    final void testAdjacencyMatrixUndirectedGraph() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    final void testNodeCount() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertEquals(0, g.nodeCount());
+        g.addNode(new GraphNode<String>("s"));
+        assertEquals(1, g.nodeCount());
+        g.addNode(new GraphNode<String>("u"));
+        assertEquals(2, g.nodeCount());
+    }
+
+    @Test
+    final void testEdgeCount() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertEquals(0, g.edgeCount());
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        assertEquals(0, g.edgeCount());
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false, 10.1);
+        g.addEdge(esu);
+        assertEquals(1, g.edgeCount());
+        g.addEdge(esu);
+        assertEquals(1, g.edgeCount());
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, false, 5.12);
+        g.addEdge(esx);
+        assertEquals(2, g.edgeCount());
+    }
+
+    @Test
+    final void testSize() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertTrue(g.size() == 0);
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        assertTrue(g.size() == 1);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        assertTrue(g.size() == 2);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false);
+        g.addEdge(esu);
+        assertTrue(g.size() == 3);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        assertTrue(g.size() == 4);
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, false, 5.12);
+        g.addEdge(esx);
+        assertTrue(g.size() == 5);
+        GraphEdge<String> eux = new GraphEdge<String>(nu, nx, false, 2.05);
+        g.addEdge(eux);
+        assertTrue(g.size() == 6);
+        g.addEdge(new GraphEdge<String>(nx, nu, false, 2.05));
+        assertTrue(g.size() == 6);
+        g.clear();
+        assertTrue(g.size() == 0);
+    }
+
+    @Test
+    final void testIsEmpty() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertTrue(g.isEmpty());
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        assertFalse(g.isEmpty());
+        g.clear();
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    final void testClear() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertTrue(g.isEmpty());
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        assertFalse(g.isEmpty());
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false, 10.1);
+        g.addEdge(esu);
+        assertFalse(g.isEmpty());
+        g.clear();
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    final void testIsDirected() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertFalse(g.isDirected());
+    }
+
+    @Test
+    final void testAddNode() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(NullPointerException.class,
+                () -> g.addNode((GraphNode<String>) null));
+        assertThrows(NullPointerException.class,
+                () -> g.addNode((String) null));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nsTest = new GraphNode<String>("s");
+        assertTrue(g.getNode(ns) == null);
+        g.addNode(ns);
+        assertTrue(g.getNode(nsTest) != null);
+        String lu = "u";
+        String luTest = "u";
+        assertTrue(g.getNode(luTest) == null);
+        g.addNode(lu);
+        assertTrue(g.getNode(luTest) != null);
+    }
+
+    @Test
+    final void testAddNodeMatrix() {
+        PrimitiveAdjacencyMatrixUndirectedGraph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertTrue(g.weights.length == 0);
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(ns);
+        assertTrue(g.weights.length >= 1);
+        assertFalse(g.hasEdge(0, 0));
+        g.addNode(nu);
+        assertTrue(g.weights.length >= 3);
+        assertFalse(g.hasEdge(0, 0));
+        assertFalse(g.hasEdge(0, 1));
+        assertFalse(g.hasEdge(1, 0));
+        assertFalse(g.hasEdge(1, 1));
+        GraphEdge<String> eus = new GraphEdge<String>(nu, ns, false, 2.5);
+        g.addEdge(eus);
+        assertTrue(g.hasEdge(g.nodesIndex.get(nu), g.nodesIndex.get(ns)));
+        assertTrue(g.hasEdge(g.nodesIndex.get(ns), g.nodesIndex.get(nu)));
+        assertTrue(g.getEdgeWeight(0, 1) == 2.5);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        assertTrue(g.weights.length >= 6);
+        // l'aggiunta di un nodo non sposta gli archi esistenti
+        assertTrue(g.getEdge(0, 1).equals(eus));
+        assertTrue(g.getEdgeWeight(1, 0) == 2.5);
+        GraphEdge<String> eux = new GraphEdge<String>(nu, nx, false);
+        g.addEdge(eux);
+        assertTrue(g.getEdge(g.nodesIndex.get(nu), g.nodesIndex.get(nx))
+                .equals(eux));
+        assertTrue(g.getEdge(g.nodesIndex.get(nx), g.nodesIndex.get(nu))
+                .equals(eux));
+        assertTrue(Double.isNaN(g.getEdgeWeight(1, 2)));
+    }
+
+    @Test
+    final void testRemoveNodeMatrix() {
+        PrimitiveAdjacencyMatrixUndirectedGraph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(ns);
+        g.addNode(nu);
+        GraphEdge<String> eus = new GraphEdge<String>(nu, ns, false);
+        g.addEdge(eus);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphEdge<String> eux = new GraphEdge<String>(nu, nx, false);
+        g.addEdge(eux);
+        g.addWeightedEdge(nx, nx, 7.0);
+        g.removeNode(nu);
+        assertTrue(g.nodeCount() == 2);
+        assertTrue(g.edgeCount() == 1);
+        assertFalse(g.hasEdge(g.nodesIndex.get(ns), g.nodesIndex.get(nx)));
+        assertFalse(g.hasEdge(g.nodesIndex.get(nx), g.nodesIndex.get(ns)));
+        assertTrue(g.getEdgeWeight(1, 1) == 7.0);
+        GraphEdge<String> exs = new GraphEdge<String>(nx, ns, false);
+        g.addEdge(exs);
+        assertTrue(g.getEdge(g.nodesIndex.get(ns), g.nodesIndex.get(nx))
+                .equals(exs));
+        assertTrue(g.getEdge(g.nodesIndex.get(nx), g.nodesIndex.get(ns))
+                .equals(exs));
+    }
+
+    @Test
+    final void testGetEdgesLargeGraph() {
+        PrimitiveAdjacencyMatrixUndirectedGraph<Integer> g = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 300; i++)
+            g.addNode(i);
+        // grafo sparso: un cammino più qualche arco lungo
+        for (int i = 0; i < 299; i++)
+            g.addWeightedEdge(i, i + 1, i);
+        g.addWeightedEdge(0, 299, 1000);
+        g.addWeightedEdge(5, 250, 500);
+        assertTrue(g.edgeCount() == 301);
+        Set<GraphEdge<Integer>> edges = g.getEdges();
+        assertTrue(edges.size() == 301);
+        assertTrue(edges.contains(new GraphEdge<Integer>(
+                new GraphNode<Integer>(299), new GraphNode<Integer>(0),
+                false)));
+        assertTrue(edges.contains(new GraphEdge<Integer>(
+                new GraphNode<Integer>(5), new GraphNode<Integer>(250),
+                false)));
+        g.removeNode(100);
+        assertTrue(g.edgeCount() == 299);
+        assertTrue(g.getEdges().size() == 299);
+        assertFalse(g.hasEdge(99, 100));
+        assertTrue(g.getEdgeWeight(100, 101) == 101);
+        assertTrue(g.getEdgeWeight(5, 249) == 500);
+    }
+
+    @Test
+    final void testRemoveNode() {
+        // nuovo grafo
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        // controlla che parametro nullo node lancia eccezione
+        assertThrows(NullPointerException.class,
+                () -> g.removeNode((GraphNode<String>) null));
+        // controlla che parametro nullo label lancia eccezione
+        assertThrows(NullPointerException.class,
+                () -> g.removeNode((String) null));
+        // controlla che parametro nullo index lancia eccezione
+        assertThrows(IndexOutOfBoundsException.class, () -> g.removeNode(0));
+        // aggiunge nodi
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode(new GraphNode<String>("c"));
+        g.addNode("d");
+        // nodi = a, b, c, d
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("a", "a");
+        g.addEdge("b", "d");
+        g.addEdge("a", "d");
+        g.addEdge("c", "d");
+
+        assertTrue(g.getNodeIndexOf("a") == 0);
+        assertTrue(g.getNodeIndexOf("b") == 1);
+        assertTrue(g.getNodeIndexOf("c") == 2);
+        assertTrue(g.getNodeIndexOf("d") == 3);
+        assertTrue(g.nodeCount() == 4);
+        assertThrows(IllegalArgumentException.class, () -> g.removeNode("e"));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.removeNode(4));
+        g.removeNode("b");
+        assertTrue(g.getNodeIndexOf("a") == 0);
+        assertTrue(g.getNodeIndexOf("c") == 1);
+        assertTrue(g.getNodeIndexOf("d") == 2);
+        assertTrue(g.nodeCount() == 3);
+        assertTrue(g.getNode("b") == null);
+        // Controlla che la matrice sia ancora quadrata e non ci siano buchi
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < g.nodeCount(); i++)
+                for (int j = 0; j < g.nodeCount(); j++)
+                    g.getEdge(i, j);
+        });
+        assertTrue(g.getEdge("a", "a") != null);
+        assertTrue(g.getEdge("a", "d") != null);
+        assertTrue(g.getEdge("c", "d") != null);
+        assertTrue(g.getEdge("c", "a") == null);
+        assertTrue(g.getEdge("d", "d") == null);
+        assertTrue(g.getEdge("c", "c") == null);
+        g.removeNode(0);
+        assertTrue(g.getNodeIndexOf("c") == 0);
+        assertTrue(g.getNodeIndexOf("d") == 1);
+        assertTrue(g.nodeCount() == 2);
+        assertTrue(g.getNode("a") == null);
+        // Controlla che la matrice sia ancora quadrata e non ci siano buchi
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < g.nodeCount(); i++)
+                for (int j = 0; j < g.nodeCount(); j++)
+                    g.getEdge(i, j);
+        });
+        assertTrue(g.getEdge("c", "d") != null);
+        assertTrue(g.getEdge("d", "d") == null);
+        assertTrue(g.getEdge("c", "c") == null);
+    }
+
+    @Test
+    final void testGetNode() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(NullPointerException.class,
+                () -> g.getNode((GraphNode<String>) null));
+        assertThrows(NullPointerException.class,
+                () -> g.getNode((String) null));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nsTest = new GraphNode<String>("s");
+        assertTrue(g.getNode(nsTest) == null);
+        g.addNode(ns);
+        assertTrue(g.getNode(nsTest) != null);
+        g.addNode("a");
+        GraphNode<String> na = g.getNode("a");
+        assertTrue(na != null);
+        na.setColor(GraphNode.COLOR_BLACK);
+        assertTrue(g.getNode("a").getColor() == GraphNode.COLOR_BLACK);
+        assertFalse(g.addNode("a"));
+        assertTrue(g.getNode(na).getColor() == GraphNode.COLOR_BLACK);
+        assertTrue(g.getNode("b") == null);
+    }
+
+    @Test
+    final void testGetNodeInt() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNode(0));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        ns.setColor(1);
+        g.addNode(ns);
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNode(1));
+        GraphNode<String> nsTest = new GraphNode<String>("s");
+        assertTrue(nsTest.equals(g.getNode(0)));
+        assertTrue(g.getNode(0).getColor() == 1);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNode(2));
+        GraphNode<String> nuTest = new GraphNode<String>("u");
+        assertTrue(nuTest.equals(g.getNode(1)));
+    }
+
+    @Test
+    final void testGetNodeIndexOf() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(NullPointerException.class,
+                () -> g.getNodeIndexOf((GraphNode<String>) null));
+        assertThrows(NullPointerException.class,
+                () -> g.getNodeIndexOf((String) null));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        ns.setColor(1);
+        g.addNode(ns);
+        assertTrue(g.getNodeIndexOf("s") == 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("u"));
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        assertTrue(g.getNodeIndexOf("u") == 1);
+        assertTrue(g.getNodeIndexOf("s") == 0);
+        g.addNode("x");
+        assertTrue(g.getNodeIndexOf("x") == 2);
+        g.addEdge("s", "x");
+        assertTrue(g.getNodeIndexOf("s") == 0);
+        g.removeNode(nu);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("u"));
+        assertTrue(g.getNodeIndexOf("s") == 0);
+        assertFalse(g.addNode("s"));
+        assertFalse(g.addNode("x"));
+        assertTrue(g.getNodeIndexOf("x") == 1);
+        g.removeNode("s");
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("s"));
+        assertTrue(g.getNodeIndexOf("x") == 0);
+    }
+
+    @Test
+    final void testGetNodes() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        Set<GraphNode<String>> nodes = g.getNodes();
+        assertTrue(nodes.isEmpty());
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        nodes = g.getNodes();
+        Set<GraphNode<String>> testNodes = new HashSet<GraphNode<String>>();
+        GraphNode<String> nsTest = new GraphNode<String>("s");
+        GraphNode<String> nuTest = new GraphNode<String>("u");
+        testNodes.add(nuTest);
+        testNodes.add(nsTest);
+        assertTrue(nodes.equals(testNodes));
+        GraphNode<String> nuTestBis = new GraphNode<String>("u");
+        g.addNode(nuTestBis);
+        nodes = g.getNodes();
+        assertTrue(nodes.equals(testNodes));
+    }
+
+    @Test
+    final void testAddEdge() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(NullPointerException.class, () -> g.addEdge(null));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addEdge(new GraphEdge<String>(ns, nu, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addEdge(new GraphEdge<String>(nu, ns, false)));
+        g.addNode(nu);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addEdge(new GraphEdge<String>(ns, nu, true)));
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false);
+        assertTrue(g.addEdge(esu));
+        assertTrue(g.getEdge(new GraphEdge<String>(ns, nu, false)) != null);
+        assertFalse(g.addEdge(new GraphEdge<String>(nu, ns, false, 6.0)));
+        g.addNode("x");
+        assertTrue(g.addEdge("x", "s"));
+        assertTrue(g.getEdge("s", "x") != null);
+        assertTrue(g.getEdge("x", "s") != null);
+        g.addNode("t");
+        assertTrue(g.addWeightedEdge("s", "t", 5.0));
+        GraphEdge<String> est = g.getEdge("t", "s");
+        assertTrue(est != null);
+        assertTrue(est.getWeight() == 5);
+        GraphNode<String> nw = new GraphNode<String>("w");
+        g.addNode(nw);
+        assertTrue(g.addWeightedEdge(nw, nu, 4.0));
+        assertTrue(g.getEdge("u", "w").getWeight() == 4);
+        assertFalse(g.addEdge("w", "u"));
+    }
+
+    @Test
+    final void testRemoveEdge() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(NullPointerException.class,
+                () -> g.removeEdge((GraphEdge<String>) null));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        assertThrows(NullPointerException.class,
+                () -> g.removeEdge((GraphNode<String>) null, ns));
+        assertThrows(NullPointerException.class,
+                () -> g.removeEdge(ns, (GraphNode<String>) null));
+        g.addNode(ns);
+        g.addNode("a");
+        g.addEdge("s", "a");
+        GraphNode<String> nt = new GraphNode<String>("t");
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge(ns, nt));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge(nt, ns));
+        g.addNode(nt);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge(ns, nt));
+        g.addEdge("t", "s");
+        assertTrue(g.getEdge("a", "s") != null);
+        g.removeEdge("a", "s");
+        assertTrue(g.getEdge("a", "s") == null);
+        assertTrue(g.getEdge("s", "a") == null);
+        GraphEdge<String> ets = new GraphEdge<String>(nt, ns, false);
+        assertTrue(g.getEdge(ets) != null);
+        g.removeEdge(ets);
+        assertTrue(g.getEdge(ets) == null);
+        g.addEdge("a", "t");
+        int i = g.getNodeIndexOf("a");
+        int j = g.getNodeIndexOf(nt);
+        assertTrue(g.getEdge(i, j) != null);
+        g.removeEdge(j, i);
+        assertTrue(g.getEdge(i, j) == null);
+    }
+
+    @Test
+    final void testGetEdge() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(NullPointerException.class,
+                () -> g.getEdge((GraphEdge<String>) null));
+        assertThrows(NullPointerException.class,
+                () -> g.getEdge((String) null, (String) null));
+        assertThrows(NullPointerException.class, () -> g
+                .getEdge((GraphNode<String>) null, (GraphNode<String>) null));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getEdge(0, 0));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getEdge(new GraphEdge<String>(ns, nu, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getEdge(new GraphEdge<String>(nu, ns, false)));
+        g.addNode(nu);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false);
+        assertTrue(g.getEdge(new GraphEdge<String>(ns, nu, false)) == null);
+        g.addEdge(esu);
+        assertTrue(g.getEdge(new GraphEdge<String>(ns, nu, false)) != null);
+        g.addNode("a");
+        g.addNode("b");
+        g.addEdge("a", "s");
+        g.addWeightedEdge("s", "b", 1);
+        assertTrue(g.getEdge("s", "a").getNode1().getLabel().equals("s")
+                || g.getEdge("s", "a").getNode1().getLabel().equals("a"));
+        assertTrue(g.getEdge(new GraphNode<String>("b"),
+                new GraphNode<String>("s")) != null);
+        assertTrue(g.getEdge("u", "b") == null);
+        int is = g.getNodeIndexOf(ns);
+        int ia = g.getNodeIndexOf("a");
+        int ib = g.getNodeIndexOf("b");
+        assertTrue(g.getEdge(is, ia) != null);
+        assertTrue(g.getEdge(is, ib) != null);
+        assertTrue(g.getEdge(ib, ia) == null);
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getEdge(0, 5));
+    }
+
+    @Test
+    final void testGetAdjacentNodesOf() {
+        //crea un grafo
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        //eccezione per parametro null come nodo
+        assertThrows(NullPointerException.class,
+                () -> g.getAdjacentNodesOf((GraphNode<String>) null));
+        //eccezione per parametro null come label
+        assertThrows(NullPointerException.class,
+                () -> g.getAdjacentNodesOf((String) null));
+        //eccezione per parametro null come indice
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.getAdjacentNodesOf(0));
+        //crea un nuovo nodo "s"
+        GraphNode<String> ns = new GraphNode<String>("s");
+        //aggiunge "s" al grafo
+        g.addNode(ns);
+        //cre un Set vuoto di verifica per i nodi adiacenti
+        Set<GraphNode<String>> adjNodes = new HashSet<GraphNode<String>>();
+        //controlla che il set vuoto si verifia sia uguali ai nodi adiacenti del nodo inserito
+        // "s"
+        assertTrue(g.getAdjacentNodesOf(ns).equals(adjNodes));
+        //crea un nodo di test esattamente come "s"
+        GraphNode<String> nsTest = new GraphNode<String>("s");
+        // crea un nod "u"
+        GraphNode<String> nu = new GraphNode<String>("u");
+        // crea un nodo "u" di test
+        GraphNode<String> nuTest = new GraphNode<String>("u");
+        // controlla l'eccezione per parametro non presente nel grafo
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getAdjacentNodesOf(nu));
+        //aggiunge il nodo "u"
+        g.addNode(nu);
+        // crea un arco tra il nodo s e il nodo u
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false, 10.1);
+        // aggiunge quell'arco al grafo
+        g.addEdge(esu);
+        //crea un nodo "x"
+        GraphNode<String> nx = new GraphNode<String>("x");
+        //crea un nodo "x" test
+        GraphNode<String> nxTest = new GraphNode<String>("x");
+        // aggiunge il nodo "x" al grafo
+        g.addNode(nx);
+        // crea un arco tra  il nodo "s" e  il nodo "x"
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, false, 5.12);
+        // aggiunge l'arco al grafo
+        g.addEdge(esx);
+        //aggiunge al set di test il nodo "x" e "u"
+        adjNodes.add(nxTest);
+        adjNodes.add(nuTest);
+        //controlla che i due set siano uguali
+        assertTrue(g.getAdjacentNodesOf(nsTest).equals(adjNodes));
+        // resetta set di test
+        adjNodes.clear();
+        // aggiunge al set di test il nodo "s"
+        adjNodes.add(nsTest);
+        //controlla che i nodi adiacenti di "x" siano giusti
+        assertTrue(g.getAdjacentNodesOf(nxTest).equals(adjNodes));
+        //controlla che i nodi adiacenti di "u" siano giusti
+        assertTrue(g.getAdjacentNodesOf(nuTest).equals(adjNodes));
+
+        GraphNode<String> np = new GraphNode<String>("p");
+        GraphNode<String> npTest = new GraphNode<String>("p");
+        g.addNode(np);
+        adjNodes.clear();
+        assertTrue(g.getAdjacentNodesOf(npTest).equals(adjNodes));
+        g.addNode("q");
+        g.addEdge("x", "u");
+        g.addEdge("u", "q");
+        g.addEdge("p", "u");
+        adjNodes.add(nsTest);
+        adjNodes.add(nxTest);
+        adjNodes.add(new GraphNode<String>("q"));
+        adjNodes.add(new GraphNode<String>("p"));
+        assertTrue(g.getAdjacentNodesOf("u").equals(adjNodes));
+        g.addNode("r");
+        g.removeEdge("u", "p");
+        g.removeEdge("u", "q");
+        g.addEdge("r", "q");
+        g.addEdge("p", "r");
+        g.addEdge("r", "r");
+        adjNodes.remove(nsTest);
+        adjNodes.remove(nxTest);
+        adjNodes.add(new GraphNode<String>("r"));
+        int i = g.getNodeIndexOf("r");
+        assertTrue(g.getAdjacentNodesOf(i).equals(adjNodes));
+        adjNodes.remove(new GraphNode<String>("r"));
+        g.removeEdge("r", "r");
+        assertTrue(g.getAdjacentNodesOf(i).equals(adjNodes));
+    }
+
+    @Test
+    final void testGetEdgesOf() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        Set<GraphEdge<String>> edgesTest = new HashSet<GraphEdge<String>>();
+        assertThrows(NullPointerException.class,
+                () -> g.getEdgesOf((GraphNode<String>) null));
+        GraphNode<String> nu = new GraphNode<String>("u");
+        assertThrows(IllegalArgumentException.class, () -> g.getEdgesOf(nu));
+        g.addNode(nu);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false);
+        g.addEdge(esu);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, false, 5.12);
+        g.addEdge(esx);
+        GraphEdge<String> eux = new GraphEdge<String>(nu, nx, false, 2.05);
+        g.addEdge(eux);
+        GraphNode<String> ny = new GraphNode<String>("y");
+        g.addNode(ny);
+        GraphEdge<String> exy = new GraphEdge<String>(nx, ny, false, 2.0);
+        g.addEdge(exy);
+        GraphEdge<String> eys = new GraphEdge<String>(ny, ns, false, 7.03);
+        g.addEdge(eys);
+        GraphNode<String> nw = new GraphNode<String>("w");
+        g.addNode(nw);
+        edgesTest.add(esu);
+        edgesTest.add(esx);
+        edgesTest.add(eys);
+        assertTrue(g.getEdgesOf(ns).equals(edgesTest));
+        edgesTest.clear();
+        edgesTest.add(eux);
+        edgesTest.add(exy);
+        edgesTest.add(new GraphEdge<String>(nx, ns, false));
+        assertTrue(g.getEdgesOf(nx).equals(edgesTest));
+        edgesTest.clear();
+        assertTrue(g.getEdgesOf(nw).equals(edgesTest));
+        g.addWeightedEdge("x", "x", 8.9);
+        edgesTest.add(esx);
+        edgesTest.add(eux);
+        edgesTest.add(exy);
+        edgesTest.add(new GraphEdge<String>(new GraphNode<String>("x"),
+                new GraphNode<String>("x"), false));
+        assertTrue(g.getEdgesOf("x").equals(edgesTest));
+        g.addEdge("y", "w");
+        int j = g.getNodeIndexOf("y");
+        edgesTest.clear();
+        edgesTest.add(eys);
+        edgesTest.add(exy);
+        edgesTest.add(new GraphEdge<String>(new GraphNode<String>("w"),
+                new GraphNode<String>("y"), false));
+        assertTrue(g.getEdgesOf(j).equals(edgesTest));
+    }
+
+    @Test
+    final void testGetEdges() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        Set<GraphEdge<String>> edgesTest = new HashSet<GraphEdge<String>>();
+        Set<GraphEdge<String>> mySet = g.getEdges();
+        assertTrue(mySet.equals(edgesTest));
+        GraphNode<String> nu = new GraphNode<String>("u");
+        g.addNode(nu);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false);
+        g.addEdge(esu);
+        GraphEdge<String> esuTest = new GraphEdge<String>(nu, ns, false);
+        edgesTest.add(esuTest);
+        assertTrue(g.getEdges().equals(edgesTest));
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, false, 5.12);
+        g.addEdge(esx);
+        GraphEdge<String> eux = new GraphEdge<String>(nu, nx, false, 2.05);
+        g.addEdge(eux);
+        GraphEdge<String> exu = new GraphEdge<String>(nx, nu, false, 3.04);
+        g.addEdge(exu);
+        edgesTest.add(eux);
+        edgesTest.add(esx);
+        edgesTest.add(exu);
+        assertTrue(g.getEdges().equals(edgesTest));
+        g.clear();
+        edgesTest.clear();
+        assertTrue(g.getEdges().equals(edgesTest));
+    }
+
+    @Test
+    final void testGetDegreeOf() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        assertTrue(g.getDegreeOf(ns) == 0);
+        assertThrows(NullPointerException.class,
+                () -> g.getDegreeOf((GraphNode<String>) null));
+        GraphNode<String> nu = new GraphNode<String>("u");
+        assertThrows(IllegalArgumentException.class, () -> g.getDegreeOf(nu));
+        g.addNode(nu);
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, false);
+        g.addEdge(esu);
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(nx);
+        GraphEdge<String> esx = new GraphEdge<String>(ns, nx, false, 5.12);
+        g.addEdge(esx);
+        GraphEdge<String> exu = new GraphEdge<String>(nx, nu, false, 3.04);
+        g.addEdge(exu);
+        GraphNode<String> ny = new GraphNode<String>("y");
+        g.addNode(ny);
+        GraphEdge<String> exy = new GraphEdge<String>(nx, ny, false, 2.0);
+        g.addEdge(exy);
+        GraphEdge<String> eys = new GraphEdge<String>(ny, ns, false, 7.03);
+        g.addEdge(eys);
+        GraphNode<String> nw = new GraphNode<String>("w");
+        g.addNode(nw);
+        GraphEdge<String> euw = new GraphEdge<String>(nu, nw, false, 7.07);
+        g.addEdge(euw);
+        GraphNode<String> nz = new GraphNode<String>("z");
+        g.addNode(nz);
+        GraphEdge<String> ezy = new GraphEdge<String>(nz, ny, false, 7.107);
+        g.addEdge(ezy);
+        assertTrue(g.getDegreeOf(ns) == 3);
+        assertTrue(g.getDegreeOf(nu) == 3);
+        assertTrue(g.getDegreeOf(nx) == 3);
+        assertTrue(g.getDegreeOf(ny) == 3);
+        assertTrue(g.getDegreeOf(nz) == 1);
+        assertTrue(g.getDegreeOf(nw) == 1);
+    }
+
+    @Test
+    final void testCountersConsistency() {
+        PrimitiveAdjacencyMatrixUndirectedGraph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        // ogni interrogazione dei contatori viene verificata con un conteggio
+        // completo sulla matrice
+        g.setConsistencyCheck(true);
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addEdge("a", "b");
+        g.addWeightedEdge("b", "c", 2.0);
+        g.addEdge(new GraphNode<String>("a"), new GraphNode<String>("c"));
+        g.addEdge(2, 3);
+        g.addWeightedEdge(3, 3, 1.0);
+        assertEquals(5, g.edgeCount());
+        assertEquals(2, g.getDegreeOf("a"));
+        assertEquals(3, g.getDegreeOf(2));
+        assertEquals(2, g.getDegreeOf(new GraphNode<String>("d")));
+        g.removeEdge("a", "b");
+        assertEquals(4, g.edgeCount());
+        assertEquals(1, g.getDegreeOf("b"));
+        g.removeNode("c");
+        assertEquals(1, g.edgeCount());
+        assertEquals(0, g.getDegreeOf("a"));
+        assertEquals(0, g.getDegreeOf("b"));
+        assertEquals(1, g.getDegreeOf(2));
+        g.removeEdge(2, 2);
+        assertEquals(0, g.edgeCount());
+        g.clear();
+        assertEquals(0, g.edgeCount());
+        g.addNode("x");
+        assertEquals(0, g.getDegreeOf("x"));
+    }
+
+    @Test
+    final void testForEachNeighbor() {
+        Graph<String> g = new PrimitiveAdjacencyMatrixUndirectedGraph<String>();
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.forEachNeighbor(0, (j, w) -> {
+                }));
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        assertThrows(NullPointerException.class,
+                () -> g.forEachNeighbor(0, null));
+        g.addWeightedEdge("a", "b", 1.0);
+        g.addWeightedEdge("c", "a", 2.0);
+        g.addWeightedEdge("b", "d", 3.0);
+        g.addWeightedEdge("c", "c", 4.0);
+        for (int i = 0; i < g.nodeCount(); i++) {
+            int k = i;
+            Set<GraphNode<String>> adjacent = new HashSet<GraphNode<String>>();
+            g.forEachNeighbor(i, (j, w) -> {
+                adjacent.add(g.getNode(j));
+                assertEquals(g.getEdge(k, j).getWeight(), w);
+            });
+            assertEquals(g.getAdjacentNodesOf(i), adjacent);
+        }
+        // l'istantanea CSR dà lo stesso risultato
+        CompressedSparseRowGraph<String> s = g.freeze();
+        for (int i = 0; i < g.nodeCount(); i++) {
+            Set<Integer> fromGraph = new HashSet<Integer>();
+            Set<Integer> fromSnapshot = new HashSet<Integer>();
+            g.forEachNeighbor(i, (j, w) -> fromGraph.add(j));
+            s.forEachNeighbor(i, (j, w) -> fromSnapshot.add(j));
+            assertEquals(fromGraph, fromSnapshot);
+        }
+    }
+
+    @Test
+    final void testGetEdgesView() {
+        PrimitiveAdjacencyMatrixUndirectedGraph<Integer> g = new PrimitiveAdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 5; i++)
+            g.addNode(i);
+        g.addWeightedEdge(0, 1, 1.0);
+        g.addWeightedEdge(1, 2, 2.0);
+        Set<GraphEdge<Integer>> edges = g.getEdges();
+        // la vista è sempre la stessa e non è modificabile
+        assertSame(edges, g.getEdges());
+        assertThrows(UnsupportedOperationException.class, () -> edges.clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> edges.add(g.getEdge(0, 1)));
+        // la vista riflette le modifiche successive
+        g.addWeightedEdge(3, 4, 3.0);
+        assertEquals(3, edges.size());
+        assertTrue(edges.contains(g.getEdge(4, 3)));
+        assertFalse(edges.contains(new GraphEdge<Integer>(
+                new GraphNode<Integer>(0), new GraphNode<Integer>(7), false)));
+        // il peso cambiato su un arco restituito non modifica il grafo né
+        // le iterazioni successive
+        for (GraphEdge<Integer> e : edges)
+            e.setWeight(-1.0);
+        assertEquals(2.0, g.getEdgeWeight(1, 2));
+        for (GraphEdge<Integer> e : edges)
+            assertTrue(e.getWeight() > 0);
+        g.removeEdge(1, 2);
+        assertEquals(2, edges.size());
+        g.removeNode(0);
+        assertEquals(1, edges.size());
+        assertTrue(edges.contains(new GraphEdge<Integer>(
+                new GraphNode<Integer>(3), new GraphNode<Integer>(4), false)));
+        g.clear();
+        assertTrue(edges.isEmpty());
+        assertFalse(edges.iterator().hasNext());
+        // l'iterazione salta le parole vuote senza perdere archi
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++)
+            g.addNode(i);
+        Set<GraphEdge<Integer>> expected = new HashSet<GraphEdge<Integer>>();
+        for (int k = 0; k < 150; k++) {
+            int i = random.nextInt(200);
+            int j = random.nextInt(200);
+            g.addEdge(i, j);
+            expected.add(g.getEdge(i, j));
+        }
+        g.addEdge(199, 199);
+        expected.add(g.getEdge(199, 199));
+        assertEquals(expected, new HashSet<GraphEdge<Integer>>(edges));
+        assertEquals(expected.size(), edges.size());
+    }
+}
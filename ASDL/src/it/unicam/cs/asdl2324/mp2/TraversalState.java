@@ -0,0 +1,225 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.*;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ *
+ * Stato di un'esecuzione di un algoritmo su un grafo che supporta le
+ * operazioni con indici: per ogni nodo colore, distanza intera e in virgola
+ * mobile, predecessore, tempo di scoperta e tempo di fine visita, cioè gli
+ * stessi valori dei campi di {@code GraphNode<L>}, tenuti in array di tipi
+ * primitivi indicizzati direttamente con gli indici dei nodi nel grafo. Il
+ * predecessore è memorizzato come indice.
+ *
+ * Gli algoritmi che ricevono uno stato, come {@code DensePrimMST<L>}, non
+ * modificano i nodi del grafo: più esecuzioni, ognuna con il proprio stato,
+ * possono quindi procedere in parallelo sullo stesso grafo condiviso in sola
+ * lettura. Lo stato resta valido finché il grafo non viene modificato, perché
+ * aggiunte e rimozioni di nodi possono cambiare gli indici; uno stato non deve
+ * essere usato da più thread contemporaneamente.
+ *
+ * @author Luca Tesei (template) Mattia Brizi, mattia.brizi@studenti.unicam.it (implementazione)
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class TraversalState<L> {
+
+    /*
+     * Grafo di cui lo stato contiene i valori
+     */
+    private final Graph<L> graph;
+
+    /*
+     * Array dei valori indicizzati con gli indici dei nodi nel grafo. Sono
+     * protected per permettere l'accesso diretto agli algoritmi del pacchetto
+     * e il test JUnit
+     */
+    protected final int[] color;
+
+    protected final int[] integerDistance;
+
+    protected final double[] floatingPointDistance;
+
+    protected final int[] previous;
+
+    protected final int[] enteringTime;
+
+    protected final int[] exitingTime;
+
+    /**
+     * Crea lo stato per le esecuzioni su un grafo con i valori iniziali di
+     * {@code reset()}.
+     *
+     * @param g il grafo, che deve supportare le operazioni con indici
+     * @throw NullPointerException se il grafo g è null
+     */
+    public TraversalState(Graph<L> g) {
+        if(g == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        this.graph = g;
+        int n = g.nodeCount();
+        this.color = new int[n];
+        this.integerDistance = new int[n];
+        this.floatingPointDistance = new double[n];
+        this.previous = new int[n];
+        this.enteringTime = new int[n];
+        this.exitingTime = new int[n];
+        this.reset();
+    }
+
+    /**
+     * Restituisce il grafo per cui è stato creato lo stato.
+     *
+     * @return il grafo dello stato
+     */
+    public Graph<L> getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Restituisce il numero di nodi del grafo al momento della creazione.
+     *
+     * @return il numero di nodi dello stato
+     */
+    public int size() {
+        return this.color.length;
+    }
+
+    /**
+     * Riporta tutti i nodi al colore bianco, con distanza infinita
+     * ({@code Integer.MAX_VALUE} e {@code Double.POSITIVE_INFINITY}), nessun
+     * predecessore e tempi nulli.
+     */
+    public void reset() {
+        Arrays.fill(this.color, GraphNode.COLOR_WHITE);
+        Arrays.fill(this.integerDistance, Integer.MAX_VALUE);
+        Arrays.fill(this.floatingPointDistance, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.previous, -1);
+        Arrays.fill(this.enteringTime, 0);
+        Arrays.fill(this.exitingTime, 0);
+    }
+
+    /**
+     * @param i l'indice di un nodo
+     * @return il colore del nodo
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getColor(int i) {
+        return this.color[this.checkIndex(i)];
+    }
+
+    /**
+     * @param i l'indice di un nodo
+     * @return la distanza intera del nodo
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getIntegerDistance(int i) {
+        return this.integerDistance[this.checkIndex(i)];
+    }
+
+    /**
+     * @param i l'indice di un nodo
+     * @return la distanza in virgola mobile del nodo
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public double getFloatingPointDistance(int i) {
+        return this.floatingPointDistance[this.checkIndex(i)];
+    }
+
+    /**
+     * @param i l'indice di un nodo
+     * @return l'indice del predecessore del nodo, -1 se non ne ha
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getPreviousIndex(int i) {
+        return this.previous[this.checkIndex(i)];
+    }
+
+    /**
+     * @param i l'indice di un nodo
+     * @return il tempo di scoperta del nodo
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getEnteringTime(int i) {
+        return this.enteringTime[this.checkIndex(i)];
+    }
+
+    /**
+     * @param i l'indice di un nodo
+     * @return il tempo di fine visita del nodo
+     * @throw IndexOutOfBoundsException se l'indice non è valido
+     */
+    public int getExitingTime(int i) {
+        return this.exitingTime[this.checkIndex(i)];
+    }
+
+    /**
+     * Restituisce il predecessore di un nodo.
+     *
+     * @param node un nodo del grafo
+     * @return il nodo predecessore, null se non ne ha
+     * @throw NullPointerException se il nodo è null
+     * @throw IllegalArgumentException se il nodo non esiste nel grafo
+     */
+    public GraphNode<L> getPrevious(GraphNode<L> node) {
+        int p = this.previous[this.indexOf(node)];
+        return p == -1 ? null : this.graph.getNode(p);
+    }
+
+    /**
+     * @param node un nodo del grafo
+     * @return il colore del nodo
+     * @throw NullPointerException se il nodo è null
+     * @throw IllegalArgumentException se il nodo non esiste nel grafo
+     */
+    public int getColor(GraphNode<L> node) {
+        return this.color[this.indexOf(node)];
+    }
+
+    /**
+     * @param node un nodo del grafo
+     * @return la distanza in virgola mobile del nodo
+     * @throw NullPointerException se il nodo è null
+     * @throw IllegalArgumentException se il nodo non esiste nel grafo
+     */
+    public double getFloatingPointDistance(GraphNode<L> node) {
+        return this.floatingPointDistance[this.indexOf(node)];
+    }
+
+    /**
+     * Copia tutti i valori dello stato nei campi dei nodi del grafo, come se
+     * l'algoritmo fosse stato eseguito senza stato.
+     */
+    public void writeToNodes() {
+        for(int i = 0; i < this.size(); i++){
+            GraphNode<L> node = this.graph.getNode(i);
+            node.setColor(this.color[i]);
+            node.setIntegerDistance(this.integerDistance[i]);
+            node.setFloatingPointDistance(this.floatingPointDistance[i]);
+            node.setPrevious(this.previous[i] == -1 ? null : this.graph.getNode(this.previous[i]));
+            node.setEnteringTime(this.enteringTime[i]);
+            node.setExitingTime(this.exitingTime[i]);
+        }
+    }
+
+    /*
+     * Restituisce l'indice di un nodo nel grafo
+     */
+    private int indexOf(GraphNode<L> node) {
+        if(node == null)
+            throw new NullPointerException("Parametro nullo non valido");
+        if(this.graph.getNode(node) == null)
+            throw new IllegalArgumentException("Nodo non esistente nel grafo");
+        return this.checkIndex(this.graph.getNodeIndexOf(node));
+    }
+
+    private int checkIndex(int i) {
+        if(i < 0 || i >= this.size())
+            throw new IndexOutOfBoundsException("Indice passato non valido");
+        return i;
+    }
+}